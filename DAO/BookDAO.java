@@ -1,19 +1,32 @@
-package com.library.dao;
-
-import com.library.entities.Book;
-import java.util.List;
-import java.util.Optional;
-
-public interface BookDAO {
-    void addBook(Book book);
-    Optional<Book> getBookByIsbn(String isbn);
-    List<Book> getAllBooks();
-    List<Book> getBooksByTitle(String title);
-    List<Book> getBooksByAuthor(String authorName);
-    List<Book> getBooksByGenre(String genreId);
-    void updateBook(Book book);
-    void deleteBook(String isbn);
-    boolean isBookAvailable(String isbn);
-    int getAvailableQuantity(String isbn);
-    List<Book> searchBooks(String query);
+package com.library.dao;
+
+import com.library.entities.Author;
+import com.library.entities.Book;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface BookDAO {
+    void addBook(Book book);
+    int addBooks(Collection<Book> books);
+    Optional<Book> getBookByIsbn(String isbn);
+    List<Book> getBooksByIsbns(Collection<String> isbns);
+    List<Book> getAllBooks();
+    List<Book> getBooksPage(String afterIsbn, int limit);
+    Stream<Book> streamAllBooks();
+    int countBooks();
+    List<Book> getBooksByTitle(String title);
+    List<Book> getBooksByAuthor(String authorName);
+    List<Book> getBooksByGenre(String genreId);
+    void updateBook(Book book);
+    void deleteBook(String isbn);
+    boolean isBookAvailable(String isbn);
+    int getAvailableQuantity(String isbn);
+    Map<String, Integer> getAvailableQuantities();
+    boolean decrementAvailableQuantity(String isbn);
+    boolean incrementAvailableQuantity(String isbn);
+    List<Book> searchBooks(String query);
+    List<Author> getAllAuthors();
 }
\ No newline at end of file
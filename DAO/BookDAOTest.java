@@ -1,102 +1,135 @@
-package com.library.dao;
-
-import com.library.entities.Book;
-import com.library.utils.DatabaseConnection;
-import org.junit.jupiter.api.*;
-
-import java.sql.Connection;
-import java.sql.SQLException;
-import java.time.LocalDate;
-import java.util.List;
-import java.util.Optional;
-
-import static org.junit.jupiter.api.Assertions.*;
-
-@TestInstance(TestInstance.Lifecycle.PER_CLASS)
-class BookDAOTest {
-    private BookDAO bookDAO;
-    private Connection connection;
-    private final String testIsbn = "TEST1234567890";
-    
-    @BeforeAll
-    void setup() throws SQLException {
-        connection = DatabaseConnection.getConnection();
-        bookDAO = new BookDAOImpl();
-        
-        // Clear any existing test data
-        connection.prepareStatement("DELETE FROM books WHERE isbn = '" + testIsbn + "'").executeUpdate();
-    }
-    
-    @AfterAll
-    void tearDown() throws SQLException {
-        // Clean up
-        connection.prepareStatement("DELETE FROM books WHERE isbn = '" + testIsbn + "'").executeUpdate();
-        DatabaseConnection.closeConnection();
-    }
-    
-    @Test
-    void testAddAndGetBook() {
-        Book book = new Book(testIsbn, "Test Book");
-        book.setPublicationDate(LocalDate.now());
-        book.setQuantity(5);
-        book.setAvailableQuantity(5);
-        
-        bookDAO.addBook(book);
-        
-        Optional<Book> retrieved = bookDAO.getBookByIsbn(testIsbn);
-        assertTrue(retrieved.isPresent(), "Book should be present after adding");
-        assertEquals("Test Book", retrieved.get().getTitle(), "Title should match");
-        assertEquals(5, retrieved.get().getQuantity(), "Quantity should match");
-    }
-    
-    @Test
-    void testUpdateBook() {
-        Book book = new Book(testIsbn, "Test Book");
-        book.setPublicationDate(LocalDate.now());
-        book.setQuantity(5);
-        book.setAvailableQuantity(5);
-        bookDAO.addBook(book);
-        
-        book.setTitle("Updated Test Book");
-        book.setQuantity(10);
-        bookDAO.updateBook(book);
-        
-        Optional<Book> updated = bookDAO.getBookByIsbn(testIsbn);
-        assertTrue(updated.isPresent(), "Book should be present");
-        assertEquals("Updated Test Book", updated.get().getTitle(), "Title should be updated");
-        assertEquals(10, updated.get().getQuantity(), "Quantity should be updated");
-    }
-    
-    @Test
-    void testDeleteBook() {
-        Book book = new Book(testIsbn, "Test Book");
-        bookDAO.addBook(book);
-        
-        bookDAO.deleteBook(testIsbn);
-        
-        Optional<Book> deleted = bookDAO.getBookByIsbn(testIsbn);
-        assertFalse(deleted.isPresent(), "Book should not be present after deletion");
-    }
-    
-    @Test
-    void testSearchBooks() {
-        Book book = new Book(testIsbn, "Test Book for Search");
-        bookDAO.addBook(book);
-        
-        List<Book> results = bookDAO.searchBooks("Test Book");
-        assertFalse(results.isEmpty(), "Search should return results");
-        assertTrue(results.stream().anyMatch(b -> b.getIsbn().equals(testIsbn)), 
-            "Search results should include the test book");
-    }
-    
-    @Test
-    void testBookAvailability() {
-        Book book = new Book(testIsbn, "Test Book");
-        book.setQuantity(2);
-        book.setAvailableQuantity(1);
-        bookDAO.addBook(book);
-        
-        assertTrue(bookDAO.isBookAvailable(testIsbn), "Book should be available");
-        assertEquals(1, bookDAO.getAvailableQuantity(testIsbn), "Available quantity should match");
-    }
+package com.library.dao;
+
+import com.library.entities.Author;
+import com.library.entities.Book;
+import com.library.utils.DatabaseConnection;
+import com.library.utils.JdbcQueries;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookDAOTest {
+    private BookDAO bookDAO;
+    private Connection connection;
+    private final String testIsbn = "TEST1234567890";
+    
+    @BeforeAll
+    void setup() throws SQLException {
+        connection = DatabaseConnection.getConnection();
+        bookDAO = new BookDAOImpl();
+        
+        // Clear any existing test data
+        connection.prepareStatement("DELETE FROM books WHERE isbn = '" + testIsbn + "'").executeUpdate();
+    }
+    
+    @AfterAll
+    void tearDown() throws SQLException {
+        // Clean up
+        connection.prepareStatement("DELETE FROM books WHERE isbn = '" + testIsbn + "'").executeUpdate();
+        DatabaseConnection.closeConnection();
+    }
+    
+    @Test
+    void testAddAndGetBook() {
+        Book book = new Book(testIsbn, "Test Book");
+        book.setPublicationDate(LocalDate.now());
+        book.setQuantity(5);
+        book.setAvailableQuantity(5);
+        
+        bookDAO.addBook(book);
+        
+        Optional<Book> retrieved = bookDAO.getBookByIsbn(testIsbn);
+        assertTrue(retrieved.isPresent(), "Book should be present after adding");
+        assertEquals("Test Book", retrieved.get().getTitle(), "Title should match");
+        assertEquals(5, retrieved.get().getQuantity(), "Quantity should match");
+    }
+    
+    @Test
+    void testUpdateBook() {
+        Book book = new Book(testIsbn, "Test Book");
+        book.setPublicationDate(LocalDate.now());
+        book.setQuantity(5);
+        book.setAvailableQuantity(5);
+        bookDAO.addBook(book);
+        
+        book.setTitle("Updated Test Book");
+        book.setQuantity(10);
+        bookDAO.updateBook(book);
+        
+        Optional<Book> updated = bookDAO.getBookByIsbn(testIsbn);
+        assertTrue(updated.isPresent(), "Book should be present");
+        assertEquals("Updated Test Book", updated.get().getTitle(), "Title should be updated");
+        assertEquals(10, updated.get().getQuantity(), "Quantity should be updated");
+    }
+    
+    @Test
+    void testDeleteBook() {
+        Book book = new Book(testIsbn, "Test Book");
+        bookDAO.addBook(book);
+        
+        bookDAO.deleteBook(testIsbn);
+        
+        Optional<Book> deleted = bookDAO.getBookByIsbn(testIsbn);
+        assertFalse(deleted.isPresent(), "Book should not be present after deletion");
+    }
+    
+    @Test
+    void testSearchBooks() {
+        Book book = new Book(testIsbn, "Test Book for Search");
+        bookDAO.addBook(book);
+        
+        List<Book> results = bookDAO.searchBooks("Test Book");
+        assertFalse(results.isEmpty(), "Search should return results");
+        assertTrue(results.stream().anyMatch(b -> b.getIsbn().equals(testIsbn)), 
+            "Search results should include the test book");
+    }
+    
+    @Test
+    void testBookAvailability() {
+        Book book = new Book(testIsbn, "Test Book");
+        book.setQuantity(2);
+        book.setAvailableQuantity(1);
+        bookDAO.addBook(book);
+        
+        assertTrue(bookDAO.isBookAvailable(testIsbn), "Book should be available");
+        assertEquals(1, bookDAO.getAvailableQuantity(testIsbn), "Available quantity should match");
+    }
+    
+    @Test
+    void testAddBooksSkipsStoredIsbns() {
+        String newIsbn = "TEST1234567891";
+        Author author = new Author("TESTAUTH01", "Test", "Author");
+        try {
+            bookDAO.deleteBook(testIsbn);
+            bookDAO.addBook(new Book(testIsbn, "Stored Book"));
+            
+            Book repeat = new Book(testIsbn, "Repeated Book");
+            repeat.addAuthor(author);
+            Book fresh = new Book(newIsbn, "New Book");
+            fresh.addAuthor(author);
+            assertEquals(1, bookDAO.addBooks(List.of(repeat, fresh)), "Only the new book should be inserted");
+            
+            Book stored = bookDAO.getBookByIsbn(testIsbn).orElseThrow();
+            assertEquals("Stored Book", stored.getTitle(), "The stored book should be left untouched");
+            assertTrue(stored.getAuthors().isEmpty(), "A skipped book should not gain author links");
+            assertEquals(Set.of(author.getAuthorId()), bookDAO.getBookByIsbn(newIsbn).orElseThrow().getAuthors()
+                .stream().map(Author::getAuthorId).collect(Collectors.toSet()), "The new book should be linked");
+            assertEquals(0, bookDAO.addBooks(List.of(fresh)), "A second run should insert nothing");
+        } finally {
+            JdbcQueries.update("DELETE FROM book_authors WHERE author_id = ?", "Failed to delete test links",
+                author.getAuthorId());
+            bookDAO.deleteBook(newIsbn);
+            JdbcQueries.update("DELETE FROM authors WHERE author_id = ?", "Failed to delete test author",
+                author.getAuthorId());
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.library.dao;
+
+import com.library.dao.impl.CompactBookCatalog;
+import com.library.entities.Author;
+import com.library.entities.Book;
+import com.library.entities.Genre;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactBookCatalogTest {
+    private static final Genre FICTION = new Genre("G1", "Fiction");
+
+    private static Book book(String isbn, String title, Author... authors) {
+        Book book = new Book(isbn, title);
+        for (Author author : authors) {
+            book.addAuthor(author);
+        }
+        book.setGenre(FICTION);
+        book.setPublicationDate(LocalDate.of(1999, 3, 14));
+        book.setQuantity(3);
+        book.setAvailableQuantity(2);
+        book.setPublisher("Penguin");
+        book.setLanguage("English");
+        book.setEdition(2);
+        book.setPageCount(320);
+        return book;
+    }
+
+    @Test
+    void testViewsAndCopiesMatchTheStoredBook() {
+        CompactBookCatalog catalog = new CompactBookCatalog();
+        Author ada = new Author("AU1", "Ada", "Lovelace");
+        Author alan = new Author("AU2", "Alan", "Turing");
+        catalog.put(book("CMP001", "Notes", ada, alan));
+        Book bare = new Book("CMP002", "Untitled");
+        catalog.put(bare);
+
+        Book view = catalog.view("CMP001");
+        assertEquals("Notes", view.getTitle());
+        assertEquals(Set.of(ada, alan), view.getAuthors());
+        assertSame(FICTION, view.getGenre(), "Genres should be shared, not copied");
+        assertEquals(LocalDate.of(1999, 3, 14), view.getPublicationDate());
+        assertEquals(2, view.getAvailableQuantity());
+        assertEquals("Penguin", view.getPublisher());
+        assertThrows(UnsupportedOperationException.class, () -> view.setTitle("Changed"));
+        assertThrows(UnsupportedOperationException.class, view::decreaseAvailableQuantity);
+
+        Book copy = catalog.copy("CMP001");
+        copy.decreaseAvailableQuantity();
+        assertEquals(1, copy.getAvailableQuantity());
+        assertEquals(2, view.getAvailableQuantity(), "Copies should be detached from the catalog");
+
+        Book empty = catalog.copy("CMP002");
+        assertTrue(empty.getAuthors().isEmpty());
+        assertNull(empty.getGenre());
+        assertNull(empty.getPublicationDate());
+        assertNull(catalog.copy("CMP999"));
+        assertNull(catalog.view("CMP999"));
+    }
+
+    @Test
+    void testUpdatesAndRemovals() {
+        CompactBookCatalog catalog = new CompactBookCatalog();
+        catalog.put(book("CMP001", "Notes"));
+        catalog.put(book("CMP002", "Letters"));
+        Book view = catalog.view("CMP001");
+
+        Book changed = book("CMP001", "Collected Notes");
+        changed.setPublisher("Vintage");
+        catalog.put(changed);
+        assertEquals("Collected Notes", view.getTitle(), "Views should read the current row");
+        assertEquals("Vintage", view.getPublisher());
+        assertTrue(catalog.addAvailableQuantity("CMP001", -1));
+        assertEquals(1, view.getAvailableQuantity());
+        assertEquals(2, catalog.size());
+
+        assertTrue(catalog.remove("CMP001"));
+        assertFalse(catalog.remove("CMP001"));
+        assertFalse(catalog.addAvailableQuantity("CMP001", 1));
+        catalog.put(book("CMP003", "Diaries"));
+        assertThrows(IllegalStateException.class, view::getTitle,
+                "A view of a removed book should not read the row's next occupant");
+        assertEquals("Diaries", catalog.view("CMP003").getTitle());
+
+        List<String> isbns = catalog.views().map(Book::getIsbn).sorted().collect(Collectors.toList());
+        assertEquals(List.of("CMP002", "CMP003"), isbns);
+    }
+
+    @Test
+    void testCatalogGrowsPastInitialCapacity() {
+        CompactBookCatalog catalog = new CompactBookCatalog();
+        Author shared = new Author("AU1", "Ada", "Lovelace");
+        for (int i = 0; i < 10_000; i++) {
+            catalog.put(book(String.format("CMP%05d", i), "Book " + i, shared));
+        }
+
+        assertEquals(10_000, catalog.size());
+        assertEquals("Book 9999", catalog.copy("CMP09999").getTitle());
+        assertSame(shared, catalog.view("CMP00042").getAuthors().iterator().next());
+    }
+}
\ No newline at end of file
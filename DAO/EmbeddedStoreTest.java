@@ -0,0 +1,139 @@
+package com.library.dao;
+
+import com.library.dao.impl.EmbeddedBookDAO;
+import com.library.dao.impl.EmbeddedLoanDAO;
+import com.library.dao.impl.EmbeddedStore;
+import com.library.dao.impl.EmbeddedUserDAO;
+import com.library.entities.Book;
+import com.library.entities.Loan;
+import com.library.entities.User;
+import com.library.utils.AppendLog.FsyncPolicy;
+import com.library.utils.DatabaseConnection;
+import com.library.utils.Transaction;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmbeddedStoreTest {
+    @TempDir
+    Path directory;
+
+    private EmbeddedStore open(int snapshotEvery) {
+        return new EmbeddedStore(directory, FsyncPolicy.ALWAYS, 0, snapshotEvery);
+    }
+
+    private static Book book(String isbn, int quantity) {
+        Book book = new Book(isbn, "Title " + isbn);
+        book.setQuantity(quantity);
+        book.setAvailableQuantity(quantity);
+        return book;
+    }
+
+    @Test
+    void testConditionalUpdatesMatchTheJdbcRules() {
+        try (EmbeddedStore store = open(1000)) {
+            BookDAO books = new EmbeddedBookDAO(store);
+            UserDAO users = new EmbeddedUserDAO(store);
+            books.addBook(book("EMB001", 1));
+            users.addUser(new User("EMBU1", "Ada", "Reader", User.UserType.VISITOR));
+
+            assertTrue(books.decrementAvailableQuantity("EMB001"));
+            assertFalse(books.decrementAvailableQuantity("EMB001"), "No copy should be left to take");
+            assertTrue(books.incrementAvailableQuantity("EMB001"));
+            assertFalse(books.incrementAvailableQuantity("EMB001"), "Stock should never exceed the quantity");
+
+            assertTrue(users.recordCheckout("EMBU1", "EMB001"));
+            assertFalse(users.recordCheckout("EMBU1", "EMB001"), "The same title should not be borrowed twice");
+            users.recordReturn("EMBU1", "EMB001", 150);
+            assertFalse(users.recordCheckout("EMBU1", "EMB002"), "A user with fines should not borrow");
+            User edited = users.getUserById("EMBU1").get();
+            edited.setFineCents(0);
+            users.updateUser(edited);
+            assertFalse(users.payFines("EMBU1", 151), "Paying more than is owed should be refused");
+            assertTrue(users.payFines("EMBU1", 150), "An edit should not have cleared the fine");
+            assertTrue(users.recordCheckout("EMBU1", "EMB002"));
+        }
+    }
+
+    @Test
+    void testStateSurvivesReopenWithAndWithoutSnapshots() {
+        try (EmbeddedStore store = open(2)) {
+            BookDAO books = new EmbeddedBookDAO(store);
+            UserDAO users = new EmbeddedUserDAO(store);
+            LoanDAO loans = new EmbeddedLoanDAO(store);
+            for (int i = 0; i < 5; i++) {
+                books.addBook(book("EMB10" + i, 2));
+            }
+            User user = new User("EMBU2", "Grace", "Reader", User.UserType.STUDENT);
+            users.addUser(user);
+            users.updatePassword("EMBU2", "s3cret");
+            books.decrementAvailableQuantity("EMB100");
+            loans.addLoan(new Loan("EMBLN1", books.getBookByIsbn("EMB100").get(), user,
+                    LocalDate.now().minusDays(20), LocalDate.now().minusDays(6), null, Loan.LoanStatus.ACTIVE, 0));
+            books.deleteBook("EMB104");
+        }
+
+        try (EmbeddedStore store = open(1000)) {
+            BookDAO books = new EmbeddedBookDAO(store);
+            UserDAO users = new EmbeddedUserDAO(store);
+            LoanDAO loans = new EmbeddedLoanDAO(store);
+
+            assertEquals(4, books.countBooks());
+            assertEquals(1, books.getAvailableQuantity("EMB100"));
+            assertTrue(users.authenticateUser("EMBU2", "s3cret").isPresent());
+            assertEquals(1, loans.getOverdueLoans().size(), "An active loan past its due date counts as overdue");
+            assertEquals(1, loans.markLoansOverdue(java.util.List.of("EMBLN1"), LocalDate.now()));
+            assertEquals(1, loans.accrueOverdueFines(LocalDate.now(), Map.of(User.UserType.STUDENT, 25L)));
+            assertEquals(6 * 25, loans.getTotalFineCents());
+        }
+    }
+
+    @Test
+    void testUncommittedChangesStayOnTheWritingThread() throws Exception {
+        String backend = System.getProperty("storage.backend");
+        System.setProperty("storage.backend", "embedded");
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try (EmbeddedStore store = open(1000)) {
+            BookDAO books = new EmbeddedBookDAO(store);
+            books.addBook(book("EMB200", 2));
+
+            try (Transaction transaction = DatabaseConnection.beginTransaction()) {
+                assertTrue(books.decrementAvailableQuantity("EMB200"));
+                books.addBook(book("EMB201", 1));
+                assertEquals(1, books.getAvailableQuantity("EMB200"), "A transaction should read its own writes");
+                assertEquals(2, books.countBooks());
+
+                assertEquals(2, reader.submit(() -> books.getAvailableQuantity("EMB200")).get(5, TimeUnit.SECONDS).intValue(),
+                        "Other threads should not see an uncommitted checkout");
+                assertEquals(1, reader.submit(books::countBooks).get(5, TimeUnit.SECONDS).intValue());
+            }
+            assertEquals(2, books.getAvailableQuantity("EMB200"), "A rollback should drop the staged changes");
+            assertFalse(books.getBookByIsbn("EMB201").isPresent());
+
+            try (Transaction transaction = DatabaseConnection.beginTransaction()) {
+                assertTrue(books.decrementAvailableQuantity("EMB200"));
+                books.deleteBook("EMB200");
+                assertFalse(books.getBookByIsbn("EMB200").isPresent());
+                assertTrue(reader.submit(() -> books.getBookByIsbn("EMB200").isPresent()).get(5, TimeUnit.SECONDS));
+                transaction.commit();
+            }
+            assertFalse(reader.submit(() -> books.getBookByIsbn("EMB200").isPresent()).get(5, TimeUnit.SECONDS),
+                    "Committed changes should be visible to every thread");
+        } finally {
+            reader.shutdown();
+            if (backend != null) {
+                System.setProperty("storage.backend", backend);
+            } else {
+                System.clearProperty("storage.backend");
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.library.dao;
+
+import com.library.dao.impl.BookDAOImpl;
+import com.library.dao.impl.IndexedBookDAO;
+import com.library.entities.Book;
+import com.library.utils.DatabaseConnection;
+import com.library.utils.JdbcQueries;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Checks the in-memory index against the leading-wildcard LIKE search on a seeded catalog.
+// Search latency is measured by DaoBenchmarks.
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class IndexedBookSearchTest {
+    // Small enough that no single word reaches the index's result cap
+    private static final int BOOKS = 1_000;
+    private static final String[] WORDS = {
+        "history", "ancient", "modern", "physics", "garden", "ocean", "mountain", "silent",
+        "empire", "journey", "quantum", "river", "winter", "shadow", "kingdom", "machine"
+    };
+
+    private final String testIsbnPrefix = "TESTSRCH";
+    private BookDAO likeDAO;
+    private IndexedBookDAO indexedDAO;
+
+    @BeforeAll
+    void setup() {
+        likeDAO = new BookDAOImpl();
+        indexedDAO = new IndexedBookDAO(likeDAO);
+        deleteTestBooks();
+
+        Random random = new Random(42);
+        for (int i = 0; i < BOOKS; i++) {
+            Book book = new Book(testIsbnPrefix + i, WORDS[random.nextInt(WORDS.length)] + " " +
+                WORDS[random.nextInt(WORDS.length)] + " volume " + i);
+            book.setDescription("A seeded search title about the " + WORDS[random.nextInt(WORDS.length)]);
+            book.setQuantity(1);
+            likeDAO.addBook(book);
+        }
+        indexedDAO.rebuild();
+    }
+
+    @AfterAll
+    void tearDown() {
+        deleteTestBooks();
+        DatabaseConnection.closeConnection();
+    }
+
+    private void deleteTestBooks() {
+        JdbcQueries.update("DELETE FROM books WHERE isbn LIKE ?", "Failed to delete test books", testIsbnPrefix + "%");
+    }
+
+    @Test
+    void testIndexAndLikeFindTheSameBooksForEveryWord() {
+        for (String word : WORDS) {
+            Set<String> viaLike = testIsbns(likeDAO.searchBooks(word));
+            Set<String> viaIndex = testIsbns(indexedDAO.searchBooks(word));
+
+            assertFalse(viaLike.isEmpty(), "Every word should appear in the seeded catalog: " + word);
+            assertEquals(viaLike, viaIndex, "LIKE and the index should agree on " + word);
+        }
+    }
+
+    @Test
+    void testIndexToleratesATypo() {
+        Set<String> exact = testIsbns(indexedDAO.searchBooks("quantum"));
+        Set<String> typo = testIsbns(indexedDAO.searchBooks("quantm"));
+
+        assertEquals(exact, typo, "A one-letter typo should find the same books");
+    }
+
+    // Other books in the database may match too; only the seeded ones are compared
+    private Set<String> testIsbns(List<Book> books) {
+        return books.stream()
+            .map(Book::getIsbn)
+            .filter(isbn -> isbn.startsWith(testIsbnPrefix))
+            .collect(Collectors.toSet());
+    }
+}
\ No newline at end of file
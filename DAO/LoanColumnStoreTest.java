@@ -0,0 +1,122 @@
+package com.library.dao;
+
+import com.library.dao.impl.LoanColumnStore;
+import com.library.entities.Loan.LoanStatus;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoanColumnStoreTest {
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 1);
+
+    private static void add(LoanColumnStore store, String loanId, String isbn, String userId,
+                            LocalDate loanDate, LoanStatus status, long fineCents) {
+        store.append(loanId, isbn, userId, loanDate, loanDate.plusDays(14), status, fineCents);
+    }
+
+    @Test
+    void testTopNCountsAndDateRanges() {
+        LoanColumnStore store = new LoanColumnStore();
+        add(store, "LN1", "B", "U1", TODAY.minusDays(30), LoanStatus.RETURNED, 0);
+        add(store, "LN2", "A", "U1", TODAY.minusDays(20), LoanStatus.RETURNED, 0);
+        add(store, "LN3", "A", "U2", TODAY.minusDays(2), LoanStatus.ACTIVE, 0);
+        add(store, "LN4", "B", "U2", TODAY.minusDays(1), LoanStatus.ACTIVE, 0);
+        add(store, "LN5", "C", "U2", TODAY, LoanStatus.ACTIVE, 0);
+
+        assertEquals(List.of("A", "B"), List.copyOf(store.topBooks(2, null, null).keySet()),
+                "Ties should fall back to ISBN order");
+        assertEquals(Map.of("U2", 3L), store.topUsers(1, null, null));
+        assertEquals(Map.of("A", 2L, "B", 1L), store.topBooks(10, TODAY.minusDays(20), TODAY.minusDays(1)));
+        assertTrue(store.topBooks(0, null, null).isEmpty());
+        assertEquals(TODAY.minusDays(1), store.getReloadFrom());
+    }
+
+    @Test
+    void testOpenLoansFollowUpdates() {
+        LoanColumnStore store = new LoanColumnStore();
+        add(store, "LN1", "A", "U1", TODAY.minusDays(20), LoanStatus.ACTIVE, 0);
+        add(store, "LN2", "B", "U1", TODAY.minusDays(2), LoanStatus.ACTIVE, 0);
+        add(store, "LN3", "C", "U2", TODAY.minusDays(40), LoanStatus.RETURNED, 125);
+
+        assertEquals(1, store.count(LoanStatus.OVERDUE, TODAY), "An active loan past due counts as overdue");
+        store.markOverdue(List.of("LN1", "LN2"), TODAY);
+        assertTrue(store.setFine("LN1", 6 * 50));
+        assertFalse(store.setFine("LN3", 50), "Closed loans keep the fine they were closed with");
+        assertEquals(1, store.count(LoanStatus.OVERDUE, TODAY));
+        assertEquals(125 + 6 * 50, store.totalFineCents(), "LN1 is six days overdue");
+
+        assertTrue(store.update("LN1", TODAY.minusDays(6), LoanStatus.RETURNED, 300));
+        assertFalse(store.update("LN1", TODAY.minusDays(6), LoanStatus.RETURNED, 300),
+                "A returned loan is closed and no longer updated in place");
+        assertFalse(store.update("LN3", TODAY, LoanStatus.LOST, 0), "Closed loans are not indexed");
+        assertTrue(store.extend("LN2", TODAY.plusDays(14)));
+
+        assertTrue(store.remove("LN2"));
+        assertEquals(2, store.count(null, TODAY), "Deleted loans are not counted");
+        assertFalse(store.topBooks(10, null, null).containsKey("B"));
+        assertEquals(2, store.count(LoanStatus.RETURNED, TODAY));
+        assertEquals(125 + 300, store.totalFineCents());
+    }
+
+    @Test
+    void testCommittedLoansAppendOnceInCommitOrder() {
+        LoanColumnStore store = new LoanColumnStore();
+        LocalDate due = TODAY.plusDays(14);
+        assertTrue(store.appendOpen("LN2", "A", "U1", TODAY, due, LoanStatus.ACTIVE, 0));
+        assertTrue(store.appendOpen("LN1", "B", "U2", TODAY, due, LoanStatus.ACTIVE, 0),
+                "A loan committing after a higher ID should still be appended");
+        assertFalse(store.appendOpen("LN2", "A", "U1", TODAY, due, LoanStatus.ACTIVE, 0),
+                "A loan the store already holds should not be counted twice");
+        assertFalse(store.appendOpen("LN0", "C", "U2", TODAY, due, LoanStatus.RETURNED, 0),
+                "Closed loans are left to the incremental load");
+
+        assertEquals(2, store.size());
+        assertFalse(store.appendIfAbsent("LN1", "B", "U2", TODAY, due, LoanStatus.RETURNED, 0),
+                "An incremental load should skip loans appended on commit");
+        assertEquals(Map.of("A", 1L, "B", 1L), store.topBooks(10, null, null));
+    }
+
+    @Test
+    void testIncrementalLoadsFollowLoanDatesNotIds() {
+        LoanColumnStore store = new LoanColumnStore();
+        assertNull(store.getReloadFrom(), "An empty store needs a full load");
+        add(store, "LN1697000000000", "A", "U1", TODAY.minusDays(10), LoanStatus.RETURNED, 0);
+        add(store, "LN0100", "B", "U1", TODAY.minusDays(1), LoanStatus.RETURNED, 0);
+        add(store, "LN0200", "C", "U2", TODAY, LoanStatus.ACTIVE, 0);
+        assertEquals(TODAY.minusDays(1), store.getReloadFrom(),
+                "A legacy loan ID sorting past newer ones should not hold the watermark back");
+
+        LocalDate due = TODAY.plusDays(14);
+        assertTrue(store.appendIfAbsent("LN0150", "A", "U3", TODAY, due, LoanStatus.ACTIVE, 0),
+                "A loan from another process with a lower ID should still be picked up");
+        assertFalse(store.appendIfAbsent("LN0100", "B", "U1", TODAY.minusDays(1), due, LoanStatus.RETURNED, 0));
+        assertFalse(store.appendIfAbsent("LN0200", "C", "U2", TODAY, due, LoanStatus.ACTIVE, 0));
+        assertEquals(4, store.size());
+
+        assertTrue(store.willLoad("LN0300", TODAY));
+        assertFalse(store.willLoad("LN0100", TODAY.minusDays(1)), "Held loans are not read again");
+        assertFalse(store.willLoad("LN1697000000000", TODAY.minusDays(10)), "Older loans wait for a reload");
+        assertFalse(store.willLoad("LN0300", null));
+    }
+
+    @Test
+    void testQueriesSpanManySegments() {
+        LoanColumnStore store = new LoanColumnStore();
+        int loans = 300_000;
+        for (int i = 0; i < loans; i++) {
+            add(store, String.format("LN%07d", i), "ISBN" + (i % 1000), "U" + (i % 5000),
+                    TODAY.minusDays(i % 365), LoanStatus.RETURNED, 50);
+        }
+
+        assertEquals(loans, store.size());
+        assertEquals(loans, store.count(null, TODAY));
+        assertEquals(loans * 50L, store.totalFineCents());
+        Map<String, Long> top = store.topBooks(3, null, null);
+        assertEquals(List.of("ISBN0", "ISBN1", "ISBN10"), List.copyOf(top.keySet()));
+        assertEquals(300L, top.get("ISBN0"));
+    }
+}
\ No newline at end of file
@@ -1,17 +1,36 @@
-package com.library.dao;
-
-import com.library.entities.Loan;
-import java.util.List;
-import java.util.Optional;
-
-public interface LoanDAO {
-    void addLoan(Loan loan);
-    Optional<Loan> getLoanById(String loanId);
-    List<Loan> getAllLoans();
-    List<Loan> getLoansByUser(String userId);
-    List<Loan> getLoansByBook(String isbn);
-    List<Loan> getActiveLoans();
-    List<Loan> getOverdueLoans();
-    void updateLoan(Loan loan);
-    void deleteLoan(String loanId);
+package com.library.dao;
+
+import com.library.entities.Loan;
+import com.library.entities.User;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface LoanDAO {
+    void addLoan(Loan loan);
+    Optional<Loan> getLoanById(String loanId);
+    List<Loan> getAllLoans();
+    List<Loan> getLoansPage(String afterLoanId, int limit);
+    List<Loan> getLoansPage(Loan.LoanStatus status, String afterLoanId, int limit);
+    List<Loan> getLoansPageByDueDate(Loan.LoanStatus status, LocalDate afterDueDate, String afterLoanId, int limit);
+    int countLoans(Loan.LoanStatus status);
+    Stream<Loan> streamAllLoans();
+    List<Loan> getLoansByUser(String userId);
+    List<Loan> getLoansByBook(String isbn);
+    List<Loan> getActiveLoans();
+    List<Loan> getOverdueLoans();
+    void updateLoan(Loan loan);
+    boolean markLoanReturned(Loan loan);
+    boolean extendLoan(String loanId, LocalDate newDueDate);
+    void deleteLoan(String loanId);
+    Map<String, Long> getMostBorrowedIsbns(int limit);
+    Map<String, Long> getMostBorrowedIsbns(LocalDate from, LocalDate to, int limit);
+    Map<String, Long> getMostActiveUserIds(int limit);
+    long getTotalFineCents();
+    Map<String, LocalDate> getDueDatesByStatus(Loan.LoanStatus status);
+    int markLoansOverdue(Collection<String> loanIds, LocalDate asOf);
+    int accrueOverdueFines(LocalDate asOf, Map<User.UserType, Long> dailyRateCents);
 }
\ No newline at end of file
@@ -1,128 +1,216 @@
-package com.library.dao;
-
-import com.library.entities.Book;
-import com.library.entities.Loan;
-import com.library.entities.User;
-import com.library.utils.DatabaseConnection;
-import org.junit.jupiter.api.*;
-
-import java.sql.Connection;
-import java.sql.SQLException;
-import java.time.LocalDate;
-import java.util.List;
-import java.util.Optional;
-
-import static org.junit.jupiter.api.Assertions.*;
-
-@TestInstance(TestInstance.Lifecycle.PER_CLASS)
-class LoanDAOTest {
-    private LoanDAO loanDAO;
-    private BookDAO bookDAO;
-    private UserDAO userDAO;
-    private Connection connection;
-    private final String testLoanId = "TESTLOAN123";
-    private final String testIsbn = "TESTBOOK123";
-    private final String testUserId = "TESTUSER123";
-    
-    @BeforeAll
-    void setup() throws SQLException {
-        connection = DatabaseConnection.getConnection();
-        loanDAO = new LoanDAOImpl();
-        bookDAO = new BookDAOImpl();
-        userDAO = new UserDAOImpl();
-        
-        // Clear any existing test data
-        connection.prepareStatement("DELETE FROM loans WHERE loan_id = '" + testLoanId + "'").executeUpdate();
-        connection.prepareStatement("DELETE FROM books WHERE isbn = '" + testIsbn + "'").executeUpdate();
-        connection.prepareStatement("DELETE FROM users WHERE user_id = '" + testUserId + "'").executeUpdate();
-        
-        // Create test book and user
-        Book book = new Book(testIsbn, "Test Book");
-        bookDAO.addBook(book);
-        
-        User user = new User(testUserId, "Test", "User", User.UserType.STUDENT);
-        userDAO.addUser(user);
-    }
-    
-    @AfterAll
-    void tearDown() throws SQLException {
-        // Clean up
-        connection.prepareStatement("DELETE FROM loans WHERE loan_id = '" + testLoanId + "'").executeUpdate();
-        connection.prepareStatement("DELETE FROM books WHERE isbn = '" + testIsbn + "'").executeUpdate();
-        connection.prepareStatement("DELETE FROM users WHERE user_id = '" + testUserId + "'").executeUpdate();
-        DatabaseConnection.closeConnection();
-    }
-    
-    @Test
-    void testAddAndGetLoan() {
-        Book book = bookDAO.getBookByIsbn(testIsbn).orElseThrow();
-        User user = userDAO.getUserById(testUserId).orElseThrow();
-        
-        Loan loan = new Loan(testLoanId, book, user, 14);
-        loanDAO.addLoan(loan);
-        
-        Optional<Loan> retrieved = loanDAO.getLoanById(testLoanId);
-        assertTrue(retrieved.isPresent(), "Loan should be present after adding");
-        assertEquals(testIsbn, retrieved.get().getBook().getIsbn(), "Book ISBN should match");
-        assertEquals(testUserId, retrieved.get().getUser().getUserId(), "User ID should match");
-    }
-    
-    @Test
-    void testUpdateLoan() {
-        Book book = bookDAO.getBookByIsbn(testIsbn).orElseThrow();
-        User user = userDAO.getUserById(testUserId).orElseThrow();
-        
-        Loan loan = new Loan(testLoanId, book, user, 14);
-        loanDAO.addLoan(loan);
-        
-        loan.setStatus(Loan.LoanStatus.RETURNED);
-        loanDAO.updateLoan(loan);
-        
-        Optional<Loan> updated = loanDAO.getLoanById(testLoanId);
-        assertTrue(updated.isPresent(), "Loan should be present");
-        assertEquals(Loan.LoanStatus.RETURNED, updated.get().getStatus(), "Status should be updated");
-    }
-    
-    @Test
-    void testDeleteLoan() {
-        Book book = bookDAO.getBookByIsbn(testIsbn).orElseThrow();
-        User user = userDAO.getUserById(testUserId).orElseThrow();
-        
-        Loan loan = new Loan(testLoanId, book, user, 14);
-        loanDAO.addLoan(loan);
-        
-        loanDAO.deleteLoan(testLoanId);
-        
-        Optional<Loan> deleted = loanDAO.getLoanById(testLoanId);
-        assertFalse(deleted.isPresent(), "Loan should not be present after deletion");
-    }
-    
-    @Test
-    void testGetLoansByUser() {
-        Book book = bookDAO.getBookByIsbn(testIsbn).orElseThrow();
-        User user = userDAO.getUserById(testUserId).orElseThrow();
-        
-        Loan loan = new Loan(testLoanId, book, user, 14);
-        loanDAO.addLoan(loan);
-        
-        List<Loan> userLoans = loanDAO.getLoansByUser(testUserId);
-        assertFalse(userLoans.isEmpty(), "User loans should not be empty");
-        assertTrue(userLoans.stream().anyMatch(l -> l.getLoanId().equals(testLoanId)), 
-            "User loans should include the test loan");
-    }
-    
-    @Test
-    void testGetOverdueLoans() {
-        Book book = bookDAO.getBookByIsbn(testIsbn).orElseThrow();
-        User user = userDAO.getUserById(testUserId).orElseThrow();
-        
-        Loan loan = new Loan(testLoanId, book, user, 14);
-        loan.setDueDate(LocalDate.now().minusDays(1)); // Set to yesterday to make it overdue
-        loanDAO.addLoan(loan);
-        
-        List<Loan> overdueLoans = loanDAO.getOverdueLoans();
-        assertFalse(overdueLoans.isEmpty(), "Overdue loans should not be empty");
-        assertTrue(overdueLoans.stream().anyMatch(l -> l.getLoanId().equals(testLoanId)), 
-            "Overdue loans should include the test loan");
-    }
+package com.library.dao;
+
+import com.library.entities.Book;
+import com.library.entities.Loan;
+import com.library.entities.User;
+import com.library.utils.DatabaseConnection;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LoanDAOTest {
+    private LoanDAO loanDAO;
+    private BookDAO bookDAO;
+    private UserDAO userDAO;
+    private Connection connection;
+    private final String testLoanId = "TESTLOAN123";
+    private final String testIsbn = "TESTBOOK123";
+    private final String testUserId = "TESTUSER123";
+    
+    @BeforeAll
+    void setup() throws SQLException {
+        connection = DatabaseConnection.getConnection();
+        loanDAO = new LoanDAOImpl();
+        bookDAO = new BookDAOImpl();
+        userDAO = new UserDAOImpl();
+        
+        // Clear any existing test data
+        connection.prepareStatement("DELETE FROM loans WHERE loan_id = '" + testLoanId + "'").executeUpdate();
+        connection.prepareStatement("DELETE FROM books WHERE isbn = '" + testIsbn + "'").executeUpdate();
+        connection.prepareStatement("DELETE FROM users WHERE user_id = '" + testUserId + "'").executeUpdate();
+        
+        // Create test book and user
+        Book book = new Book(testIsbn, "Test Book");
+        bookDAO.addBook(book);
+        
+        User user = new User(testUserId, "Test", "User", User.UserType.STUDENT);
+        userDAO.addUser(user);
+    }
+    
+    @AfterAll
+    void tearDown() throws SQLException {
+        // Clean up
+        connection.prepareStatement("DELETE FROM loans WHERE loan_id = '" + testLoanId + "'").executeUpdate();
+        connection.prepareStatement("DELETE FROM books WHERE isbn = '" + testIsbn + "'").executeUpdate();
+        connection.prepareStatement("DELETE FROM users WHERE user_id = '" + testUserId + "'").executeUpdate();
+        DatabaseConnection.closeConnection();
+    }
+    
+    @Test
+    void testAddAndGetLoan() {
+        Book book = bookDAO.getBookByIsbn(testIsbn).orElseThrow();
+        User user = userDAO.getUserById(testUserId).orElseThrow();
+        
+        Loan loan = new Loan(testLoanId, book, user, 14);
+        loanDAO.addLoan(loan);
+        
+        Optional<Loan> retrieved = loanDAO.getLoanById(testLoanId);
+        assertTrue(retrieved.isPresent(), "Loan should be present after adding");
+        assertEquals(testIsbn, retrieved.get().getBook().getIsbn(), "Book ISBN should match");
+        assertEquals(testUserId, retrieved.get().getUser().getUserId(), "User ID should match");
+    }
+    
+    @Test
+    void testUpdateLoan() {
+        Book book = bookDAO.getBookByIsbn(testIsbn).orElseThrow();
+        User user = userDAO.getUserById(testUserId).orElseThrow();
+        
+        Loan loan = new Loan(testLoanId, book, user, 14);
+        loanDAO.addLoan(loan);
+        
+        loan.setStatus(Loan.LoanStatus.RETURNED);
+        loanDAO.updateLoan(loan);
+        
+        Optional<Loan> updated = loanDAO.getLoanById(testLoanId);
+        assertTrue(updated.isPresent(), "Loan should be present");
+        assertEquals(Loan.LoanStatus.RETURNED, updated.get().getStatus(), "Status should be updated");
+    }
+    
+    @Test
+    void testDeleteLoan() {
+        Book book = bookDAO.getBookByIsbn(testIsbn).orElseThrow();
+        User user = userDAO.getUserById(testUserId).orElseThrow();
+        
+        Loan loan = new Loan(testLoanId, book, user, 14);
+        loanDAO.addLoan(loan);
+        
+        loanDAO.deleteLoan(testLoanId);
+        
+        Optional<Loan> deleted = loanDAO.getLoanById(testLoanId);
+        assertFalse(deleted.isPresent(), "Loan should not be present after deletion");
+    }
+    
+    @Test
+    void testGetLoansByUser() {
+        Book book = bookDAO.getBookByIsbn(testIsbn).orElseThrow();
+        User user = userDAO.getUserById(testUserId).orElseThrow();
+        
+        Loan loan = new Loan(testLoanId, book, user, 14);
+        loanDAO.addLoan(loan);
+        
+        List<Loan> userLoans = loanDAO.getLoansByUser(testUserId);
+        assertFalse(userLoans.isEmpty(), "User loans should not be empty");
+        assertTrue(userLoans.stream().anyMatch(l -> l.getLoanId().equals(testLoanId)), 
+            "User loans should include the test loan");
+    }
+    
+    @Test
+    void testGetOverdueLoans() {
+        Book book = bookDAO.getBookByIsbn(testIsbn).orElseThrow();
+        User user = userDAO.getUserById(testUserId).orElseThrow();
+        
+        Loan loan = new Loan(testLoanId, book, user, 14);
+        loan.setDueDate(LocalDate.now().minusDays(1)); // Set to yesterday to make it overdue
+        loanDAO.addLoan(loan);
+        
+        List<Loan> overdueLoans = loanDAO.getOverdueLoans();
+        assertFalse(overdueLoans.isEmpty(), "Overdue loans should not be empty");
+        assertTrue(overdueLoans.stream().anyMatch(l -> l.getLoanId().equals(testLoanId)), 
+            "Overdue loans should include the test loan");
+    }
+    
+    @Test
+    void testLoanReportAggregates() {
+        Book book = bookDAO.getBookByIsbn(testIsbn).orElseThrow();
+        User user = userDAO.getUserById(testUserId).orElseThrow();
+        
+        loanDAO.deleteLoan(testLoanId);
+        Loan loan = new Loan(testLoanId, book, user, LocalDate.now(), LocalDate.now().plusDays(14),
+                null, Loan.LoanStatus.ACTIVE, 250);
+        loanDAO.addLoan(loan);
+        
+        Map<String, Long> books = loanDAO.getMostBorrowedIsbns(Integer.MAX_VALUE);
+        assertEquals(1L, books.get(testIsbn), "Test book should be counted once");
+        
+        Map<String, Long> today = loanDAO.getMostBorrowedIsbns(LocalDate.now(), LocalDate.now(), Integer.MAX_VALUE);
+        assertEquals(1L, today.get(testIsbn), "Test book should be counted in today's range");
+        Map<String, Long> lastYear = loanDAO.getMostBorrowedIsbns(LocalDate.now().minusYears(1),
+            LocalDate.now().minusDays(1), Integer.MAX_VALUE);
+        assertFalse(lastYear.containsKey(testIsbn), "A range ending yesterday should not count today's loan");
+        
+        Map<String, Long> users = loanDAO.getMostActiveUserIds(Integer.MAX_VALUE);
+        assertEquals(1L, users.get(testUserId), "Test user should be counted once");
+        
+        List<Long> counts = List.copyOf(books.values());
+        for (int i = 1; i < counts.size(); i++) {
+            assertTrue(counts.get(i - 1) >= counts.get(i), "Counts should be ordered highest first");
+        }
+        assertTrue(loanDAO.getTotalFineCents() >= 250, "Total fines should include the test loan's fine");
+    }
+    
+    @Test
+    void testMarkOverdueAndAccrueFines() {
+        Book book = bookDAO.getBookByIsbn(testIsbn).orElseThrow();
+        User user = userDAO.getUserById(testUserId).orElseThrow();
+        
+        loanDAO.deleteLoan(testLoanId);
+        LocalDate dueDate = LocalDate.now().minusDays(4);
+        Loan loan = new Loan(testLoanId, book, user, dueDate.minusDays(14), dueDate,
+                null, Loan.LoanStatus.ACTIVE, 0);
+        loanDAO.addLoan(loan);
+        
+        assertEquals(dueDate, loanDAO.getDueDatesByStatus(Loan.LoanStatus.ACTIVE).get(testLoanId),
+            "Active loan's due date should be listed");
+        assertEquals(1, loanDAO.markLoansOverdue(List.of(testLoanId), LocalDate.now()), "Loan should be flipped");
+        assertEquals(0, loanDAO.markLoansOverdue(List.of(testLoanId), LocalDate.now()),
+            "An already overdue loan should not be updated again");
+        
+        assertEquals(0, loanDAO.accrueOverdueFines(LocalDate.now(), Map.of(User.UserType.FACULTY, 10L)),
+            "Loans of user types without a rate should be left alone");
+        loanDAO.accrueOverdueFines(LocalDate.now(), Map.of(User.UserType.STUDENT, 25L));
+        Loan overdue = loanDAO.getLoanById(testLoanId).orElseThrow();
+        assertEquals(Loan.LoanStatus.OVERDUE, overdue.getStatus(), "Status should be persisted");
+        assertEquals(4 * 25, overdue.getFineCents(), "Fine should cover four days at the student rate");
+    }
+    
+    @Test
+    void testLoansPageByDueDate() {
+        Book book = bookDAO.getBookByIsbn(testIsbn).orElseThrow();
+        User user = userDAO.getUserById(testUserId).orElseThrow();
+        
+        // Due far enough ahead that no other loan sorts between them
+        LocalDate base = LocalDate.of(9000, 1, 1);
+        List<String> loanIds = List.of(testLoanId + "A", testLoanId + "B", testLoanId + "C");
+        List<LocalDate> dueDates = List.of(base.plusDays(2), base, base);
+        try {
+            for (int i = 0; i < loanIds.size(); i++) {
+                loanDAO.addLoan(new Loan(loanIds.get(i), book, user, LocalDate.now(), dueDates.get(i),
+                    null, Loan.LoanStatus.ACTIVE, 0));
+            }
+            
+            List<Loan> first = loanDAO.getLoansPageByDueDate(null, base.minusDays(1), null, 2);
+            assertEquals(List.of(testLoanId + "B", testLoanId + "C"),
+                first.stream().map(Loan::getLoanId).collect(Collectors.toList()),
+                "Equal due dates should be ordered by loan ID");
+            
+            Loan last = first.get(1);
+            List<Loan> second = loanDAO.getLoansPageByDueDate(Loan.LoanStatus.ACTIVE, last.getDueDate(),
+                last.getLoanId(), 2);
+            assertEquals(List.of(testLoanId + "A"), second.stream().map(Loan::getLoanId).collect(Collectors.toList()),
+                "The next page should start after the last row of the previous one");
+            assertTrue(loanDAO.getLoansPageByDueDate(Loan.LoanStatus.RETURNED, last.getDueDate(),
+                last.getLoanId(), 2).isEmpty(), "The status filter should still apply");
+        } finally {
+            loanIds.forEach(loanDAO::deleteLoan);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.library.dao;
+
+import com.library.entities.Reservation;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface ReservationDAO {
+    void addReservation(Reservation reservation);
+    Optional<Reservation> getReservationById(String reservationId);
+    List<Reservation> getReservationsByUser(String userId);
+    List<Reservation> getOpenReservations();
+    List<Reservation> getOpenReservationsForBook(String isbn);
+    Optional<Reservation> getNextWaiting(String isbn);
+    int countWaiting(String isbn);
+    List<Reservation> getExpiredHolds(LocalDate today);
+    boolean updateReservationStatus(String reservationId, Reservation.ReservationStatus expected,
+                                    Reservation.ReservationStatus newStatus, LocalDate holdExpiresAt);
+}
\ No newline at end of file
@@ -0,0 +1,130 @@
+package com.library.dao;
+
+import com.library.dao.impl.BookDAOImpl;
+import com.library.dao.impl.QueuedReservationDAO;
+import com.library.dao.impl.ReservationDAOImpl;
+import com.library.dao.impl.UserDAOImpl;
+import com.library.entities.Book;
+import com.library.entities.Reservation;
+import com.library.entities.Reservation.ReservationStatus;
+import com.library.entities.User;
+import com.library.utils.DatabaseConnection;
+import com.library.utils.JdbcQueries;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReservationDAOTest {
+    private ReservationDAO reservationDAO;
+    private BookDAO bookDAO;
+    private UserDAO userDAO;
+    private Connection connection;
+    private final String testReservationPrefix = "TESTRSV";
+    private final String testIsbn = "TESTRSVBOOK";
+    private final String[] testUserIds = {"TESTRSVUSR1", "TESTRSVUSR2", "TESTRSVUSR3"};
+    
+    @BeforeAll
+    void setup() throws SQLException {
+        connection = DatabaseConnection.getConnection();
+        reservationDAO = new QueuedReservationDAO(new ReservationDAOImpl());
+        bookDAO = new BookDAOImpl();
+        userDAO = new UserDAOImpl();
+        deleteTestData();
+        
+        bookDAO.addBook(new Book(testIsbn, "Reserved Book"));
+        for (String userId : testUserIds) {
+            userDAO.addUser(new User(userId, "Test", "Reader", User.UserType.STUDENT));
+        }
+    }
+    
+    @AfterAll
+    void tearDown() throws SQLException {
+        deleteTestData();
+        DatabaseConnection.closeConnection();
+    }
+    
+    @BeforeEach
+    void clearReservations() throws SQLException {
+        connection.prepareStatement("DELETE FROM reservations WHERE book_isbn = '" + testIsbn + "'").executeUpdate();
+        ((QueuedReservationDAO) reservationDAO).rebuild();
+    }
+    
+    private void deleteTestData() throws SQLException {
+        connection.prepareStatement("DELETE FROM reservations WHERE book_isbn = '" + testIsbn + "'").executeUpdate();
+        connection.prepareStatement("DELETE FROM books WHERE isbn = '" + testIsbn + "'").executeUpdate();
+        connection.prepareStatement("DELETE FROM users WHERE user_id LIKE 'TESTRSVUSR%'").executeUpdate();
+    }
+    
+    private Reservation reserve(int position) {
+        Reservation reservation = new Reservation(testReservationPrefix + position, testIsbn, testUserIds[position],
+                LocalDateTime.now(), ReservationStatus.WAITING, null);
+        reservationDAO.addReservation(reservation);
+        return reservation;
+    }
+    
+    @Test
+    void testQueueIsFirstInFirstOut() {
+        reserve(0);
+        reserve(1);
+        reserve(2);
+        
+        assertEquals(3, reservationDAO.countWaiting(testIsbn), "All three readers should be waiting");
+        assertEquals(testUserIds[0], reservationDAO.getNextWaiting(testIsbn).orElseThrow().getUserId(),
+            "The first reservation should be at the front");
+        
+        assertTrue(reservationDAO.updateReservationStatus(testReservationPrefix + 0, ReservationStatus.WAITING,
+            ReservationStatus.READY, LocalDate.now().plusDays(3)), "The head should move to ready");
+        assertEquals(testUserIds[1], reservationDAO.getNextWaiting(testIsbn).orElseThrow().getUserId(),
+            "The second reservation should be next");
+        assertEquals(2, reservationDAO.countWaiting(testIsbn), "Ready holds should not count as waiting");
+    }
+    
+    @Test
+    void testCancelledReservationsAreSkipped() {
+        reserve(0);
+        reserve(1);
+        
+        assertTrue(reservationDAO.updateReservationStatus(testReservationPrefix + 0, ReservationStatus.WAITING,
+            ReservationStatus.CANCELLED, null), "Waiting reservation should be cancellable");
+        assertFalse(reservationDAO.updateReservationStatus(testReservationPrefix + 0, ReservationStatus.WAITING,
+            ReservationStatus.READY, null), "A cancelled reservation should fail the status guard");
+        
+        assertEquals(testUserIds[1], reservationDAO.getNextWaiting(testIsbn).orElseThrow().getUserId(),
+            "Cancelled entries should be skipped");
+        assertEquals(1, reservationDAO.countWaiting(testIsbn), "Only the remaining reader should be waiting");
+    }
+    
+    @Test
+    void testIndexMatchesDatabase() {
+        reserve(0);
+        reserve(1);
+        reservationDAO.updateReservationStatus(testReservationPrefix + 1, ReservationStatus.WAITING,
+            ReservationStatus.READY, LocalDate.now().minusDays(1));
+        
+        ReservationDAO direct = new ReservationDAOImpl();
+        assertEquals(direct.countWaiting(testIsbn), reservationDAO.countWaiting(testIsbn),
+            "In-memory count should match the database");
+        assertEquals(direct.getExpiredHolds(LocalDate.now()).size(), reservationDAO.getExpiredHolds(LocalDate.now()).size(),
+            "Expired holds should match the database");
+    }
+    
+    @Test
+    void testRowChangedInDatabaseIsReloaded() {
+        reserve(0);
+        reserve(1);
+        JdbcQueries.update("UPDATE reservations SET status = ? WHERE reservation_id = ?",
+            "Failed to cancel test reservation", ReservationStatus.CANCELLED, testReservationPrefix + 0);
+        
+        assertFalse(reservationDAO.updateReservationStatus(testReservationPrefix + 0, ReservationStatus.WAITING,
+            ReservationStatus.READY, LocalDate.now().plusDays(3)), "The status guard should fail");
+        assertEquals(1, reservationDAO.countWaiting(testIsbn), "The failed update should resync the book");
+        assertEquals(testUserIds[1], reservationDAO.getNextWaiting(testIsbn).orElseThrow().getUserId(),
+            "The cancelled reservation should no longer be queued");
+    }
+}
\ No newline at end of file
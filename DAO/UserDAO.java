@@ -1,17 +1,27 @@
-package com.library.dao;
-
-import com.library.entities.User;
-import java.util.List;
-import java.util.Optional;
-
-public interface UserDAO {
-    void addUser(User user);
-    Optional<User> getUserById(String userId);
-    List<User> getAllUsers();
-    List<User> getUsersByName(String name);
-    List<User> getUsersByType(User.UserType type);
-    void updateUser(User user);
-    void deleteUser(String userId);
-    boolean userExists(String userId);
-    boolean authenticateUser(String userId, String password);
+package com.library.dao;
+
+import com.library.entities.User;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface UserDAO {
+    void addUser(User user);
+    Optional<User> getUserById(String userId);
+    List<User> getUsersByIds(Collection<String> userIds);
+    List<User> getAllUsers();
+    List<User> getUsersPage(String afterUserId, int limit);
+    Stream<User> streamAllUsers();
+    int countUsers();
+    List<User> getUsersByName(String name);
+    List<User> getUsersByType(User.UserType type);
+    void updateUser(User user);
+    void deleteUser(String userId);
+    boolean userExists(String userId);
+    Optional<User> authenticateUser(String userId, String password);
+    void updatePassword(String userId, String password);
+    boolean recordCheckout(String userId, String isbn);
+    void recordReturn(String userId, String isbn, long fineCents);
+    boolean payFines(String userId, long amountCents);
 }
\ No newline at end of file
@@ -1,93 +1,193 @@
-package com.library.dao;
-
-import com.library.entities.User;
-import com.library.utils.DatabaseConnection;
-import org.junit.jupiter.api.*;
-
-import java.sql.Connection;
-import java.sql.SQLException;
-import java.time.LocalDate;
-import java.util.List;
-import java.util.Optional;
-
-import static org.junit.jupiter.api.Assertions.*;
-
-@TestInstance(TestInstance.Lifecycle.PER_CLASS)
-class UserDAOTest {
-    private UserDAO userDAO;
-    private Connection connection;
-    private final String testUserId = "TESTUSER123";
-    
-    @BeforeAll
-    void setup() throws SQLException {
-        connection = DatabaseConnection.getConnection();
-        userDAO = new UserDAOImpl();
-        
-        // Clear any existing test data
-        connection.prepareStatement("DELETE FROM users WHERE user_id = '" + testUserId + "'").executeUpdate();
-    }
-    
-    @AfterAll
-    void tearDown() throws SQLException {
-        // Clean up
-        connection.prepareStatement("DELETE FROM users WHERE user_id = '" + testUserId + "'").executeUpdate();
-        DatabaseConnection.closeConnection();
-    }
-    
-    @Test
-    void testAddAndGetUser() {
-        User user = new User(testUserId, "Test", "User", User.UserType.STUDENT);
-        user.setRegistrationDate(LocalDate.now());
-        
-        userDAO.addUser(user);
-        
-        Optional<User> retrieved = userDAO.getUserById(testUserId);
-        assertTrue(retrieved.isPresent(), "User should be present after adding");
-        assertEquals("Test User", retrieved.get().getFullName(), "Name should match");
-        assertEquals(User.UserType.STUDENT, retrieved.get().getUserType(), "User type should match");
-    }
-    
-    @Test
-    void testUpdateUser() {
-        User user = new User(testUserId, "Test", "User", User.UserType.STUDENT);
-        userDAO.addUser(user);
-        
-        user.setLastName("Updated");
-        userDAO.updateUser(user);
-        
-        Optional<User> updated = userDAO.getUserById(testUserId);
-        assertTrue(updated.isPresent(), "User should be present");
-        assertEquals("Test Updated", updated.get().getFullName(), "Name should be updated");
-    }
-    
-    @Test
-    void testDeleteUser() {
-        User user = new User(testUserId, "Test", "User", User.UserType.STUDENT);
-        userDAO.addUser(user);
-        
-        userDAO.deleteUser(testUserId);
-        
-        Optional<User> deleted = userDAO.getUserById(testUserId);
-        assertFalse(deleted.isPresent(), "User should not be present after deletion");
-    }
-    
-    @Test
-    void testSearchUsers() {
-        User user = new User(testUserId, "Search", "Test", User.UserType.STUDENT);
-        userDAO.addUser(user);
-        
-        List<User> results = userDAO.getUsersByName("Search");
-        assertFalse(results.isEmpty(), "Search should return results");
-        assertTrue(results.stream().anyMatch(u -> u.getUserId().equals(testUserId)), 
-            "Search results should include the test user");
-    }
-    
-    @Test
-    void testUserExists() {
-        User user = new User(testUserId, "Exists", "Test", User.UserType.STUDENT);
-        userDAO.addUser(user);
-        
-        assertTrue(userDAO.userExists(testUserId), "User should exist");
-        assertFalse(userDAO.userExists("NONEXISTENT"), "Non-existent user should not exist");
-    }
+package com.library.dao;
+
+import com.library.entities.User;
+import com.library.utils.DatabaseConnection;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserDAOTest {
+    private UserDAO userDAO;
+    private Connection connection;
+    private final String testUserId = "TESTUSER123";
+    
+    @BeforeAll
+    void setup() throws SQLException {
+        connection = DatabaseConnection.getConnection();
+        userDAO = new UserDAOImpl();
+        
+        // Clear any existing test data
+        connection.prepareStatement("DELETE FROM users WHERE user_id = '" + testUserId + "'").executeUpdate();
+    }
+    
+    @AfterAll
+    void tearDown() throws SQLException {
+        // Clean up
+        connection.prepareStatement("DELETE FROM users WHERE user_id = '" + testUserId + "'").executeUpdate();
+        DatabaseConnection.closeConnection();
+    }
+    
+    @Test
+    void testAddAndGetUser() {
+        User user = new User(testUserId, "Test", "User", User.UserType.STUDENT);
+        user.setRegistrationDate(LocalDate.now());
+        
+        userDAO.addUser(user);
+        
+        Optional<User> retrieved = userDAO.getUserById(testUserId);
+        assertTrue(retrieved.isPresent(), "User should be present after adding");
+        assertEquals("Test User", retrieved.get().getFullName(), "Name should match");
+        assertEquals(User.UserType.STUDENT, retrieved.get().getUserType(), "User type should match");
+    }
+    
+    @Test
+    void testUpdateUser() {
+        User user = new User(testUserId, "Test", "User", User.UserType.STUDENT);
+        userDAO.addUser(user);
+        
+        user.setLastName("Updated");
+        userDAO.updateUser(user);
+        
+        Optional<User> updated = userDAO.getUserById(testUserId);
+        assertTrue(updated.isPresent(), "User should be present");
+        assertEquals("Test Updated", updated.get().getFullName(), "Name should be updated");
+    }
+    
+    @Test
+    void testDeleteUser() {
+        User user = new User(testUserId, "Test", "User", User.UserType.STUDENT);
+        userDAO.addUser(user);
+        
+        userDAO.deleteUser(testUserId);
+        
+        Optional<User> deleted = userDAO.getUserById(testUserId);
+        assertFalse(deleted.isPresent(), "User should not be present after deletion");
+    }
+    
+    @Test
+    void testSearchUsers() {
+        User user = new User(testUserId, "Search", "Test", User.UserType.STUDENT);
+        userDAO.addUser(user);
+        
+        List<User> results = userDAO.getUsersByName("Search");
+        assertFalse(results.isEmpty(), "Search should return results");
+        assertTrue(results.stream().anyMatch(u -> u.getUserId().equals(testUserId)), 
+            "Search results should include the test user");
+    }
+    
+    @Test
+    void testUserExists() {
+        User user = new User(testUserId, "Exists", "Test", User.UserType.STUDENT);
+        userDAO.addUser(user);
+        
+        assertTrue(userDAO.userExists(testUserId), "User should exist");
+        assertFalse(userDAO.userExists("NONEXISTENT"), "Non-existent user should not exist");
+    }
+    
+    @Test
+    void testKeysetPagesMatchStream() {
+        userDAO.deleteUser(testUserId);
+        userDAO.addUser(new User(testUserId, "Paged", "Test", User.UserType.STUDENT));
+        
+        List<String> paged = new ArrayList<>();
+        List<User> page = userDAO.getUsersPage(null, 2);
+        while (!page.isEmpty()) {
+            page.forEach(u -> paged.add(u.getUserId()));
+            page = userDAO.getUsersPage(page.get(page.size() - 1).getUserId(), 2);
+        }
+        
+        List<String> streamed;
+        try (Stream<User> users = userDAO.streamAllUsers()) {
+            streamed = users.map(User::getUserId).collect(Collectors.toList());
+        }
+        
+        assertTrue(paged.contains(testUserId), "Pages should include the test user");
+        assertEquals(streamed, paged, "Walking every page should match one full stream, in key order");
+    }
+    
+    @Test
+    void testAuthenticateUser() throws SQLException {
+        connection.prepareStatement("DELETE FROM users WHERE user_id = '" + testUserId + "'").executeUpdate();
+        User user = new User(testUserId, "Test", "User", User.UserType.STUDENT);
+        user.setRegistrationDate(LocalDate.now());
+        userDAO.addUser(user);
+        
+        assertFalse(userDAO.authenticateUser(testUserId, "anything").isPresent(),
+            "A user without a password should not authenticate");
+        
+        userDAO.updatePassword(testUserId, "correct horse battery");
+        Optional<User> authenticated = userDAO.authenticateUser(testUserId, "correct horse battery");
+        assertTrue(authenticated.isPresent(), "The right password should authenticate");
+        assertEquals("Test User", authenticated.get().getFullName(), "Authentication should return the user");
+        assertFalse(userDAO.authenticateUser(testUserId, "wrong password").isPresent(),
+            "A wrong password should be rejected");
+        assertFalse(userDAO.authenticateUser("NOSUCHUSER", "correct horse battery").isPresent(),
+            "An unknown user should be rejected");
+    }
+
+    @Test
+    void testRepeatedLookupsReuseStatements() {
+        userDAO.getUserById(testUserId);
+        long hitsBefore = DatabaseConnection.getPoolStats().getStatementCacheHits();
+
+        for (int i = 0; i < 5; i++) {
+            userDAO.getUserById(testUserId);
+        }
+
+        long hits = DatabaseConnection.getPoolStats().getStatementCacheHits() - hitsBefore;
+        assertTrue(hits >= 4, "Repeated lookups should reuse the cached statement, got " + hits + " hits");
+    }
+
+    @Test
+    void testLoanCountersGuardCheckout() throws SQLException {
+        connection.prepareStatement("DELETE FROM users WHERE user_id = '" + testUserId + "'").executeUpdate();
+        User user = new User(testUserId, "Test", "User", User.UserType.VISITOR);
+        userDAO.addUser(user);
+        
+        assertTrue(userDAO.recordCheckout(testUserId, "ISBN-A"), "First checkout should be counted");
+        assertFalse(userDAO.recordCheckout(testUserId, "ISBN-A"), "The same title twice should be refused");
+        assertTrue(userDAO.recordCheckout(testUserId, "ISBN-B"), "Second checkout should be counted");
+        assertTrue(userDAO.recordCheckout(testUserId, "ISBN-C"), "Third checkout should be counted");
+        assertFalse(userDAO.recordCheckout(testUserId, "ISBN-D"), "A visitor's fourth loan should be refused");
+        
+        userDAO.recordReturn(testUserId, "ISBN-A", 0);
+        User loaded = userDAO.getUserById(testUserId).get();
+        assertEquals(2, loaded.getActiveLoanCount(), "Return should release one slot");
+        assertFalse(loaded.hasActiveLoan("ISBN-A"), "Returned title should leave the active set");
+        assertTrue(loaded.hasActiveLoan("ISBN-B") && loaded.hasActiveLoan("ISBN-C"), "Open titles should remain");
+        
+        userDAO.recordReturn(testUserId, "ISBN-B", 150);
+        assertEquals(150, userDAO.getUserById(testUserId).get().getFineCents(), "Return should add the fine");
+        assertFalse(userDAO.recordCheckout(testUserId, "ISBN-A"), "Outstanding fines should block checkout");
+    }
+    
+    @Test
+    void testFinesOnlyMoveThroughReturnsAndPayments() throws SQLException {
+        connection.prepareStatement("DELETE FROM users WHERE user_id = '" + testUserId + "'").executeUpdate();
+        User user = new User(testUserId, "Test", "User", User.UserType.STUDENT);
+        userDAO.addUser(user);
+        
+        // A return lands between reading the user and writing back an edit made to that copy
+        User snapshot = userDAO.getUserById(testUserId).get();
+        userDAO.recordReturn(testUserId, "ISBN-A", 300);
+        snapshot.setLastName("Edited");
+        userDAO.updateUser(snapshot);
+        assertEquals(300, userDAO.getUserById(testUserId).get().getFineCents(), "An edit should not drop a fine");
+        
+        assertFalse(userDAO.payFines(testUserId, 301), "Paying more than is owed should be refused");
+        assertTrue(userDAO.payFines(testUserId, 100));
+        assertTrue(userDAO.payFines(testUserId, 200));
+        assertEquals(0, userDAO.getUserById(testUserId).get().getFineCents());
+        assertFalse(userDAO.payFines("NOSUCHUSER", 1));
+    }
 }	
\ No newline at end of file
@@ -0,0 +1,158 @@
+package com.library.dao.impl;
+
+import com.library.dao.BookDAO;
+import com.library.entities.Author;
+import com.library.entities.Book;
+import com.library.utils.AuditLog;
+import com.library.utils.AuditLog.Action;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Records every book mutation in the audit log; reads pass straight through
+public class AuditingBookDAO implements BookDAO {
+    private static final String TABLE = "books";
+
+    private final BookDAO delegate;
+    private final AuditLog auditLog;
+
+    public AuditingBookDAO(BookDAO delegate, AuditLog auditLog) {
+        this.delegate = delegate;
+        this.auditLog = auditLog;
+    }
+
+    @Override
+    public void addBook(Book book) {
+        delegate.addBook(book);
+        auditLog.record(TABLE, book.getIsbn(), Action.INSERT, null, toJson(book));
+    }
+
+    // Rows skipped as duplicates are not known individually, so a bulk insert is one summary record
+    @Override
+    public int addBooks(Collection<Book> books) {
+        int inserted = delegate.addBooks(books);
+        if (inserted > 0) {
+            auditLog.record(TABLE, "bulk", Action.INSERT, null,
+                    AuditLog.json("requested", books.size(), "inserted", inserted));
+        }
+        return inserted;
+    }
+
+    @Override
+    public Optional<Book> getBookByIsbn(String isbn) {
+        return delegate.getBookByIsbn(isbn);
+    }
+
+    @Override
+    public List<Book> getBooksByIsbns(Collection<String> isbns) {
+        return delegate.getBooksByIsbns(isbns);
+    }
+
+    @Override
+    public List<Book> getAllBooks() {
+        return delegate.getAllBooks();
+    }
+
+    @Override
+    public List<Book> getBooksPage(String afterIsbn, int limit) {
+        return delegate.getBooksPage(afterIsbn, limit);
+    }
+
+    @Override
+    public Stream<Book> streamAllBooks() {
+        return delegate.streamAllBooks();
+    }
+
+    @Override
+    public int countBooks() {
+        return delegate.countBooks();
+    }
+
+    @Override
+    public List<Book> getBooksByTitle(String title) {
+        return delegate.getBooksByTitle(title);
+    }
+
+    @Override
+    public List<Book> getBooksByAuthor(String authorName) {
+        return delegate.getBooksByAuthor(authorName);
+    }
+
+    @Override
+    public List<Book> getBooksByGenre(String genreId) {
+        return delegate.getBooksByGenre(genreId);
+    }
+
+    @Override
+    public void updateBook(Book book) {
+        delegate.updateBook(book);
+        auditLog.record(TABLE, book.getIsbn(), Action.UPDATE, null, toJson(book));
+    }
+
+    @Override
+    public void deleteBook(String isbn) {
+        delegate.deleteBook(isbn);
+        auditLog.record(TABLE, isbn, Action.DELETE, AuditLog.json("isbn", isbn), null);
+    }
+
+    @Override
+    public boolean isBookAvailable(String isbn) {
+        return delegate.isBookAvailable(isbn);
+    }
+
+    @Override
+    public int getAvailableQuantity(String isbn) {
+        return delegate.getAvailableQuantity(isbn);
+    }
+
+    @Override
+    public Map<String, Integer> getAvailableQuantities() {
+        return delegate.getAvailableQuantities();
+    }
+
+    @Override
+    public boolean decrementAvailableQuantity(String isbn) {
+        boolean updated = delegate.decrementAvailableQuantity(isbn);
+        if (updated) {
+            auditLog.record(TABLE, isbn, Action.UPDATE, null, AuditLog.json("available_quantity_change", -1));
+        }
+        return updated;
+    }
+
+    @Override
+    public boolean incrementAvailableQuantity(String isbn) {
+        boolean updated = delegate.incrementAvailableQuantity(isbn);
+        if (updated) {
+            auditLog.record(TABLE, isbn, Action.UPDATE, null, AuditLog.json("available_quantity_change", 1));
+        }
+        return updated;
+    }
+
+    @Override
+    public List<Book> searchBooks(String query) {
+        return delegate.searchBooks(query);
+    }
+
+    @Override
+    public List<Author> getAllAuthors() {
+        return delegate.getAllAuthors();
+    }
+
+    private static String toJson(Book book) {
+        return AuditLog.json(
+                "isbn", book.getIsbn(),
+                "title", book.getTitle(),
+                "genre_id", book.getGenre() != null ? book.getGenre().getGenreId() : null,
+                "publication_date", book.getPublicationDate(),
+                "publisher", book.getPublisher(),
+                "edition", book.getEdition(),
+                "quantity", book.getQuantity(),
+                "available_quantity", book.getAvailableQuantity(),
+                "language", book.getLanguage(),
+                "page_count", book.getPageCount(),
+                "is_reference_only", book.isReferenceOnly());
+    }
+}
\ No newline at end of file
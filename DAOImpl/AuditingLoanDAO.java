@@ -0,0 +1,181 @@
+package com.library.dao.impl;
+
+import com.library.dao.LoanDAO;
+import com.library.entities.Loan;
+import com.library.entities.User;
+import com.library.utils.AuditLog;
+import com.library.utils.AuditLog.Action;
+import com.library.utils.Money;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Records every loan mutation in the audit log; reads pass straight through. The overdue engine's
+// bulk updates are recorded as one summary record per call rather than one per loan.
+public class AuditingLoanDAO implements LoanDAO {
+    private static final String TABLE = "loans";
+
+    private final LoanDAO delegate;
+    private final AuditLog auditLog;
+
+    public AuditingLoanDAO(LoanDAO delegate, AuditLog auditLog) {
+        this.delegate = delegate;
+        this.auditLog = auditLog;
+    }
+
+    @Override
+    public void addLoan(Loan loan) {
+        delegate.addLoan(loan);
+        auditLog.record(TABLE, loan.getLoanId(), Action.INSERT, null, toJson(loan));
+    }
+
+    @Override
+    public Optional<Loan> getLoanById(String loanId) {
+        return delegate.getLoanById(loanId);
+    }
+
+    @Override
+    public List<Loan> getAllLoans() {
+        return delegate.getAllLoans();
+    }
+
+    @Override
+    public List<Loan> getLoansPage(String afterLoanId, int limit) {
+        return delegate.getLoansPage(afterLoanId, limit);
+    }
+
+    @Override
+    public List<Loan> getLoansPage(Loan.LoanStatus status, String afterLoanId, int limit) {
+        return delegate.getLoansPage(status, afterLoanId, limit);
+    }
+
+    @Override
+    public List<Loan> getLoansPageByDueDate(Loan.LoanStatus status, LocalDate afterDueDate, String afterLoanId, int limit) {
+        return delegate.getLoansPageByDueDate(status, afterDueDate, afterLoanId, limit);
+    }
+
+    @Override
+    public int countLoans(Loan.LoanStatus status) {
+        return delegate.countLoans(status);
+    }
+
+    @Override
+    public Stream<Loan> streamAllLoans() {
+        return delegate.streamAllLoans();
+    }
+
+    @Override
+    public List<Loan> getLoansByUser(String userId) {
+        return delegate.getLoansByUser(userId);
+    }
+
+    @Override
+    public List<Loan> getLoansByBook(String isbn) {
+        return delegate.getLoansByBook(isbn);
+    }
+
+    @Override
+    public List<Loan> getActiveLoans() {
+        return delegate.getActiveLoans();
+    }
+
+    @Override
+    public List<Loan> getOverdueLoans() {
+        return delegate.getOverdueLoans();
+    }
+
+    @Override
+    public void updateLoan(Loan loan) {
+        delegate.updateLoan(loan);
+        auditLog.record(TABLE, loan.getLoanId(), Action.UPDATE, null, toJson(loan));
+    }
+
+    @Override
+    public boolean markLoanReturned(Loan loan) {
+        boolean updated = delegate.markLoanReturned(loan);
+        if (updated) {
+            auditLog.record(TABLE, loan.getLoanId(), Action.UPDATE, null, AuditLog.json(
+                    "status", loan.getStatus(),
+                    "return_date", loan.getReturnDate(),
+                    "fine_amount", Money.toDecimal(loan.getFineCents())));
+        }
+        return updated;
+    }
+
+    @Override
+    public boolean extendLoan(String loanId, LocalDate newDueDate) {
+        boolean updated = delegate.extendLoan(loanId, newDueDate);
+        if (updated) {
+            auditLog.record(TABLE, loanId, Action.UPDATE, null,
+                    AuditLog.json("status", Loan.LoanStatus.ACTIVE, "due_date", newDueDate));
+        }
+        return updated;
+    }
+
+    @Override
+    public void deleteLoan(String loanId) {
+        delegate.deleteLoan(loanId);
+        auditLog.record(TABLE, loanId, Action.DELETE, AuditLog.json("loan_id", loanId), null);
+    }
+
+    @Override
+    public Map<String, Long> getMostBorrowedIsbns(int limit) {
+        return delegate.getMostBorrowedIsbns(limit);
+    }
+
+    @Override
+    public Map<String, Long> getMostBorrowedIsbns(LocalDate from, LocalDate to, int limit) {
+        return delegate.getMostBorrowedIsbns(from, to, limit);
+    }
+
+    @Override
+    public Map<String, Long> getMostActiveUserIds(int limit) {
+        return delegate.getMostActiveUserIds(limit);
+    }
+
+    @Override
+    public long getTotalFineCents() {
+        return delegate.getTotalFineCents();
+    }
+
+    @Override
+    public Map<String, LocalDate> getDueDatesByStatus(Loan.LoanStatus status) {
+        return delegate.getDueDatesByStatus(status);
+    }
+
+    @Override
+    public int markLoansOverdue(Collection<String> loanIds, LocalDate asOf) {
+        int updated = delegate.markLoansOverdue(loanIds, asOf);
+        if (updated > 0) {
+            auditLog.record(TABLE, "bulk", Action.UPDATE, null,
+                    AuditLog.json("status", Loan.LoanStatus.OVERDUE, "as_of", asOf, "loans", updated));
+        }
+        return updated;
+    }
+
+    @Override
+    public int accrueOverdueFines(LocalDate asOf, Map<User.UserType, Long> dailyRateCents) {
+        int updated = delegate.accrueOverdueFines(asOf, dailyRateCents);
+        if (updated > 0) {
+            auditLog.record(TABLE, "bulk", Action.UPDATE, null,
+                    AuditLog.json("fines_accrued_as_of", asOf, "daily_rate_cents", dailyRateCents, "loans", updated));
+        }
+        return updated;
+    }
+
+    private static String toJson(Loan loan) {
+        return AuditLog.json(
+                "loan_id", loan.getLoanId(),
+                "book_isbn", loan.getBook() != null ? loan.getBook().getIsbn() : null,
+                "user_id", loan.getUser() != null ? loan.getUser().getUserId() : null,
+                "loan_date", loan.getLoanDate(),
+                "due_date", loan.getDueDate(),
+                "return_date", loan.getReturnDate(),
+                "status", loan.getStatus(),
+                "fine_amount", Money.toDecimal(loan.getFineCents()));
+    }
+}
\ No newline at end of file
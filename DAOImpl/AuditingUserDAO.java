@@ -0,0 +1,137 @@
+package com.library.dao.impl;
+
+import com.library.dao.UserDAO;
+import com.library.entities.User;
+import com.library.utils.AuditLog;
+import com.library.utils.AuditLog.Action;
+import com.library.utils.Money;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Records every user mutation in the audit log. Contact details and password hashes are left out
+// of the recorded values so the audit trail does not become a second copy of personal data.
+public class AuditingUserDAO implements UserDAO {
+    private static final String TABLE = "users";
+
+    private final UserDAO delegate;
+    private final AuditLog auditLog;
+
+    public AuditingUserDAO(UserDAO delegate, AuditLog auditLog) {
+        this.delegate = delegate;
+        this.auditLog = auditLog;
+    }
+
+    @Override
+    public void addUser(User user) {
+        delegate.addUser(user);
+        auditLog.record(TABLE, user.getUserId(), Action.INSERT, null, toJson(user));
+    }
+
+    @Override
+    public Optional<User> getUserById(String userId) {
+        return delegate.getUserById(userId);
+    }
+
+    @Override
+    public List<User> getUsersByIds(Collection<String> userIds) {
+        return delegate.getUsersByIds(userIds);
+    }
+
+    @Override
+    public List<User> getAllUsers() {
+        return delegate.getAllUsers();
+    }
+
+    @Override
+    public List<User> getUsersPage(String afterUserId, int limit) {
+        return delegate.getUsersPage(afterUserId, limit);
+    }
+
+    @Override
+    public Stream<User> streamAllUsers() {
+        return delegate.streamAllUsers();
+    }
+
+    @Override
+    public int countUsers() {
+        return delegate.countUsers();
+    }
+
+    @Override
+    public List<User> getUsersByName(String name) {
+        return delegate.getUsersByName(name);
+    }
+
+    @Override
+    public List<User> getUsersByType(User.UserType type) {
+        return delegate.getUsersByType(type);
+    }
+
+    @Override
+    public void updateUser(User user) {
+        delegate.updateUser(user);
+        auditLog.record(TABLE, user.getUserId(), Action.UPDATE, null, toJson(user));
+    }
+
+    @Override
+    public void deleteUser(String userId) {
+        delegate.deleteUser(userId);
+        auditLog.record(TABLE, userId, Action.DELETE, AuditLog.json("user_id", userId), null);
+    }
+
+    @Override
+    public boolean userExists(String userId) {
+        return delegate.userExists(userId);
+    }
+
+    @Override
+    public Optional<User> authenticateUser(String userId, String password) {
+        return delegate.authenticateUser(userId, password);
+    }
+
+    @Override
+    public void updatePassword(String userId, String password) {
+        delegate.updatePassword(userId, password);
+        auditLog.record(TABLE, userId, Action.UPDATE, null, AuditLog.json("password_changed", true));
+    }
+
+    @Override
+    public boolean recordCheckout(String userId, String isbn) {
+        boolean recorded = delegate.recordCheckout(userId, isbn);
+        if (recorded) {
+            auditLog.record(TABLE, userId, Action.UPDATE, null, AuditLog.json("loan_opened_isbn", isbn));
+        }
+        return recorded;
+    }
+
+    @Override
+    public void recordReturn(String userId, String isbn, long fineCents) {
+        delegate.recordReturn(userId, isbn, fineCents);
+        auditLog.record(TABLE, userId, Action.UPDATE, null,
+                AuditLog.json("loan_closed_isbn", isbn, "fine_added", Money.toDecimal(fineCents)));
+    }
+
+    @Override
+    public boolean payFines(String userId, long amountCents) {
+        boolean paid = delegate.payFines(userId, amountCents);
+        if (paid) {
+            auditLog.record(TABLE, userId, Action.UPDATE, null,
+                    AuditLog.json("fine_paid", Money.toDecimal(amountCents)));
+        }
+        return paid;
+    }
+
+    private static String toJson(User user) {
+        return AuditLog.json(
+                "user_id", user.getUserId(),
+                "first_name", user.getFirstName(),
+                "last_name", user.getLastName(),
+                "user_type", user.getUserType(),
+                "max_books_allowed", user.getMaxBooksAllowed(),
+                "fines", Money.toDecimal(user.getFineCents()),
+                "is_active", user.isActive());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,271 @@
+package com.library.dao.impl;
+
+import com.library.dao.BookDAO;
+import com.library.entities.Author;
+import com.library.entities.Book;
+import com.library.utils.AvailabilityIndex;
+import com.library.utils.Transaction;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+// Answers isBookAvailable and getAvailableQuantity from an in-memory AvailabilityIndex instead of a
+// query per call. The index is loaded from books.available_quantity on first use and reloaded once
+// it is older than the resync interval, which picks up changes made by other processes. Loads run
+// on a background thread; until the first one finishes, counts are read from the database.
+// Checkouts and returns still run the conditional UPDATEs, so the database remains the arbiter and
+// the index only follows what it decided.
+public class AvailabilityIndexedBookDAO implements BookDAO {
+    private final BookDAO delegate;
+    private final AvailabilityIndex index = new AvailabilityIndex();
+    private final long resyncNanos;
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private final ExecutorService reloader;
+    // Checkouts applied to the index whose transaction has not finished yet, by ISBN
+    private final Map<String, Integer> pendingCheckouts = new ConcurrentHashMap<>();
+    // ISBNs changed while a reload is in flight; null when none is
+    private volatile Set<String> changedDuringReload;
+    private volatile boolean loaded;
+    private volatile long loadedAt;
+
+    public AvailabilityIndexedBookDAO(BookDAO delegate, long resyncSeconds) {
+        this.delegate = delegate;
+        this.resyncNanos = TimeUnit.SECONDS.toNanos(resyncSeconds);
+        this.reloader = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "availability-index-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public boolean isBookAvailable(String isbn) {
+        return getAvailableQuantity(isbn) > 0;
+    }
+
+    @Override
+    public int getAvailableQuantity(String isbn) {
+        if (!ensureCurrent()) {
+            return delegate.getAvailableQuantity(isbn);
+        }
+        int available = index.get(isbn);
+        if (available != AvailabilityIndex.UNKNOWN) {
+            return available;
+        }
+
+        // Added since the last load, or not a book at all; only the former is worth keeping
+        available = delegate.getAvailableQuantity(isbn);
+        if (available > 0) {
+            index.put(isbn, available);
+        }
+        return available;
+    }
+
+    @Override
+    public Map<String, Integer> getAvailableQuantities() {
+        return delegate.getAvailableQuantities();
+    }
+
+    // A checkout shows up at once and is put back if the transaction rolls back, so the index
+    // never reports a copy the database may not have. It stays pending until the transaction ends,
+    // since a reload in the meantime reads the count from before it.
+    @Override
+    public boolean decrementAvailableQuantity(String isbn) {
+        boolean decremented = delegate.decrementAvailableQuantity(isbn);
+        changed(isbn);
+        if (decremented) {
+            pendingCheckouts.merge(isbn, 1, Integer::sum);
+            index.add(isbn, -1);
+            // The copy goes back before the checkout stops being pending, so a reload in between
+            // can only leave the count low
+            Transaction.afterRollback(() -> {
+                changed(isbn);
+                index.add(isbn, 1);
+                settle(isbn);
+            });
+            Transaction.afterCommit(() -> settle(isbn));
+        } else if (index.get(isbn) != AvailabilityIndex.UNKNOWN) {
+            index.put(isbn, 0);
+        }
+        return decremented;
+    }
+
+    // A return only counts once it commits
+    @Override
+    public boolean incrementAvailableQuantity(String isbn) {
+        boolean incremented = delegate.incrementAvailableQuantity(isbn);
+        if (incremented) {
+            Transaction.afterCommit(() -> {
+                changed(isbn);
+                index.add(isbn, 1);
+            });
+        } else {
+            changed(isbn);
+            index.remove(isbn);
+        }
+        return incremented;
+    }
+
+    @Override
+    public void addBook(Book book) {
+        delegate.addBook(book);
+        Transaction.afterCommit(() -> {
+            changed(book.getIsbn());
+            index.put(book.getIsbn(), book.getAvailableQuantity());
+        });
+    }
+
+    // Books already stored are skipped, so the new counts are read back on demand
+    @Override
+    public int addBooks(Collection<Book> books) {
+        int inserted = delegate.addBooks(books);
+        Transaction.afterCommit(() -> books.forEach(book -> {
+            changed(book.getIsbn());
+            index.remove(book.getIsbn());
+        }));
+        return inserted;
+    }
+
+    @Override
+    public void updateBook(Book book) {
+        delegate.updateBook(book);
+        Transaction.afterCommit(() -> {
+            changed(book.getIsbn());
+            index.put(book.getIsbn(), book.getAvailableQuantity());
+        });
+    }
+
+    @Override
+    public void deleteBook(String isbn) {
+        delegate.deleteBook(isbn);
+        Transaction.afterCommit(() -> {
+            changed(isbn);
+            index.remove(isbn);
+        });
+    }
+
+    @Override
+    public Optional<Book> getBookByIsbn(String isbn) {
+        return delegate.getBookByIsbn(isbn);
+    }
+
+    @Override
+    public List<Book> getBooksByIsbns(Collection<String> isbns) {
+        return delegate.getBooksByIsbns(isbns);
+    }
+
+    @Override
+    public List<Book> getAllBooks() {
+        return delegate.getAllBooks();
+    }
+
+    @Override
+    public List<Book> getBooksPage(String afterIsbn, int limit) {
+        return delegate.getBooksPage(afterIsbn, limit);
+    }
+
+    @Override
+    public Stream<Book> streamAllBooks() {
+        return delegate.streamAllBooks();
+    }
+
+    @Override
+    public int countBooks() {
+        return delegate.countBooks();
+    }
+
+    @Override
+    public List<Book> getBooksByTitle(String title) {
+        return delegate.getBooksByTitle(title);
+    }
+
+    @Override
+    public List<Book> getBooksByAuthor(String authorName) {
+        return delegate.getBooksByAuthor(authorName);
+    }
+
+    @Override
+    public List<Book> getBooksByGenre(String genreId) {
+        return delegate.getBooksByGenre(genreId);
+    }
+
+    @Override
+    public List<Book> searchBooks(String query) {
+        return delegate.searchBooks(query);
+    }
+
+    @Override
+    public List<Author> getAllAuthors() {
+        return delegate.getAllAuthors();
+    }
+
+    // Reloads every count from the database on the calling thread, e.g. after bulk changes made
+    // outside the DAO
+    public synchronized void rebuild() {
+        Set<String> changed = ConcurrentHashMap.newKeySet();
+        changedDuringReload = changed;
+        try {
+            index.load(delegate.getAvailableQuantities());
+            // The snapshot only holds committed counts, so checkouts still in flight come off again.
+            // One that committed just before the query is then counted twice, leaving the book a
+            // copy low until the next reload rather than a copy high.
+            pendingCheckouts.forEach((isbn, count) -> {
+                if (!changed.contains(isbn)) {
+                    index.add(isbn, -count);
+                }
+            });
+            // Whether the snapshot saw these changes depends on timing, so they are read again on demand
+            changed.forEach(index::remove);
+            loadedAt = System.nanoTime();
+            loaded = true;
+        } finally {
+            changedDuringReload = null;
+        }
+    }
+
+    public int getIndexedBookCount() {
+        return index.size();
+    }
+
+    // Called before the index is changed, so a reload running at the time drops the ISBN's count
+    private void changed(String isbn) {
+        Set<String> changed = changedDuringReload;
+        if (changed != null) {
+            changed.add(isbn);
+        }
+    }
+
+    private void settle(String isbn) {
+        pendingCheckouts.computeIfPresent(isbn, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    // Starts a background reload when the index is missing or stale; returns whether it can be read
+    private boolean ensureCurrent() {
+        if ((!loaded || System.nanoTime() - loadedAt > resyncNanos) && reloading.compareAndSet(false, true)) {
+            try {
+                reloader.execute(() -> {
+                    try {
+                        rebuild();
+                    } catch (RuntimeException e) {
+                        System.err.println("Availability index reload failed: " + e.getMessage());
+                    } finally {
+                        reloading.set(false);
+                    }
+                });
+            } catch (RuntimeException e) {
+                reloading.set(false);
+                throw e;
+            }
+        }
+        return loaded;
+    }
+}
\ No newline at end of file
@@ -1,320 +1,410 @@
-package com.library.dao.impl;
-
-import com.library.dao.BookDAO;
-import com.library.entities.Book;
-import com.library.utils.DatabaseConnection;
-
-import java.sql.*;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-
-public class BookDAOImpl implements BookDAO {
-    private final Connection connection;
-
-    public BookDAOImpl() {
-        this.connection = DatabaseConnection.getConnection();
-    }
-
-    @Override
-    public void addBook(Book book) {
-        String sql = "INSERT INTO books (isbn, title, publication_date, quantity, available_quantity, publisher, " +
-                     "edition, description, language, page_count, is_reference_only, genre_id) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, book.getIsbn());
-            stmt.setString(2, book.getTitle());
-            stmt.setDate(3, Date.valueOf(book.getPublicationDate()));
-            stmt.setInt(4, book.getQuantity());
-            stmt.setInt(5, book.getAvailableQuantity());
-            stmt.setString(6, book.getPublisher());
-            stmt.setInt(7, book.getEdition());
-            stmt.setString(8, book.getDescription());
-            stmt.setString(9, book.getLanguage());
-            stmt.setInt(10, book.getPageCount());
-            stmt.setBoolean(11, book.isReferenceOnly());
-            stmt.setString(12, book.getGenre().getGenreId());
-            
-            stmt.executeUpdate();
-            
-            // Add book-author relationships
-            addBookAuthors(book);
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to add book", e);
-        }
-    }
-
-    private void addBookAuthors(Book book) throws SQLException {
-        String sql = "INSERT INTO book_authors (book_isbn, author_id) VALUES (?, ?)";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            for (Author author : book.getAuthors()) {
-                stmt.setString(1, book.getIsbn());
-                stmt.setString(2, author.getAuthorId());
-                stmt.addBatch();
-            }
-            stmt.executeBatch();
-        }
-    }
-
-    @Override
-    public Optional<Book> getBookByIsbn(String isbn) {
-        String sql = "SELECT * FROM books WHERE isbn = ?";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, isbn);
-            ResultSet rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                Book book = extractBookFromResultSet(rs);
-                book.setAuthors(getAuthorsForBook(isbn));
-                return Optional.of(book);
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to get book by ISBN", e);
-        }
-        
-        return Optional.empty();
-    }
-
-    private Book extractBookFromResultSet(ResultSet rs) throws SQLException {
-        Book book = new Book(rs.getString("isbn"), rs.getString("title"));
-        book.setPublicationDate(rs.getDate("publication_date").toLocalDate());
-        book.setQuantity(rs.getInt("quantity"));
-        book.setAvailableQuantity(rs.getInt("available_quantity"));
-        book.setPublisher(rs.getString("publisher"));
-        book.setEdition(rs.getInt("edition"));
-        book.setDescription(rs.getString("description"));
-        book.setLanguage(rs.getString("language"));
-        book.setPageCount(rs.getInt("page_count"));
-        book.setReferenceOnly(rs.getBoolean("is_reference_only"));
-        
-        // Note: Genre would need to be set separately as it requires a GenreDAO
-        return book;
-    }
-
-    private Set<Author> getAuthorsForBook(String isbn) throws SQLException {
-        Set<Author> authors = new HashSet<>();
-        String sql = "SELECT a.* FROM authors a JOIN book_authors ba ON a.author_id = ba.author_id WHERE ba.book_isbn = ?";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, isbn);
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                Author author = new Author(
-                    rs.getString("author_id"),
-                    rs.getString("first_name"),
-                    rs.getString("last_name")
-                );
-                author.setDateOfBirth(rs.getDate("date_of_birth") != null ? 
-                    rs.getDate("date_of_birth").toLocalDate() : null);
-                author.setNationality(rs.getString("nationality"));
-                author.setBiography(rs.getString("biography"));
-                authors.add(author);
-            }
-        }
-        
-        return authors;
-    }
-
-    @Override
-    public List<Book> getAllBooks() {
-        List<Book> books = new ArrayList<>();
-        String sql = "SELECT isbn FROM books";
-        
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            while (rs.next()) {
-                getBookByIsbn(rs.getString("isbn")).ifPresent(books::add);
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to get all books", e);
-        }
-        
-        return books;
-    }
-
-    @Override
-    public List<Book> getBooksByTitle(String title) {
-        List<Book> books = new ArrayList<>();
-        String sql = "SELECT isbn FROM books WHERE title LIKE ?";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, "%" + title + "%");
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                getBookByIsbn(rs.getString("isbn")).ifPresent(books::add);
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to get books by title", e);
-        }
-        
-        return books;
-    }
-
-    @Override
-    public List<Book> getBooksByAuthor(String authorName) {
-        List<Book> books = new ArrayList<>();
-        String sql = "SELECT DISTINCT b.isbn FROM books b " +
-                     "JOIN book_authors ba ON b.isbn = ba.book_isbn " +
-                     "JOIN authors a ON ba.author_id = a.author_id " +
-                     "WHERE CONCAT(a.first_name, ' ', a.last_name) LIKE ?";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, "%" + authorName + "%");
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                getBookByIsbn(rs.getString("isbn")).ifPresent(books::add);
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to get books by author", e);
-        }
-        
-        return books;
-    }
-
-    @Override
-    public List<Book> getBooksByGenre(String genreId) {
-        List<Book> books = new ArrayList<>();
-        String sql = "SELECT isbn FROM books WHERE genre_id = ?";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, genreId);
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                getBookByIsbn(rs.getString("isbn")).ifPresent(books::add);
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to get books by genre", e);
-        }
-        
-        return books;
-    }
-
-    @Override
-    public void updateBook(Book book) {
-        String sql = "UPDATE books SET title = ?, publication_date = ?, quantity = ?, " +
-                     "available_quantity = ?, publisher = ?, edition = ?, description = ?, " +
-                     "language = ?, page_count = ?, is_reference_only = ?, genre_id = ? " +
-                     "WHERE isbn = ?";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, book.getTitle());
-            stmt.setDate(2, Date.valueOf(book.getPublicationDate()));
-            stmt.setInt(3, book.getQuantity());
-            stmt.setInt(4, book.getAvailableQuantity());
-            stmt.setString(5, book.getPublisher());
-            stmt.setInt(6, book.getEdition());
-            stmt.setString(7, book.getDescription());
-            stmt.setString(8, book.getLanguage());
-            stmt.setInt(9, book.getPageCount());
-            stmt.setBoolean(10, book.isReferenceOnly());
-            stmt.setString(11, book.getGenre().getGenreId());
-            stmt.setString(12, book.getIsbn());
-            
-            stmt.executeUpdate();
-            
-            // Update authors - first remove all existing relationships
-            removeAllAuthorsForBook(book.getIsbn());
-            // Then add the current authors
-            addBookAuthors(book);
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to update book", e);
-        }
-    }
-
-    private void removeAllAuthorsForBook(String isbn) throws SQLException {
-        String sql = "DELETE FROM book_authors WHERE book_isbn = ?";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, isbn);
-            stmt.executeUpdate();
-        }
-    }
-
-    @Override
-    public void deleteBook(String isbn) {
-        // First delete the author relationships
-        try {
-            removeAllAuthorsForBook(isbn);
-            
-            // Then delete the book
-            String sql = "DELETE FROM books WHERE isbn = ?";
-            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-                stmt.setString(1, isbn);
-                stmt.executeUpdate();
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to delete book", e);
-        }
-    }
-
-    @Override
-    public boolean isBookAvailable(String isbn) {
-        String sql = "SELECT available_quantity FROM books WHERE isbn = ?";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, isbn);
-            ResultSet rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                return rs.getInt("available_quantity") > 0;
-            }
-            return false;
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to check book availability", e);
-        }
-    }
-
-    @Override
-    public int getAvailableQuantity(String isbn) {
-        String sql = "SELECT available_quantity FROM books WHERE isbn = ?";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, isbn);
-            ResultSet rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                return rs.getInt("available_quantity");
-            }
-            return 0;
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to get available quantity", e);
-        }
-    }
-
-    @Override
-    public List<Book> searchBooks(String query) {
-        List<Book> books = new ArrayList<>();
-        String sql = "SELECT DISTINCT b.isbn FROM books b " +
-                     "LEFT JOIN book_authors ba ON b.isbn = ba.book_isbn " +
-                     "LEFT JOIN authors a ON ba.author_id = a.author_id " +
-                     "WHERE b.title LIKE ? OR b.description LIKE ? OR " +
-                     "CONCAT(a.first_name, ' ', a.last_name) LIKE ? OR " +
-                     "b.isbn LIKE ?";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            String searchTerm = "%" + query + "%";
-            stmt.setString(1, searchTerm);
-            stmt.setString(2, searchTerm);
-            stmt.setString(3, searchTerm);
-            stmt.setString(4, searchTerm);
-            
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                getBookByIsbn(rs.getString("isbn")).ifPresent(books::add);
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to search books", e);
-        }
-        
-        return books;
-    }
+package com.library.dao.impl;
+
+import com.library.dao.BookDAO;
+import com.library.entities.Author;
+import com.library.entities.Book;
+import com.library.utils.DatabaseConnection;
+import com.library.utils.JdbcQueries;
+import com.library.utils.JdbcStreams;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class BookDAOImpl implements BookDAO {
+    // Books joined with their authors so a whole result set is hydrated in one round trip.
+    // Book columns come first and author columns follow, in BookRowMapper's order.
+    private static final String BOOK_WITH_AUTHORS_SQL =
+            "SELECT " + BookRowMapper.bookColumns("b") + ", " + BookRowMapper.authorColumns("a") + " " +
+            "FROM books b " +
+            "LEFT JOIN book_authors ba ON b.isbn = ba.book_isbn " +
+            "LEFT JOIN authors a ON ba.author_id = a.author_id ";
+    // Keeps IN lists well under driver and server placeholder limits
+    private static final int MAX_IN_LIST_SIZE = 500;
+    // Rows per multi-row INSERT; twelve placeholders each keeps a statement near 6,000 parameters
+    private static final int MAX_ROWS_PER_INSERT = 500;
+
+    @FunctionalInterface
+    private interface RowBinder<T> {
+        void bind(PreparedStatement stmt, int firstIndex, T row) throws SQLException;
+    }
+
+    @Override
+    public void addBook(Book book) {
+        String sql = "INSERT INTO books (isbn, title, publication_date, quantity, available_quantity, publisher, " +
+                     "edition, description, language, page_count, is_reference_only, genre_id) " +
+                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            JdbcQueries.bind(stmt, book.getIsbn(), book.getTitle(), book.getPublicationDate(), book.getQuantity(),
+                book.getAvailableQuantity(), book.getPublisher(), book.getEdition(), book.getDescription(),
+                book.getLanguage(), book.getPageCount(), book.isReferenceOnly(), genreId(book));
+            
+            stmt.executeUpdate();
+            
+            // Add book-author relationships
+            addBookAuthors(connection, book);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to add book", e);
+        }
+    }
+
+    private void addBookAuthors(Connection connection, Book book) throws SQLException {
+        String sql = "INSERT INTO book_authors (book_isbn, author_id) VALUES (?, ?)";
+        
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (Author author : book.getAuthors()) {
+                stmt.setString(1, book.getIsbn());
+                stmt.setString(2, author.getAuthorId());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    // Writes books, their authors and the links between them with multi-row INSERTs. Books whose
+    // ISBN is already stored, or repeats one earlier in the batch, are skipped along with their
+    // links, and only authors not yet stored are written; any other failure is thrown. Callers
+    // group calls into transactions. Returns the number of books actually inserted.
+    @Override
+    public int addBooks(Collection<Book> books) {
+        Set<String> existingIsbns = existingKeys("books", "isbn",
+                books.stream().map(Book::getIsbn).collect(Collectors.toList()));
+        Map<String, Book> newBooks = new LinkedHashMap<>();
+        for (Book book : books) {
+            if (!existingIsbns.contains(book.getIsbn())) {
+                newBooks.putIfAbsent(book.getIsbn(), book);
+            }
+        }
+
+        Map<String, Author> authors = new LinkedHashMap<>();
+        List<String[]> links = new ArrayList<>();
+        for (Book book : newBooks.values()) {
+            for (Author author : book.getAuthors()) {
+                authors.putIfAbsent(author.getAuthorId(), author);
+                links.add(new String[]{book.getIsbn(), author.getAuthorId()});
+            }
+        }
+        authors.keySet().removeAll(existingKeys("authors", "author_id", authors.keySet()));
+
+        try (Connection connection = DatabaseConnection.getConnection()) {
+            insertRows(connection, "INSERT INTO authors (author_id, first_name, last_name, date_of_birth, " +
+                    "nationality, biography) VALUES ", "(?, ?, ?, ?, ?, ?)",
+                    new ArrayList<>(authors.values()), (stmt, i, author) -> {
+                        stmt.setString(i, author.getAuthorId());
+                        stmt.setString(i + 1, author.getFirstName());
+                        stmt.setString(i + 2, author.getLastName());
+                        stmt.setDate(i + 3, author.getDateOfBirth() != null ? Date.valueOf(author.getDateOfBirth()) : null);
+                        stmt.setString(i + 4, author.getNationality());
+                        stmt.setString(i + 5, author.getBiography());
+                    });
+
+            int inserted = insertRows(connection, "INSERT INTO books (isbn, title, publication_date, quantity, " +
+                    "available_quantity, publisher, edition, description, language, page_count, is_reference_only, " +
+                    "genre_id) VALUES ", "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    new ArrayList<>(newBooks.values()), (stmt, i, book) -> {
+                        stmt.setString(i, book.getIsbn());
+                        stmt.setString(i + 1, book.getTitle());
+                        stmt.setDate(i + 2, book.getPublicationDate() != null ? Date.valueOf(book.getPublicationDate()) : null);
+                        stmt.setInt(i + 3, book.getQuantity());
+                        stmt.setInt(i + 4, book.getAvailableQuantity());
+                        stmt.setString(i + 5, book.getPublisher());
+                        stmt.setInt(i + 6, book.getEdition());
+                        stmt.setString(i + 7, book.getDescription());
+                        stmt.setString(i + 8, book.getLanguage());
+                        stmt.setInt(i + 9, book.getPageCount());
+                        stmt.setBoolean(i + 10, book.isReferenceOnly());
+                        stmt.setString(i + 11, genreId(book));
+                    });
+
+            insertRows(connection, "INSERT INTO book_authors (book_isbn, author_id) VALUES ", "(?, ?)",
+                    links, (stmt, i, link) -> {
+                        stmt.setString(i, link[0]);
+                        stmt.setString(i + 1, link[1]);
+                    });
+            return inserted;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to add books", e);
+        }
+    }
+
+    private <T> int insertRows(Connection connection, String insertPrefix, String rowPlaceholders, List<T> rows,
+                               RowBinder<T> binder) throws SQLException {
+        int paramsPerRow = (int) rowPlaceholders.chars().filter(c -> c == '?').count();
+        int inserted = 0;
+        for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_INSERT) {
+            List<T> chunk = rows.subList(from, Math.min(from + MAX_ROWS_PER_INSERT, rows.size()));
+            String sql = insertPrefix + String.join(", ", Collections.nCopies(chunk.size(), rowPlaceholders));
+            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                for (int row = 0; row < chunk.size(); row++) {
+                    binder.bind(stmt, row * paramsPerRow + 1, chunk.get(row));
+                }
+                inserted += stmt.executeUpdate();
+            }
+        }
+        return inserted;
+    }
+
+    private Set<String> existingKeys(String table, String keyColumn, Collection<String> keys) {
+        Set<String> existing = new HashSet<>();
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(keys));
+        for (int from = 0; from < distinct.size(); from += MAX_IN_LIST_SIZE) {
+            List<String> chunk = distinct.subList(from, Math.min(from + MAX_IN_LIST_SIZE, distinct.size()));
+            String sql = "SELECT " + keyColumn + " FROM " + table + " WHERE " + keyColumn + " IN (" +
+                         String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+            existing.addAll(JdbcQueries.queryList(sql, rs -> rs.getString(1),
+                    "Failed to check existing " + table, chunk.toArray()));
+        }
+        return existing;
+    }
+
+    @Override
+    public List<Author> getAllAuthors() {
+        String sql = "SELECT " + BookRowMapper.authorColumns(null) + " FROM authors ORDER BY author_id";
+        return JdbcQueries.queryList(sql, rs -> BookRowMapper.mapAuthor(rs, 1, rs.getString(1)),
+                "Failed to get all authors");
+    }
+
+    @Override
+    public Optional<Book> getBookByIsbn(String isbn) {
+        List<Book> books = fetchBooks("WHERE b.isbn = ?", "Failed to get book by ISBN", isbn);
+        return books.isEmpty() ? Optional.empty() : Optional.of(books.get(0));
+    }
+
+    @Override
+    public List<Book> getBooksByIsbns(Collection<String> isbns) {
+        List<Book> books = new ArrayList<>();
+        List<String> keys = new ArrayList<>(new LinkedHashSet<>(isbns));
+
+        for (int from = 0; from < keys.size(); from += MAX_IN_LIST_SIZE) {
+            List<String> chunk = keys.subList(from, Math.min(from + MAX_IN_LIST_SIZE, keys.size()));
+            String where = "WHERE b.isbn IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+            books.addAll(fetchBooks(where, "Failed to get books by ISBN", chunk.toArray()));
+        }
+
+        return books;
+    }
+
+    // Keyset page: the next `limit` books after the given ISBN, so deep pages cost the same as the first
+    @Override
+    public List<Book> getBooksPage(String afterIsbn, int limit) {
+        String where = "WHERE b.isbn > ? AND b.isbn <= (SELECT MAX(p.isbn) FROM " +
+                       "(SELECT isbn FROM books WHERE isbn > ? ORDER BY isbn LIMIT ?) p)";
+        String after = afterIsbn != null ? afterIsbn : "";
+        return fetchBooks(where, "Failed to get page of books", after, after, limit);
+    }
+
+    // One element per book; each joined row carries at most one author and adjacent rows are folded
+    @Override
+    public Stream<Book> streamAllBooks() {
+        Stream<Book> rows = JdbcStreams.query(BOOK_WITH_AUTHORS_SQL + "ORDER BY b.isbn", stmt -> { },
+                rs -> {
+                    Book book = BookRowMapper.mapBook(rs);
+                    String authorId = rs.getString(BookRowMapper.AUTHOR_FIRST_COLUMN);
+                    if (authorId != null) {
+                        book.addAuthor(BookRowMapper.mapAuthor(rs, BookRowMapper.AUTHOR_FIRST_COLUMN, authorId));
+                    }
+                    return book;
+                }, "Failed to stream books");
+        return JdbcStreams.mergeAdjacent(rows,
+                (first, next) -> first.getIsbn().equals(next.getIsbn()),
+                (first, next) -> {
+                    next.getAuthors().forEach(first::addAuthor);
+                    return first;
+                });
+    }
+
+    @Override
+    public int countBooks() {
+        return JdbcQueries.queryInt("SELECT COUNT(*) FROM books", "Failed to count books");
+    }
+
+    private List<Book> fetchBooks(String whereClause, String errorMessage, Object... params) {
+        String sql = BOOK_WITH_AUTHORS_SQL + whereClause + " ORDER BY b.isbn";
+
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            JdbcQueries.bind(stmt, params);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return readBooksWithAuthors(rs);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(errorMessage, e);
+        }
+    }
+
+    // Rows arrive ordered by ISBN, one per (book, author) pair, so the graph is assembled
+    // in a single pass. Authors shared between books are hydrated once per result set.
+    private List<Book> readBooksWithAuthors(ResultSet rs) throws SQLException {
+        List<Book> books = new ArrayList<>();
+        Map<String, Author> authorsById = new HashMap<>();
+        Book current = null;
+
+        while (rs.next()) {
+            String isbn = rs.getString(1);
+            if (current == null || !current.getIsbn().equals(isbn)) {
+                current = BookRowMapper.mapBook(rs);
+                books.add(current);
+            }
+
+            String authorId = rs.getString(BookRowMapper.AUTHOR_FIRST_COLUMN);
+            if (authorId != null) {
+                Author author = authorsById.get(authorId);
+                if (author == null) {
+                    author = BookRowMapper.mapAuthor(rs, BookRowMapper.AUTHOR_FIRST_COLUMN, authorId);
+                    authorsById.put(authorId, author);
+                }
+                current.addAuthor(author);
+            }
+        }
+
+        return books;
+    }
+
+    private static String genreId(Book book) {
+        return book.getGenre() != null ? book.getGenre().getGenreId() : null;
+    }
+
+    @Override
+    public List<Book> getAllBooks() {
+        return fetchBooks("", "Failed to get all books");
+    }
+
+    @Override
+    public List<Book> getBooksByTitle(String title) {
+        return fetchBooks("WHERE b.title LIKE ?", "Failed to get books by title", "%" + title + "%");
+    }
+
+    @Override
+    public List<Book> getBooksByAuthor(String authorName) {
+        String where = "WHERE b.isbn IN (SELECT ba2.book_isbn FROM book_authors ba2 " +
+                       "JOIN authors a2 ON ba2.author_id = a2.author_id " +
+                       "WHERE CONCAT(a2.first_name, ' ', a2.last_name) LIKE ?)";
+        return fetchBooks(where, "Failed to get books by author", "%" + authorName + "%");
+    }
+
+    @Override
+    public List<Book> getBooksByGenre(String genreId) {
+        return fetchBooks("WHERE b.genre_id = ?", "Failed to get books by genre", genreId);
+    }
+
+    @Override
+    public void updateBook(Book book) {
+        String sql = "UPDATE books SET title = ?, publication_date = ?, quantity = ?, " +
+                     "available_quantity = ?, publisher = ?, edition = ?, description = ?, " +
+                     "language = ?, page_count = ?, is_reference_only = ?, genre_id = ? " +
+                     "WHERE isbn = ?";
+        
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            JdbcQueries.bind(stmt, book.getTitle(), book.getPublicationDate(), book.getQuantity(),
+                book.getAvailableQuantity(), book.getPublisher(), book.getEdition(), book.getDescription(),
+                book.getLanguage(), book.getPageCount(), book.isReferenceOnly(), genreId(book), book.getIsbn());
+            
+            stmt.executeUpdate();
+            
+            // Update authors - first remove all existing relationships
+            removeAllAuthorsForBook(connection, book.getIsbn());
+            // Then add the current authors
+            addBookAuthors(connection, book);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to update book", e);
+        }
+    }
+
+    private void removeAllAuthorsForBook(Connection connection, String isbn) throws SQLException {
+        String sql = "DELETE FROM book_authors WHERE book_isbn = ?";
+        
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, isbn);
+            stmt.executeUpdate();
+        }
+    }
+
+    @Override
+    public void deleteBook(String isbn) {
+        // First delete the author relationships
+        try (Connection connection = DatabaseConnection.getConnection()) {
+            removeAllAuthorsForBook(connection, isbn);
+            
+            // Then delete the book
+            String sql = "DELETE FROM books WHERE isbn = ?";
+            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                stmt.setString(1, isbn);
+                stmt.executeUpdate();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to delete book", e);
+        }
+    }
+
+    @Override
+    public boolean isBookAvailable(String isbn) {
+        String sql = "SELECT available_quantity FROM books WHERE isbn = ?";
+        return JdbcQueries.queryInt(sql, "Failed to check book availability", isbn) > 0;
+    }
+
+    @Override
+    public int getAvailableQuantity(String isbn) {
+        String sql = "SELECT available_quantity FROM books WHERE isbn = ?";
+        return JdbcQueries.queryInt(sql, "Failed to get available quantity", isbn);
+    }
+
+    @Override
+    public Map<String, Integer> getAvailableQuantities() {
+        String sql = "SELECT isbn, available_quantity FROM books";
+        Map<String, Integer> available = new HashMap<>();
+
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                available.put(rs.getString(1), rs.getInt(2));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to get available quantities", e);
+        }
+        return available;
+    }
+
+    // Conditional updates let the database arbitrate concurrent checkouts and returns:
+    // a caller that loses the race sees zero rows updated instead of overselling stock
+    @Override
+    public boolean decrementAvailableQuantity(String isbn) {
+        String sql = "UPDATE books SET available_quantity = available_quantity - 1 " +
+                     "WHERE isbn = ? AND available_quantity > 0";
+        return JdbcQueries.update(sql, "Failed to decrement available quantity", isbn) == 1;
+    }
+
+    @Override
+    public boolean incrementAvailableQuantity(String isbn) {
+        String sql = "UPDATE books SET available_quantity = available_quantity + 1 " +
+                     "WHERE isbn = ? AND available_quantity < quantity";
+        return JdbcQueries.update(sql, "Failed to increment available quantity", isbn) == 1;
+    }
+
+    @Override
+    public List<Book> searchBooks(String query) {
+        String where = "WHERE b.isbn IN (SELECT b2.isbn FROM books b2 " +
+                       "LEFT JOIN book_authors ba2 ON b2.isbn = ba2.book_isbn " +
+                       "LEFT JOIN authors a2 ON ba2.author_id = a2.author_id " +
+                       "WHERE b2.title LIKE ? OR b2.description LIKE ? OR " +
+                       "CONCAT(a2.first_name, ' ', a2.last_name) LIKE ? OR " +
+                       "b2.isbn LIKE ?)";
+        String searchTerm = "%" + query + "%";
+        return fetchBooks(where, "Failed to search books", searchTerm, searchTerm, searchTerm, searchTerm);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.library.dao.impl;
+
+import com.library.entities.Author;
+import com.library.entities.Book;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+// Maps books and authors rows by position, like LoanRowMapper. A joined row lists the book
+// columns first and the author columns after them, starting at AUTHOR_FIRST_COLUMN.
+public final class BookRowMapper {
+    private static final String[] BOOK_COLUMNS = {
+        "isbn", "title", "publication_date", "quantity", "available_quantity", "publisher", "edition",
+        "description", "language", "page_count", "is_reference_only"
+    };
+    private static final String[] AUTHOR_COLUMNS = {
+        "author_id", "first_name", "last_name", "date_of_birth", "nationality", "biography"
+    };
+    public static final int AUTHOR_FIRST_COLUMN = BOOK_COLUMNS.length + 1;
+
+    private BookRowMapper() {
+    }
+
+    // Column list for a SELECT, qualified with the table alias when one is given
+    public static String bookColumns(String alias) {
+        return qualify(alias, BOOK_COLUMNS);
+    }
+
+    public static String authorColumns(String alias) {
+        return qualify(alias, AUTHOR_COLUMNS);
+    }
+
+    private static String qualify(String alias, String[] columns) {
+        String prefix = alias != null && !alias.isEmpty() ? alias + "." : "";
+        StringBuilder list = new StringBuilder();
+        for (String column : columns) {
+            if (list.length() > 0) {
+                list.append(", ");
+            }
+            list.append(prefix).append(column);
+        }
+        return list.toString();
+    }
+
+    public static Book mapBook(ResultSet rs) throws SQLException {
+        Book book = new Book(rs.getString(1), rs.getString(2));
+        book.setPublicationDate(rs.getObject(3, LocalDate.class));
+        book.setQuantity(rs.getInt(4));
+        book.setAvailableQuantity(rs.getInt(5));
+        book.setPublisher(rs.getString(6));
+        book.setEdition(rs.getInt(7));
+        book.setDescription(rs.getString(8));
+        book.setLanguage(rs.getString(9));
+        book.setPageCount(rs.getInt(10));
+        book.setReferenceOnly(rs.getBoolean(11));
+
+        // Note: Genre would need to be set separately as it requires a GenreDAO
+        return book;
+    }
+
+    // Author columns start at firstColumn; the caller has already read the ID there
+    public static Author mapAuthor(ResultSet rs, int firstColumn, String authorId) throws SQLException {
+        Author author = new Author(
+            authorId,
+            rs.getString(firstColumn + 1),
+            rs.getString(firstColumn + 2)
+        );
+        author.setDateOfBirth(rs.getObject(firstColumn + 3, LocalDate.class));
+        author.setNationality(rs.getString(firstColumn + 4));
+        author.setBiography(rs.getString(firstColumn + 5));
+        return author;
+    }
+}
\ No newline at end of file
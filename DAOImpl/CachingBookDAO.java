@@ -0,0 +1,187 @@
+package com.library.dao.impl;
+
+import com.library.dao.BookDAO;
+import com.library.entities.Author;
+import com.library.entities.Book;
+import com.library.utils.EntityCache;
+import com.library.utils.Transaction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Read-through cache in front of another BookDAO. Single-book lookups are served from memory;
+// list and search queries always go to the delegate because their results are not keyed by ISBN.
+public class CachingBookDAO implements BookDAO {
+    private final BookDAO delegate;
+    private final EntityCache<String, Book> cache;
+
+    public CachingBookDAO(BookDAO delegate, int maxSize, long ttlSeconds) {
+        this.delegate = delegate;
+        this.cache = new EntityCache<>(maxSize, ttlSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public Optional<Book> getBookByIsbn(String isbn) {
+        Book cached = cache.getIfPresent(isbn);
+        if (cached != null) {
+            return Optional.of(new Book(cached));
+        }
+
+        Optional<Book> loaded = delegate.getBookByIsbn(isbn);
+        loaded.ifPresent(book -> cache.put(isbn, new Book(book)));
+        return loaded;
+    }
+
+    @Override
+    public List<Book> getBooksByIsbns(Collection<String> isbns) {
+        Map<String, Book> found = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String isbn : isbns) {
+            Book cached = cache.getIfPresent(isbn);
+            if (cached != null) {
+                found.put(isbn, new Book(cached));
+            } else {
+                missing.add(isbn);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (Book book : delegate.getBooksByIsbns(missing)) {
+                cache.put(book.getIsbn(), new Book(book));
+                found.put(book.getIsbn(), book);
+            }
+        }
+
+        List<Book> books = new ArrayList<>();
+        for (String isbn : new LinkedHashSet<>(isbns)) {
+            Book book = found.get(isbn);
+            if (book != null) {
+                books.add(book);
+            }
+        }
+        return books;
+    }
+
+    @Override
+    public List<Book> getAllBooks() {
+        return delegate.getAllBooks();
+    }
+
+    @Override
+    public List<Book> getBooksPage(String afterIsbn, int limit) {
+        return delegate.getBooksPage(afterIsbn, limit);
+    }
+
+    @Override
+    public Stream<Book> streamAllBooks() {
+        return delegate.streamAllBooks();
+    }
+
+    @Override
+    public int countBooks() {
+        return delegate.countBooks();
+    }
+
+    @Override
+    public List<Book> getBooksByTitle(String title) {
+        return delegate.getBooksByTitle(title);
+    }
+
+    @Override
+    public List<Book> getBooksByAuthor(String authorName) {
+        return delegate.getBooksByAuthor(authorName);
+    }
+
+    @Override
+    public List<Book> getBooksByGenre(String genreId) {
+        return delegate.getBooksByGenre(genreId);
+    }
+
+    @Override
+    public List<Book> searchBooks(String query) {
+        return delegate.searchBooks(query);
+    }
+
+    @Override
+    public void addBook(Book book) {
+        delegate.addBook(book);
+        invalidate(book.getIsbn());
+    }
+
+    @Override
+    public int addBooks(Collection<Book> books) {
+        int inserted = delegate.addBooks(books);
+        books.forEach(book -> invalidate(book.getIsbn()));
+        return inserted;
+    }
+
+    @Override
+    public List<Author> getAllAuthors() {
+        return delegate.getAllAuthors();
+    }
+
+    @Override
+    public void updateBook(Book book) {
+        delegate.updateBook(book);
+        invalidate(book.getIsbn());
+    }
+
+    @Override
+    public void deleteBook(String isbn) {
+        delegate.deleteBook(isbn);
+        invalidate(isbn);
+    }
+
+    // Availability changes on every checkout and return, so it is always read from the database
+    @Override
+    public boolean isBookAvailable(String isbn) {
+        return delegate.isBookAvailable(isbn);
+    }
+
+    @Override
+    public int getAvailableQuantity(String isbn) {
+        return delegate.getAvailableQuantity(isbn);
+    }
+
+    @Override
+    public Map<String, Integer> getAvailableQuantities() {
+        return delegate.getAvailableQuantities();
+    }
+
+    @Override
+    public boolean decrementAvailableQuantity(String isbn) {
+        boolean decremented = delegate.decrementAvailableQuantity(isbn);
+        if (decremented) {
+            invalidate(isbn);
+        }
+        return decremented;
+    }
+
+    @Override
+    public boolean incrementAvailableQuantity(String isbn) {
+        boolean incremented = delegate.incrementAvailableQuantity(isbn);
+        if (incremented) {
+            invalidate(isbn);
+        }
+        return incremented;
+    }
+
+    public EntityCache.CacheStats getCacheStats() {
+        return cache.getStats();
+    }
+
+    // Drops the entry now and again once the surrounding transaction ends, so a concurrent
+    // reader cannot re-cache the pre-commit row in between
+    private void invalidate(String isbn) {
+        cache.invalidate(isbn);
+        Transaction.afterCompletion(() -> cache.invalidate(isbn));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,165 @@
+package com.library.dao.impl;
+
+import com.library.dao.UserDAO;
+import com.library.entities.User;
+import com.library.utils.EntityCache;
+import com.library.utils.Transaction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Read-through cache in front of another UserDAO, mirroring CachingBookDAO
+public class CachingUserDAO implements UserDAO {
+    private final UserDAO delegate;
+    private final EntityCache<String, User> cache;
+
+    public CachingUserDAO(UserDAO delegate, int maxSize, long ttlSeconds) {
+        this.delegate = delegate;
+        this.cache = new EntityCache<>(maxSize, ttlSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public Optional<User> getUserById(String userId) {
+        User cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return Optional.of(new User(cached));
+        }
+
+        Optional<User> loaded = delegate.getUserById(userId);
+        loaded.ifPresent(user -> cache.put(userId, new User(user)));
+        return loaded;
+    }
+
+    @Override
+    public List<User> getUsersByIds(Collection<String> userIds) {
+        Map<String, User> found = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String userId : userIds) {
+            User cached = cache.getIfPresent(userId);
+            if (cached != null) {
+                found.put(userId, new User(cached));
+            } else {
+                missing.add(userId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (User user : delegate.getUsersByIds(missing)) {
+                cache.put(user.getUserId(), new User(user));
+                found.put(user.getUserId(), user);
+            }
+        }
+
+        List<User> users = new ArrayList<>();
+        for (String userId : new LinkedHashSet<>(userIds)) {
+            User user = found.get(userId);
+            if (user != null) {
+                users.add(user);
+            }
+        }
+        return users;
+    }
+
+    @Override
+    public List<User> getAllUsers() {
+        return delegate.getAllUsers();
+    }
+
+    @Override
+    public List<User> getUsersPage(String afterUserId, int limit) {
+        return delegate.getUsersPage(afterUserId, limit);
+    }
+
+    @Override
+    public Stream<User> streamAllUsers() {
+        return delegate.streamAllUsers();
+    }
+
+    @Override
+    public int countUsers() {
+        return delegate.countUsers();
+    }
+
+    @Override
+    public List<User> getUsersByName(String name) {
+        return delegate.getUsersByName(name);
+    }
+
+    @Override
+    public List<User> getUsersByType(User.UserType type) {
+        return delegate.getUsersByType(type);
+    }
+
+    @Override
+    public void addUser(User user) {
+        delegate.addUser(user);
+        invalidate(user.getUserId());
+    }
+
+    @Override
+    public void updateUser(User user) {
+        delegate.updateUser(user);
+        invalidate(user.getUserId());
+    }
+
+    @Override
+    public void deleteUser(String userId) {
+        delegate.deleteUser(userId);
+        invalidate(userId);
+    }
+
+    @Override
+    public boolean userExists(String userId) {
+        if (cache.getIfPresent(userId) != null) {
+            return true;
+        }
+        return delegate.userExists(userId);
+    }
+
+    @Override
+    public Optional<User> authenticateUser(String userId, String password) {
+        return delegate.authenticateUser(userId, password);
+    }
+
+    @Override
+    public void updatePassword(String userId, String password) {
+        delegate.updatePassword(userId, password);
+    }
+
+    @Override
+    public boolean recordCheckout(String userId, String isbn) {
+        boolean recorded = delegate.recordCheckout(userId, isbn);
+        invalidate(userId);
+        return recorded;
+    }
+
+    @Override
+    public void recordReturn(String userId, String isbn, long fineCents) {
+        delegate.recordReturn(userId, isbn, fineCents);
+        invalidate(userId);
+    }
+
+    @Override
+    public boolean payFines(String userId, long amountCents) {
+        boolean paid = delegate.payFines(userId, amountCents);
+        invalidate(userId);
+        return paid;
+    }
+
+    public EntityCache.CacheStats getCacheStats() {
+        return cache.getStats();
+    }
+
+    private void invalidate(String userId) {
+        cache.invalidate(userId);
+        Transaction.afterCompletion(() -> cache.invalidate(userId));
+    }
+}
\ No newline at end of file
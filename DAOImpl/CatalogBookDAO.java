@@ -0,0 +1,279 @@
+package com.library.dao.impl;
+
+import com.library.dao.BookDAO;
+import com.library.entities.Author;
+import com.library.entities.Book;
+import com.library.utils.Transaction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Whole-catalog alternative to CachingBookDAO. Every book is held in a CompactBookCatalog, so
+// lookups by ISBN are served from memory without an eviction policy, and callers get detached
+// copies as before. The catalog is loaded on first use and replaced by a fresh load once it is
+// older than the resync interval, which picks up changes made by other processes. Loads run on a
+// background thread while readers keep the current catalog; until the first one finishes, lookups
+// go to the database. Writes made through this DAO re-read the book once their transaction ends;
+// checkouts and returns adjust the held stock once they commit.
+public class CatalogBookDAO implements BookDAO {
+    private final BookDAO delegate;
+    private final long resyncNanos;
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private final ExecutorService reloader;
+    // ISBNs changed while a rebuild is loading, re-read into the new catalog; null otherwise
+    private volatile Set<String> changedDuringRebuild;
+    private volatile CompactBookCatalog catalog;
+    private volatile long loadedAt;
+
+    public CatalogBookDAO(BookDAO delegate, long resyncSeconds) {
+        this.delegate = delegate;
+        this.resyncNanos = TimeUnit.SECONDS.toNanos(resyncSeconds);
+        this.reloader = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "book-catalog-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public Optional<Book> getBookByIsbn(String isbn) {
+        CompactBookCatalog books = current();
+        if (books == null) {
+            return delegate.getBookByIsbn(isbn);
+        }
+        Book held = books.copy(isbn);
+        if (held != null) {
+            return Optional.of(held);
+        }
+
+        // Added since the last load, by another process
+        Optional<Book> loaded = delegate.getBookByIsbn(isbn);
+        loaded.ifPresent(books::put);
+        return loaded;
+    }
+
+    @Override
+    public List<Book> getBooksByIsbns(Collection<String> isbns) {
+        CompactBookCatalog books = current();
+        if (books == null) {
+            return delegate.getBooksByIsbns(isbns);
+        }
+        Map<String, Book> found = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String isbn : isbns) {
+            Book held = books.copy(isbn);
+            if (held != null) {
+                found.put(isbn, held);
+            } else {
+                missing.add(isbn);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (Book book : delegate.getBooksByIsbns(missing)) {
+                books.put(book);
+                found.put(book.getIsbn(), book);
+            }
+        }
+
+        List<Book> result = new ArrayList<>();
+        for (String isbn : new LinkedHashSet<>(isbns)) {
+            Book book = found.get(isbn);
+            if (book != null) {
+                result.add(book);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Book> getAllBooks() {
+        return delegate.getAllBooks();
+    }
+
+    @Override
+    public List<Book> getBooksPage(String afterIsbn, int limit) {
+        return delegate.getBooksPage(afterIsbn, limit);
+    }
+
+    @Override
+    public Stream<Book> streamAllBooks() {
+        return delegate.streamAllBooks();
+    }
+
+    @Override
+    public int countBooks() {
+        return delegate.countBooks();
+    }
+
+    @Override
+    public List<Book> getBooksByTitle(String title) {
+        return delegate.getBooksByTitle(title);
+    }
+
+    @Override
+    public List<Book> getBooksByAuthor(String authorName) {
+        return delegate.getBooksByAuthor(authorName);
+    }
+
+    @Override
+    public List<Book> getBooksByGenre(String genreId) {
+        return delegate.getBooksByGenre(genreId);
+    }
+
+    @Override
+    public List<Book> searchBooks(String query) {
+        return delegate.searchBooks(query);
+    }
+
+    @Override
+    public void addBook(Book book) {
+        delegate.addBook(book);
+        refreshAfterCompletion(book.getIsbn());
+    }
+
+    @Override
+    public int addBooks(Collection<Book> books) {
+        int inserted = delegate.addBooks(books);
+        books.forEach(book -> refreshAfterCompletion(book.getIsbn()));
+        return inserted;
+    }
+
+    @Override
+    public List<Author> getAllAuthors() {
+        return delegate.getAllAuthors();
+    }
+
+    @Override
+    public void updateBook(Book book) {
+        delegate.updateBook(book);
+        refreshAfterCompletion(book.getIsbn());
+    }
+
+    @Override
+    public void deleteBook(String isbn) {
+        delegate.deleteBook(isbn);
+        refreshAfterCompletion(isbn);
+    }
+
+    // Availability changes on every checkout and return, so it is always read from the database
+    @Override
+    public boolean isBookAvailable(String isbn) {
+        return delegate.isBookAvailable(isbn);
+    }
+
+    @Override
+    public int getAvailableQuantity(String isbn) {
+        return delegate.getAvailableQuantity(isbn);
+    }
+
+    @Override
+    public Map<String, Integer> getAvailableQuantities() {
+        return delegate.getAvailableQuantities();
+    }
+
+    @Override
+    public boolean decrementAvailableQuantity(String isbn) {
+        boolean decremented = delegate.decrementAvailableQuantity(isbn);
+        if (decremented) {
+            Transaction.afterCommit(() -> apply(isbn, books -> books.addAvailableQuantity(isbn, -1)));
+        }
+        return decremented;
+    }
+
+    @Override
+    public boolean incrementAvailableQuantity(String isbn) {
+        boolean incremented = delegate.incrementAvailableQuantity(isbn);
+        if (incremented) {
+            Transaction.afterCommit(() -> apply(isbn, books -> books.addAvailableQuantity(isbn, 1)));
+        }
+        return incremented;
+    }
+
+    // Reloads every book from the database on the calling thread, e.g. after bulk changes made
+    // outside the DAO
+    public synchronized void rebuild() {
+        Set<String> changed = ConcurrentHashMap.newKeySet();
+        changedDuringRebuild = changed;
+        try {
+            CompactBookCatalog fresh = new CompactBookCatalog();
+            try (Stream<Book> books = delegate.streamAllBooks()) {
+                books.forEach(fresh::put);
+            }
+            catalog = fresh;
+            // The load may have read these before or after the change, so they are read once more;
+            // later changes go straight to the new catalog
+            changed.forEach(isbn -> refresh(fresh, isbn));
+            loadedAt = System.nanoTime();
+        } finally {
+            changedDuringRebuild = null;
+        }
+    }
+
+    public int getHeldBookCount() {
+        CompactBookCatalog books = catalog;
+        return books != null ? books.size() : 0;
+    }
+
+    // Starts a background load when the catalog is missing or stale and returns the current one,
+    // which is null until the first load finishes
+    private CompactBookCatalog current() {
+        CompactBookCatalog books = catalog;
+        if ((books == null || System.nanoTime() - loadedAt > resyncNanos) && reloading.compareAndSet(false, true)) {
+            try {
+                reloader.execute(() -> {
+                    try {
+                        rebuild();
+                    } catch (RuntimeException e) {
+                        System.err.println("Book catalog reload failed: " + e.getMessage());
+                    } finally {
+                        reloading.set(false);
+                    }
+                });
+            } catch (RuntimeException e) {
+                reloading.set(false);
+                throw e;
+            }
+        }
+        return books;
+    }
+
+    private void apply(String isbn, Consumer<CompactBookCatalog> change) {
+        Set<String> changed = changedDuringRebuild;
+        if (changed != null) {
+            changed.add(isbn);
+        }
+        CompactBookCatalog books = catalog;
+        if (books != null) {
+            change.accept(books);
+        }
+    }
+
+    // Re-reads the committed row once the write's transaction ends, so rolled-back writes never
+    // reach the catalog. Until the first read loads it there is nothing to maintain.
+    private void refreshAfterCompletion(String isbn) {
+        Transaction.afterCompletion(() -> apply(isbn, books -> refresh(books, isbn)));
+    }
+
+    private void refresh(CompactBookCatalog books, String isbn) {
+        Optional<Book> book = delegate.getBookByIsbn(isbn);
+        if (book.isPresent()) {
+            books.put(book.get());
+        } else {
+            books.remove(isbn);
+        }
+    }
+}
\ No newline at end of file
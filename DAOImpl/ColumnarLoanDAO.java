@@ -0,0 +1,304 @@
+package com.library.dao.impl;
+
+import com.library.dao.LoanDAO;
+import com.library.entities.Loan;
+import com.library.entities.User;
+import com.library.utils.JdbcQueries;
+import com.library.utils.JdbcStreams;
+import com.library.utils.Money;
+import com.library.utils.Transaction;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+// Answers the report queries (most borrowed books, most active users, total fines, loan counts) from
+// a LoanColumnStore instead of GROUP BY and SUM scans over the loans table. The store is loaded on
+// the first report, and the whole store is reloaded once it is older than the resync interval, which
+// picks up updates made by other processes. Loans, returns, renewals and the overdue engine's
+// updates made through this DAO are applied to the store once they commit.
+//
+// Every report also appends loans dated from the day before the newest loan held that the store
+// does not hold yet. That is only a backstop for loans added by other processes: it goes by loan
+// date because legacy IDs and generated IDs do not sort in creation order, and a loan dated earlier
+// than that waits for the next reload.
+public class ColumnarLoanDAO implements LoanDAO {
+    private static final String LOAD_SQL =
+            "SELECT " + LoanRowMapper.COLUMNS + " FROM loans ORDER BY loan_id";
+    private static final String LOAD_RECENT_SQL =
+            "SELECT " + LoanRowMapper.COLUMNS + " FROM loans WHERE loan_date >= ? ORDER BY loan_id";
+    private static final String OVERDUE_FINES_SQL =
+            "SELECT loan_id, fine_amount FROM loans WHERE status = 'OVERDUE'";
+
+    private final LoanDAO delegate;
+    private final long resyncNanos;
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private volatile LoanColumnStore columns;
+    private volatile long loadedAt;
+    private volatile boolean stale;
+    // Loans committed while a rebuild is loading, appended again to the new store; null otherwise
+    private volatile List<Consumer<LoanColumnStore>> addedDuringRebuild;
+
+    public ColumnarLoanDAO(LoanDAO delegate, long resyncSeconds) {
+        this.delegate = delegate;
+        this.resyncNanos = TimeUnit.SECONDS.toNanos(resyncSeconds);
+    }
+
+    @Override
+    public Map<String, Long> getMostBorrowedIsbns(int limit) {
+        return current().topBooks(limit, null, null);
+    }
+
+    @Override
+    public Map<String, Long> getMostBorrowedIsbns(LocalDate from, LocalDate to, int limit) {
+        return current().topBooks(limit, from, to);
+    }
+
+    @Override
+    public Map<String, Long> getMostActiveUserIds(int limit) {
+        return current().topUsers(limit, null, null);
+    }
+
+    @Override
+    public long getTotalFineCents() {
+        return current().totalFineCents();
+    }
+
+    @Override
+    public int countLoans(Loan.LoanStatus status) {
+        return current().count(status, LocalDate.now());
+    }
+
+    // Appended once it commits, in commit order, so loans committing out of ID order are not missed
+    @Override
+    public void addLoan(Loan loan) {
+        delegate.addLoan(loan);
+        String loanId = loan.getLoanId();
+        String isbn = loan.getBook().getIsbn();
+        String userId = loan.getUser().getUserId();
+        LocalDate loanDate = loan.getLoanDate();
+        LocalDate dueDate = loan.getDueDate();
+        Loan.LoanStatus status = loan.getStatus();
+        long fineCents = loan.getFineCents();
+        Consumer<LoanColumnStore> append =
+                store -> store.appendOpen(loanId, isbn, userId, loanDate, dueDate, status, fineCents);
+        Transaction.afterCommit(() -> {
+            List<Consumer<LoanColumnStore>> added = addedDuringRebuild;
+            if (added != null) {
+                added.add(append);
+            }
+            apply(append);
+        });
+    }
+
+    @Override
+    public boolean markLoanReturned(Loan loan) {
+        boolean returned = delegate.markLoanReturned(loan);
+        if (returned) {
+            Transaction.afterCommit(() -> applyToLoan(loan.getLoanId(), loan.getLoanDate(),
+                    columns -> columns.update(loan.getLoanId(), loan.getDueDate(), loan.getStatus(), loan.getFineCents())));
+        }
+        return returned;
+    }
+
+    @Override
+    public boolean extendLoan(String loanId, LocalDate newDueDate) {
+        boolean extended = delegate.extendLoan(loanId, newDueDate);
+        if (extended) {
+            Transaction.afterCommit(() -> applyToLoan(loanId, null, columns -> columns.extend(loanId, newDueDate)));
+        }
+        return extended;
+    }
+
+    // Only open loans can be updated in place; an edit to a closed loan is left to a full reload
+    @Override
+    public void updateLoan(Loan loan) {
+        delegate.updateLoan(loan);
+        Transaction.afterCommit(() -> applyToLoan(loan.getLoanId(), loan.getLoanDate(),
+                columns -> columns.update(loan.getLoanId(), loan.getDueDate(), loan.getStatus(), loan.getFineCents())));
+    }
+
+    @Override
+    public void deleteLoan(String loanId) {
+        delegate.deleteLoan(loanId);
+        Transaction.afterCommit(() -> applyToLoan(loanId, null, columns -> columns.remove(loanId)));
+    }
+
+    @Override
+    public int markLoansOverdue(Collection<String> loanIds, LocalDate asOf) {
+        int updated = delegate.markLoansOverdue(loanIds, asOf);
+        if (updated > 0) {
+            List<String> ids = new ArrayList<>(loanIds);
+            Transaction.afterCommit(() -> apply(columns -> columns.markOverdue(ids, asOf)));
+        }
+        return updated;
+    }
+
+    // The rate depends on the borrower's user type, which the store does not hold, so the accrued
+    // fines are read back rather than recomputed
+    @Override
+    public int accrueOverdueFines(LocalDate asOf, Map<User.UserType, Long> dailyRateCents) {
+        int updated = delegate.accrueOverdueFines(asOf, dailyRateCents);
+        if (updated > 0) {
+            Transaction.afterCommit(() -> apply(ColumnarLoanDAO::loadOverdueFines));
+        }
+        return updated;
+    }
+
+    @Override
+    public Optional<Loan> getLoanById(String loanId) {
+        return delegate.getLoanById(loanId);
+    }
+
+    @Override
+    public List<Loan> getAllLoans() {
+        return delegate.getAllLoans();
+    }
+
+    @Override
+    public List<Loan> getLoansPage(String afterLoanId, int limit) {
+        return delegate.getLoansPage(afterLoanId, limit);
+    }
+
+    @Override
+    public List<Loan> getLoansPage(Loan.LoanStatus status, String afterLoanId, int limit) {
+        return delegate.getLoansPage(status, afterLoanId, limit);
+    }
+
+    @Override
+    public List<Loan> getLoansPageByDueDate(Loan.LoanStatus status, LocalDate afterDueDate, String afterLoanId, int limit) {
+        return delegate.getLoansPageByDueDate(status, afterDueDate, afterLoanId, limit);
+    }
+
+    @Override
+    public Stream<Loan> streamAllLoans() {
+        return delegate.streamAllLoans();
+    }
+
+    @Override
+    public List<Loan> getLoansByUser(String userId) {
+        return delegate.getLoansByUser(userId);
+    }
+
+    @Override
+    public List<Loan> getLoansByBook(String isbn) {
+        return delegate.getLoansByBook(isbn);
+    }
+
+    @Override
+    public List<Loan> getActiveLoans() {
+        return delegate.getActiveLoans();
+    }
+
+    @Override
+    public List<Loan> getOverdueLoans() {
+        return delegate.getOverdueLoans();
+    }
+
+    @Override
+    public Map<String, LocalDate> getDueDatesByStatus(Loan.LoanStatus status) {
+        return delegate.getDueDatesByStatus(status);
+    }
+
+    // Reloads every loan from the database, e.g. after bulk changes made outside the DAO
+    public synchronized void rebuild() {
+        stale = false;
+        List<Consumer<LoanColumnStore>> added = Collections.synchronizedList(new ArrayList<>());
+        addedDuringRebuild = added;
+        try {
+            LoanColumnStore fresh = new LoanColumnStore();
+            loadNewLoans(fresh);
+            columns = fresh;
+            // Loans the load already read are skipped; later ones go straight to the new store
+            synchronized (added) {
+                added.forEach(append -> append.accept(fresh));
+            }
+            loadedAt = System.nanoTime();
+        } finally {
+            addedDuringRebuild = null;
+        }
+    }
+
+    public int getLoadedLoanCount() {
+        LoanColumnStore store = columns;
+        return store != null ? store.size() : 0;
+    }
+
+    // The first caller loads the store; after that one caller at a time reloads it while the others
+    // keep reading the current columns. Every caller appends loans added since the last report.
+    private LoanColumnStore current() {
+        if (columns == null) {
+            synchronized (this) {
+                if (columns == null) {
+                    rebuild();
+                }
+            }
+        } else if ((stale || System.nanoTime() - loadedAt > resyncNanos) && reloading.compareAndSet(false, true)) {
+            try {
+                rebuild();
+            } finally {
+                reloading.set(false);
+            }
+        }
+        LoanColumnStore store = columns;
+        loadNewLoans(store);
+        return store;
+    }
+
+    // Reads every loan into an empty store, and otherwise the loans from its reload date on that it
+    // does not hold. Runs under the store's lock, so a return that commits while new rows are being
+    // read waits and is then applied to the row it was missing
+    private static void loadNewLoans(LoanColumnStore store) {
+        synchronized (store) {
+            LocalDate from = store.getReloadFrom();
+            String sql = from != null ? LOAD_RECENT_SQL : LOAD_SQL;
+            Object[] params = from != null ? new Object[]{from} : new Object[0];
+            try (Stream<LoanRowMapper.Row> rows = JdbcStreams.query(sql, stmt -> JdbcQueries.bind(stmt, params),
+                    LoanRowMapper::map, "Failed to load loans for reporting")) {
+                rows.forEach(row -> store.appendIfAbsent(row.loanId, row.bookIsbn, row.userId, row.loanDate,
+                        row.dueDate, row.status, row.fineCents));
+            }
+        }
+    }
+
+    private static void loadOverdueFines(LoanColumnStore store) {
+        synchronized (store) {
+            try (Stream<Map.Entry<String, Long>> fines = JdbcStreams.query(OVERDUE_FINES_SQL, stmt -> { },
+                    rs -> Map.entry(rs.getString(1), Money.toCents(rs.getBigDecimal(2))),
+                    "Failed to load overdue fines for reporting")) {
+                fines.forEach(fine -> store.setFine(fine.getKey(), fine.getValue()));
+            }
+        }
+    }
+
+    private void apply(Consumer<LoanColumnStore> change) {
+        LoanColumnStore store = columns;
+        if (store != null) {
+            change.accept(store);
+        }
+    }
+
+    // A loan the store has not loaded yet is read in its current state by the next incremental load,
+    // if its loan date is known and falls inside what that load reads. Any other change the store
+    // cannot apply in place forces a reload on the next report.
+    private void applyToLoan(String loanId, LocalDate loanDate, Predicate<LoanColumnStore> change) {
+        LoanColumnStore store = columns;
+        if (store == null) {
+            return;
+        }
+        synchronized (store) {
+            if (!change.test(store) && !store.willLoad(loanId, loanDate)) {
+                stale = true;
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,400 @@
+package com.library.dao.impl;
+
+import com.library.entities.Author;
+import com.library.entities.Book;
+import com.library.entities.Genre;
+
+import java.time.LocalDate;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+// Books held column by column so a whole catalog fits in memory: numbers in int arrays, the
+// publication date as an epoch day, publisher, language and genre as codes into shared
+// dictionaries, and each book's authors as a small int array of author codes instead of a HashSet.
+// Only the ISBN, title and description stay as one String per book.
+//
+// view() hands out read-only flyweight Books that read their row on every call. They are cheap to
+// make and hold, but read without locking, so a view may show a row mid-update and is only valid
+// while its book stays in the catalog. copy() takes a consistent, detached Book under a seqlock.
+public final class CompactBookCatalog {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int NONE = -1;
+    private static final int[] NO_AUTHORS = new int[0];
+
+    private final StampedLock lock = new StampedLock();
+    private final Map<String, Integer> rows = new HashMap<>();
+    private final Dictionary<String> publishers = new Dictionary<>();
+    private final Dictionary<String> languages = new Dictionary<>();
+    private final Dictionary<Genre> genres = new Dictionary<>();
+    private final Dictionary<Author> authors = new Dictionary<>();
+
+    // Guarded by lock. Rows of removed books are reused, so the arrays only grow.
+    private int rowCount;
+    private int[] freeRows = new int[16];
+    private int freeCount;
+    private String[] isbns = new String[INITIAL_CAPACITY];
+    private String[] titles = new String[INITIAL_CAPACITY];
+    private String[] descriptions = new String[INITIAL_CAPACITY];
+    private int[] publicationDays = new int[INITIAL_CAPACITY];
+    private int[] quantities = new int[INITIAL_CAPACITY];
+    private int[] availableQuantities = new int[INITIAL_CAPACITY];
+    private int[] editions = new int[INITIAL_CAPACITY];
+    private int[] pageCounts = new int[INITIAL_CAPACITY];
+    private int[] publisherCodes = new int[INITIAL_CAPACITY];
+    private int[] languageCodes = new int[INITIAL_CAPACITY];
+    private int[] genreCodes = new int[INITIAL_CAPACITY];
+    private boolean[] referenceOnly = new boolean[INITIAL_CAPACITY];
+    private int[][] authorCodes = new int[INITIAL_CAPACITY][];
+
+    // Adds the book or overwrites the row already held for its ISBN
+    public void put(Book book) {
+        long stamp = lock.writeLock();
+        try {
+            Integer existing = rows.get(book.getIsbn());
+            int row = existing != null ? existing : allocateRow();
+            if (existing == null) {
+                isbns[row] = book.getIsbn();
+                rows.put(book.getIsbn(), row);
+            }
+            titles[row] = book.getTitle();
+            descriptions[row] = book.getDescription();
+            LocalDate published = book.getPublicationDate();
+            publicationDays[row] = published != null ? (int) published.toEpochDay() : NO_DATE;
+            quantities[row] = book.getQuantity();
+            availableQuantities[row] = book.getAvailableQuantity();
+            editions[row] = book.getEdition();
+            pageCounts[row] = book.getPageCount();
+            publisherCodes[row] = publishers.encode(book.getPublisher(), book.getPublisher());
+            languageCodes[row] = languages.encode(book.getLanguage(), book.getLanguage());
+            Genre genre = book.getGenre();
+            genreCodes[row] = genre != null ? genres.encode(genre.getGenreId(), genre) : NONE;
+            referenceOnly[row] = book.isReferenceOnly();
+            authorCodes[row] = encodeAuthors(book.getAuthors());
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean remove(String isbn) {
+        long stamp = lock.writeLock();
+        try {
+            Integer row = rows.remove(isbn);
+            if (row == null) {
+                return false;
+            }
+            isbns[row] = null;
+            titles[row] = null;
+            descriptions[row] = null;
+            authorCodes[row] = NO_AUTHORS;
+            if (freeCount == freeRows.length) {
+                freeRows = Arrays.copyOf(freeRows, freeCount * 2);
+            }
+            freeRows[freeCount++] = row;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean addAvailableQuantity(String isbn, int delta) {
+        long stamp = lock.writeLock();
+        try {
+            Integer row = rows.get(isbn);
+            if (row == null) {
+                return false;
+            }
+            availableQuantities[row] += delta;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return rows.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Read-only flyweight over the book's row, or null when the catalog does not hold it
+    public Book view(String isbn) {
+        long stamp = lock.readLock();
+        try {
+            Integer row = rows.get(isbn);
+            return row != null ? new View(isbns[row], row) : null;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Views of every book held, in row order
+    public Stream<Book> views() {
+        String[] held;
+        int count;
+        long stamp = lock.readLock();
+        try {
+            held = isbns;
+            count = rowCount;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return IntStream.range(0, count)
+                .<Book>mapToObj(row -> {
+                    String isbn = held[row];
+                    return isbn != null ? new View(isbn, row) : null;
+                })
+                .filter(Objects::nonNull);
+    }
+
+    // A detached, mutable Book with a consistent view of the row. Readers run without blocking
+    // and only retry under the read lock if a writer got in between.
+    public Book copy(String isbn) {
+        long stamp = lock.tryOptimisticRead();
+        Book book = null;
+        try {
+            book = copyRow(isbn);
+        } catch (RuntimeException e) {
+            // A torn read of arrays being replaced; the validation below sends this to the retry
+        }
+        if (lock.validate(stamp)) {
+            return book;
+        }
+        stamp = lock.readLock();
+        try {
+            return copyRow(isbn);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private Book copyRow(String isbn) {
+        Integer row = rows.get(isbn);
+        return row != null ? new Book(new View(isbn, row)) : null;
+    }
+
+    private int allocateRow() {
+        if (freeCount > 0) {
+            return freeRows[--freeCount];
+        }
+        if (rowCount == isbns.length) {
+            int capacity = rowCount * 2;
+            isbns = Arrays.copyOf(isbns, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+            publicationDays = Arrays.copyOf(publicationDays, capacity);
+            quantities = Arrays.copyOf(quantities, capacity);
+            availableQuantities = Arrays.copyOf(availableQuantities, capacity);
+            editions = Arrays.copyOf(editions, capacity);
+            pageCounts = Arrays.copyOf(pageCounts, capacity);
+            publisherCodes = Arrays.copyOf(publisherCodes, capacity);
+            languageCodes = Arrays.copyOf(languageCodes, capacity);
+            genreCodes = Arrays.copyOf(genreCodes, capacity);
+            referenceOnly = Arrays.copyOf(referenceOnly, capacity);
+            authorCodes = Arrays.copyOf(authorCodes, capacity);
+        }
+        return rowCount++;
+    }
+
+    private int[] encodeAuthors(Set<Author> bookAuthors) {
+        if (bookAuthors.isEmpty()) {
+            return NO_AUTHORS;
+        }
+        int[] codes = new int[bookAuthors.size()];
+        int i = 0;
+        for (Author author : bookAuthors) {
+            codes[i++] = authors.encode(author.getAuthorId(), author);
+        }
+        return codes;
+    }
+
+    // Reads go straight to the catalog's current arrays. Every getter first checks the row still
+    // holds this view's ISBN, since the row of a removed book is handed to the next one added.
+    private final class View extends Book {
+        private final int row;
+
+        View(String isbn, int row) {
+            super(isbn, null);
+            this.row = row;
+        }
+
+        private int row() {
+            if (!getIsbn().equals(isbns[row])) {
+                throw new IllegalStateException("Book " + getIsbn() + " is no longer in the catalog");
+            }
+            return row;
+        }
+
+        @Override
+        public String getTitle() { return titles[row()]; }
+
+        @Override
+        public Set<Author> getAuthors() { return new AuthorSet(authorCodes[row()]); }
+
+        @Override
+        public Genre getGenre() {
+            int code = genreCodes[row()];
+            return code != NONE ? genres.decode(code) : null;
+        }
+
+        @Override
+        public LocalDate getPublicationDate() {
+            int day = publicationDays[row()];
+            return day != NO_DATE ? LocalDate.ofEpochDay(day) : null;
+        }
+
+        @Override
+        public int getQuantity() { return quantities[row()]; }
+
+        @Override
+        public int getAvailableQuantity() { return availableQuantities[row()]; }
+
+        @Override
+        public String getPublisher() { return publishers.decode(publisherCodes[row()]); }
+
+        @Override
+        public int getEdition() { return editions[row()]; }
+
+        @Override
+        public String getDescription() { return descriptions[row()]; }
+
+        @Override
+        public String getLanguage() { return languages.decode(languageCodes[row()]); }
+
+        @Override
+        public int getPageCount() { return pageCounts[row()]; }
+
+        @Override
+        public boolean isReferenceOnly() { return referenceOnly[row()]; }
+
+        @Override
+        public void setIsbn(String isbn) { throw readOnly(); }
+
+        @Override
+        public void setTitle(String title) { throw readOnly(); }
+
+        @Override
+        public void addAuthor(Author author) { throw readOnly(); }
+
+        @Override
+        public void removeAuthor(Author author) { throw readOnly(); }
+
+        @Override
+        public void setGenre(Genre genre) { throw readOnly(); }
+
+        @Override
+        public void setPublicationDate(LocalDate publicationDate) { throw readOnly(); }
+
+        @Override
+        public void setQuantity(int quantity) { throw readOnly(); }
+
+        @Override
+        public void setAvailableQuantity(int availableQuantity) { throw readOnly(); }
+
+        @Override
+        public void decreaseAvailableQuantity() { throw readOnly(); }
+
+        @Override
+        public void increaseAvailableQuantity() { throw readOnly(); }
+
+        @Override
+        public void setPublisher(String publisher) { throw readOnly(); }
+
+        @Override
+        public void setEdition(int edition) { throw readOnly(); }
+
+        @Override
+        public void setDescription(String description) { throw readOnly(); }
+
+        @Override
+        public void setLanguage(String language) { throw readOnly(); }
+
+        @Override
+        public void setPageCount(int pageCount) { throw readOnly(); }
+
+        @Override
+        public void setReferenceOnly(boolean referenceOnly) { throw readOnly(); }
+
+        private UnsupportedOperationException readOnly() {
+            return new UnsupportedOperationException("Catalog views are read-only; copy the book to change it");
+        }
+    }
+
+    // The shared Author instances behind a book's author codes, without building a HashSet
+    private final class AuthorSet extends AbstractSet<Author> {
+        private final int[] codes;
+
+        AuthorSet(int[] codes) {
+            this.codes = codes;
+        }
+
+        @Override
+        public Iterator<Author> iterator() {
+            return new Iterator<Author>() {
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < codes.length;
+                }
+
+                @Override
+                public Author next() {
+                    if (next == codes.length) {
+                        throw new NoSuchElementException();
+                    }
+                    return authors.decode(codes[next++]);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return codes.length;
+        }
+    }
+
+    // Codes are handed out in first-seen order and never reused. A repeated key keeps its code and
+    // takes the latest value, so renaming a genre or author shows up in every book that uses it.
+    // Written under the catalog's write lock; the values array is replaced, never shrunk, and a code
+    // is stored before any row that uses it, so views can decode without the lock.
+    private static final class Dictionary<T> {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private volatile Object[] values = new Object[64];
+        private int size;
+
+        int encode(String key, T value) {
+            if (key == null) {
+                return NONE;
+            }
+            Integer code = codes.get(key);
+            if (code != null) {
+                values[code] = value;
+                return code;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size] = value;
+            codes.put(key, size);
+            return size++;
+        }
+
+        @SuppressWarnings("unchecked")
+        T decode(int code) {
+            return code != NONE ? (T) values[code] : null;
+        }
+    }
+}
\ No newline at end of file
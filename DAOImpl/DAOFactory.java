@@ -0,0 +1,111 @@
+package com.library.dao.impl;
+
+import com.library.dao.BookDAO;
+import com.library.dao.LoanDAO;
+import com.library.dao.ReservationDAO;
+import com.library.dao.UserDAO;
+import com.library.utils.AppendLog.FsyncPolicy;
+import com.library.utils.AuditLog;
+import com.library.utils.DatabaseConnection;
+
+import java.nio.file.Paths;
+
+// Shared DAO instances, so every service sees the same entity caches.
+// Setting cache.*.maxSize to 0 turns the corresponding cache off, cache.books.compact=true replaces
+// the book cache with a CompactBookCatalog holding the whole catalog, and audit.enabled=false
+// stops book, user and loan writes from being recorded in audit_log. availability.index.enabled=false
+// sends every availability check to the database, and analytics.columnar.enabled=false sends every
+// loan report to it.
+//
+// storage.backend=embedded swaps MySQL for an EmbeddedStore in storage.embedded.dir. Its tables
+// are already in memory, so the entity caches, availability index and loan column store are left
+// out, and so is the audit log, whose table lives in MySQL.
+public class DAOFactory {
+    private static EmbeddedStore embeddedStore;
+    private static BookDAO bookDAO;
+    private static UserDAO userDAO;
+    private static LoanDAO loanDAO;
+    private static ReservationDAO reservationDAO;
+
+    private DAOFactory() {
+    }
+
+    public static synchronized BookDAO getBookDAO() {
+        if (bookDAO == null && DatabaseConnection.usesEmbeddedStore()) {
+            BookDAO books = new EmbeddedBookDAO(getEmbeddedStore());
+            boolean indexed = Boolean.parseBoolean(DatabaseConnection.getProperty("search.index.enabled", "true"));
+            bookDAO = indexed ? new IndexedBookDAO(books) : books;
+        } else if (bookDAO == null) {
+            int maxSize = Integer.parseInt(DatabaseConnection.getProperty("cache.books.maxSize", "10000"));
+            long ttlSeconds = Long.parseLong(DatabaseConnection.getProperty("cache.books.ttlSeconds", "300"));
+            BookDAO books = new BookDAOImpl();
+            if (Boolean.parseBoolean(DatabaseConnection.getProperty("cache.books.compact", "false"))) {
+                long resyncSeconds = Long.parseLong(DatabaseConnection.getProperty("cache.books.compact.resyncSeconds", "3600"));
+                books = new CatalogBookDAO(books, resyncSeconds);
+            } else if (maxSize > 0) {
+                books = new CachingBookDAO(books, maxSize, ttlSeconds);
+            }
+            boolean indexed = Boolean.parseBoolean(DatabaseConnection.getProperty("search.index.enabled", "true"));
+            books = indexed ? new IndexedBookDAO(books) : books;
+            if (Boolean.parseBoolean(DatabaseConnection.getProperty("availability.index.enabled", "true"))) {
+                long resyncSeconds = Long.parseLong(DatabaseConnection.getProperty("availability.resyncSeconds", "60"));
+                books = new AvailabilityIndexedBookDAO(books, resyncSeconds);
+            }
+            bookDAO = auditEnabled() ? new AuditingBookDAO(books, AuditLog.getInstance()) : books;
+        }
+        return bookDAO;
+    }
+
+    public static synchronized UserDAO getUserDAO() {
+        if (userDAO == null && DatabaseConnection.usesEmbeddedStore()) {
+            userDAO = new EmbeddedUserDAO(getEmbeddedStore());
+        } else if (userDAO == null) {
+            int maxSize = Integer.parseInt(DatabaseConnection.getProperty("cache.users.maxSize", "10000"));
+            long ttlSeconds = Long.parseLong(DatabaseConnection.getProperty("cache.users.ttlSeconds", "300"));
+            UserDAO users = maxSize > 0 ? new CachingUserDAO(new UserDAOImpl(), maxSize, ttlSeconds) : new UserDAOImpl();
+            userDAO = auditEnabled() ? new AuditingUserDAO(users, AuditLog.getInstance()) : users;
+        }
+        return userDAO;
+    }
+
+    public static synchronized LoanDAO getLoanDAO() {
+        if (loanDAO == null && DatabaseConnection.usesEmbeddedStore()) {
+            loanDAO = new EmbeddedLoanDAO(getEmbeddedStore());
+        } else if (loanDAO == null) {
+            LoanDAO loans = new LoanDAOImpl(getBookDAO(), getUserDAO());
+            if (Boolean.parseBoolean(DatabaseConnection.getProperty("analytics.columnar.enabled", "true"))) {
+                long resyncSeconds = Long.parseLong(DatabaseConnection.getProperty("analytics.resyncSeconds", "3600"));
+                loans = new ColumnarLoanDAO(loans, resyncSeconds);
+            }
+            loanDAO = auditEnabled() ? new AuditingLoanDAO(loans, AuditLog.getInstance()) : loans;
+        }
+        return loanDAO;
+    }
+
+    public static synchronized ReservationDAO getReservationDAO() {
+        if (reservationDAO == null && DatabaseConnection.usesEmbeddedStore()) {
+            reservationDAO = new EmbeddedReservationDAO(getEmbeddedStore());
+        } else if (reservationDAO == null) {
+            reservationDAO = new QueuedReservationDAO(new ReservationDAOImpl());
+        }
+        return reservationDAO;
+    }
+
+    // Opened once per process and closed at shutdown, which also compacts the log into a snapshot
+    public static synchronized EmbeddedStore getEmbeddedStore() {
+        if (embeddedStore == null) {
+            EmbeddedStore store = new EmbeddedStore(
+                    Paths.get(DatabaseConnection.getProperty("storage.embedded.dir", "data")),
+                    FsyncPolicy.valueOf(DatabaseConnection.getProperty("storage.embedded.fsync", "INTERVAL")),
+                    Long.parseLong(DatabaseConnection.getProperty("storage.embedded.fsyncIntervalMs", "100")),
+                    Integer.parseInt(DatabaseConnection.getProperty("storage.embedded.snapshotEvery", "10000")));
+            Runtime.getRuntime().addShutdownHook(new Thread(store::close, "embedded-store-shutdown"));
+            embeddedStore = store;
+        }
+        return embeddedStore;
+    }
+
+    private static boolean auditEnabled() {
+        return Boolean.parseBoolean(DatabaseConnection.getProperty("audit.enabled", "true"));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,207 @@
+package com.library.dao.impl;
+
+import com.library.dao.BookDAO;
+import com.library.entities.Author;
+import com.library.entities.Book;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// BookDAO over the EmbeddedStore. Lookups by ISBN hit the primary index; the other filters scan
+// the in-memory table and, like the SQL LIKE they replace, match case-insensitive substrings.
+// Authors have no table of their own here, so getAllAuthors lists the authors of stored books.
+public class EmbeddedBookDAO implements BookDAO {
+    private final EmbeddedStore store;
+
+    public EmbeddedBookDAO(EmbeddedStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void addBook(Book book) {
+        store.execute(() -> {
+            if (store.get(store.books, book.getIsbn()) != null) {
+                throw new RuntimeException("Failed to add book: ISBN already exists: " + book.getIsbn());
+            }
+            store.put(store.books, book.getIsbn(), new Book(book));
+        });
+    }
+
+    // Books whose ISBN is already stored are skipped, as in BookDAOImpl
+    @Override
+    public int addBooks(Collection<Book> books) {
+        return store.write(() -> {
+            int inserted = 0;
+            for (Book book : books) {
+                if (store.get(store.books, book.getIsbn()) == null) {
+                    store.put(store.books, book.getIsbn(), new Book(book));
+                    inserted++;
+                }
+            }
+            return inserted;
+        });
+    }
+
+    @Override
+    public Optional<Book> getBookByIsbn(String isbn) {
+        return Optional.ofNullable(store.get(store.books, isbn)).map(Book::new);
+    }
+
+    @Override
+    public List<Book> getBooksByIsbns(Collection<String> isbns) {
+        return new TreeSet<>(isbns).stream()
+                .map(isbn -> store.get(store.books, isbn))
+                .filter(Objects::nonNull)
+                .map(Book::new)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Book> getAllBooks() {
+        return find(book -> true);
+    }
+
+    @Override
+    public List<Book> getBooksPage(String afterIsbn, int limit) {
+        return store.valuesAfter(store.books, afterIsbn).stream()
+                .limit(limit)
+                .map(Book::new)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<Book> streamAllBooks() {
+        return store.values(store.books).stream().map(Book::new);
+    }
+
+    @Override
+    public int countBooks() {
+        return store.count(store.books);
+    }
+
+    @Override
+    public List<Book> getBooksByTitle(String title) {
+        String term = normalize(title);
+        return find(book -> contains(book.getTitle(), term));
+    }
+
+    @Override
+    public List<Book> getBooksByAuthor(String authorName) {
+        String term = normalize(authorName);
+        return find(book -> book.getAuthors().stream().anyMatch(author -> contains(author.getFullName(), term)));
+    }
+
+    @Override
+    public List<Book> getBooksByGenre(String genreId) {
+        return find(book -> book.getGenre() != null && book.getGenre().getGenreId().equals(genreId));
+    }
+
+    @Override
+    public void updateBook(Book book) {
+        store.execute(() -> {
+            if (store.get(store.books, book.getIsbn()) != null) {
+                store.put(store.books, book.getIsbn(), new Book(book));
+            }
+        });
+    }
+
+    @Override
+    public void deleteBook(String isbn) {
+        store.execute(() -> store.delete(store.books, isbn));
+    }
+
+    @Override
+    public boolean isBookAvailable(String isbn) {
+        return getAvailableQuantity(isbn) > 0;
+    }
+
+    @Override
+    public int getAvailableQuantity(String isbn) {
+        Book book = store.get(store.books, isbn);
+        return book != null ? book.getAvailableQuantity() : 0;
+    }
+
+    @Override
+    public Map<String, Integer> getAvailableQuantities() {
+        Map<String, Integer> available = new HashMap<>();
+        for (Book book : store.values(store.books)) {
+            available.put(book.getIsbn(), book.getAvailableQuantity());
+        }
+        return available;
+    }
+
+    // Checked and applied under the store's writer lock, the counterpart of the conditional UPDATE
+    @Override
+    public boolean decrementAvailableQuantity(String isbn) {
+        return store.write(() -> {
+            Book book = store.get(store.books, isbn);
+            if (book == null || book.getAvailableQuantity() <= 0) {
+                return false;
+            }
+            Book updated = new Book(book);
+            updated.setAvailableQuantity(book.getAvailableQuantity() - 1);
+            store.put(store.books, isbn, updated);
+            return true;
+        });
+    }
+
+    @Override
+    public boolean incrementAvailableQuantity(String isbn) {
+        return store.write(() -> {
+            Book book = store.get(store.books, isbn);
+            if (book == null || book.getAvailableQuantity() >= book.getQuantity()) {
+                return false;
+            }
+            Book updated = new Book(book);
+            updated.setAvailableQuantity(book.getAvailableQuantity() + 1);
+            store.put(store.books, isbn, updated);
+            return true;
+        });
+    }
+
+    @Override
+    public List<Book> searchBooks(String query) {
+        String term = normalize(query);
+        return find(book -> contains(book.getTitle(), term)
+                || contains(book.getDescription(), term)
+                || contains(book.getIsbn(), term)
+                || book.getAuthors().stream().anyMatch(author -> contains(author.getFullName(), term)));
+    }
+
+    @Override
+    public List<Author> getAllAuthors() {
+        Map<String, Author> authors = new TreeMap<>();
+        for (Book book : store.values(store.books)) {
+            for (Author author : book.getAuthors()) {
+                authors.putIfAbsent(author.getAuthorId(), author);
+            }
+        }
+        return new ArrayList<>(authors.values());
+    }
+
+    private List<Book> find(Predicate<Book> filter) {
+        return store.values(store.books).stream()
+                .filter(filter)
+                .map(Book::new)
+                .collect(Collectors.toList());
+    }
+
+    private static String normalize(String term) {
+        return term != null ? term.toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static boolean contains(String value, String term) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(term);
+    }
+}
\ No newline at end of file
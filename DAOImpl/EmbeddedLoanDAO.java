@@ -0,0 +1,302 @@
+package com.library.dao.impl;
+
+import com.library.dao.LoanDAO;
+import com.library.entities.Book;
+import com.library.entities.Loan;
+import com.library.entities.Loan.LoanStatus;
+import com.library.entities.User;
+import com.library.utils.JdbcStreams;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// LoanDAO over the EmbeddedStore. Loans are stored as LoanRowMapper rows and hydrated with the
+// stored books and users exactly as LoanDAOImpl hydrates its result sets.
+public class EmbeddedLoanDAO implements LoanDAO {
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    private final EmbeddedStore store;
+
+    public EmbeddedLoanDAO(EmbeddedStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void addLoan(Loan loan) {
+        store.execute(() -> {
+            if (store.get(store.loans, loan.getLoanId()) != null) {
+                throw new RuntimeException("Failed to add loan: ID already exists: " + loan.getLoanId());
+            }
+            store.put(store.loans, loan.getLoanId(), toRow(loan));
+        });
+    }
+
+    @Override
+    public Optional<Loan> getLoanById(String loanId) {
+        LoanRowMapper.Row row = store.get(store.loans, loanId);
+        return row != null ? Optional.of(hydrate(List.of(row)).get(0)) : Optional.empty();
+    }
+
+    @Override
+    public List<Loan> getAllLoans() {
+        return find(row -> true);
+    }
+
+    @Override
+    public List<Loan> getLoansPage(String afterLoanId, int limit) {
+        return getLoansPage(null, afterLoanId, limit);
+    }
+
+    @Override
+    public List<Loan> getLoansPage(LoanStatus status, String afterLoanId, int limit) {
+        Predicate<LoanRowMapper.Row> filter = hasStatus(status);
+        return hydrate(store.valuesAfter(store.loans, afterLoanId).stream()
+                .filter(filter)
+                .limit(limit)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<Loan> getLoansPageByDueDate(LoanStatus status, LocalDate afterDueDate, String afterLoanId, int limit) {
+        Predicate<LoanRowMapper.Row> filter = hasStatus(status);
+        String afterId = afterLoanId != null ? afterLoanId : "";
+        return hydrate(store.values(store.loans).stream()
+                .filter(filter)
+                .filter(row -> afterDueDate == null || row.dueDate.isAfter(afterDueDate)
+                        || (row.dueDate.equals(afterDueDate) && row.loanId.compareTo(afterId) > 0))
+                .sorted(Comparator.comparing((LoanRowMapper.Row row) -> row.dueDate).thenComparing(row -> row.loanId))
+                .limit(limit)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public int countLoans(LoanStatus status) {
+        Predicate<LoanRowMapper.Row> filter = hasStatus(status);
+        return (int) store.values(store.loans).stream().filter(filter).count();
+    }
+
+    @Override
+    public Stream<Loan> streamAllLoans() {
+        return JdbcStreams.batches(store.values(store.loans).stream(), STREAM_BATCH_SIZE)
+                .flatMap(batch -> hydrate(batch).stream());
+    }
+
+    @Override
+    public List<Loan> getLoansByUser(String userId) {
+        return find(row -> row.userId.equals(userId));
+    }
+
+    @Override
+    public List<Loan> getLoansByBook(String isbn) {
+        return find(row -> row.bookIsbn.equals(isbn));
+    }
+
+    @Override
+    public List<Loan> getActiveLoans() {
+        return find(row -> row.status == LoanStatus.ACTIVE);
+    }
+
+    @Override
+    public List<Loan> getOverdueLoans() {
+        return find(hasStatus(LoanStatus.OVERDUE));
+    }
+
+    @Override
+    public void updateLoan(Loan loan) {
+        store.execute(() -> {
+            if (store.get(store.loans, loan.getLoanId()) != null) {
+                store.put(store.loans, loan.getLoanId(), toRow(loan));
+            }
+        });
+    }
+
+    // Only an open loan can be closed, so two desks returning the same loan cannot both succeed
+    @Override
+    public boolean markLoanReturned(Loan loan) {
+        return store.write(() -> {
+            LoanRowMapper.Row row = store.get(store.loans, loan.getLoanId());
+            if (row == null || !isOpen(row)) {
+                return false;
+            }
+            store.put(store.loans, row.loanId, new LoanRowMapper.Row(row.loanId, row.bookIsbn, row.userId,
+                    row.loanDate, row.dueDate, loan.getReturnDate(), loan.getStatus(), loan.getFineCents()));
+            return true;
+        });
+    }
+
+    @Override
+    public boolean extendLoan(String loanId, LocalDate newDueDate) {
+        return store.write(() -> {
+            LoanRowMapper.Row row = store.get(store.loans, loanId);
+            if (row == null || !isOpen(row)) {
+                return false;
+            }
+            store.put(store.loans, loanId, new LoanRowMapper.Row(row.loanId, row.bookIsbn, row.userId,
+                    row.loanDate, newDueDate, row.returnDate, LoanStatus.ACTIVE, row.fineCents));
+            return true;
+        });
+    }
+
+    @Override
+    public void deleteLoan(String loanId) {
+        store.execute(() -> store.delete(store.loans, loanId));
+    }
+
+    @Override
+    public Map<String, Long> getMostBorrowedIsbns(int limit) {
+        return countLoansBy(row -> row.bookIsbn, limit);
+    }
+
+    @Override
+    public Map<String, Long> getMostBorrowedIsbns(LocalDate from, LocalDate to, int limit) {
+        return countLoansBy(row -> row.bookIsbn, row -> (from == null || !row.loanDate.isBefore(from))
+                && (to == null || !row.loanDate.isAfter(to)), limit);
+    }
+
+    @Override
+    public Map<String, Long> getMostActiveUserIds(int limit) {
+        return countLoansBy(row -> row.userId, limit);
+    }
+
+    @Override
+    public long getTotalFineCents() {
+        return store.values(store.loans).stream().mapToLong(row -> row.fineCents).sum();
+    }
+
+    @Override
+    public Map<String, LocalDate> getDueDatesByStatus(LoanStatus status) {
+        Map<String, LocalDate> dueDates = new HashMap<>();
+        for (LoanRowMapper.Row row : store.values(store.loans)) {
+            if (row.status == status) {
+                dueDates.put(row.loanId, row.dueDate);
+            }
+        }
+        return dueDates;
+    }
+
+    // Loans returned or renewed since they were picked are left alone, as in LoanDAOImpl
+    @Override
+    public int markLoansOverdue(Collection<String> loanIds, LocalDate asOf) {
+        return store.write(() -> {
+            int updated = 0;
+            for (String loanId : new LinkedHashSet<>(loanIds)) {
+                LoanRowMapper.Row row = store.get(store.loans, loanId);
+                if (row != null && row.status == LoanStatus.ACTIVE && row.dueDate.isBefore(asOf)) {
+                    store.put(store.loans, loanId, new LoanRowMapper.Row(row.loanId, row.bookIsbn, row.userId,
+                            row.loanDate, row.dueDate, row.returnDate, LoanStatus.OVERDUE, row.fineCents));
+                    updated++;
+                }
+            }
+            return updated;
+        });
+    }
+
+    // Loans whose fine is already current are counted but not rewritten, which keeps the log small.
+    // Loans of users without a rate, or whose user is gone, are left alone.
+    @Override
+    public int accrueOverdueFines(LocalDate asOf, Map<User.UserType, Long> dailyRateCents) {
+        return store.write(() -> {
+            int updated = 0;
+            for (LoanRowMapper.Row row : new ArrayList<>(store.values(store.loans))) {
+                if (row.status != LoanStatus.OVERDUE) {
+                    continue;
+                }
+                User user = store.get(store.users, row.userId);
+                Long rate = user != null ? dailyRateCents.get(user.getUserType()) : null;
+                if (rate == null) {
+                    continue;
+                }
+                long fine = Math.max(0, asOf.toEpochDay() - row.dueDate.toEpochDay()) * rate;
+                if (fine != row.fineCents) {
+                    store.put(store.loans, row.loanId, new LoanRowMapper.Row(row.loanId, row.bookIsbn,
+                            row.userId, row.loanDate, row.dueDate, row.returnDate, row.status, fine));
+                }
+                updated++;
+            }
+            return updated;
+        });
+    }
+
+    private List<Loan> find(Predicate<LoanRowMapper.Row> filter) {
+        return hydrate(store.values(store.loans).stream().filter(filter).collect(Collectors.toList()));
+    }
+
+    // Loans that share a book or user share the same instance, as in LoanDAOImpl
+    private List<Loan> hydrate(List<LoanRowMapper.Row> rows) {
+        Map<String, Book> booksByIsbn = new HashMap<>();
+        Map<String, User> usersById = new HashMap<>();
+        List<Loan> loans = new ArrayList<>(rows.size());
+
+        for (LoanRowMapper.Row row : rows) {
+            Book book = booksByIsbn.computeIfAbsent(row.bookIsbn, isbn -> {
+                Book stored = store.get(store.books, isbn);
+                return stored != null ? new Book(stored) : null;
+            });
+            if (book == null) {
+                throw new RuntimeException("Book not found for ISBN: " + row.bookIsbn);
+            }
+            User user = usersById.computeIfAbsent(row.userId, userId -> {
+                User stored = store.get(store.users, userId);
+                return stored != null ? new User(stored) : null;
+            });
+            if (user == null) {
+                throw new RuntimeException("User not found for ID: " + row.userId);
+            }
+
+            loans.add(new Loan(row.loanId, book, user, row.loanDate, row.dueDate,
+                    row.returnDate, row.status, row.fineCents));
+        }
+        return loans;
+    }
+
+    private Map<String, Long> countLoansBy(Function<LoanRowMapper.Row, String> key, int limit) {
+        return countLoansBy(key, row -> true, limit);
+    }
+
+    // Top-N loan counts, highest first; ties fall back to key order
+    private Map<String, Long> countLoansBy(Function<LoanRowMapper.Row, String> key,
+                                           Predicate<LoanRowMapper.Row> filter, int limit) {
+        Map<String, Long> counts = store.values(store.loans).stream()
+                .filter(filter)
+                .collect(Collectors.groupingBy(key, Collectors.counting()));
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    // Overdue includes active loans already past their due date, matching getOverdueLoans
+    private static Predicate<LoanRowMapper.Row> hasStatus(LoanStatus status) {
+        if (status == null) {
+            return row -> true;
+        }
+        if (status == LoanStatus.OVERDUE) {
+            LocalDate today = LocalDate.now();
+            return row -> row.status == LoanStatus.OVERDUE
+                    || (row.status == LoanStatus.ACTIVE && row.dueDate.isBefore(today));
+        }
+        return row -> row.status == status;
+    }
+
+    private static boolean isOpen(LoanRowMapper.Row row) {
+        return row.status == LoanStatus.ACTIVE || row.status == LoanStatus.OVERDUE;
+    }
+
+    private static LoanRowMapper.Row toRow(Loan loan) {
+        return new LoanRowMapper.Row(loan.getLoanId(), loan.getBook().getIsbn(), loan.getUser().getUserId(),
+                loan.getLoanDate(), loan.getDueDate(), loan.getReturnDate(), loan.getStatus(), loan.getFineCents());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,184 @@
+package com.library.dao.impl;
+
+import com.library.entities.Author;
+import com.library.entities.Book;
+import com.library.entities.Genre;
+import com.library.entities.Loan.LoanStatus;
+import com.library.entities.Reservation;
+import com.library.entities.Reservation.ReservationStatus;
+import com.library.entities.User;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Binary encoding of the rows kept by EmbeddedStore, the embedded counterpart of the row mappers.
+// Fields are written in a fixed order with no names; a new field goes at the end of its record
+// and needs a bump of EmbeddedStore's format version.
+final class EmbeddedRecords {
+    private EmbeddedRecords() {
+    }
+
+    static void writeBook(DataOutput out, Book book) throws IOException {
+        writeString(out, book.getIsbn());
+        writeString(out, book.getTitle());
+        Genre genre = book.getGenre();
+        writeString(out, genre != null ? genre.getGenreId() : null);
+        writeString(out, genre != null ? genre.getName() : null);
+        writeDate(out, book.getPublicationDate());
+        out.writeInt(book.getQuantity());
+        out.writeInt(book.getAvailableQuantity());
+        writeString(out, book.getPublisher());
+        out.writeInt(book.getEdition());
+        writeString(out, book.getDescription());
+        writeString(out, book.getLanguage());
+        out.writeInt(book.getPageCount());
+        out.writeBoolean(book.isReferenceOnly());
+
+        out.writeInt(book.getAuthors().size());
+        for (Author author : book.getAuthors()) {
+            writeString(out, author.getAuthorId());
+            writeString(out, author.getFirstName());
+            writeString(out, author.getLastName());
+            writeDate(out, author.getDateOfBirth());
+            writeString(out, author.getNationality());
+            writeString(out, author.getBiography());
+        }
+    }
+
+    static Book readBook(DataInput in) throws IOException {
+        Book book = new Book(readString(in), readString(in));
+        String genreId = readString(in);
+        String genreName = readString(in);
+        if (genreId != null) {
+            book.setGenre(new Genre(genreId, genreName));
+        }
+        book.setPublicationDate(readDate(in));
+        book.setQuantity(in.readInt());
+        book.setAvailableQuantity(in.readInt());
+        book.setPublisher(readString(in));
+        book.setEdition(in.readInt());
+        book.setDescription(readString(in));
+        book.setLanguage(readString(in));
+        book.setPageCount(in.readInt());
+        book.setReferenceOnly(in.readBoolean());
+
+        int authors = in.readInt();
+        for (int i = 0; i < authors; i++) {
+            Author author = new Author(readString(in), readString(in), readString(in));
+            author.setDateOfBirth(readDate(in));
+            author.setNationality(readString(in));
+            author.setBiography(readString(in));
+            book.addAuthor(author);
+        }
+        return book;
+    }
+
+    static void writeUser(DataOutput out, User user) throws IOException {
+        writeString(out, user.getUserId());
+        writeString(out, user.getFirstName());
+        writeString(out, user.getLastName());
+        out.writeUTF(user.getUserType().name());
+        writeString(out, user.getEmail());
+        writeString(out, user.getPhoneNumber());
+        writeDate(out, user.getRegistrationDate());
+        writeDate(out, user.getDateOfBirth());
+        writeString(out, user.getAddress());
+        out.writeLong(user.getFineCents());
+        out.writeBoolean(user.isActive());
+        out.writeInt(user.getActiveLoanCount());
+        out.writeInt(user.getActiveIsbns().size());
+        for (String isbn : user.getActiveIsbns()) {
+            writeString(out, isbn);
+        }
+    }
+
+    static User readUser(DataInput in) throws IOException {
+        User user = new User(readString(in), readString(in), readString(in), User.UserType.valueOf(in.readUTF()));
+        user.setEmail(readString(in));
+        user.setPhoneNumber(readString(in));
+        user.setRegistrationDate(readDate(in));
+        user.setDateOfBirth(readDate(in));
+        user.setAddress(readString(in));
+        user.setFineCents(in.readLong());
+        user.setActive(in.readBoolean());
+        user.setActiveLoanCount(in.readInt());
+        int isbns = in.readInt();
+        List<String> activeIsbns = new ArrayList<>(isbns);
+        for (int i = 0; i < isbns; i++) {
+            activeIsbns.add(readString(in));
+        }
+        user.setActiveIsbns(activeIsbns);
+        return user;
+    }
+
+    static void writeLoan(DataOutput out, LoanRowMapper.Row loan) throws IOException {
+        writeString(out, loan.loanId);
+        writeString(out, loan.bookIsbn);
+        writeString(out, loan.userId);
+        writeDate(out, loan.loanDate);
+        writeDate(out, loan.dueDate);
+        writeDate(out, loan.returnDate);
+        out.writeUTF(loan.status.name());
+        out.writeLong(loan.fineCents);
+    }
+
+    static LoanRowMapper.Row readLoan(DataInput in) throws IOException {
+        return new LoanRowMapper.Row(readString(in), readString(in), readString(in), readDate(in),
+                readDate(in), readDate(in), LoanStatus.valueOf(in.readUTF()), in.readLong());
+    }
+
+    static void writeReservation(DataOutput out, Reservation reservation) throws IOException {
+        writeString(out, reservation.getReservationId());
+        writeString(out, reservation.getIsbn());
+        writeString(out, reservation.getUserId());
+        writeString(out, reservation.getReservedAt() != null ? reservation.getReservedAt().toString() : null);
+        out.writeUTF(reservation.getStatus().name());
+        writeDate(out, reservation.getHoldExpiresAt());
+    }
+
+    static Reservation readReservation(DataInput in) throws IOException {
+        String reservationId = readString(in);
+        String isbn = readString(in);
+        String userId = readString(in);
+        String reservedAt = readString(in);
+        return new Reservation(reservationId, isbn, userId,
+                reservedAt != null ? LocalDateTime.parse(reservedAt) : null,
+                ReservationStatus.valueOf(in.readUTF()), readDate(in));
+    }
+
+    // Length-prefixed UTF-8 rather than writeUTF, which caps a string at 64 KB; -1 stands for null
+    static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDate(DataOutput out, LocalDate date) throws IOException {
+        out.writeLong(date != null ? date.toEpochDay() : Long.MIN_VALUE);
+    }
+
+    private static LocalDate readDate(DataInput in) throws IOException {
+        long epochDay = in.readLong();
+        return epochDay != Long.MIN_VALUE ? LocalDate.ofEpochDay(epochDay) : null;
+    }
+}
\ No newline at end of file
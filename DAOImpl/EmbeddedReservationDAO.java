@@ -0,0 +1,98 @@
+package com.library.dao.impl;
+
+import com.library.dao.ReservationDAO;
+import com.library.entities.Reservation;
+import com.library.entities.Reservation.ReservationStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+// ReservationDAO over the EmbeddedStore, so checkout and return work without MySQL.
+// Results come back in reservation ID order, as in ReservationDAOImpl.
+public class EmbeddedReservationDAO implements ReservationDAO {
+    private final EmbeddedStore store;
+
+    public EmbeddedReservationDAO(EmbeddedStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void addReservation(Reservation reservation) {
+        store.execute(() -> {
+            if (store.get(store.reservations, reservation.getReservationId()) != null) {
+                throw new RuntimeException("Failed to add reservation: ID already exists: "
+                        + reservation.getReservationId());
+            }
+            store.put(store.reservations, reservation.getReservationId(), new Reservation(reservation));
+        });
+    }
+
+    @Override
+    public Optional<Reservation> getReservationById(String reservationId) {
+        return Optional.ofNullable(store.get(store.reservations, reservationId)).map(Reservation::new);
+    }
+
+    @Override
+    public List<Reservation> getReservationsByUser(String userId) {
+        return find(reservation -> reservation.getUserId().equals(userId));
+    }
+
+    @Override
+    public List<Reservation> getOpenReservations() {
+        return find(Reservation::isOpen);
+    }
+
+    @Override
+    public List<Reservation> getOpenReservationsForBook(String isbn) {
+        return find(reservation -> reservation.getIsbn().equals(isbn) && reservation.isOpen());
+    }
+
+    @Override
+    public Optional<Reservation> getNextWaiting(String isbn) {
+        return store.values(store.reservations).stream()
+                .filter(waitingFor(isbn))
+                .findFirst()
+                .map(Reservation::new);
+    }
+
+    @Override
+    public int countWaiting(String isbn) {
+        return (int) store.values(store.reservations).stream().filter(waitingFor(isbn)).count();
+    }
+
+    @Override
+    public List<Reservation> getExpiredHolds(LocalDate today) {
+        return find(reservation -> reservation.getStatus() == ReservationStatus.READY
+                && reservation.getHoldExpiresAt() != null && reservation.getHoldExpiresAt().isBefore(today));
+    }
+
+    @Override
+    public boolean updateReservationStatus(String reservationId, ReservationStatus expected,
+                                           ReservationStatus newStatus, LocalDate holdExpiresAt) {
+        return store.write(() -> {
+            Reservation reservation = store.get(store.reservations, reservationId);
+            if (reservation == null || reservation.getStatus() != expected) {
+                return false;
+            }
+            Reservation updated = new Reservation(reservation);
+            updated.setStatus(newStatus);
+            updated.setHoldExpiresAt(holdExpiresAt);
+            store.put(store.reservations, reservationId, updated);
+            return true;
+        });
+    }
+
+    private static Predicate<Reservation> waitingFor(String isbn) {
+        return reservation -> reservation.getIsbn().equals(isbn) && reservation.getStatus() == ReservationStatus.WAITING;
+    }
+
+    private List<Reservation> find(Predicate<Reservation> filter) {
+        return store.values(store.reservations).stream()
+                .filter(filter)
+                .map(Reservation::new)
+                .collect(Collectors.toList());
+    }
+}
\ No newline at end of file
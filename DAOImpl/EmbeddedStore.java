@@ -0,0 +1,462 @@
+package com.library.dao.impl;
+
+import com.library.entities.Book;
+import com.library.entities.Reservation;
+import com.library.entities.User;
+import com.library.utils.AppendLog;
+import com.library.utils.AppendLog.FsyncPolicy;
+import com.library.utils.Transaction;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+// Pure-Java storage for installs without MySQL. Every table lives in memory in a sorted map keyed
+// by its primary key; changes are written to a memory-mapped AppendLog as full-row puts and
+// deletes, and the log is compacted into a snapshot every snapshotEvery commits. On open the
+// latest snapshot is loaded and the log replayed over it. Replaying a row twice is harmless, so a
+// crash between writing a snapshot and clearing the log loses nothing.
+//
+// Reads never lock. Writes run under a single writer lock: a write made outside a transaction is
+// logged as one frame when it returns; inside a transaction the lock is held until it ends, and all
+// its changes go into one frame at commit or are dropped on rollback. A frame is replayed whole or
+// not at all, so a crash never leaves half of a checkout behind.
+//
+// Changes are staged on the writing thread, which reads its own writes, and only reach the shared
+// maps once their frame is logged, so other threads never see a write that may yet be rolled back.
+// The rows of one commit are published one after another, so a reader racing the commit may see
+// some of them before the rest (read committed, not snapshot isolation).
+public class EmbeddedStore implements AutoCloseable {
+    private static final String LOG_FILE = "library.log";
+    private static final String SNAPSHOT_FILE = "library.snapshot";
+    private static final String LOCK_FILE = "library.lock";
+    private static final int SNAPSHOT_MAGIC = 0x4C494253; // "LIBS"
+    private static final int FORMAT_VERSION = 1;
+    private static final long SNAPSHOT_LOG_BYTES = 256L << 20;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+
+    interface Encoder<V> {
+        void write(DataOutput out, V value) throws IOException;
+    }
+
+    interface Decoder<V> {
+        V read(DataInput in) throws IOException;
+    }
+
+    // Rows are never mutated once stored; DAOs copy on the way in and on the way out
+    static final class Table<V> {
+        final byte id;
+        final Encoder<V> encoder;
+        final Decoder<V> decoder;
+        final ConcurrentSkipListMap<String, V> rows = new ConcurrentSkipListMap<>();
+
+        Table(int id, Encoder<V> encoder, Decoder<V> decoder) {
+            this.id = (byte) id;
+            this.encoder = encoder;
+            this.decoder = decoder;
+        }
+    }
+
+    final Table<Book> books = new Table<>(1, EmbeddedRecords::writeBook, EmbeddedRecords::readBook);
+    final Table<User> users = new Table<>(2, EmbeddedRecords::writeUser, EmbeddedRecords::readUser);
+    final Table<String> passwords = new Table<>(3, EmbeddedRecords::writeString, EmbeddedRecords::readString);
+    final Table<LoanRowMapper.Row> loans = new Table<>(4, EmbeddedRecords::writeLoan, EmbeddedRecords::readLoan);
+    final Table<Reservation> reservations =
+            new Table<>(5, EmbeddedRecords::writeReservation, EmbeddedRecords::readReservation);
+    private final List<Table<?>> tables = List.of(books, users, passwords, loans, reservations);
+
+    // Marks a staged delete
+    private static final Object DELETED = new Object();
+
+    // A logged change and how to take it back
+    private static final class Change {
+        final byte[] record;
+        final Runnable undo;
+
+        Change(byte[] record, Runnable undo) {
+            this.record = record;
+            this.undo = undo;
+        }
+    }
+
+    // The changes made under one hold of the writer lock, and the rows they wrote by table, which
+    // only this unit's thread sees until commit
+    private static final class Unit {
+        final List<Change> changes = new ArrayList<>();
+        final Map<Table<?>, TreeMap<String, Object>> staged = new HashMap<>();
+        boolean transactional;
+
+        void stage(Table<?> table, String key, Object value, byte[] record) {
+            TreeMap<String, Object> rows = staged.computeIfAbsent(table, t -> new TreeMap<>());
+            boolean restaged = rows.containsKey(key);
+            Object previous = rows.put(key, value);
+            changes.add(new Change(record, () -> {
+                if (restaged) {
+                    rows.put(key, previous);
+                } else {
+                    rows.remove(key);
+                }
+            }));
+        }
+    }
+
+    private final Path directory;
+    private final int snapshotEvery;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ThreadLocal<Unit> units = new ThreadLocal<>();
+    private final FileChannel lockChannel;
+    private final AppendLog log;
+    private int commitsSinceSnapshot;
+
+    public EmbeddedStore(Path directory, FsyncPolicy fsyncPolicy, long fsyncIntervalMs, int snapshotEvery) {
+        this.directory = directory;
+        this.snapshotEvery = snapshotEvery;
+        try {
+            Files.createDirectories(directory);
+            // A second process would replay and append to the same log, so only one may open it
+            lockChannel = FileChannel.open(directory.resolve(LOCK_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock lock = lockChannel.tryLock();
+            if (lock == null) {
+                lockChannel.close();
+                throw new IllegalStateException("Embedded store is in use by another process: " + directory);
+            }
+            Files.deleteIfExists(directory.resolve(SNAPSHOT_FILE + ".tmp"));
+            loadSnapshot();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open embedded store", e);
+        }
+        log = new AppendLog(directory.resolve(LOG_FILE), fsyncPolicy, fsyncIntervalMs, this::replay);
+    }
+
+    @SuppressWarnings("unchecked")
+    <V> V get(Table<V> table, String key) {
+        Map<String, Object> staged = staged(table);
+        if (staged != null && staged.containsKey(key)) {
+            Object value = staged.get(key);
+            return value != DELETED ? (V) value : null;
+        }
+        return table.rows.get(key);
+    }
+
+    <V> Collection<V> values(Table<V> table) {
+        return rows(table).values();
+    }
+
+    // Rows with keys after the given one, in key order, for keyset paging
+    <V> Collection<V> valuesAfter(Table<V> table, String afterKey) {
+        NavigableMap<String, V> rows = rows(table);
+        return afterKey != null ? rows.tailMap(afterKey, false).values() : rows.values();
+    }
+
+    <V> int count(Table<V> table) {
+        return rows(table).size();
+    }
+
+    // Runs work under the writer lock, so its reads and the puts and deletes that depend on them
+    // are atomic with respect to every other write
+    <T> T write(Supplier<T> work) {
+        Unit unit = units.get();
+        boolean outermost = unit == null;
+        if (outermost) {
+            unit = begin();
+        }
+
+        int mark = unit.changes.size();
+        try {
+            T result = work.get();
+            if (outermost && !unit.transactional) {
+                commit(unit);
+            }
+            return result;
+        } catch (RuntimeException | Error e) {
+            undo(unit, mark);
+            throw e;
+        } finally {
+            if (outermost && !unit.transactional) {
+                release(unit);
+            }
+        }
+    }
+
+    void execute(Runnable work) {
+        write(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    <V> void put(Table<V> table, String key, V value) {
+        Unit unit = currentUnit();
+        unit.stage(table, key, value, encode(table, PUT, key, value));
+    }
+
+    <V> void delete(Table<V> table, String key) {
+        Unit unit = currentUnit();
+        if (get(table, key) != null) {
+            unit.stage(table, key, DELETED, encode(table, DELETE, key, null));
+        }
+    }
+
+    // Compacts the log: writes every table to a new snapshot, swaps it in, then clears the log
+    public void snapshot() {
+        writeLock.lock();
+        try {
+            Path temporary = directory.resolve(SNAPSHOT_FILE + ".tmp");
+            try (FileOutputStream file = new FileOutputStream(temporary.toFile())) {
+                CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file, 1 << 16), new CRC32());
+                DataOutputStream out = new DataOutputStream(checked);
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                for (Table<?> table : tables) {
+                    writeTable(out, table);
+                }
+                out.writeByte(0);
+                out.writeLong(checked.getChecksum().getValue());
+                out.flush();
+                file.getFD().sync();
+            }
+            Files.move(temporary, directory.resolve(SNAPSHOT_FILE),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory();
+            log.reset();
+            commitsSinceSnapshot = 0;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write snapshot", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        writeLock.lock();
+        try {
+            if (commitsSinceSnapshot > 0) {
+                snapshot();
+            }
+        } finally {
+            log.close();
+            try {
+                lockChannel.close();
+            } catch (IOException e) {
+                System.err.println("Failed to release embedded store lock: " + e.getMessage());
+            }
+            writeLock.unlock();
+        }
+    }
+
+    private Unit begin() {
+        writeLock.lock();
+        Unit unit = new Unit();
+        units.set(unit);
+
+        // Inside a transaction the lock is kept until it ends, so nobody builds on changes that
+        // may yet be rolled back
+        if (Transaction.isActive()) {
+            unit.transactional = true;
+            Transaction.beforeCommit(() -> commit(unit));
+            Transaction.afterCommit(() -> release(unit));
+            Transaction.afterRollback(() -> {
+                undo(unit, 0);
+                release(unit);
+            });
+        }
+        return unit;
+    }
+
+    private void commit(Unit unit) {
+        if (unit.changes.isEmpty()) {
+            return;
+        }
+        ByteArrayOutputStream frame = new ByteArrayOutputStream();
+        for (Change change : unit.changes) {
+            frame.writeBytes(change.record);
+        }
+        log.append(frame.toByteArray());
+        unit.staged.forEach((table, staged) -> apply(staged, table.rows));
+        unit.staged.clear();
+        unit.changes.clear();
+        commitsSinceSnapshot++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> void apply(Map<String, Object> staged, Map<String, V> rows) {
+        staged.forEach((key, value) -> {
+            if (value != DELETED) {
+                rows.put(key, (V) value);
+            } else {
+                rows.remove(key);
+            }
+        });
+    }
+
+    // The calling thread's uncommitted rows for the table, or null when it has none
+    private Map<String, Object> staged(Table<?> table) {
+        Unit unit = units.get();
+        return unit != null ? unit.staged.get(table) : null;
+    }
+
+    // The table as the calling thread sees it: the shared rows, overlaid with its own staged rows
+    private <V> NavigableMap<String, V> rows(Table<V> table) {
+        Map<String, Object> staged = staged(table);
+        if (staged == null || staged.isEmpty()) {
+            return table.rows;
+        }
+        TreeMap<String, V> rows = new TreeMap<>(table.rows);
+        apply(staged, rows);
+        return rows;
+    }
+
+    private void release(Unit unit) {
+        units.remove();
+        try {
+            if (commitsSinceSnapshot >= snapshotEvery || log.size() >= SNAPSHOT_LOG_BYTES) {
+                snapshot();
+            }
+        } catch (RuntimeException e) {
+            // The log still holds everything, so the next commit simply tries again
+            System.err.println("Failed to snapshot embedded store: " + e.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void undo(Unit unit, int mark) {
+        for (int i = unit.changes.size() - 1; i >= mark; i--) {
+            unit.changes.remove(i).undo.run();
+        }
+    }
+
+    private Unit currentUnit() {
+        Unit unit = units.get();
+        if (unit == null) {
+            throw new IllegalStateException("Embedded store changes must be made inside write()");
+        }
+        return unit;
+    }
+
+    private static <V> byte[] encode(Table<V> table, byte operation, String key, V value) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(table.id);
+            out.writeByte(operation);
+            EmbeddedRecords.writeString(out, key);
+            if (operation == PUT) {
+                table.encoder.write(out, value);
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to encode row " + key, e);
+        }
+    }
+
+    // Applies one logged frame during recovery
+    private void replay(ByteBuffer frame) {
+        byte[] bytes = new byte[frame.remaining()];
+        frame.get(bytes);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            while (in.available() > 0) {
+                Table<?> table = table(in.readByte());
+                byte operation = in.readByte();
+                String key = EmbeddedRecords.readString(in);
+                if (operation == PUT) {
+                    readRow(in, table, key);
+                } else {
+                    table.rows.remove(key);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to replay embedded store log", e);
+        }
+    }
+
+    private void loadSnapshot() throws IOException {
+        Path path = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(path)) {
+            return;
+        }
+
+        try (FileInputStream file = new FileInputStream(path.toFile())) {
+            CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(file, 1 << 16), new CRC32());
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IllegalStateException("Not a library snapshot: " + path);
+            }
+            for (byte id = in.readByte(); id != 0; id = in.readByte()) {
+                Table<?> table = table(id);
+                int rows = in.readInt();
+                for (int i = 0; i < rows; i++) {
+                    readRow(in, table, EmbeddedRecords.readString(in));
+                }
+            }
+            long expected = checked.getChecksum().getValue();
+            if (in.readLong() != expected) {
+                throw new IllegalStateException("Snapshot is corrupt: " + path);
+            }
+        }
+    }
+
+    private static <V> void writeTable(DataOutputStream out, Table<V> table) throws IOException {
+        // Called under the writer lock, so the count matches the rows that follow
+        out.writeByte(table.id);
+        out.writeInt(table.rows.size());
+        for (Map.Entry<String, V> row : table.rows.entrySet()) {
+            EmbeddedRecords.writeString(out, row.getKey());
+            table.encoder.write(out, row.getValue());
+        }
+    }
+
+    private static <V> void readRow(DataInput in, Table<V> table, String key) throws IOException {
+        table.rows.put(key, table.decoder.read(in));
+    }
+
+    private Table<?> table(byte id) {
+        for (Table<?> table : tables) {
+            if (table.id == id) {
+                return table;
+            }
+        }
+        throw new IllegalStateException("Unknown table in embedded store: " + id);
+    }
+
+    // Makes the snapshot rename durable; not every platform can open a directory, and those
+    // that cannot make renames durable without it
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Best effort
+        }
+    }
+}
\ No newline at end of file
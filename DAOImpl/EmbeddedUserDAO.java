@@ -0,0 +1,195 @@
+package com.library.dao.impl;
+
+import com.library.dao.UserDAO;
+import com.library.entities.User;
+import com.library.utils.PasswordHasher;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// UserDAO over the EmbeddedStore. Password hashes are kept in a table of their own, as they are
+// never part of a User, and the loan counters follow the same rules as the UPDATEs in UserDAOImpl.
+public class EmbeddedUserDAO implements UserDAO {
+    private final EmbeddedStore store;
+
+    public EmbeddedUserDAO(EmbeddedStore store) {
+        this.store = store;
+    }
+
+    // No password until one is set with updatePassword; the marker never verifies
+    @Override
+    public void addUser(User user) {
+        store.execute(() -> {
+            if (store.get(store.users, user.getUserId()) != null) {
+                throw new RuntimeException("Failed to add user: ID already exists: " + user.getUserId());
+            }
+            store.put(store.users, user.getUserId(), new User(user));
+            store.put(store.passwords, user.getUserId(), PasswordHasher.UNUSABLE);
+        });
+    }
+
+    @Override
+    public Optional<User> getUserById(String userId) {
+        return Optional.ofNullable(store.get(store.users, userId)).map(User::new);
+    }
+
+    @Override
+    public List<User> getUsersByIds(Collection<String> userIds) {
+        return new TreeSet<>(userIds).stream()
+                .map(userId -> store.get(store.users, userId))
+                .filter(Objects::nonNull)
+                .map(User::new)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<User> getAllUsers() {
+        return find(user -> true);
+    }
+
+    @Override
+    public List<User> getUsersPage(String afterUserId, int limit) {
+        return store.valuesAfter(store.users, afterUserId).stream()
+                .limit(limit)
+                .map(User::new)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<User> streamAllUsers() {
+        return store.values(store.users).stream().map(User::new);
+    }
+
+    @Override
+    public int countUsers() {
+        return store.count(store.users);
+    }
+
+    @Override
+    public List<User> getUsersByName(String name) {
+        String term = name != null ? name.toLowerCase(Locale.ROOT) : "";
+        return find(user -> user.getFullName().toLowerCase(Locale.ROOT).contains(term));
+    }
+
+    @Override
+    public List<User> getUsersByType(User.UserType type) {
+        return find(user -> user.getUserType() == type);
+    }
+
+    // Fines and the loan counters are left as stored; only checkouts, returns and payments move them
+    @Override
+    public void updateUser(User user) {
+        store.execute(() -> {
+            User stored = store.get(store.users, user.getUserId());
+            if (stored != null) {
+                User updated = new User(user);
+                updated.setFineCents(stored.getFineCents());
+                updated.setActiveLoanCount(stored.getActiveLoanCount());
+                updated.setActiveIsbns(stored.getActiveIsbns());
+                store.put(store.users, user.getUserId(), updated);
+            }
+        });
+    }
+
+    @Override
+    public void deleteUser(String userId) {
+        store.execute(() -> {
+            store.delete(store.users, userId);
+            store.delete(store.passwords, userId);
+        });
+    }
+
+    @Override
+    public boolean userExists(String userId) {
+        return store.get(store.users, userId) != null;
+    }
+
+    @Override
+    public Optional<User> authenticateUser(String userId, String password) {
+        User user = store.get(store.users, userId);
+        String passwordHash = store.get(store.passwords, userId);
+
+        if (password == null || password.isEmpty() || !PasswordHasher.verify(password, passwordHash) || user == null) {
+            return Optional.empty();
+        }
+        if (PasswordHasher.needsRehash(passwordHash)) {
+            updatePassword(userId, password);
+        }
+        return Optional.of(new User(user));
+    }
+
+    @Override
+    public void updatePassword(String userId, String password) {
+        String passwordHash = PasswordHasher.hash(password);
+        store.execute(() -> {
+            if (store.get(store.users, userId) != null) {
+                store.put(store.passwords, userId, passwordHash);
+            }
+        });
+    }
+
+    @Override
+    public boolean recordCheckout(String userId, String isbn) {
+        return store.write(() -> {
+            User user = store.get(store.users, userId);
+            if (user == null || !user.isActive() || user.getFineCents() != 0
+                    || user.getActiveLoanCount() >= user.getMaxBooksAllowed() || user.hasActiveLoan(isbn)) {
+                return false;
+            }
+            Set<String> isbns = new LinkedHashSet<>(user.getActiveIsbns());
+            isbns.add(isbn);
+            User updated = new User(user);
+            updated.setActiveLoanCount(user.getActiveLoanCount() + 1);
+            updated.setActiveIsbns(isbns);
+            store.put(store.users, userId, updated);
+            return true;
+        });
+    }
+
+    @Override
+    public void recordReturn(String userId, String isbn, long fineCents) {
+        store.execute(() -> {
+            User user = store.get(store.users, userId);
+            if (user == null) {
+                return;
+            }
+            Set<String> isbns = new LinkedHashSet<>(user.getActiveIsbns());
+            isbns.remove(isbn);
+            User updated = new User(user);
+            updated.setActiveLoanCount(Math.max(user.getActiveLoanCount() - 1, 0));
+            updated.setActiveIsbns(isbns);
+            updated.addFine(fineCents);
+            store.put(store.users, userId, updated);
+        });
+    }
+
+    @Override
+    public boolean payFines(String userId, long amountCents) {
+        return store.write(() -> {
+            User user = store.get(store.users, userId);
+            if (user == null || user.getFineCents() < amountCents) {
+                return false;
+            }
+            User updated = new User(user);
+            updated.setFineCents(user.getFineCents() - amountCents);
+            store.put(store.users, userId, updated);
+            return true;
+        });
+    }
+
+    private List<User> find(Predicate<User> filter) {
+        return store.values(store.users).stream()
+                .filter(filter)
+                .map(User::new)
+                .collect(Collectors.toList());
+    }
+}
\ No newline at end of file
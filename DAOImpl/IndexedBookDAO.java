@@ -0,0 +1,204 @@
+package com.library.dao.impl;
+
+import com.library.dao.BookDAO;
+import com.library.entities.Author;
+import com.library.entities.Book;
+import com.library.utils.SearchIndex;
+import com.library.utils.Transaction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Serves searchBooks from an in-memory inverted index instead of a leading-wildcard LIKE scan.
+// The index is built from the catalog on first search and kept current as books are written.
+public class IndexedBookDAO implements BookDAO {
+    private static final double TITLE_WEIGHT = 3.0;
+    private static final double AUTHOR_WEIGHT = 2.0;
+    private static final double ISBN_WEIGHT = 4.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+    private static final int MAX_RESULTS = 500;
+
+    private final BookDAO delegate;
+    private final SearchIndex index = new SearchIndex(TITLE_WEIGHT, AUTHOR_WEIGHT, ISBN_WEIGHT, DESCRIPTION_WEIGHT);
+    private volatile boolean built;
+
+    public IndexedBookDAO(BookDAO delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public List<Book> searchBooks(String query) {
+        ensureBuilt();
+        List<String> isbns = index.search(query, MAX_RESULTS);
+        if (isbns.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Hydrate the hits, then restore the index's ranking order
+        Map<String, Book> books = delegate.getBooksByIsbns(isbns).stream()
+                .collect(Collectors.toMap(Book::getIsbn, Function.identity()));
+        return isbns.stream()
+                .map(books::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void addBook(Book book) {
+        delegate.addBook(book);
+        reindexAfterCompletion(book.getIsbn());
+    }
+
+    @Override
+    public int addBooks(Collection<Book> books) {
+        int inserted = delegate.addBooks(books);
+        List<String> isbns = books.stream().map(Book::getIsbn).collect(Collectors.toList());
+        Transaction.afterCompletion(() -> {
+            synchronized (this) {
+                if (built) {
+                    delegate.getBooksByIsbns(isbns).forEach(this::indexBook);
+                }
+            }
+        });
+        return inserted;
+    }
+
+    @Override
+    public List<Author> getAllAuthors() {
+        return delegate.getAllAuthors();
+    }
+
+    @Override
+    public void updateBook(Book book) {
+        delegate.updateBook(book);
+        reindexAfterCompletion(book.getIsbn());
+    }
+
+    @Override
+    public void deleteBook(String isbn) {
+        delegate.deleteBook(isbn);
+        reindexAfterCompletion(isbn);
+    }
+
+    @Override
+    public Optional<Book> getBookByIsbn(String isbn) {
+        return delegate.getBookByIsbn(isbn);
+    }
+
+    @Override
+    public List<Book> getBooksByIsbns(Collection<String> isbns) {
+        return delegate.getBooksByIsbns(isbns);
+    }
+
+    @Override
+    public List<Book> getAllBooks() {
+        return delegate.getAllBooks();
+    }
+
+    @Override
+    public List<Book> getBooksPage(String afterIsbn, int limit) {
+        return delegate.getBooksPage(afterIsbn, limit);
+    }
+
+    @Override
+    public Stream<Book> streamAllBooks() {
+        return delegate.streamAllBooks();
+    }
+
+    @Override
+    public int countBooks() {
+        return delegate.countBooks();
+    }
+
+    @Override
+    public List<Book> getBooksByTitle(String title) {
+        return delegate.getBooksByTitle(title);
+    }
+
+    @Override
+    public List<Book> getBooksByAuthor(String authorName) {
+        return delegate.getBooksByAuthor(authorName);
+    }
+
+    @Override
+    public List<Book> getBooksByGenre(String genreId) {
+        return delegate.getBooksByGenre(genreId);
+    }
+
+    @Override
+    public boolean isBookAvailable(String isbn) {
+        return delegate.isBookAvailable(isbn);
+    }
+
+    @Override
+    public int getAvailableQuantity(String isbn) {
+        return delegate.getAvailableQuantity(isbn);
+    }
+
+    @Override
+    public Map<String, Integer> getAvailableQuantities() {
+        return delegate.getAvailableQuantities();
+    }
+
+    @Override
+    public boolean decrementAvailableQuantity(String isbn) {
+        return delegate.decrementAvailableQuantity(isbn);
+    }
+
+    @Override
+    public boolean incrementAvailableQuantity(String isbn) {
+        return delegate.incrementAvailableQuantity(isbn);
+    }
+
+    // Drops the index and reloads it from the database, e.g. after bulk changes made outside the DAO
+    public synchronized void rebuild() {
+        index.clear();
+        for (Book book : delegate.getAllBooks()) {
+            indexBook(book);
+        }
+        built = true;
+    }
+
+    private void ensureBuilt() {
+        if (!built) {
+            synchronized (this) {
+                if (!built) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    // Re-reads the committed row once the write's transaction ends, so rolled-back writes never
+    // reach the index. Until the first search builds it there is nothing to maintain.
+    private void reindexAfterCompletion(String isbn) {
+        Transaction.afterCompletion(() -> {
+            synchronized (this) {
+                if (!built) {
+                    return;
+                }
+                Optional<Book> book = delegate.getBookByIsbn(isbn);
+                if (book.isPresent()) {
+                    indexBook(book.get());
+                } else {
+                    index.remove(isbn);
+                }
+            }
+        });
+    }
+
+    private void indexBook(Book book) {
+        String authors = book.getAuthors().stream()
+                .map(Author::getFullName)
+                .collect(Collectors.joining(" "));
+        String isbn = book.getIsbn() + " " + book.getIsbn().replace("-", "");
+        index.put(book.getIsbn(), book.getTitle(), authors, isbn, book.getDescription());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,338 @@
+package com.library.dao.impl;
+
+import com.library.entities.Loan.LoanStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.IntStream;
+
+// Loans held column by column for reporting: epoch-day ints for the loan and due dates, a status
+// byte, ISBNs and user IDs replaced by dictionary codes, and fines in cents. Rows live in fixed-size segments, so
+// appending never copies existing rows and queries split the table into contiguous runs of segments
+// that are scanned in parallel with tight loops over the primitive arrays.
+//
+// One writer at a time (every mutator synchronizes on the store); readers take no lock. Closed loans
+// never change, so only open loans are indexed by ID for in-place updates.
+public final class LoanColumnStore {
+    private static final int SEGMENT_BITS = 16;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+    // Loan date of a deleted row, which every date range excludes
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final byte DELETED = -1;
+    // Days before the newest loan date that an incremental load reads again, so a loan dated just
+    // before midnight that commits after the first loan of the next day is still picked up
+    private static final int OVERLAP_DAYS = 1;
+
+    private final Dictionary isbns = new Dictionary();
+    private final Dictionary userIds = new Dictionary();
+    private final Map<String, Integer> openRows = new HashMap<>();
+    private volatile Segment[] segments = new Segment[0];
+    private volatile int rowCount;
+    private int lastLoanDay = NO_DATE;
+    // Loans held with a loan date inside the overlap, which an incremental load skips
+    private final Map<String, Integer> recentLoans = new HashMap<>();
+
+    public synchronized void append(String loanId, String isbn, String userId, LocalDate loanDate,
+                                    LocalDate dueDate, LoanStatus status, long fineCents) {
+        int row = rowCount;
+        if (row >>> SEGMENT_BITS == segments.length) {
+            Segment[] grown = Arrays.copyOf(segments, segments.length + 1);
+            grown[segments.length] = new Segment();
+            segments = grown;
+        }
+        Segment segment = segments[row >>> SEGMENT_BITS];
+        int i = row & SEGMENT_MASK;
+        segment.loanDays[i] = (int) loanDate.toEpochDay();
+        segment.dueDays[i] = (int) dueDate.toEpochDay();
+        segment.statuses[i] = (byte) status.ordinal();
+        segment.books[i] = isbns.encode(isbn);
+        segment.users[i] = userIds.encode(userId);
+        segment.fineCents[i] = Math.toIntExact(fineCents);
+
+        if (isOpen(status)) {
+            openRows.put(loanId, row);
+        }
+        int loanDay = (int) loanDate.toEpochDay();
+        if (loanDay > lastLoanDay) {
+            lastLoanDay = loanDay;
+            recentLoans.values().removeIf(day -> day < loanDay - OVERLAP_DAYS);
+        }
+        if (loanDay >= lastLoanDay - OVERLAP_DAYS) {
+            recentLoans.put(loanId, loanDay);
+        }
+        rowCount = row + 1;
+    }
+
+    // Appends an open loan added by this process once it commits, unless a load already read it.
+    // Closed loans are not indexed by ID, so they are left to the incremental load.
+    public synchronized boolean appendOpen(String loanId, String isbn, String userId, LocalDate loanDate,
+                                           LocalDate dueDate, LoanStatus status, long fineCents) {
+        if (!isOpen(status) || openRows.containsKey(loanId)) {
+            return false;
+        }
+        append(loanId, isbn, userId, loanDate, dueDate, status, fineCents);
+        return true;
+    }
+
+    // Appends a loan read by an incremental load, unless the store already holds it
+    public synchronized boolean appendIfAbsent(String loanId, String isbn, String userId, LocalDate loanDate,
+                                               LocalDate dueDate, LoanStatus status, long fineCents) {
+        if (recentLoans.containsKey(loanId)) {
+            return false;
+        }
+        append(loanId, isbn, userId, loanDate, dueDate, status, fineCents);
+        return true;
+    }
+
+    // Earliest loan date an incremental load has to read; null while the store is empty. Loans are
+    // tracked by date rather than ID, since legacy and generated IDs do not sort in creation order.
+    public synchronized LocalDate getReloadFrom() {
+        return lastLoanDay == NO_DATE ? null : LocalDate.ofEpochDay(lastLoanDay - OVERLAP_DAYS);
+    }
+
+    // True if the next incremental load will read this loan, i.e. the store does not hold it yet and
+    // its loan date falls inside the range that load reads
+    public synchronized boolean willLoad(String loanId, LocalDate loanDate) {
+        if (loanDate == null || recentLoans.containsKey(loanId)) {
+            return false;
+        }
+        return lastLoanDay == NO_DATE || loanDate.toEpochDay() >= lastLoanDay - OVERLAP_DAYS;
+    }
+
+    // Applies a change to a loan that is still open. Returns false for loans not held as open,
+    // which the caller has to pick up some other way.
+    public synchronized boolean update(String loanId, LocalDate dueDate, LoanStatus status, long fineCents) {
+        Integer row = openRows.get(loanId);
+        if (row == null) {
+            return false;
+        }
+        Segment segment = segments[row >>> SEGMENT_BITS];
+        int i = row & SEGMENT_MASK;
+        segment.dueDays[i] = (int) dueDate.toEpochDay();
+        segment.statuses[i] = (byte) status.ordinal();
+        segment.fineCents[i] = Math.toIntExact(fineCents);
+        if (!isOpen(status)) {
+            openRows.remove(loanId);
+        }
+        return true;
+    }
+
+    public synchronized boolean extend(String loanId, LocalDate newDueDate) {
+        Integer row = openRows.get(loanId);
+        if (row == null) {
+            return false;
+        }
+        Segment segment = segments[row >>> SEGMENT_BITS];
+        segment.dueDays[row & SEGMENT_MASK] = (int) newDueDate.toEpochDay();
+        segment.statuses[row & SEGMENT_MASK] = (byte) LoanStatus.ACTIVE.ordinal();
+        return true;
+    }
+
+    public synchronized boolean remove(String loanId) {
+        Integer row = openRows.remove(loanId);
+        if (row == null) {
+            return false;
+        }
+        Segment segment = segments[row >>> SEGMENT_BITS];
+        int i = row & SEGMENT_MASK;
+        segment.loanDays[i] = NO_DATE;
+        segment.statuses[i] = DELETED;
+        segment.fineCents[i] = 0;
+        return true;
+    }
+
+    // Same rule as LoanDAO.markLoansOverdue: only loans still active and past due are flipped
+    public synchronized void markOverdue(Collection<String> loanIds, LocalDate asOf) {
+        int today = (int) asOf.toEpochDay();
+        for (String loanId : loanIds) {
+            Integer row = openRows.get(loanId);
+            if (row == null) {
+                continue;
+            }
+            Segment segment = segments[row >>> SEGMENT_BITS];
+            int i = row & SEGMENT_MASK;
+            if (segment.statuses[i] == LoanStatus.ACTIVE.ordinal() && segment.dueDays[i] < today) {
+                segment.statuses[i] = (byte) LoanStatus.OVERDUE.ordinal();
+            }
+        }
+    }
+
+    // Sets the fine on an open loan, e.g. after the overdue engine has accrued fines
+    public synchronized boolean setFine(String loanId, long fineCents) {
+        Integer row = openRows.get(loanId);
+        if (row == null) {
+            return false;
+        }
+        segments[row >>> SEGMENT_BITS].fineCents[row & SEGMENT_MASK] = Math.toIntExact(fineCents);
+        return true;
+    }
+
+    public int size() {
+        return rowCount;
+    }
+
+    // Top ISBNs by number of loans made between from and to (inclusive; null leaves that end open),
+    // highest first with ties in ISBN order
+    public Map<String, Long> topBooks(int limit, LocalDate from, LocalDate to) {
+        return top(true, limit, from, to);
+    }
+
+    public Map<String, Long> topUsers(int limit, LocalDate from, LocalDate to) {
+        return top(false, limit, from, to);
+    }
+
+    public long totalFineCents() {
+        int rows = rowCount;
+        Segment[] table = segments;
+        int parts = partitions(rows);
+        return IntStream.range(0, parts).parallel()
+                .mapToLong(part -> {
+                    long sum = 0;
+                    for (int s = firstSegment(part, parts, rows); s < firstSegment(part + 1, parts, rows); s++) {
+                        int[] fines = table[s].fineCents;
+                        for (int i = 0, n = rowsIn(s, rows); i < n; i++) {
+                            sum += fines[i];
+                        }
+                    }
+                    return sum;
+                })
+                .sum();
+    }
+
+    // Null counts every loan; OVERDUE includes active loans already past their due date on today,
+    // matching LoanDAO.countLoans
+    public int count(LoanStatus status, LocalDate today) {
+        int rows = rowCount;
+        Segment[] table = segments;
+        int wanted = status != null ? status.ordinal() : -1;
+        boolean overdue = status == LoanStatus.OVERDUE;
+        int active = LoanStatus.ACTIVE.ordinal();
+        int day = (int) today.toEpochDay();
+        int parts = partitions(rows);
+        return IntStream.range(0, parts).parallel()
+                .map(part -> {
+                    int count = 0;
+                    for (int s = firstSegment(part, parts, rows); s < firstSegment(part + 1, parts, rows); s++) {
+                        byte[] statuses = table[s].statuses;
+                        int[] dueDays = table[s].dueDays;
+                        for (int i = 0, n = rowsIn(s, rows); i < n; i++) {
+                            int rowStatus = statuses[i];
+                            boolean match = wanted < 0 ? rowStatus != DELETED
+                                    : rowStatus == wanted || (overdue && rowStatus == active && dueDays[i] < day);
+                            count += match ? 1 : 0;
+                        }
+                    }
+                    return count;
+                })
+                .sum();
+    }
+
+    // Counts per dictionary code, one array per partition merged at the end, then a bounded heap
+    // keeps the best limit codes
+    private Map<String, Long> top(boolean byBook, int limit, LocalDate from, LocalDate to) {
+        int rows = rowCount;
+        Segment[] table = segments;
+        Dictionary dictionary = byBook ? isbns : userIds;
+        String[] values = dictionary.values;
+        int first = from != null ? (int) from.toEpochDay() : NO_DATE + 1;
+        int last = to != null ? (int) to.toEpochDay() : Integer.MAX_VALUE;
+
+        int parts = partitions(rows);
+        int[] counts = IntStream.range(0, parts).parallel()
+                .collect(() -> new int[values.length], (acc, part) -> {
+                    for (int s = firstSegment(part, parts, rows); s < firstSegment(part + 1, parts, rows); s++) {
+                        int[] codes = byBook ? table[s].books : table[s].users;
+                        int[] loanDays = table[s].loanDays;
+                        for (int i = 0, n = rowsIn(s, rows); i < n; i++) {
+                            int day = loanDays[i];
+                            acc[codes[i]] += day >= first && day <= last ? 1 : 0;
+                        }
+                    }
+                }, (left, right) -> {
+                    for (int i = 0; i < left.length; i++) {
+                        left[i] += right[i];
+                    }
+                });
+
+        Comparator<Integer> better = Comparator.<Integer>comparingInt(code -> counts[code])
+                .thenComparing(code -> values[code], Comparator.reverseOrder());
+        PriorityQueue<Integer> best = new PriorityQueue<>(better);
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] == 0) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(code);
+            } else if (limit > 0 && better.compare(code, best.peek()) > 0) {
+                best.poll();
+                best.add(code);
+            }
+        }
+
+        List<Integer> ranked = new ArrayList<>(best);
+        ranked.sort(better.reversed());
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int code : ranked) {
+            result.put(values[code], (long) counts[code]);
+        }
+        return result;
+    }
+
+    // Roughly one run of segments per core, so each partition allocates at most one count array
+    private static int partitions(int rows) {
+        int segmentCount = (rows + SEGMENT_SIZE - 1) >>> SEGMENT_BITS;
+        return Math.max(1, Math.min(segmentCount, Runtime.getRuntime().availableProcessors()));
+    }
+
+    private static int firstSegment(int part, int parts, int rows) {
+        int segmentCount = (rows + SEGMENT_SIZE - 1) >>> SEGMENT_BITS;
+        return (int) ((long) segmentCount * part / parts);
+    }
+
+    private static int rowsIn(int segment, int rows) {
+        return Math.min(SEGMENT_SIZE, rows - (segment << SEGMENT_BITS));
+    }
+
+    private static boolean isOpen(LoanStatus status) {
+        return status == LoanStatus.ACTIVE || status == LoanStatus.OVERDUE;
+    }
+
+    private static final class Segment {
+        final int[] loanDays = new int[SEGMENT_SIZE];
+        final int[] dueDays = new int[SEGMENT_SIZE];
+        final byte[] statuses = new byte[SEGMENT_SIZE];
+        final int[] books = new int[SEGMENT_SIZE];
+        final int[] users = new int[SEGMENT_SIZE];
+        final int[] fineCents = new int[SEGMENT_SIZE];
+    }
+
+    // Codes are handed out in first-seen order. The values array is replaced, never shrunk, and a
+    // code is written before any row that uses it is published, so readers need no lock.
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private volatile String[] values = new String[1024];
+        private int size;
+
+        int encode(String value) {
+            Integer code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size] = value;
+            codes.put(value, size);
+            return size++;
+        }
+    }
+}
\ No newline at end of file
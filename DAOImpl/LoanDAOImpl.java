@@ -1,215 +1,330 @@
-package com.library.dao.impl;
-
-import com.library.dao.LoanDAO;
-import com.library.entities.Loan;
-import com.library.entities.Loan.LoanStatus;
-import com.library.utils.DatabaseConnection;
-
-import java.sql.*;
-import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-
-public class LoanDAOImpl implements LoanDAO {
-    private final Connection connection;
-    private final BookDAOImpl bookDAO;
-    private final UserDAOImpl userDAO;
-
-    public LoanDAOImpl() {
-        this.connection = DatabaseConnection.getConnection();
-        this.bookDAO = new BookDAOImpl();
-        this.userDAO = new UserDAOImpl();
-    }
-
-    @Override
-    public void addLoan(Loan loan) {
-        String sql = "INSERT INTO loans (loan_id, book_isbn, user_id, loan_date, due_date, " +
-                     "return_date, status, fine_amount) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, loan.getLoanId());
-            stmt.setString(2, loan.getBook().getIsbn());
-            stmt.setString(3, loan.getUser().getUserId());
-            stmt.setDate(4, Date.valueOf(loan.getLoanDate()));
-            stmt.setDate(5, Date.valueOf(loan.getDueDate()));
-            stmt.setDate(6, loan.getReturnDate() != null ? Date.valueOf(loan.getReturnDate()) : null);
-            stmt.setString(7, loan.getStatus().name());
-            stmt.setDouble(8, loan.getFineAmount());
-            
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to add loan", e);
-        }
-    }
-
-    @Override
-    public Optional<Loan> getLoanById(String loanId) {
-        String sql = "SELECT * FROM loans WHERE loan_id = ?";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, loanId);
-            ResultSet rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                return Optional.of(extractLoanFromResultSet(rs));
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to get loan by ID", e);
-        }
-        
-        return Optional.empty();
-    }
-
-    private Loan extractLoanFromResultSet(ResultSet rs) throws SQLException {
-        String bookIsbn = rs.getString("book_isbn");
-        String userId = rs.getString("user_id");
-        
-        Loan loan = new Loan(
-            rs.getString("loan_id"),
-            bookDAO.getBookByIsbn(bookIsbn).orElseThrow(() -> 
-                new RuntimeException("Book not found for ISBN: " + bookIsbn)),
-            userDAO.getUserById(userId).orElseThrow(() -> 
-                new RuntimeException("User not found for ID: " + userId)),
-            14 // Default loan period - would normally come from user type
-        );
-        
-        loan.setLoanDate(rs.getDate("loan_date").toLocalDate());
-        loan.setDueDate(rs.getDate("due_date").toLocalDate());
-        if (rs.getDate("return_date") != null) {
-            loan.setReturnDate(rs.getDate("return_date").toLocalDate());
-        }
-        loan.setStatus(LoanStatus.valueOf(rs.getString("status")));
-        loan.setFineAmount(rs.getDouble("fine_amount"));
-        
-        return loan;
-    }
-
-    @Override
-    public List<Loan> getAllLoans() {
-        List<Loan> loans = new ArrayList<>();
-        String sql = "SELECT loan_id FROM loans";
-        
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            while (rs.next()) {
-                getLoanById(rs.getString("loan_id")).ifPresent(loans::add);
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to get all loans", e);
-        }
-        
-        return loans;
-    }
-
-    @Override
-    public List<Loan> getLoansByUser(String userId) {
-        List<Loan> loans = new ArrayList<>();
-        String sql = "SELECT loan_id FROM loans WHERE user_id = ?";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, userId);
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                getLoanById(rs.getString("loan_id")).ifPresent(loans::add);
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to get loans by user", e);
-        }
-        
-        return loans;
-    }
-
-    @Override
-    public List<Loan> getLoansByBook(String isbn) {
-        List<Loan> loans = new ArrayList<>();
-        String sql = "SELECT loan_id FROM loans WHERE book_isbn = ?";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, isbn);
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                getLoanById(rs.getString("loan_id")).ifPresent(loans::add);
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to get loans by book", e);
-        }
-        
-        return loans;
-    }
-
-    @Override
-    public List<Loan> getActiveLoans() {
-        List<Loan> loans = new ArrayList<>();
-        String sql = "SELECT loan_id FROM loans WHERE status = 'ACTIVE'";
-        
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            while (rs.next()) {
-                getLoanById(rs.getString("loan_id")).ifPresent(loans::add);
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to get active loans", e);
-        }
-        
-        return loans;
-    }
-
-    @Override
-    public List<Loan> getOverdueLoans() {
-        List<Loan> loans = new ArrayList<>();
-        String sql = "SELECT loan_id FROM loans WHERE status = 'OVERDUE' OR " +
-                     "(status = 'ACTIVE' AND due_date < CURRENT_DATE)";
-        
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            while (rs.next()) {
-                getLoanById(rs.getString("loan_id")).ifPresent(loans::add);
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to get overdue loans", e);
-        }
-        
-        return loans;
-    }
-
-    @Override
-    public void updateLoan(Loan loan) {
-        String sql = "UPDATE loans SET book_isbn = ?, user_id = ?, loan_date = ?, " +
-                     "due_date = ?, return_date = ?, status = ?, fine_amount = ? " +
-                     "WHERE loan_id = ?";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, loan.getBook().getIsbn());
-            stmt.setString(2, loan.getUser().getUserId());
-            stmt.setDate(3, Date.valueOf(loan.getLoanDate()));
-            stmt.setDate(4, Date.valueOf(loan.getDueDate()));
-            stmt.setDate(5, loan.getReturnDate() != null ? Date.valueOf(loan.getReturnDate()) : null);
-            stmt.setString(6, loan.getStatus().name());
-            stmt.setDouble(7, loan.getFineAmount());
-            stmt.setString(8, loan.getLoanId());
-            
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to update loan", e);
-        }
-    }
-
-    @Override
-    public void deleteLoan(String loanId) {
-        String sql = "DELETE FROM loans WHERE loan_id = ?";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, loanId);
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to delete loan", e);
-        }
-    }
+package com.library.dao.impl;
+
+import com.library.dao.BookDAO;
+import com.library.dao.LoanDAO;
+import com.library.dao.UserDAO;
+import com.library.entities.Book;
+import com.library.entities.Loan;
+import com.library.entities.Loan.LoanStatus;
+import com.library.entities.User;
+import com.library.utils.JdbcQueries;
+import com.library.utils.Money;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public class LoanDAOImpl implements LoanDAO {
+    private static final int STREAM_BATCH_SIZE = 500;
+    // Keeps IN lists well under driver and server placeholder limits
+    private static final int MAX_IN_LIST_SIZE = 500;
+
+    private final BookDAO bookDAO;
+    private final UserDAO userDAO;
+
+    public LoanDAOImpl() {
+        this.bookDAO = new BookDAOImpl();
+        this.userDAO = new UserDAOImpl();
+    }
+
+    public LoanDAOImpl(BookDAO bookDAO, UserDAO userDAO) {
+        this.bookDAO = bookDAO;
+        this.userDAO = userDAO;
+    }
+
+    @Override
+    public void addLoan(Loan loan) {
+        String sql = "INSERT INTO loans (loan_id, book_isbn, user_id, loan_date, due_date, " +
+                     "return_date, status, fine_amount) " +
+                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        
+        JdbcQueries.update(sql, "Failed to add loan",
+                loan.getLoanId(), loan.getBook().getIsbn(), loan.getUser().getUserId(), loan.getLoanDate(),
+                loan.getDueDate(), loan.getReturnDate(), loan.getStatus(), Money.toDecimal(loan.getFineCents()));
+    }
+
+    @Override
+    public Optional<Loan> getLoanById(String loanId) {
+        List<Loan> loans = fetchLoans("WHERE loan_id = ?", "Failed to get loan by ID", loanId);
+        return loans.isEmpty() ? Optional.empty() : Optional.of(loans.get(0));
+    }
+
+    // Reads the loan rows first, then hydrates every referenced book and user with one
+    // batched IN-list query each. Loans that share a book or user share the same instance.
+    private List<Loan> fetchLoans(String whereClause, String errorMessage, Object... params) {
+        String sql = "SELECT " + LoanRowMapper.COLUMNS + " FROM loans " + whereClause;
+        return hydrateLoans(JdbcQueries.queryList(sql, LoanRowMapper::map, errorMessage, params));
+    }
+
+    private List<Loan> hydrateLoans(List<LoanRowMapper.Row> rows) {
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<String> isbns = new LinkedHashSet<>();
+        Set<String> userIds = new LinkedHashSet<>();
+        for (LoanRowMapper.Row row : rows) {
+            isbns.add(row.bookIsbn);
+            userIds.add(row.userId);
+        }
+
+        Map<String, Book> booksByIsbn = new HashMap<>();
+        for (Book book : bookDAO.getBooksByIsbns(isbns)) {
+            booksByIsbn.put(book.getIsbn(), book);
+        }
+        Map<String, User> usersById = new HashMap<>();
+        for (User user : userDAO.getUsersByIds(userIds)) {
+            usersById.put(user.getUserId(), user);
+        }
+
+        List<Loan> loans = new ArrayList<>(rows.size());
+        for (LoanRowMapper.Row row : rows) {
+            Book book = booksByIsbn.get(row.bookIsbn);
+            if (book == null) {
+                throw new RuntimeException("Book not found for ISBN: " + row.bookIsbn);
+            }
+            User user = usersById.get(row.userId);
+            if (user == null) {
+                throw new RuntimeException("User not found for ID: " + row.userId);
+            }
+
+            loans.add(new Loan(row.loanId, book, user, row.loanDate, row.dueDate,
+                    row.returnDate, row.status, row.fineCents));
+        }
+
+        return loans;
+    }
+
+    @Override
+    public List<Loan> getAllLoans() {
+        return fetchLoans("", "Failed to get all loans");
+    }
+
+    // Loan IDs are time-ordered, so keyset pages walk the history oldest first
+    @Override
+    public List<Loan> getLoansPage(String afterLoanId, int limit) {
+        return getLoansPage(null, afterLoanId, limit);
+    }
+
+    @Override
+    public List<Loan> getLoansPage(LoanStatus status, String afterLoanId, int limit) {
+        String filter = status != null ? " AND " + statusCondition(status) : "";
+        return fetchLoans("WHERE loan_id > ?" + filter + " ORDER BY loan_id LIMIT ?",
+                "Failed to get page of loans", afterLoanId != null ? afterLoanId : "", limit);
+    }
+
+    // Keyset pages by due date, ties broken by loan ID; a null due date starts from the first page
+    @Override
+    public List<Loan> getLoansPageByDueDate(LoanStatus status, LocalDate afterDueDate, String afterLoanId, int limit) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        if (afterDueDate != null) {
+            conditions.add("(due_date > ? OR (due_date = ? AND loan_id > ?))");
+            Collections.addAll(params, afterDueDate, afterDueDate, afterLoanId != null ? afterLoanId : "");
+        }
+        if (status != null) {
+            conditions.add(statusCondition(status));
+        }
+        params.add(limit);
+        String where = conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions) + " ";
+        return fetchLoans(where + "ORDER BY due_date, loan_id LIMIT ?", "Failed to get page of loans by due date",
+                params.toArray());
+    }
+
+    @Override
+    public int countLoans(LoanStatus status) {
+        String sql = "SELECT COUNT(*) FROM loans" + (status != null ? " WHERE " + statusCondition(status) : "");
+        return JdbcQueries.queryInt(sql, "Failed to count loans");
+    }
+
+    // Overdue includes active loans already past their due date, matching getOverdueLoans
+    private String statusCondition(LoanStatus status) {
+        if (status == LoanStatus.OVERDUE) {
+            return "(status = 'OVERDUE' OR (status = 'ACTIVE' AND due_date < CURRENT_DATE))";
+        }
+        return "status = '" + status.name() + "'";
+    }
+
+    // Read as keyset pages rather than through a cursor: hydrating a page borrows connections for
+    // its books and users, and a cursor pinning one meanwhile could starve the pool. No connection
+    // is held between pages, so memory stays flat without that risk.
+    @Override
+    public Stream<Loan> streamAllLoans() {
+        return Stream.iterate(getLoansPage(null, STREAM_BATCH_SIZE), page -> !page.isEmpty(),
+                        page -> page.size() < STREAM_BATCH_SIZE ? Collections.<Loan>emptyList()
+                                : getLoansPage(page.get(page.size() - 1).getLoanId(), STREAM_BATCH_SIZE))
+                .flatMap(List::stream);
+    }
+
+    @Override
+    public List<Loan> getLoansByUser(String userId) {
+        return fetchLoans("WHERE user_id = ?", "Failed to get loans by user", userId);
+    }
+
+    @Override
+    public List<Loan> getLoansByBook(String isbn) {
+        return fetchLoans("WHERE book_isbn = ?", "Failed to get loans by book", isbn);
+    }
+
+    @Override
+    public List<Loan> getActiveLoans() {
+        return fetchLoans("WHERE status = 'ACTIVE'", "Failed to get active loans");
+    }
+
+    @Override
+    public List<Loan> getOverdueLoans() {
+        return fetchLoans("WHERE status = 'OVERDUE' OR (status = 'ACTIVE' AND due_date < CURRENT_DATE)",
+                "Failed to get overdue loans");
+    }
+
+    @Override
+    public void updateLoan(Loan loan) {
+        String sql = "UPDATE loans SET book_isbn = ?, user_id = ?, loan_date = ?, " +
+                     "due_date = ?, return_date = ?, status = ?, fine_amount = ? " +
+                     "WHERE loan_id = ?";
+        
+        JdbcQueries.update(sql, "Failed to update loan",
+                loan.getBook().getIsbn(), loan.getUser().getUserId(), loan.getLoanDate(), loan.getDueDate(),
+                loan.getReturnDate(), loan.getStatus(), Money.toDecimal(loan.getFineCents()), loan.getLoanId());
+    }
+
+    // Only an open loan can be closed, so two desks returning the same loan cannot both succeed
+    @Override
+    public boolean markLoanReturned(Loan loan) {
+        String sql = "UPDATE loans SET return_date = ?, status = ?, fine_amount = ? " +
+                     "WHERE loan_id = ? AND status IN ('ACTIVE', 'OVERDUE')";
+        
+        return JdbcQueries.update(sql, "Failed to mark loan as returned",
+                loan.getReturnDate(), loan.getStatus(), Money.toDecimal(loan.getFineCents()), loan.getLoanId()) == 1;
+    }
+
+    @Override
+    public boolean extendLoan(String loanId, LocalDate newDueDate) {
+        String sql = "UPDATE loans SET due_date = ?, status = 'ACTIVE' " +
+                     "WHERE loan_id = ? AND status IN ('ACTIVE', 'OVERDUE')";
+        
+        return JdbcQueries.update(sql, "Failed to extend loan", newDueDate, loanId) == 1;
+    }
+
+    @Override
+    public void deleteLoan(String loanId) {
+        JdbcQueries.update("DELETE FROM loans WHERE loan_id = ?", "Failed to delete loan", loanId);
+    }
+
+    @Override
+    public Map<String, Long> getMostBorrowedIsbns(int limit) {
+        return countLoansBy("book_isbn", limit, "Failed to get most borrowed books");
+    }
+
+    @Override
+    public Map<String, Long> getMostBorrowedIsbns(LocalDate from, LocalDate to, int limit) {
+        return countLoansBy("book_isbn", from, to, limit, "Failed to get most borrowed books");
+    }
+
+    @Override
+    public Map<String, Long> getMostActiveUserIds(int limit) {
+        return countLoansBy("user_id", limit, "Failed to get most active users");
+    }
+
+    @Override
+    public long getTotalFineCents() {
+        String sql = "SELECT COALESCE(SUM(fine_amount), 0) FROM loans";
+        return JdbcQueries.queryOne(sql, rs -> Money.toCents(rs.getBigDecimal(1)), "Failed to calculate total fines")
+                .orElse(0L);
+    }
+
+    // Loan IDs and due dates only, for keeping an in-memory due-date index without hydrating loans
+    @Override
+    public Map<String, LocalDate> getDueDatesByStatus(LoanStatus status) {
+        String sql = "SELECT loan_id, due_date FROM loans WHERE status = ?";
+        Map<String, LocalDate> dueDates = new HashMap<>();
+        for (Map.Entry<String, LocalDate> loan : JdbcQueries.queryList(sql,
+                rs -> Map.entry(rs.getString(1), rs.getObject(2, LocalDate.class)),
+                "Failed to get loan due dates", status)) {
+            dueDates.put(loan.getKey(), loan.getValue());
+        }
+        return dueDates;
+    }
+
+    // Flips the given loans to OVERDUE in batches. Loans returned or renewed since they were
+    // picked are left alone by the status and due date guard.
+    @Override
+    public int markLoansOverdue(Collection<String> loanIds, LocalDate asOf) {
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(loanIds));
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += MAX_IN_LIST_SIZE) {
+            List<String> chunk = ids.subList(from, Math.min(from + MAX_IN_LIST_SIZE, ids.size()));
+            String sql = "UPDATE loans SET status = 'OVERDUE' WHERE status = 'ACTIVE' AND due_date < ? " +
+                         "AND loan_id IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+            List<Object> params = new ArrayList<>(chunk.size() + 1);
+            params.add(asOf);
+            params.addAll(chunk);
+            updated += JdbcQueries.update(sql, "Failed to mark loans overdue", params.toArray());
+        }
+        return updated;
+    }
+
+    // Sets each overdue loan's fine to the days late so far times the daily rate for the borrower's
+    // user type. Loans sharing a due date and user type owe the same amount, so there is one batched
+    // update per distinct pair. User types without a rate are left alone.
+    @Override
+    public int accrueOverdueFines(LocalDate asOf, Map<User.UserType, Long> dailyRateCents) {
+        String pairsSql = "SELECT DISTINCT l.due_date, u.user_type FROM loans l " +
+                          "JOIN users u ON u.user_id = l.user_id WHERE l.status = 'OVERDUE'";
+        String updateSql = "UPDATE loans SET fine_amount = ? WHERE status = 'OVERDUE' AND due_date = ? " +
+                           "AND user_id IN (SELECT user_id FROM users WHERE user_type = ?)";
+        
+        List<Map.Entry<LocalDate, User.UserType>> pairs = JdbcQueries.queryList(pairsSql,
+                rs -> Map.entry(rs.getObject(1, LocalDate.class), User.UserType.valueOf(rs.getString(2))),
+                "Failed to accrue overdue fines");
+        List<Object[]> updates = new ArrayList<>();
+        for (Map.Entry<LocalDate, User.UserType> pair : pairs) {
+            Long rate = dailyRateCents.get(pair.getValue());
+            if (rate == null) {
+                continue;
+            }
+            long daysOverdue = Math.max(0, asOf.toEpochDay() - pair.getKey().toEpochDay());
+            updates.add(new Object[]{Money.toDecimal(daysOverdue * rate), pair.getKey(), pair.getValue()});
+        }
+        return JdbcQueries.updateBatch(updateSql, "Failed to accrue overdue fines", updates);
+    }
+
+    private Map<String, Long> countLoansBy(String column, int limit, String errorMessage) {
+        return countLoansBy(column, null, null, limit, errorMessage);
+    }
+
+    // Top-N loan counts grouped by the given column, highest first; ties fall back to key order.
+    // A null from or to leaves that end of the loan date range open.
+    private Map<String, Long> countLoansBy(String column, LocalDate from, LocalDate to, int limit,
+                                           String errorMessage) {
+        List<Object> params = new ArrayList<>();
+        List<String> conditions = new ArrayList<>();
+        if (from != null) {
+            conditions.add("loan_date >= ?");
+            params.add(from);
+        }
+        if (to != null) {
+            conditions.add("loan_date <= ?");
+            params.add(to);
+        }
+        params.add(limit);
+        String where = conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions) + " ";
+        String sql = "SELECT " + column + ", COUNT(*) AS loan_count FROM loans " + where +
+                     "GROUP BY " + column + " ORDER BY loan_count DESC, " + column + " LIMIT ?";
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> count : JdbcQueries.queryList(sql,
+                rs -> Map.entry(rs.getString(1), rs.getLong(2)), errorMessage, params.toArray())) {
+            counts.put(count.getKey(), count.getValue());
+        }
+        return counts;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.library.dao.impl;
+
+import com.library.entities.Loan.LoanStatus;
+import com.library.utils.Money;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+// Maps loans rows by position. Queries select COLUMNS in exactly this order, so each value is
+// read once through an indexed getter and no column name is looked up per row.
+public final class LoanRowMapper {
+    public static final String COLUMNS =
+            "loan_id, book_isbn, user_id, loan_date, due_date, return_date, status, fine_amount";
+
+    private LoanRowMapper() {
+    }
+
+    public static Row map(ResultSet rs) throws SQLException {
+        return new Row(
+            rs.getString(1),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getObject(4, LocalDate.class),
+            rs.getObject(5, LocalDate.class),
+            rs.getObject(6, LocalDate.class),
+            LoanStatus.valueOf(rs.getString(7)),
+            Money.toCents(rs.getBigDecimal(8))
+        );
+    }
+
+    // Raw loans row, held only until its book and user have been batch-loaded
+    public static final class Row {
+        final String loanId;
+        final String bookIsbn;
+        final String userId;
+        final LocalDate loanDate;
+        final LocalDate dueDate;
+        final LocalDate returnDate;
+        final LoanStatus status;
+        final long fineCents;
+
+        public Row(String loanId, String bookIsbn, String userId, LocalDate loanDate, LocalDate dueDate,
+                   LocalDate returnDate, LoanStatus status, long fineCents) {
+            this.loanId = loanId;
+            this.bookIsbn = bookIsbn;
+            this.userId = userId;
+            this.loanDate = loanDate;
+            this.dueDate = dueDate;
+            this.returnDate = returnDate;
+            this.status = status;
+            this.fineCents = fineCents;
+        }
+    }
+}
\ No newline at end of file
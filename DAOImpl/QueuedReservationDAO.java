@@ -0,0 +1,229 @@
+package com.library.dao.impl;
+
+import com.library.dao.ReservationDAO;
+import com.library.entities.Reservation;
+import com.library.entities.Reservation.ReservationStatus;
+import com.library.utils.Transaction;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+// Keeps every open reservation in memory with a FIFO queue per ISBN, so the checks made on
+// every checkout, return and renewal never touch the database. Enqueue and dequeue are O(1):
+// cancelled entries stay in their queue and are skipped when they reach the front. Changes are
+// applied as they are written and an ISBN is reloaded from the database if its transaction rolls back;
+// the reload queries outside the lock and swaps the ISBN's entries in.
+public class QueuedReservationDAO implements ReservationDAO {
+    private final ReservationDAO delegate;
+
+    // Guarded by this
+    private final Map<String, Reservation> open = new HashMap<>();
+    private final Map<String, Set<String>> openIdsByIsbn = new HashMap<>();
+    private final Map<String, ArrayDeque<String>> queues = new HashMap<>();
+    // Every ID currently in some queue, live or not, so a hold going back to WAITING is not queued twice
+    private final Set<String> queuedIds = new HashSet<>();
+    private final Map<String, Integer> waitingCounts = new HashMap<>();
+    // Bumped on every change to an ISBN's entries, so a reload can tell its query went stale
+    private final Map<String, Long> versions = new HashMap<>();
+    private boolean built;
+
+    public QueuedReservationDAO(ReservationDAO delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void addReservation(Reservation reservation) {
+        delegate.addReservation(reservation);
+        synchronized (this) {
+            if (built) {
+                track(new Reservation(reservation));
+            }
+        }
+        reloadOnRollback(reservation.getIsbn());
+    }
+
+    @Override
+    public Optional<Reservation> getReservationById(String reservationId) {
+        return delegate.getReservationById(reservationId);
+    }
+
+    @Override
+    public List<Reservation> getReservationsByUser(String userId) {
+        return delegate.getReservationsByUser(userId);
+    }
+
+    @Override
+    public List<Reservation> getOpenReservations() {
+        return delegate.getOpenReservations();
+    }
+
+    @Override
+    public List<Reservation> getOpenReservationsForBook(String isbn) {
+        return delegate.getOpenReservationsForBook(isbn);
+    }
+
+    @Override
+    public synchronized Optional<Reservation> getNextWaiting(String isbn) {
+        ensureBuilt();
+        ArrayDeque<String> queue = queues.get(isbn);
+        while (queue != null && !queue.isEmpty()) {
+            Reservation head = open.get(queue.peekFirst());
+            if (head != null && head.getStatus() == ReservationStatus.WAITING) {
+                return Optional.of(new Reservation(head));
+            }
+            queuedIds.remove(queue.pollFirst());
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public synchronized int countWaiting(String isbn) {
+        ensureBuilt();
+        return waitingCounts.getOrDefault(isbn, 0);
+    }
+
+    // Holds are bounded by the copies on the shelf, so scanning them is cheap
+    @Override
+    public synchronized List<Reservation> getExpiredHolds(LocalDate today) {
+        ensureBuilt();
+        List<Reservation> expired = new ArrayList<>();
+        for (Reservation reservation : open.values()) {
+            if (reservation.getStatus() == ReservationStatus.READY && reservation.getHoldExpiresAt() != null
+                    && reservation.getHoldExpiresAt().isBefore(today)) {
+                expired.add(new Reservation(reservation));
+            }
+        }
+        expired.sort((a, b) -> a.getReservationId().compareTo(b.getReservationId()));
+        return expired;
+    }
+
+    @Override
+    public boolean updateReservationStatus(String reservationId, ReservationStatus expected,
+                                           ReservationStatus newStatus, LocalDate holdExpiresAt) {
+        boolean updated = delegate.updateReservationStatus(reservationId, expected, newStatus, holdExpiresAt);
+        String isbn;
+        synchronized (this) {
+            Reservation reservation = open.get(reservationId);
+            if (!built || reservation == null) {
+                return updated;
+            }
+            isbn = reservation.getIsbn();
+            if (updated) {
+                if (reservation.getStatus() == ReservationStatus.WAITING) {
+                    waitingCounts.merge(isbn, -1, (count, delta) -> count + delta == 0 ? null : count + delta);
+                }
+                if (newStatus == ReservationStatus.WAITING || newStatus == ReservationStatus.READY) {
+                    reservation.setStatus(newStatus);
+                    reservation.setHoldExpiresAt(holdExpiresAt);
+                    if (newStatus == ReservationStatus.WAITING) {
+                        waitingCounts.merge(isbn, 1, Integer::sum);
+                        enqueue(reservation);
+                    }
+                } else {
+                    untrack(reservation);
+                }
+                versions.merge(isbn, 1L, Long::sum);
+            }
+        }
+        if (!updated) {
+            // The database disagrees with memory, e.g. the row was changed directly; resync it
+            reload(isbn);
+            return false;
+        }
+        reloadOnRollback(isbn);
+        return true;
+    }
+
+    // Drops the in-memory queues and reloads them, e.g. after reservations were edited in the database
+    public synchronized void rebuild() {
+        open.clear();
+        openIdsByIsbn.clear();
+        queues.clear();
+        queuedIds.clear();
+        waitingCounts.clear();
+        for (Reservation reservation : delegate.getOpenReservations()) {
+            track(reservation);
+        }
+        built = true;
+    }
+
+    private void ensureBuilt() {
+        if (!built) {
+            rebuild();
+        }
+    }
+
+    private void track(Reservation reservation) {
+        open.put(reservation.getReservationId(), reservation);
+        openIdsByIsbn.computeIfAbsent(reservation.getIsbn(), k -> new HashSet<>()).add(reservation.getReservationId());
+        if (reservation.getStatus() == ReservationStatus.WAITING) {
+            enqueue(reservation);
+            waitingCounts.merge(reservation.getIsbn(), 1, Integer::sum);
+        }
+        versions.merge(reservation.getIsbn(), 1L, Long::sum);
+    }
+
+    private void untrack(Reservation reservation) {
+        open.remove(reservation.getReservationId());
+        Set<String> ids = openIdsByIsbn.get(reservation.getIsbn());
+        if (ids != null && ids.remove(reservation.getReservationId()) && ids.isEmpty()) {
+            openIdsByIsbn.remove(reservation.getIsbn());
+        }
+    }
+
+    // A hold that was READY may still be in its queue, where it keeps its original place
+    private void enqueue(Reservation reservation) {
+        if (queuedIds.add(reservation.getReservationId())) {
+            queues.computeIfAbsent(reservation.getIsbn(), k -> new ArrayDeque<>()).addLast(reservation.getReservationId());
+        }
+    }
+
+    private void reloadOnRollback(String isbn) {
+        Transaction.afterRollback(() -> reload(isbn));
+    }
+
+    // Reads the ISBN's open reservations without holding the lock, then swaps them in. A change
+    // to the ISBN made while the query ran may not be in its result, so the read is repeated.
+    private void reload(String isbn) {
+        while (true) {
+            long version;
+            synchronized (this) {
+                if (!built) {
+                    return;
+                }
+                version = versions.getOrDefault(isbn, 0L);
+            }
+            List<Reservation> current = delegate.getOpenReservationsForBook(isbn);
+            synchronized (this) {
+                if (!built) {
+                    return;
+                }
+                if (versions.getOrDefault(isbn, 0L) != version) {
+                    continue;
+                }
+                Set<String> ids = openIdsByIsbn.remove(isbn);
+                if (ids != null) {
+                    open.keySet().removeAll(ids);
+                }
+                ArrayDeque<String> queue = queues.remove(isbn);
+                if (queue != null) {
+                    for (String id : queue) {
+                        queuedIds.remove(id);
+                    }
+                }
+                waitingCounts.remove(isbn);
+                for (Reservation reservation : current) {
+                    track(reservation);
+                }
+                return;
+            }
+        }
+    }
+}
\ No newline at end of file
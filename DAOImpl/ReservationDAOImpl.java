@@ -0,0 +1,143 @@
+package com.library.dao.impl;
+
+import com.library.dao.ReservationDAO;
+import com.library.entities.Reservation;
+import com.library.entities.Reservation.ReservationStatus;
+import com.library.utils.DatabaseConnection;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+// Reservation IDs are time-ordered, so ordering by ID is queue order
+public class ReservationDAOImpl implements ReservationDAO {
+    private static final String OPEN = "status IN ('WAITING', 'READY')";
+
+    @Override
+    public void addReservation(Reservation reservation) {
+        String sql = "INSERT INTO reservations (reservation_id, book_isbn, user_id, reserved_at, status, " +
+                     "hold_expires_at) VALUES (?, ?, ?, ?, ?, ?)";
+        
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, reservation.getReservationId());
+            stmt.setString(2, reservation.getIsbn());
+            stmt.setString(3, reservation.getUserId());
+            stmt.setTimestamp(4, Timestamp.valueOf(reservation.getReservedAt()));
+            stmt.setString(5, reservation.getStatus().name());
+            stmt.setDate(6, reservation.getHoldExpiresAt() != null ? Date.valueOf(reservation.getHoldExpiresAt()) : null);
+            
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to add reservation", e);
+        }
+    }
+
+    @Override
+    public Optional<Reservation> getReservationById(String reservationId) {
+        List<Reservation> reservations = fetchReservations("WHERE reservation_id = ?",
+                "Failed to get reservation by ID", reservationId);
+        return reservations.isEmpty() ? Optional.empty() : Optional.of(reservations.get(0));
+    }
+
+    @Override
+    public List<Reservation> getReservationsByUser(String userId) {
+        return fetchReservations("WHERE user_id = ? ORDER BY reservation_id",
+                "Failed to get reservations by user", userId);
+    }
+
+    @Override
+    public List<Reservation> getOpenReservations() {
+        return fetchReservations("WHERE " + OPEN + " ORDER BY reservation_id", "Failed to get open reservations");
+    }
+
+    @Override
+    public List<Reservation> getOpenReservationsForBook(String isbn) {
+        return fetchReservations("WHERE book_isbn = ? AND " + OPEN + " ORDER BY reservation_id",
+                "Failed to get reservations for book", isbn);
+    }
+
+    @Override
+    public Optional<Reservation> getNextWaiting(String isbn) {
+        List<Reservation> reservations = fetchReservations(
+                "WHERE book_isbn = ? AND status = 'WAITING' ORDER BY reservation_id LIMIT 1",
+                "Failed to get next reservation", isbn);
+        return reservations.isEmpty() ? Optional.empty() : Optional.of(reservations.get(0));
+    }
+
+    @Override
+    public int countWaiting(String isbn) {
+        String sql = "SELECT COUNT(*) FROM reservations WHERE book_isbn = ? AND status = 'WAITING'";
+        
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, isbn);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to count reservations", e);
+        }
+    }
+
+    @Override
+    public List<Reservation> getExpiredHolds(LocalDate today) {
+        return fetchReservations("WHERE status = 'READY' AND hold_expires_at < ? ORDER BY reservation_id",
+                "Failed to get expired holds", today.toString());
+    }
+
+    // Only moves the reservation if it is still in the expected state, so racing desks cannot
+    // both act on the same hold
+    @Override
+    public boolean updateReservationStatus(String reservationId, ReservationStatus expected,
+                                           ReservationStatus newStatus, LocalDate holdExpiresAt) {
+        String sql = "UPDATE reservations SET status = ?, hold_expires_at = ? WHERE reservation_id = ? AND status = ?";
+        
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, newStatus.name());
+            stmt.setDate(2, holdExpiresAt != null ? Date.valueOf(holdExpiresAt) : null);
+            stmt.setString(3, reservationId);
+            stmt.setString(4, expected.name());
+            
+            return stmt.executeUpdate() == 1;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to update reservation", e);
+        }
+    }
+
+    private List<Reservation> fetchReservations(String whereClause, String errorMessage, String... params) {
+        String sql = "SELECT reservation_id, book_isbn, user_id, reserved_at, status, hold_expires_at " +
+                     "FROM reservations " + whereClause;
+        List<Reservation> reservations = new ArrayList<>();
+        
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setString(i + 1, params[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    reservations.add(extractReservationFromResultSet(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(errorMessage, e);
+        }
+        return reservations;
+    }
+
+    private Reservation extractReservationFromResultSet(ResultSet rs) throws SQLException {
+        return new Reservation(
+            rs.getString(1),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getObject(4, LocalDateTime.class),
+            ReservationStatus.valueOf(rs.getString(5)),
+            rs.getObject(6, LocalDate.class)
+        );
+    }
+}
\ No newline at end of file
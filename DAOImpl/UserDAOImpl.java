@@ -1,210 +1,201 @@
-package com.library.dao.impl;
-
-import com.library.dao.UserDAO;
-import com.library.entities.User;
-import com.library.utils.DatabaseConnection;
-
-import java.sql.*;
-import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-
-public class UserDAOImpl implements UserDAO {
-    private final Connection connection;
-
-    public UserDAOImpl() {
-        this.connection = DatabaseConnection.getConnection();
-    }
-
-    @Override
-    public void addUser(User user) {
-        String sql = "INSERT INTO users (user_id, first_name, last_name, email, phone_number, " +
-                     "registration_date, date_of_birth, address, user_type, max_books_allowed, " +
-                     "fines, is_active, password_hash) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, user.getUserId());
-            stmt.setString(2, user.getFirstName());
-            stmt.setString(3, user.getLastName());
-            stmt.setString(4, user.getEmail());
-            stmt.setString(5, user.getPhoneNumber());
-            stmt.setDate(6, Date.valueOf(user.getRegistrationDate()));
-            stmt.setDate(7, user.getDateOfBirth() != null ? Date.valueOf(user.getDateOfBirth()) : null);
-            stmt.setString(8, user.getAddress());
-            stmt.setString(9, user.getUserType().name());
-            stmt.setInt(10, user.getMaxBooksAllowed());
-            stmt.setDouble(11, user.getFines());
-            stmt.setBoolean(12, user.isActive());
-            stmt.setString(13, "hashed_password_placeholder"); // In real app, store properly hashed password
-            
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to add user", e);
-        }
-    }
-
-    @Override
-    public Optional<User> getUserById(String userId) {
-        String sql = "SELECT * FROM users WHERE user_id = ?";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, userId);
-            ResultSet rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                return Optional.of(extractUserFromResultSet(rs));
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to get user by ID", e);
-        }
-        
-        return Optional.empty();
-    }
-
-    private User extractUserFromResultSet(ResultSet rs) throws SQLException {
-        User user = new User(
-            rs.getString("user_id"),
-            rs.getString("first_name"),
-            rs.getString("last_name"),
-            User.UserType.valueOf(rs.getString("user_type"))
-        );
-        
-        user.setEmail(rs.getString("email"));
-        user.setPhoneNumber(rs.getString("phone_number"));
-        user.setRegistrationDate(rs.getDate("registration_date").toLocalDate());
-        user.setDateOfBirth(rs.getDate("date_of_birth") != null ? 
-            rs.getDate("date_of_birth").toLocalDate() : null);
-        user.setAddress(rs.getString("address"));
-        user.setFines(rs.getDouble("fines"));
-        user.setActive(rs.getBoolean("is_active"));
-        
-        return user;
-    }
-
-    @Override
-    public List<User> getAllUsers() {
-        List<User> users = new ArrayList<>();
-        String sql = "SELECT user_id FROM users";
-        
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            while (rs.next()) {
-                getUserById(rs.getString("user_id")).ifPresent(users::add);
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to get all users", e);
-        }
-        
-        return users;
-    }
-
-    @Override
-    public List<User> getUsersByName(String name) {
-        List<User> users = new ArrayList<>();
-        String sql = "SELECT user_id FROM users WHERE CONCAT(first_name, ' ', last_name) LIKE ?";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, "%" + name + "%");
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                getUserById(rs.getString("user_id")).ifPresent(users::add);
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to get users by name", e);
-        }
-        
-        return users;
-    }
-
-    @Override
-    public List<User> getUsersByType(User.UserType type) {
-        List<User> users = new ArrayList<>();
-        String sql = "SELECT user_id FROM users WHERE user_type = ?";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, type.name());
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                getUserById(rs.getString("user_id")).ifPresent(users::add);
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to get users by type", e);
-        }
-        
-        return users;
-    }
-
-    @Override
-    public void updateUser(User user) {
-        String sql = "UPDATE users SET first_name = ?, last_name = ?, email = ?, " +
-                     "phone_number = ?, date_of_birth = ?, address = ?, user_type = ?, " +
-                     "max_books_allowed = ?, fines = ?, is_active = ? " +
-                     "WHERE user_id = ?";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, user.getFirstName());
-            stmt.setString(2, user.getLastName());
-            stmt.setString(3, user.getEmail());
-            stmt.setString(4, user.getPhoneNumber());
-            stmt.setDate(5, user.getDateOfBirth() != null ? Date.valueOf(user.getDateOfBirth()) : null);
-            stmt.setString(6, user.getAddress());
-            stmt.setString(7, user.getUserType().name());
-            stmt.setInt(8, user.getMaxBooksAllowed());
-            stmt.setDouble(9, user.getFines());
-            stmt.setBoolean(10, user.isActive());
-            stmt.setString(11, user.getUserId());
-            
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to update user", e);
-        }
-    }
-
-    @Override
-    public void deleteUser(String userId) {
-        String sql = "DELETE FROM users WHERE user_id = ?";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, userId);
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to delete user", e);
-        }
-    }
-
-    @Override
-    public boolean userExists(String userId) {
-        String sql = "SELECT COUNT(*) FROM users WHERE user_id = ?";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, userId);
-            ResultSet rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                return rs.getInt(1) > 0;
-            }
-            return false;
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to check if user exists", e);
-        }
-    }
-
-    @Override
-    public boolean authenticateUser(String userId, String password) {
-        // In a real application, you would:
-        // 1. Get the hashed password from the database for this user
-        // 2. Compare it with the hashed version of the provided password
-        // For this example, we'll just check if the user exists and password is not empty
-        
-        if (password == null || password.trim().isEmpty()) {
-            return false;
-        }
-        
-        return userExists(userId);
-    }
+package com.library.dao.impl;
+
+import com.library.dao.UserDAO;
+import com.library.entities.User;
+import com.library.utils.DatabaseConnection;
+import com.library.utils.JdbcQueries;
+import com.library.utils.JdbcStreams;
+import com.library.utils.Money;
+import com.library.utils.PasswordHasher;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public class UserDAOImpl implements UserDAO {
+    private static final String SELECT_USERS = "SELECT " + UserRowMapper.COLUMNS + " FROM users ";
+    // Keeps IN lists well under driver and server placeholder limits
+    private static final int MAX_IN_LIST_SIZE = 500;
+
+
+    @Override
+    public void addUser(User user) {
+        String sql = "INSERT INTO users (user_id, first_name, last_name, email, phone_number, " +
+                     "registration_date, date_of_birth, address, user_type, max_books_allowed, " +
+                     "fines, is_active, password_hash) " +
+                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        
+        // No password until one is set with updatePassword; the marker never verifies
+        JdbcQueries.update(sql, "Failed to add user",
+            user.getUserId(), user.getFirstName(), user.getLastName(), user.getEmail(), user.getPhoneNumber(),
+            user.getRegistrationDate(), user.getDateOfBirth(), user.getAddress(), user.getUserType(),
+            user.getMaxBooksAllowed(), Money.toDecimal(user.getFineCents()), user.isActive(), PasswordHasher.UNUSABLE);
+    }
+
+    @Override
+    public Optional<User> getUserById(String userId) {
+        String sql = SELECT_USERS + "WHERE user_id = ?";
+        return JdbcQueries.queryOne(sql, UserRowMapper::map, "Failed to get user by ID", userId);
+    }
+
+    @Override
+    public List<User> getUsersByIds(Collection<String> userIds) {
+        List<User> users = new ArrayList<>();
+        List<String> keys = new ArrayList<>(new LinkedHashSet<>(userIds));
+
+        for (int from = 0; from < keys.size(); from += MAX_IN_LIST_SIZE) {
+            List<String> chunk = keys.subList(from, Math.min(from + MAX_IN_LIST_SIZE, keys.size()));
+            String sql = SELECT_USERS + "WHERE user_id IN (" +
+                         String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+
+            users.addAll(JdbcQueries.queryList(sql, UserRowMapper::map, "Failed to get users by ID",
+                chunk.toArray()));
+        }
+
+        return users;
+    }
+
+    @Override
+    public List<User> getAllUsers() {
+        return JdbcQueries.queryList(SELECT_USERS, UserRowMapper::map, "Failed to get all users");
+    }
+
+    @Override
+    public List<User> getUsersPage(String afterUserId, int limit) {
+        String sql = SELECT_USERS + "WHERE user_id > ? ORDER BY user_id LIMIT ?";
+        return JdbcQueries.queryList(sql, UserRowMapper::map, "Failed to get page of users",
+            afterUserId != null ? afterUserId : "", limit);
+    }
+
+    @Override
+    public Stream<User> streamAllUsers() {
+        return JdbcStreams.query(SELECT_USERS + "ORDER BY user_id", stmt -> { },
+                UserRowMapper::map, "Failed to stream users");
+    }
+
+    @Override
+    public int countUsers() {
+        return JdbcQueries.queryInt("SELECT COUNT(*) FROM users", "Failed to count users");
+    }
+
+    @Override
+    public List<User> getUsersByName(String name) {
+        String sql = SELECT_USERS + "WHERE CONCAT(first_name, ' ', last_name) LIKE ?";
+        // Map rows directly rather than re-reading each user, which would also hold
+        // this connection while borrowing a second one from the pool
+        return JdbcQueries.queryList(sql, UserRowMapper::map, "Failed to get users by name",
+            "%" + name + "%");
+    }
+
+    @Override
+    public List<User> getUsersByType(User.UserType type) {
+        String sql = SELECT_USERS + "WHERE user_type = ?";
+        return JdbcQueries.queryList(sql, UserRowMapper::map, "Failed to get users by type", type);
+    }
+
+    // Fines and the loan counters are left as stored; only returns and payments move them, in place
+    @Override
+    public void updateUser(User user) {
+        String sql = "UPDATE users SET first_name = ?, last_name = ?, email = ?, " +
+                     "phone_number = ?, date_of_birth = ?, address = ?, user_type = ?, " +
+                     "max_books_allowed = ?, is_active = ? " +
+                     "WHERE user_id = ?";
+        
+        JdbcQueries.update(sql, "Failed to update user",
+            user.getFirstName(), user.getLastName(), user.getEmail(), user.getPhoneNumber(), user.getDateOfBirth(),
+            user.getAddress(), user.getUserType(), user.getMaxBooksAllowed(), user.isActive(), user.getUserId());
+    }
+
+    @Override
+    public void deleteUser(String userId) {
+        JdbcQueries.update("DELETE FROM users WHERE user_id = ?", "Failed to delete user", userId);
+    }
+
+    @Override
+    public boolean userExists(String userId) {
+        String sql = "SELECT COUNT(*) FROM users WHERE user_id = ?";
+        return JdbcQueries.queryInt(sql, "Failed to check if user exists", userId) > 0;
+    }
+
+    // One round trip loads the user with its hash. A hash made at an older cost is upgraded on the
+    // way through, since this is the only time the plain password is available. The new hash is
+    // computed in the background, so the login does not pay for a second PBKDF2 run.
+    @Override
+    public Optional<User> authenticateUser(String userId, String password) {
+        String sql = "SELECT " + UserRowMapper.COLUMNS + ", password_hash FROM users WHERE user_id = ?";
+        User user = null;
+        String passwordHash = null;
+        
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, userId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    user = UserRowMapper.map(rs);
+                    passwordHash = rs.getString(UserRowMapper.COLUMN_COUNT + 1);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to authenticate user", e);
+        }
+        
+        if (password == null || password.isEmpty() || !PasswordHasher.verify(password, passwordHash) || user == null) {
+            return Optional.empty();
+        }
+        if (PasswordHasher.needsRehash(passwordHash)) {
+            String staleHash = passwordHash;
+            PasswordHasher.hashInBackground(password, upgraded -> replacePasswordHash(userId, staleHash, upgraded));
+        }
+        return Optional.of(user);
+    }
+
+    // Only replaces the hash it was computed from, so a password changed meanwhile is kept
+    private void replacePasswordHash(String userId, String staleHash, String upgraded) {
+        String sql = "UPDATE users SET password_hash = ? WHERE user_id = ? AND password_hash = ?";
+        JdbcQueries.update(sql, "Failed to upgrade password hash", upgraded, userId, staleHash);
+    }
+
+    @Override
+    public void updatePassword(String userId, String password) {
+        String sql = "UPDATE users SET password_hash = ? WHERE user_id = ?";
+        JdbcQueries.update(sql, "Failed to update password", PasswordHasher.hash(password), userId);
+    }
+
+    // Counts the loan against the user only while they are active, owe nothing, are under their
+    // limit and do not already hold the title. Like the stock updates in BookDAOImpl, the database
+    // arbitrates: a checkout that would break any of these sees zero rows updated.
+    @Override
+    public boolean recordCheckout(String userId, String isbn) {
+        String sql = "UPDATE users SET active_loan_count = active_loan_count + 1, " +
+                     "active_isbns = CONCAT(active_isbns, ?, ',') " +
+                     "WHERE user_id = ? AND is_active = TRUE AND fines = 0 " +
+                     "AND active_loan_count < max_books_allowed AND active_isbns NOT LIKE ?";
+        return JdbcQueries.update(sql, "Failed to record checkout",
+            isbn, userId, UserRowMapper.isbnPattern(isbn)) == 1;
+    }
+
+    // Fines are added in place so a concurrent update to the user cannot lose them
+    @Override
+    public void recordReturn(String userId, String isbn, long fineCents) {
+        String sql = "UPDATE users SET active_loan_count = GREATEST(active_loan_count - 1, 0), " +
+                     "active_isbns = REPLACE(active_isbns, ?, ','), fines = fines + ? " +
+                     "WHERE user_id = ?";
+        JdbcQueries.update(sql, "Failed to record return", UserRowMapper.isbnToken(isbn),
+                Money.toDecimal(fineCents), userId);
+    }
+
+    // Sees zero rows updated when the user owes less than the payment
+    @Override
+    public boolean payFines(String userId, long amountCents) {
+        String sql = "UPDATE users SET fines = fines - ? WHERE user_id = ? AND fines >= ?";
+        BigDecimal amount = Money.toDecimal(amountCents);
+        return JdbcQueries.update(sql, "Failed to pay fines", amount, userId, amount) == 1;
+    }
 }
\ No newline at end of file
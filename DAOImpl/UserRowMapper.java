@@ -0,0 +1,70 @@
+package com.library.dao.impl;
+
+import com.library.entities.User;
+import com.library.utils.Money;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Maps users rows by position, like LoanRowMapper. The password hash is never part of COLUMNS;
+// authentication selects it as one extra trailing column.
+public final class UserRowMapper {
+    public static final String COLUMNS =
+            "user_id, first_name, last_name, user_type, email, phone_number, registration_date, " +
+            "date_of_birth, address, fines, is_active, active_loan_count, active_isbns";
+    static final int COLUMN_COUNT = 13;
+
+    private UserRowMapper() {
+    }
+
+    public static User map(ResultSet rs) throws SQLException {
+        User user = new User(
+            rs.getString(1),
+            rs.getString(2),
+            rs.getString(3),
+            User.UserType.valueOf(rs.getString(4))
+        );
+
+        user.setEmail(rs.getString(5));
+        user.setPhoneNumber(rs.getString(6));
+        user.setRegistrationDate(rs.getObject(7, LocalDate.class));
+        user.setDateOfBirth(rs.getObject(8, LocalDate.class));
+        user.setAddress(rs.getString(9));
+        user.setFineCents(Money.toCents(rs.getBigDecimal(10)));
+        user.setActive(rs.getBoolean(11));
+        user.setActiveLoanCount(rs.getInt(12));
+        user.setActiveIsbns(splitIsbns(rs.getString(13)));
+
+        return user;
+    }
+
+    // active_isbns holds the ISBNs on open loans as ",isbn1,isbn2," so one can be matched
+    // with LIKE '%,isbn,%' and removed with REPLACE
+    static String isbnPattern(String isbn) {
+        return "%," + isbn + ",%";
+    }
+
+    static String isbnToken(String isbn) {
+        return "," + isbn + ",";
+    }
+
+    private static List<String> splitIsbns(String value) {
+        List<String> isbns = new ArrayList<>();
+        if (value == null) {
+            return isbns;
+        }
+        int start = 0;
+        for (int i = 0; i <= value.length(); i++) {
+            if (i == value.length() || value.charAt(i) == ',') {
+                if (i > start) {
+                    isbns.add(value.substring(start, i));
+                }
+                start = i + 1;
+            }
+        }
+        return isbns;
+    }
+}
\ No newline at end of file
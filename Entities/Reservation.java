@@ -0,0 +1,69 @@
+package com.library.entities;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class Reservation {
+    private String reservationId;
+    private String isbn;
+    private String userId;
+    private LocalDateTime reservedAt;
+    private ReservationStatus status;
+    private LocalDate holdExpiresAt;
+
+    public enum ReservationStatus {
+        WAITING,   // In the queue for the next returned copy
+        READY,     // A copy is held for the user until holdExpiresAt
+        FULFILLED,
+        CANCELLED,
+        EXPIRED
+    }
+
+    public Reservation(String reservationId, String isbn, String userId) {
+        this(reservationId, isbn, userId, LocalDateTime.now(), ReservationStatus.WAITING, null);
+    }
+
+    // Rebuilds a persisted reservation
+    public Reservation(String reservationId, String isbn, String userId, LocalDateTime reservedAt,
+                       ReservationStatus status, LocalDate holdExpiresAt) {
+        this.reservationId = reservationId;
+        this.isbn = isbn;
+        this.userId = userId;
+        this.reservedAt = reservedAt;
+        this.status = status;
+        this.holdExpiresAt = holdExpiresAt;
+    }
+
+    public Reservation(Reservation other) {
+        this(other.reservationId, other.isbn, other.userId, other.reservedAt, other.status, other.holdExpiresAt);
+    }
+
+    // Getters and setters
+    public String getReservationId() { return reservationId; }
+    
+    public String getIsbn() { return isbn; }
+    
+    public String getUserId() { return userId; }
+    
+    public LocalDateTime getReservedAt() { return reservedAt; }
+    
+    public ReservationStatus getStatus() { return status; }
+    public void setStatus(ReservationStatus status) { this.status = status; }
+    
+    public LocalDate getHoldExpiresAt() { return holdExpiresAt; }
+    public void setHoldExpiresAt(LocalDate holdExpiresAt) { this.holdExpiresAt = holdExpiresAt; }
+
+    public boolean isOpen() {
+        return status == ReservationStatus.WAITING || status == ReservationStatus.READY;
+    }
+
+    @Override
+    public String toString() {
+        return "Reservation{" +
+                "isbn='" + isbn + '\'' +
+                ", user='" + userId + '\'' +
+                ", status=" + status +
+                (holdExpiresAt != null ? ", holdExpires=" + holdExpiresAt : "") +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.library.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Runs the suite with allocation profiling; pass a regex to select benchmarks, e.g. "DaoBenchmarks.search"
+public class BenchmarkRunner {
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "com\\.library\\.benchmark\\..*";
+        String[] scales = System.getProperty("bench.scales", "10000,100000,1000000").split(",");
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .param("scale", scales)
+                .threads(Integer.getInteger("bench.threads", 1))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty("bench.result", "benchmark-results.json"))
+                .build();
+
+        new Runner(options).run();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.library.benchmark;
+
+import com.library.utils.DatabaseConnection;
+import org.openjdk.jmh.annotations.Param;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// Shared base for benchmark states that need a seeded database. Each JMH fork is a fresh JVM,
+// so every scale gets its own in-memory database.
+public abstract class CatalogState {
+    @Param({"10000", "100000", "1000000"})
+    public int scale;
+
+    protected SyntheticCatalog catalog;
+
+    protected void seedCatalog() throws SQLException {
+        SyntheticCatalog.useEmbeddedDatabase("library_bench_" + scale);
+        catalog = new SyntheticCatalog(scale);
+        try (Connection connection = DatabaseConnection.getConnection()) {
+            catalog.createAndSeed(connection);
+        }
+    }
+
+    protected void closeCatalog() {
+        DatabaseConnection.closeConnection();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.library.benchmark;
+
+import com.library.dao.BookDAO;
+import com.library.dao.LoanDAO;
+import com.library.dao.impl.AvailabilityIndexedBookDAO;
+import com.library.dao.impl.BookDAOImpl;
+import com.library.dao.impl.ColumnarLoanDAO;
+import com.library.dao.impl.IndexedBookDAO;
+import com.library.dao.impl.LoanDAOImpl;
+import com.library.entities.Book;
+import com.library.entities.Loan;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// DAO read paths against the plain JDBC implementations, without the entity caches
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DaoBenchmarks {
+
+    @State(Scope.Benchmark)
+    public static class Daos extends CatalogState {
+        BookDAO likeBooks;
+        IndexedBookDAO indexedBooks;
+        AvailabilityIndexedBookDAO availabilityBooks;
+        LoanDAO loans;
+        ColumnarLoanDAO columnarLoans;
+
+        @Setup(Level.Trial)
+        public void setup() throws SQLException {
+            seedCatalog();
+            likeBooks = new BookDAOImpl();
+            indexedBooks = new IndexedBookDAO(likeBooks);
+            indexedBooks.rebuild();
+            availabilityBooks = new AvailabilityIndexedBookDAO(likeBooks, 60);
+            availabilityBooks.rebuild();
+            loans = new LoanDAOImpl();
+            columnarLoans = new ColumnarLoanDAO(loans, 3600);
+            columnarLoans.rebuild();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            closeCatalog();
+        }
+    }
+
+    @Benchmark
+    public List<Book> searchBooksLike(Daos daos) {
+        return daos.likeBooks.searchBooks(SyntheticCatalog.randomQuery(ThreadLocalRandom.current()));
+    }
+
+    @Benchmark
+    public List<Book> searchBooksIndexed(Daos daos) {
+        return daos.indexedBooks.searchBooks(SyntheticCatalog.randomQuery(ThreadLocalRandom.current()));
+    }
+
+    @Benchmark
+    public Optional<Book> getBookByIsbn(Daos daos) {
+        return daos.likeBooks.getBookByIsbn(daos.catalog.randomIsbn(ThreadLocalRandom.current()));
+    }
+
+    @Benchmark
+    public boolean isBookAvailableQuery(Daos daos) {
+        return daos.likeBooks.isBookAvailable(daos.catalog.randomIsbn(ThreadLocalRandom.current()));
+    }
+
+    @Benchmark
+    public boolean isBookAvailableIndexed(Daos daos) {
+        return daos.availabilityBooks.isBookAvailable(daos.catalog.randomIsbn(ThreadLocalRandom.current()));
+    }
+
+    @Benchmark
+    public List<Loan> getOverdueLoans(Daos daos) {
+        return daos.loans.getOverdueLoans();
+    }
+
+    @Benchmark
+    public List<Loan> getLoansPage(Daos daos) {
+        return daos.loans.getLoansPage(null, 100);
+    }
+
+    @Benchmark
+    public Map<String, Long> getMostBorrowedIsbns(Daos daos) {
+        return daos.loans.getMostBorrowedIsbns(10);
+    }
+
+    @Benchmark
+    public Map<String, Long> getMostBorrowedIsbnsColumnar(Daos daos) {
+        return daos.columnarLoans.getMostBorrowedIsbns(10);
+    }
+
+    @Benchmark
+    public Map<String, Long> getMostActiveUserIds(Daos daos) {
+        return daos.loans.getMostActiveUserIds(10);
+    }
+
+    @Benchmark
+    public Map<String, Long> getMostActiveUserIdsColumnar(Daos daos) {
+        return daos.columnarLoans.getMostActiveUserIds(10);
+    }
+
+    @Benchmark
+    public long getTotalFineCents(Daos daos) {
+        return daos.loans.getTotalFineCents();
+    }
+
+    @Benchmark
+    public long getTotalFineCentsColumnar(Daos daos) {
+        return daos.columnarLoans.getTotalFineCents();
+    }
+}
\ No newline at end of file
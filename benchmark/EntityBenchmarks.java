@@ -0,0 +1,69 @@
+package com.library.benchmark;
+
+import com.library.dao.impl.CompactBookCatalog;
+import com.library.entities.Author;
+import com.library.entities.Book;
+import com.library.utils.SearchIndex;
+import com.library.utils.SnowflakeIdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// In-memory hot paths that need no database
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityBenchmarks {
+
+    @State(Scope.Benchmark)
+    public static class Entities {
+        @Param({"10000", "100000", "1000000"})
+        public int scale;
+
+        final SnowflakeIdGenerator loanIds = new SnowflakeIdGenerator("LN", 0);
+        final SearchIndex index = new SearchIndex(3.0, 2.0, 4.0, 1.0);
+        final CompactBookCatalog catalog = new CompactBookCatalog();
+        Book book;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            Random random = new Random(5);
+            // The index holds one document per book, a tenth of the loan scale like the seeded catalogue
+            for (int i = 0; i < Math.max(100, scale / 10); i++) {
+                index.put(String.valueOf(i), SyntheticCatalog.randomQuery(random), "Ada Lovelace", String.valueOf(i),
+                        "A synthetic book about the " + SyntheticCatalog.randomQuery(random));
+            }
+
+            book = new Book("9780000000001", "Synthetic Book");
+            book.addAuthor(new Author("AU0000000001", "Ada", "Lovelace"));
+            book.addAuthor(new Author("AU0000000002", "Alan", "Turing"));
+            book.setQuantity(5);
+            catalog.put(book);
+        }
+    }
+
+    @Benchmark
+    public String nextLoanId(Entities entities) {
+        return entities.loanIds.nextId();
+    }
+
+    @Benchmark
+    public Book copyCachedBook(Entities entities) {
+        return new Book(entities.book);
+    }
+
+    @Benchmark
+    public Book copyCatalogBook(Entities entities) {
+        return entities.catalog.copy(entities.book.getIsbn());
+    }
+
+    @Benchmark
+    public List<String> searchIndex(Entities entities) {
+        return entities.index.search(SyntheticCatalog.randomQuery(ThreadLocalRandom.current()), 50);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.library.benchmark;
+
+import com.library.dao.impl.LoanRowMapper;
+import com.library.entities.Loan.LoanStatus;
+import com.library.utils.DatabaseConnection;
+import com.library.utils.JdbcStreams.RowMapper;
+import com.library.utils.Money;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+// Full scans of the loans table: SELECT * with getters by column name, as the DAOs used to map rows,
+// against LoanRowMapper's explicit columns read by position. One operation maps `scale` rows, so at
+// the largest scale each call maps 1M rows; gc.alloc.rate.norm / scale is the bytes allocated per row.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RowMappingBenchmarks {
+
+    @State(Scope.Benchmark)
+    public static class Loans extends CatalogState {
+        @Setup(Level.Trial)
+        public void setup() throws SQLException {
+            seedCatalog();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            closeCatalog();
+        }
+    }
+
+    @Benchmark
+    public int mapLoansByName(Loans loans, Blackhole blackhole) throws SQLException {
+        return scan("SELECT * FROM loans", RowMappingBenchmarks::mapLoanByName, blackhole);
+    }
+
+    @Benchmark
+    public int mapLoansByIndex(Loans loans, Blackhole blackhole) throws SQLException {
+        return scan("SELECT " + LoanRowMapper.COLUMNS + " FROM loans", LoanRowMapper::map, blackhole);
+    }
+
+    private static int scan(String sql, RowMapper<?> mapper, Blackhole blackhole) throws SQLException {
+        int rows = 0;
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(mapper.map(rs));
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    // The previous LoanDAOImpl mapping, kept as the baseline
+    private static LoanRowMapper.Row mapLoanByName(ResultSet rs) throws SQLException {
+        Date returnDate = rs.getDate("return_date");
+        return new LoanRowMapper.Row(
+            rs.getString("loan_id"),
+            rs.getString("book_isbn"),
+            rs.getString("user_id"),
+            rs.getDate("loan_date").toLocalDate(),
+            rs.getDate("due_date").toLocalDate(),
+            returnDate != null ? returnDate.toLocalDate() : null,
+            LoanStatus.valueOf(rs.getString("status")),
+            Money.toCents(rs.getBigDecimal("fine_amount"))
+        );
+    }
+}
\ No newline at end of file
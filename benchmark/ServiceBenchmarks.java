@@ -0,0 +1,77 @@
+package com.library.benchmark;
+
+import com.library.entities.Book;
+import com.library.entities.Loan;
+import com.library.services.LibraryService;
+import com.library.services.impl.LibraryServiceImpl;
+import com.library.utils.DatabaseConnection;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Service operations through the full stack, including the shared DAO caches
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmarks {
+
+    @State(Scope.Benchmark)
+    public static class Library extends CatalogState {
+        LibraryService service;
+
+        @Setup(Level.Trial)
+        public void setup() throws SQLException {
+            seedCatalog();
+            service = new LibraryServiceImpl();
+        }
+
+        // Checkout scans the borrower's history, so it is reset to keep iterations comparable
+        @TearDown(Level.Iteration)
+        public void clearBenchLoans() throws SQLException {
+            try (Connection connection = DatabaseConnection.getConnection()) {
+                connection.prepareStatement("DELETE FROM loans WHERE user_id LIKE '"
+                        + SyntheticCatalog.BENCH_USER_PREFIX + "%'").executeUpdate();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            closeCatalog();
+        }
+    }
+
+    // Each benchmark thread borrows as its own user, so threads never trip the duplicate-loan check
+    @State(Scope.Thread)
+    public static class Borrower {
+        private static final AtomicInteger NEXT_USER = new AtomicInteger();
+        String userId;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            userId = SyntheticCatalog.BENCH_USER_PREFIX + (NEXT_USER.getAndIncrement() % SyntheticCatalog.BENCH_USERS);
+        }
+    }
+
+    @Benchmark
+    public Loan checkoutAndReturn(Library library, Borrower borrower) throws Exception {
+        Loan loan = library.service.checkoutBook(SyntheticCatalog.BENCH_BOOK_ISBN, borrower.userId);
+        library.service.returnBook(loan.getLoanId());
+        return loan;
+    }
+
+    @Benchmark
+    public List<Book> getPopularBooks(Library library) {
+        return library.service.getPopularBooks(10);
+    }
+
+    @Benchmark
+    public long calculateTotalFineCents(Library library) {
+        return library.service.calculateTotalFineCents();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.library.benchmark;
+
+import com.library.dao.BookDAO;
+import com.library.dao.LoanDAO;
+import com.library.dao.UserDAO;
+import com.library.dao.impl.BookDAOImpl;
+import com.library.dao.impl.EmbeddedBookDAO;
+import com.library.dao.impl.EmbeddedLoanDAO;
+import com.library.dao.impl.EmbeddedStore;
+import com.library.dao.impl.EmbeddedUserDAO;
+import com.library.dao.impl.LoanDAOImpl;
+import com.library.dao.impl.UserDAOImpl;
+import com.library.entities.Book;
+import com.library.entities.Loan;
+import com.library.utils.AppendLog.FsyncPolicy;
+import com.library.utils.JdbcStreams;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// The same DAO calls against the JDBC implementations and the embedded store. The embedded store
+// is loaded from the seeded database, so both sides hold the same catalog; its writes are measured
+// under each fsync policy.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StorageBenchmarks {
+    private static final int COPY_BATCH_SIZE = 5_000;
+
+    @State(Scope.Benchmark)
+    public static class Jdbc extends CatalogState {
+        BookDAO books;
+        LoanDAO loans;
+
+        @Setup(Level.Trial)
+        public void setup() throws SQLException {
+            seedCatalog();
+            books = new BookDAOImpl();
+            loans = new LoanDAOImpl();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            closeCatalog();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Embedded extends CatalogState {
+        @Param({"ALWAYS", "INTERVAL", "NEVER"})
+        public String fsync;
+
+        Path directory;
+        EmbeddedStore store;
+        BookDAO books;
+        LoanDAO loans;
+
+        @Setup(Level.Trial)
+        public void setup() throws SQLException, IOException {
+            seedCatalog();
+            directory = Files.createTempDirectory("library-bench-store");
+            store = new EmbeddedStore(directory, FsyncPolicy.valueOf(fsync), 100, 10_000);
+            books = new EmbeddedBookDAO(store);
+            UserDAO users = new EmbeddedUserDAO(store);
+            loans = new EmbeddedLoanDAO(store);
+
+            copy(new BookDAOImpl().streamAllBooks(), batch -> books.addBooks(batch));
+            copy(new UserDAOImpl().streamAllUsers(), batch -> batch.forEach(users::addUser));
+            copy(new LoanDAOImpl().streamAllLoans(), batch -> batch.forEach(loans::addLoan));
+            store.snapshot();
+            closeCatalog();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            store.close();
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.delete(file);
+                }
+            }
+        }
+
+        private static <T> void copy(Stream<T> source, Consumer<List<T>> sink) {
+            try (source) {
+                JdbcStreams.batches(source, COPY_BATCH_SIZE).forEach(sink);
+            }
+        }
+    }
+
+    @Benchmark
+    public Optional<Book> getBookByIsbnJdbc(Jdbc jdbc) {
+        return jdbc.books.getBookByIsbn(jdbc.catalog.randomIsbn(ThreadLocalRandom.current()));
+    }
+
+    @Benchmark
+    public Optional<Book> getBookByIsbnEmbedded(Embedded embedded) {
+        return embedded.books.getBookByIsbn(embedded.catalog.randomIsbn(ThreadLocalRandom.current()));
+    }
+
+    @Benchmark
+    public List<Loan> getOverdueLoansJdbc(Jdbc jdbc) {
+        return jdbc.loans.getOverdueLoans();
+    }
+
+    @Benchmark
+    public List<Loan> getOverdueLoansEmbedded(Embedded embedded) {
+        return embedded.loans.getOverdueLoans();
+    }
+
+    // A checkout's stock update and its return, so stock is unchanged after each call
+    @Benchmark
+    public boolean takeAndReturnCopyJdbc(Jdbc jdbc) {
+        String isbn = jdbc.catalog.randomIsbn(ThreadLocalRandom.current());
+        return jdbc.books.decrementAvailableQuantity(isbn) && jdbc.books.incrementAvailableQuantity(isbn);
+    }
+
+    @Benchmark
+    public boolean takeAndReturnCopyEmbedded(Embedded embedded) {
+        String isbn = embedded.catalog.randomIsbn(ThreadLocalRandom.current());
+        return embedded.books.decrementAvailableQuantity(isbn) && embedded.books.incrementAvailableQuantity(isbn);
+    }
+}
\ No newline at end of file
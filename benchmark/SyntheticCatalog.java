@@ -0,0 +1,295 @@
+package com.library.benchmark;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Random;
+
+// Creates the library schema in an embedded H2 database and fills it with a reproducible synthetic
+// catalogue. Scale is the number of loans; books, users and authors are sized relative to it.
+public final class SyntheticCatalog {
+    public static final String BENCH_USER_PREFIX = "BENCHUSR";
+    public static final String BENCH_BOOK_ISBN = "BENCHBOOK0001";
+    public static final int BENCH_USERS = 64;
+
+    static final String[] WORDS = {
+        "history", "ancient", "modern", "physics", "garden", "ocean", "mountain", "silent", "empire",
+        "journey", "quantum", "river", "winter", "shadow", "kingdom", "machine", "forest", "desert",
+        "island", "comet", "harbor", "lantern", "meadow", "thunder", "velvet", "crystal", "orbit",
+        "canyon", "glacier", "compass", "archive", "signal", "mirror", "engine", "summit", "voyage"
+    };
+    private static final String[] FIRST_NAMES = {
+        "Ada", "Alan", "Grace", "Edsger", "Barbara", "Donald", "Frances", "Niklaus", "Margaret", "Dennis"
+    };
+    private static final String[] LAST_NAMES = {
+        "Lovelace", "Turing", "Hopper", "Dijkstra", "Liskov", "Knuth", "Allen", "Wirth", "Hamilton", "Ritchie"
+    };
+    private static final String[] USER_TYPES = {"STUDENT", "FACULTY", "STAFF", "VISITOR"};
+    private static final int BATCH_SIZE = 5_000;
+
+    private final int loanCount;
+    private final int bookCount;
+    private final int userCount;
+    private final int authorCount;
+    private final LocalDate today = LocalDate.now();
+
+    public SyntheticCatalog(int scale) {
+        this.loanCount = scale;
+        this.bookCount = Math.max(100, scale / 10);
+        this.userCount = Math.max(50, scale / 20);
+        this.authorCount = Math.max(25, bookCount / 4);
+    }
+
+    // Points DatabaseConnection at a private in-memory database; must run before it is first used
+    public static void useEmbeddedDatabase(String name) {
+        System.setProperty("db.driver", "org.h2.Driver");
+        System.setProperty("db.url", "jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        System.setProperty("db.username", "sa");
+        System.setProperty("db.password", "");
+        // MySQL-only driver options that H2 would reject
+        System.setProperty("db.pool.statementCacheSize", "0");
+        System.setProperty("db.stream.cursorFetch", "false");
+    }
+
+    public void createAndSeed(Connection connection) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            createSchema(connection);
+            seedAuthors(connection);
+            seedBooks(connection);
+            seedUsers(connection);
+            seedLoans(connection);
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    public String isbn(int index) {
+        return String.format("978%010d", index);
+    }
+
+    public String userId(int index) {
+        return String.format("BU%010d", index);
+    }
+
+    public String randomIsbn(Random random) {
+        return isbn(random.nextInt(bookCount));
+    }
+
+    public static String randomQuery(Random random) {
+        return WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private void createSchema(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE genres (genre_id VARCHAR(20) PRIMARY KEY, name VARCHAR(100) NOT NULL, " +
+                         "description TEXT)");
+            stmt.execute("CREATE TABLE authors (author_id VARCHAR(20) PRIMARY KEY, first_name VARCHAR(100) NOT NULL, " +
+                         "last_name VARCHAR(100) NOT NULL, date_of_birth DATE, nationality VARCHAR(100), biography TEXT)");
+            stmt.execute("CREATE TABLE books (isbn VARCHAR(20) PRIMARY KEY, title VARCHAR(255) NOT NULL, " +
+                         "publication_date DATE, quantity INT DEFAULT 1, available_quantity INT DEFAULT 1, " +
+                         "publisher VARCHAR(100), edition INT, description TEXT, language VARCHAR(50) DEFAULT 'English', " +
+                         "page_count INT, is_reference_only BOOLEAN DEFAULT FALSE, genre_id VARCHAR(20))");
+            stmt.execute("CREATE TABLE book_authors (book_isbn VARCHAR(20) NOT NULL, author_id VARCHAR(20) NOT NULL, " +
+                         "PRIMARY KEY (book_isbn, author_id))");
+            stmt.execute("CREATE TABLE users (user_id VARCHAR(20) PRIMARY KEY, first_name VARCHAR(100) NOT NULL, " +
+                         "last_name VARCHAR(100) NOT NULL, email VARCHAR(255), phone_number VARCHAR(20), " +
+                         "registration_date DATE NOT NULL, date_of_birth DATE, address TEXT, " +
+                         "user_type VARCHAR(10) NOT NULL, max_books_allowed INT NOT NULL, " +
+                         "fines DECIMAL(10,2) DEFAULT 0.00, is_active BOOLEAN DEFAULT TRUE, " +
+                         "password_hash VARCHAR(255) NOT NULL, active_loan_count INT DEFAULT 0 NOT NULL, " +
+                         "active_isbns VARCHAR(65535) DEFAULT ',' NOT NULL)");
+            stmt.execute("CREATE TABLE loans (loan_id VARCHAR(20) PRIMARY KEY, book_isbn VARCHAR(20) NOT NULL, " +
+                         "user_id VARCHAR(20) NOT NULL, loan_date DATE NOT NULL, due_date DATE NOT NULL, " +
+                         "return_date DATE, status VARCHAR(10) NOT NULL, fine_amount DECIMAL(10,2) DEFAULT 0.00, notes TEXT)");
+            stmt.execute("CREATE TABLE reservations (reservation_id VARCHAR(20) PRIMARY KEY, " +
+                         "book_isbn VARCHAR(20) NOT NULL, user_id VARCHAR(20) NOT NULL, reserved_at TIMESTAMP NOT NULL, " +
+                         "status VARCHAR(10) NOT NULL, hold_expires_at DATE)");
+            stmt.execute("CREATE TABLE audit_log (log_id BIGINT PRIMARY KEY AUTO_INCREMENT, " +
+                         "table_name VARCHAR(50) NOT NULL, record_id VARCHAR(50) NOT NULL, action VARCHAR(10) NOT NULL, " +
+                         "changed_by VARCHAR(20), changed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                         "old_value TEXT, new_value TEXT)");
+            stmt.execute("CREATE INDEX idx_loans_user_status ON loans(user_id, status)");
+            stmt.execute("CREATE INDEX idx_loans_book ON loans(book_isbn)");
+            stmt.execute("CREATE INDEX idx_loans_due_date ON loans(due_date)");
+            stmt.execute("CREATE INDEX idx_loans_status ON loans(status)");
+            stmt.execute("CREATE INDEX idx_loans_status_due ON loans(status, due_date)");
+            stmt.execute("CREATE INDEX idx_books_title ON books(title)");
+            stmt.execute("CREATE INDEX idx_book_authors_author ON book_authors(author_id)");
+            stmt.execute("CREATE INDEX idx_reservations_book ON reservations(book_isbn, status)");
+            stmt.execute("CREATE INDEX idx_reservations_user ON reservations(user_id)");
+        }
+    }
+
+    private void seedAuthors(Connection connection) throws SQLException {
+        String sql = "INSERT INTO authors (author_id, first_name, last_name, nationality) VALUES (?, ?, ?, ?)";
+        Random random = new Random(1);
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (int i = 0; i < authorCount; i++) {
+                stmt.setString(1, authorId(i));
+                stmt.setString(2, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+                stmt.setString(3, LAST_NAMES[random.nextInt(LAST_NAMES.length)] + i);
+                stmt.setString(4, "Synthetic");
+                addToBatch(stmt, i);
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private void seedBooks(Connection connection) throws SQLException {
+        String bookSql = "INSERT INTO books (isbn, title, publication_date, quantity, available_quantity, publisher, " +
+                         "edition, description, language, page_count, is_reference_only) " +
+                         "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String authorSql = "INSERT INTO book_authors (book_isbn, author_id) VALUES (?, ?)";
+        Random random = new Random(2);
+
+        try (PreparedStatement books = connection.prepareStatement(bookSql);
+             PreparedStatement bookAuthors = connection.prepareStatement(authorSql)) {
+            for (int i = 0; i <= bookCount; i++) {
+                // The extra book has effectively unlimited stock for checkout benchmarks
+                boolean benchBook = i == bookCount;
+                String isbn = benchBook ? BENCH_BOOK_ISBN : isbn(i);
+                books.setString(1, isbn);
+                books.setString(2, randomQuery(random) + " " + WORDS[random.nextInt(WORDS.length)]);
+                books.setDate(3, Date.valueOf(today.minusDays(random.nextInt(20_000))));
+                books.setInt(4, benchBook ? 1_000_000 : 5);
+                books.setInt(5, benchBook ? 1_000_000 : 5);
+                books.setString(6, "Synthetic Press");
+                books.setInt(7, 1 + random.nextInt(5));
+                books.setString(8, "A synthetic book about the " + randomQuery(random));
+                books.setString(9, "English");
+                books.setInt(10, 100 + random.nextInt(900));
+                books.setBoolean(11, false);
+                addToBatch(books, i);
+
+                int authors = 1 + random.nextInt(3);
+                int firstAuthor = random.nextInt(authorCount);
+                for (int a = 0; a < authors; a++) {
+                    bookAuthors.setString(1, isbn);
+                    bookAuthors.setString(2, authorId((firstAuthor + a) % authorCount));
+                    addToBatch(bookAuthors, i * 3 + a);
+                }
+            }
+            books.executeBatch();
+            bookAuthors.executeBatch();
+        }
+    }
+
+    private void seedUsers(Connection connection) throws SQLException {
+        String sql = "INSERT INTO users (user_id, first_name, last_name, email, registration_date, user_type, " +
+                     "max_books_allowed, fines, is_active, password_hash) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        Random random = new Random(3);
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (int i = 0; i < userCount + BENCH_USERS; i++) {
+                // Benchmark users are faculty with no history, so checkouts are never refused
+                boolean benchUser = i >= userCount;
+                String userId = benchUser ? BENCH_USER_PREFIX + (i - userCount) : userId(i);
+                String type = benchUser ? "FACULTY" : USER_TYPES[random.nextInt(USER_TYPES.length)];
+                stmt.setString(1, userId);
+                stmt.setString(2, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+                stmt.setString(3, LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+                stmt.setString(4, userId.toLowerCase() + "@example.edu");
+                stmt.setDate(5, Date.valueOf(today.minusDays(random.nextInt(3_000))));
+                stmt.setString(6, type);
+                stmt.setInt(7, 10);
+                stmt.setDouble(8, 0.0);
+                stmt.setBoolean(9, true);
+                stmt.setString(10, "synthetic");
+                addToBatch(stmt, i);
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    // Roughly 85% returned, 12% active and 3% active but past due
+    private void seedLoans(Connection connection) throws SQLException {
+        String sql = "INSERT INTO loans (loan_id, book_isbn, user_id, loan_date, due_date, return_date, status, " +
+                     "fine_amount) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        Random random = new Random(4);
+        int[] activeCounts = new int[userCount];
+        StringBuilder[] activeIsbns = new StringBuilder[userCount];
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (int i = 0; i < loanCount; i++) {
+                int roll = random.nextInt(100);
+                LocalDate loanDate;
+                LocalDate returnDate = null;
+                String status;
+                double fine = 0.0;
+                if (roll < 85) {
+                    loanDate = today.minusDays(15 + random.nextInt(730));
+                    returnDate = loanDate.plusDays(1 + random.nextInt(20));
+                    status = "RETURNED";
+                    fine = returnDate.isAfter(loanDate.plusDays(14)) ? 0.5 * (random.nextInt(6) + 1) : 0.0;
+                } else if (roll < 97) {
+                    loanDate = today.minusDays(random.nextInt(14));
+                    status = "ACTIVE";
+                } else {
+                    loanDate = today.minusDays(15 + random.nextInt(60));
+                    status = "ACTIVE";
+                }
+
+                String isbn = isbn(skewedIndex(random, bookCount));
+                int user = skewedIndex(random, userCount);
+                if (returnDate == null) {
+                    activeCounts[user]++;
+                    if (activeIsbns[user] == null) {
+                        activeIsbns[user] = new StringBuilder(",");
+                    }
+                    activeIsbns[user].append(isbn).append(',');
+                }
+
+                stmt.setString(1, String.format("SL%012d", i));
+                stmt.setString(2, isbn);
+                stmt.setString(3, userId(user));
+                stmt.setDate(4, Date.valueOf(loanDate));
+                stmt.setDate(5, Date.valueOf(loanDate.plusDays(14)));
+                stmt.setDate(6, returnDate != null ? Date.valueOf(returnDate) : null);
+                stmt.setString(7, status);
+                stmt.setDouble(8, fine);
+                addToBatch(stmt, i);
+            }
+            stmt.executeBatch();
+        }
+        seedLoanCounters(connection, activeCounts, activeIsbns);
+    }
+
+    // The per-user counters the service keeps in step with checkouts and returns
+    private void seedLoanCounters(Connection connection, int[] activeCounts, StringBuilder[] activeIsbns)
+            throws SQLException {
+        String sql = "UPDATE users SET active_loan_count = ?, active_isbns = ? WHERE user_id = ?";
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            int row = 0;
+            for (int user = 0; user < userCount; user++) {
+                if (activeCounts[user] > 0) {
+                    stmt.setInt(1, activeCounts[user]);
+                    stmt.setString(2, activeIsbns[user].toString());
+                    stmt.setString(3, userId(user));
+                    addToBatch(stmt, row++);
+                }
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    // A few popular titles and heavy borrowers, like a real circulation history
+    private static int skewedIndex(Random random, int bound) {
+        double u = random.nextDouble();
+        return (int) (bound * u * u);
+    }
+
+    private static String authorId(int index) {
+        return String.format("AU%010d", index);
+    }
+
+    private static void addToBatch(PreparedStatement stmt, int row) throws SQLException {
+        stmt.addBatch();
+        if ((row + 1) % BATCH_SIZE == 0) {
+            stmt.executeBatch();
+        }
+    }
+}
\ No newline at end of file
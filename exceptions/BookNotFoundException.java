@@ -1,15 +1,15 @@
-package com.library.exceptions;
-
-public class BookNotFoundException extends Exception {
-    public BookNotFoundException() {
-        super();
-    }
-
-    public BookNotFoundException(String message) {
-        super(message);
-    }
-
-    public BookNotFoundException(String message, Throwable cause) {
-        super(message, cause);
-    }
+package com.library.exceptions;
+
+public class BookNotFoundException extends Exception {
+    public BookNotFoundException() {
+        super();
+    }
+
+    public BookNotFoundException(String message) {
+        super(message);
+    }
+
+    public BookNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
\ No newline at end of file
@@ -1,15 +1,15 @@
-package com.library.exceptions;
-
-public class LoanException extends Exception {
-    public LoanException() {
-        super();
-    }
-
-    public LoanException(String message) {
-        super(message);
-    }
-
-    public LoanException(String message, Throwable cause) {
-        super(message, cause);
-    }
+package com.library.exceptions;
+
+public class LoanException extends Exception {
+    public LoanException() {
+        super();
+    }
+
+    public LoanException(String message) {
+        super(message);
+    }
+
+    public LoanException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
\ No newline at end of file
@@ -1,15 +1,15 @@
-package com.library.exceptions;
-
-public class UserNotFoundException extends Exception {
-    public UserNotFoundException() {
-        super();
-    }
-
-    public UserNotFoundException(String message) {
-        super(message);
-    }
-
-    public UserNotFoundException(String message, Throwable cause) {
-        super(message, cause);
-    }
+package com.library.exceptions;
+
+public class UserNotFoundException extends Exception {
+    public UserNotFoundException() {
+        super();
+    }
+
+    public UserNotFoundException(String message) {
+        super(message);
+    }
+
+    public UserNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.library.services;
+
+import com.library.entities.Book;
+import com.library.entities.Loan;
+import com.library.entities.User;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// Non-blocking variants of the LibraryService calls the desktop screens make. Failures, including
+// BookNotFoundException, UserNotFoundException and LoanException, complete the future exceptionally.
+public interface AsyncLibraryService {
+    CompletableFuture<Book> findBookByIsbn(String isbn);
+    CompletableFuture<List<Book>> searchBooks(String query);
+    CompletableFuture<User> getUserDetails(String userId);
+    
+    CompletableFuture<Loan> checkoutBook(String isbn, String userId);
+    CompletableFuture<Void> returnBook(String loanId);
+    CompletableFuture<Void> renewLoan(String loanId);
+    CompletableFuture<List<Loan>> getUserLoans(String userId);
+    CompletableFuture<List<Loan>> getOverdueLoans();
+    CompletableFuture<List<Loan>> getLoansPage(Loan.LoanStatus status, String afterLoanId, int limit);
+    CompletableFuture<Integer> countLoans(Loan.LoanStatus status);
+    
+    CompletableFuture<List<Book>> getPopularBooks(int limit);
+    CompletableFuture<List<User>> getActiveUsers(int limit);
+    CompletableFuture<Long> calculateTotalFineCents();
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.library.services;
+
+import com.library.entities.Book;
+import com.library.exceptions.BookNotFoundException;
+import java.util.List;
+
+public interface BookService {
+    void addBook(Book book);
+    Book getBookByIsbn(String isbn) throws BookNotFoundException;
+    List<Book> getAllBooks();
+    List<Book> getBooksPage(String afterIsbn, int limit);
+    int countBooks();
+    List<Book> searchBooks(String query);
+    void updateBook(Book book) throws BookNotFoundException;
+    void deleteBook(String isbn) throws BookNotFoundException;
+    boolean isBookAvailable(String isbn);
+    int getAvailableQuantity(String isbn);
+    List<Book> getBooksByAuthor(String authorName);
+    List<Book> getBooksByGenre(String genreId);
+    List<Book> getNewArrivals(int limit);
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.library.services;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+public interface CatalogImportService {
+    ImportResult importBooks(Path csvFile, ProgressListener listener) throws IOException;
+
+    // Called on the importing thread after every committed chunk
+    interface ProgressListener {
+        void onProgress(long recordsProcessed, long booksImported, long recordsSkipped);
+    }
+
+    class ImportResult {
+        private final long recordsProcessed;
+        private final long booksImported;
+        private final long duplicates;
+        private final long invalidRecords;
+        private final List<String> errors;
+
+        public ImportResult(long recordsProcessed, long booksImported, long duplicates, long invalidRecords,
+                            List<String> errors) {
+            this.recordsProcessed = recordsProcessed;
+            this.booksImported = booksImported;
+            this.duplicates = duplicates;
+            this.invalidRecords = invalidRecords;
+            this.errors = errors;
+        }
+
+        public long getRecordsProcessed() { return recordsProcessed; }
+        public long getBooksImported() { return booksImported; }
+        public long getDuplicates() { return duplicates; }
+        public long getInvalidRecords() { return invalidRecords; }
+        public List<String> getErrors() { return errors; }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.library.services;
+
+import com.library.dao.BookDAO;
+import com.library.dao.impl.DAOFactory;
+import com.library.entities.Author;
+import com.library.entities.Book;
+import com.library.services.impl.CatalogImportServiceImpl;
+import com.library.utils.DatabaseConnection;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CatalogImportServiceTest {
+    private final String testIsbnPrefix = "97900000";
+    private final String testAuthorLastName = "Importtest";
+    private CatalogImportService importService;
+    private BookDAO bookDAO;
+    private Path csvFile;
+
+    @BeforeAll
+    void setup() throws IOException, SQLException {
+        importService = new CatalogImportServiceImpl();
+        bookDAO = DAOFactory.getBookDAO();
+        csvFile = Files.createTempFile("catalog-import", ".csv");
+        Files.write(csvFile, Arrays.asList(
+            "isbn,title,authors,publisher,publication_date,quantity",
+            "979-0-000000-01-1,\"Imports, Part One\",Ada Importtest;\"Importtest, Grace\",Test Press,2020-01-15,2",
+            "9790000000028,Imports Part Two,Ada Importtest,Test Press,2021-03-01,1",
+            "979-0-000000-01-1,Imports Part One Again,Ada Importtest,Test Press,2020-01-15,1",
+            "not-an-isbn,Broken Record,,,,",
+            "9790000000035,Imports Part Three,,,,"), StandardCharsets.UTF_8);
+        deleteTestData();
+    }
+
+    @AfterAll
+    void tearDown() throws IOException, SQLException {
+        deleteTestData();
+        Files.deleteIfExists(csvFile);
+        DatabaseConnection.closeConnection();
+    }
+
+    @BeforeEach
+    void clean() throws SQLException {
+        deleteTestData();
+    }
+
+    private void deleteTestData() throws SQLException {
+        try (Connection connection = DatabaseConnection.getConnection()) {
+            connection.prepareStatement("DELETE FROM book_authors WHERE book_isbn LIKE '" + testIsbnPrefix + "%'").executeUpdate();
+            connection.prepareStatement("DELETE FROM books WHERE isbn LIKE '" + testIsbnPrefix + "%'").executeUpdate();
+            connection.prepareStatement("DELETE FROM authors WHERE last_name = '" + testAuthorLastName + "'").executeUpdate();
+        }
+    }
+
+    @Test
+    void testImportValidatesAndDeduplicates() throws IOException {
+        List<Long> progress = new ArrayList<>();
+        CatalogImportService.ImportResult result =
+            importService.importBooks(csvFile, (processed, imported, skipped) -> progress.add(processed));
+
+        assertEquals(5, result.getRecordsProcessed(), "Every record should be processed");
+        assertEquals(3, result.getBooksImported(), "Three distinct valid books should be imported");
+        assertEquals(1, result.getDuplicates(), "The repeated ISBN should be counted as a duplicate");
+        assertEquals(1, result.getInvalidRecords(), "The bad ISBN should be rejected");
+        assertTrue(result.getErrors().get(0).startsWith("Line 5"), "Errors should name the offending line");
+        assertEquals(Long.valueOf(5), progress.get(progress.size() - 1), "Progress should reach the last record");
+        assertFalse(Files.exists(csvFile.resolveSibling(csvFile.getFileName() + ".checkpoint")),
+            "A finished import should remove its checkpoint");
+
+        Optional<Book> book = bookDAO.getBookByIsbn("9790000000011");
+        assertTrue(book.isPresent(), "Hyphenated ISBNs should be stored normalized");
+        assertEquals("Imports, Part One", book.get().getTitle(), "Quoted titles should keep their commas");
+        assertEquals(2, book.get().getAvailableQuantity(), "Quantity should be imported");
+        assertEquals(2, book.get().getAuthors().size(), "Both authors should be linked");
+
+        String sharedAuthorId = book.get().getAuthors().stream()
+            .filter(a -> a.getFirstName().equals("Ada")).map(Author::getAuthorId).findFirst().orElse(null);
+        Book second = bookDAO.getBookByIsbn("9790000000028").orElseThrow(AssertionError::new);
+        assertEquals(sharedAuthorId, second.getAuthors().iterator().next().getAuthorId(),
+            "An author named twice should be created once");
+    }
+
+    @Test
+    void testReimportSkipsExistingBooks() throws IOException {
+        importService.importBooks(csvFile, null);
+        CatalogImportService.ImportResult again = importService.importBooks(csvFile, null);
+
+        assertEquals(0, again.getBooksImported(), "Nothing new should be imported the second time");
+        assertEquals(4, again.getDuplicates(), "Every valid record should be reported as a duplicate");
+    }
+
+    @Test
+    void testResumesFromCheckpoint() throws IOException {
+        Path checkpoint = csvFile.resolveSibling(csvFile.getFileName() + ".checkpoint");
+        Files.write(checkpoint, "2".getBytes(StandardCharsets.UTF_8));
+
+        CatalogImportService.ImportResult result = importService.importBooks(csvFile, null);
+
+        assertEquals(5, result.getRecordsProcessed(), "Processed count should include the checkpointed records");
+        assertEquals(2, result.getBooksImported(), "Only records after the checkpoint should be imported");
+        assertFalse(bookDAO.getBookByIsbn("9790000000028").isPresent(), "Checkpointed records should be skipped");
+        assertTrue(bookDAO.getBookByIsbn("9790000000035").isPresent(), "Records after the checkpoint should load");
+    }
+}
\ No newline at end of file
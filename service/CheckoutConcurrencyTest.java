@@ -0,0 +1,150 @@
+package com.library.services;
+
+import com.library.entities.Book;
+import com.library.entities.Loan;
+import com.library.entities.User;
+import com.library.exceptions.BookNotFoundException;
+import com.library.exceptions.LoanException;
+import com.library.exceptions.UserNotFoundException;
+import com.library.services.impl.LibraryServiceImpl;
+import com.library.utils.DatabaseConnection;
+import com.library.utils.JdbcQueries;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CheckoutConcurrencyTest {
+    private static final int COPIES = 5;
+    private static final int THREADS = 32;
+
+    private LibraryService libraryService;
+    private final String testIsbn = "TESTCONCBK1";
+    private final String testUserPrefix = "TESTCONCUS";
+
+    @BeforeAll
+    void setup() {
+        libraryService = new LibraryServiceImpl();
+    }
+
+    // Users are registered afresh for every test, which also drops them from the user cache, so no
+    // test starts with loans or held ISBNs left on its users by the one before
+    @BeforeEach
+    void resetTestData() {
+        deleteTestData();
+
+        for (int i = 0; i < THREADS; i++) {
+            libraryService.registerNewUser(new User(testUserPrefix + i, "Concurrent", "User" + i, User.UserType.FACULTY));
+        }
+
+        Book book = new Book(testIsbn, "Concurrency Test Book");
+        book.setQuantity(COPIES);
+        book.setAvailableQuantity(COPIES);
+        libraryService.addNewBook(book);
+    }
+
+    @AfterAll
+    void tearDown() {
+        deleteTestData();
+        DatabaseConnection.closeConnection();
+    }
+
+    private void deleteTestData() {
+        JdbcQueries.update("DELETE FROM loans WHERE book_isbn = ?", "Failed to delete test loans", testIsbn);
+        JdbcQueries.update("DELETE FROM books WHERE isbn = ?", "Failed to delete test book", testIsbn);
+        JdbcQueries.update("DELETE FROM users WHERE user_id LIKE ?", "Failed to delete test users", testUserPrefix + "%");
+    }
+
+    @Test
+    void testConcurrentCheckoutNeverOversells() throws Exception {
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger rejections = new AtomicInteger();
+
+        runConcurrently(THREADS, i -> {
+            try {
+                libraryService.checkoutBook(testIsbn, testUserPrefix + i);
+                successes.incrementAndGet();
+            } catch (LoanException e) {
+                rejections.incrementAndGet();
+            }
+        });
+
+        assertEquals(COPIES, successes.get(), "Exactly one checkout per copy should succeed");
+        assertEquals(THREADS - COPIES, rejections.get(), "Every other checkout should be rejected");
+        assertEquals(0, libraryService.findBookByIsbn(testIsbn).getAvailableQuantity(),
+            "No stock should remain and none should be oversold");
+    }
+
+    @Test
+    void testConcurrentReturnsRestoreStockOnce() throws Exception {
+        Loan loan = libraryService.checkoutBook(testIsbn, testUserPrefix + 0);
+        AtomicInteger successes = new AtomicInteger();
+
+        runConcurrently(THREADS, i -> {
+            try {
+                libraryService.returnBook(loan.getLoanId());
+                successes.incrementAndGet();
+            } catch (LoanException e) {
+                // Expected for every return after the first
+            }
+        });
+
+        assertEquals(1, successes.get(), "Only one return of the same loan should succeed");
+        assertEquals(COPIES, libraryService.findBookByIsbn(testIsbn).getAvailableQuantity(),
+            "Stock should be restored exactly once");
+    }
+
+    @Test
+    void testCheckoutReturnChurnKeepsStockConsistent() throws Exception {
+        runConcurrently(THREADS, i -> {
+            for (int round = 0; round < 10; round++) {
+                try {
+                    Loan loan = libraryService.checkoutBook(testIsbn, testUserPrefix + i);
+                    libraryService.returnBook(loan.getLoanId());
+                } catch (LoanException e) {
+                    // Out of stock at this instant; try again next round
+                }
+            }
+        });
+
+        assertEquals(COPIES, libraryService.findBookByIsbn(testIsbn).getAvailableQuantity(),
+            "All copies should be back on the shelf after the churn");
+    }
+
+    private void runConcurrently(int threads, ConcurrentTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < threads; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(index);
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface ConcurrentTask {
+        void run(int index) throws BookNotFoundException, UserNotFoundException, LoanException;
+    }
+}
\ No newline at end of file
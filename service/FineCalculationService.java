@@ -0,0 +1,11 @@
+package com.library.services;
+
+import com.library.entities.Loan;
+import com.library.entities.User;
+import java.time.LocalDate;
+
+public interface FineCalculationService {
+    long getDailyRateCents(User.UserType userType);
+    long calculateFineCents(Loan loan, LocalDate asOf);
+    int accrueOverdueFines(LocalDate asOf);
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.library.services;
+
+import com.library.entities.Book;
+import com.library.entities.Loan;
+import com.library.entities.User;
+import com.library.services.impl.FineCalculationServiceImpl;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FineCalculationServiceTest {
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 1);
+
+    private final FineCalculationService fines = new FineCalculationServiceImpl(null);
+
+    private static Loan loanDue(LocalDate dueDate, User.UserType userType) {
+        return new Loan("LN1", new Book("ISBN1", "Fines"), new User("U1", "Fine", "Test", userType),
+                dueDate.minusDays(14), dueDate, null, Loan.LoanStatus.OVERDUE, 0);
+    }
+
+    @Test
+    void testRatesDependOnUserType() {
+        for (User.UserType type : User.UserType.values()) {
+            assertTrue(fines.getDailyRateCents(type) >= 0, "Every user type should have a rate");
+        }
+        assertTrue(fines.getDailyRateCents(User.UserType.FACULTY) < fines.getDailyRateCents(User.UserType.STUDENT),
+            "Faculty should pay a reduced rate");
+    }
+
+    @Test
+    void testFineCoversDaysPastDue() {
+        long studentRate = fines.getDailyRateCents(User.UserType.STUDENT);
+        assertEquals(0, fines.calculateFineCents(loanDue(TODAY, User.UserType.STUDENT), TODAY),
+            "Nothing is owed on the due date");
+        assertEquals(0, fines.calculateFineCents(loanDue(TODAY.plusDays(3), User.UserType.STUDENT), TODAY));
+        assertEquals(4 * studentRate, fines.calculateFineCents(loanDue(TODAY.minusDays(4), User.UserType.STUDENT), TODAY));
+        assertEquals(4 * fines.getDailyRateCents(User.UserType.VISITOR),
+            fines.calculateFineCents(loanDue(TODAY.minusDays(4), User.UserType.VISITOR), TODAY));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.library.services;
+
+import com.library.entities.Reservation;
+import com.library.exceptions.BookNotFoundException;
+import com.library.exceptions.LoanException;
+import com.library.exceptions.UserNotFoundException;
+import java.util.List;
+import java.util.Optional;
+
+public interface ReservationService {
+    Reservation placeHold(String isbn, String userId) throws BookNotFoundException, UserNotFoundException, LoanException;
+    void cancelHold(String reservationId) throws LoanException;
+    List<Reservation> getUserReservations(String userId);
+    boolean isBookRequested(String isbn);
+    int getQueueLength(String isbn);
+    Optional<Reservation> allocateReturnedCopy(String isbn);
+    boolean claimHold(String isbn, String userId);
+    int expireHolds();
+}
\ No newline at end of file
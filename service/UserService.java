@@ -1,16 +1,21 @@
-package com.library.services;
-
-import com.library.entities.User;
-import java.util.List;
-
-public interface UserService {
-    void registerUser(User user);
-    User authenticateUser(String userId, String password);
-    User getUserProfile(String userId);
-    void updateUserProfile(User user);
-    void changeUserStatus(String userId, boolean active);
-    List<User> searchUsers(String query);
-    List<User> getAllUsers();
-    double getUserFines(String userId);
-    void payUserFines(String userId, double amount);
+package com.library.services;
+
+import com.library.entities.User;
+import com.library.exceptions.UserNotFoundException;
+import java.util.List;
+
+public interface UserService {
+    void registerUser(User user);
+    void registerUser(User user, String password);
+    User authenticateUser(String userId, String password);
+    void changePassword(String userId, String newPassword) throws UserNotFoundException;
+    User getUserProfile(String userId);
+    void updateUserProfile(User user);
+    void changeUserStatus(String userId, boolean active);
+    List<User> searchUsers(String query);
+    List<User> getAllUsers();
+    List<User> getUsersPage(String afterUserId, int limit);
+    int countUsers();
+    long getUserFineCents(String userId);
+    void payUserFines(String userId, long amountCents);
 }
\ No newline at end of file
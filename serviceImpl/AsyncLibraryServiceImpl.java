@@ -0,0 +1,99 @@
+package com.library.services.impl;
+
+import com.library.entities.Book;
+import com.library.entities.Loan;
+import com.library.entities.User;
+import com.library.services.AsyncLibraryService;
+import com.library.services.LibraryService;
+import com.library.utils.AsyncExecutor;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// Runs each LibraryService call through the shared AsyncExecutor, so screens can fire many lookups
+// at once without blocking the EDT or holding more connections than the pool has. Every future times
+// out after async.timeoutMs; cancelling one drops the call if it has not reached the database yet.
+public class AsyncLibraryServiceImpl implements AsyncLibraryService {
+    private final LibraryService libraryService;
+    private final AsyncExecutor executor;
+
+    public AsyncLibraryServiceImpl() {
+        this(new LibraryServiceImpl(), AsyncExecutor.getInstance());
+    }
+
+    public AsyncLibraryServiceImpl(LibraryService libraryService, AsyncExecutor executor) {
+        this.libraryService = libraryService;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Book> findBookByIsbn(String isbn) {
+        return executor.submit(() -> libraryService.findBookByIsbn(isbn));
+    }
+
+    @Override
+    public CompletableFuture<List<Book>> searchBooks(String query) {
+        return executor.submit(() -> libraryService.searchBooks(query));
+    }
+
+    @Override
+    public CompletableFuture<User> getUserDetails(String userId) {
+        return executor.submit(() -> libraryService.getUserDetails(userId));
+    }
+
+    @Override
+    public CompletableFuture<Loan> checkoutBook(String isbn, String userId) {
+        return executor.submit(() -> libraryService.checkoutBook(isbn, userId));
+    }
+
+    @Override
+    public CompletableFuture<Void> returnBook(String loanId) {
+        return executor.submit(() -> {
+            libraryService.returnBook(loanId);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> renewLoan(String loanId) {
+        return executor.submit(() -> {
+            libraryService.renewLoan(loanId);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<Loan>> getUserLoans(String userId) {
+        return executor.submit(() -> libraryService.getUserLoans(userId));
+    }
+
+    @Override
+    public CompletableFuture<List<Loan>> getOverdueLoans() {
+        return executor.submit(libraryService::getOverdueLoans);
+    }
+
+    @Override
+    public CompletableFuture<List<Loan>> getLoansPage(Loan.LoanStatus status, String afterLoanId, int limit) {
+        return executor.submit(() -> libraryService.getLoansPage(status, afterLoanId, limit));
+    }
+
+    @Override
+    public CompletableFuture<Integer> countLoans(Loan.LoanStatus status) {
+        return executor.submit(() -> libraryService.countLoans(status));
+    }
+
+    @Override
+    public CompletableFuture<List<Book>> getPopularBooks(int limit) {
+        return executor.submit(() -> libraryService.getPopularBooks(limit));
+    }
+
+    @Override
+    public CompletableFuture<List<User>> getActiveUsers(int limit) {
+        return executor.submit(() -> libraryService.getActiveUsers(limit));
+    }
+
+    @Override
+    public CompletableFuture<Long> calculateTotalFineCents() {
+        return executor.submit(libraryService::calculateTotalFineCents);
+    }
+}
\ No newline at end of file
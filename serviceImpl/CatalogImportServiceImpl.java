@@ -0,0 +1,331 @@
+package com.library.services.impl;
+
+import com.library.dao.BookDAO;
+import com.library.dao.impl.DAOFactory;
+import com.library.entities.Author;
+import com.library.entities.Book;
+import com.library.services.CatalogImportService;
+import com.library.utils.DatabaseConnection;
+import com.library.utils.DateUtils;
+import com.library.utils.IdGenerator;
+import com.library.utils.InputValidator;
+import com.library.utils.SnowflakeIdGenerator;
+import com.library.utils.Transaction;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Loads a CSV acquisitions feed into the catalog. The file is read in chunks; each chunk is parsed
+// in parallel while the previous one is written, and every chunk is committed as one transaction
+// of multi-row inserts. A checkpoint file beside the input records how many records are committed,
+// so an interrupted import picks up where it stopped.
+public class CatalogImportServiceImpl implements CatalogImportService {
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final BookDAO bookDAO;
+    private final IdGenerator authorIdGenerator;
+    private final int chunkSize;
+    private final int parseThreads;
+
+    public CatalogImportServiceImpl() {
+        this(DAOFactory.getBookDAO(),
+                new SnowflakeIdGenerator("AU", Integer.parseInt(DatabaseConnection.getProperty("app.node.id", "0"))));
+    }
+
+    public CatalogImportServiceImpl(BookDAO bookDAO, IdGenerator authorIdGenerator) {
+        this.bookDAO = bookDAO;
+        this.authorIdGenerator = authorIdGenerator;
+        this.chunkSize = Integer.parseInt(DatabaseConnection.getProperty("import.chunkSize", "5000"));
+        this.parseThreads = Integer.parseInt(DatabaseConnection.getProperty("import.parseThreads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+    }
+
+    // Record counts include anything committed by an earlier, interrupted run of the same file
+    @Override
+    public ImportResult importBooks(Path csvFile, ProgressListener listener) throws IOException {
+        Path checkpoint = csvFile.resolveSibling(csvFile.getFileName() + ".checkpoint");
+        long processed = readCheckpoint(checkpoint);
+        long imported = 0;
+        long duplicates = 0;
+        long invalid = 0;
+        List<String> errors = new ArrayList<>();
+        Set<String> seenIsbns = new HashSet<>();
+        Map<String, Author> authorsByName = new HashMap<>();
+        for (Author author : bookDAO.getAllAuthors()) {
+            authorsByName.putIfAbsent(authorKey(author.getFirstName(), author.getLastName()), author);
+        }
+
+        ForkJoinPool parsers = new ForkJoinPool(parseThreads);
+        try (BufferedReader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null) {
+                return new ImportResult(0, 0, 0, 0, errors);
+            }
+            Map<String, Integer> columns = parseHeader(header);
+            for (long skipped = 0; skipped < processed && reader.readLine() != null; skipped++) {
+                // Already committed by an earlier run
+            }
+
+            List<String> lines = readChunk(reader);
+            Future<List<ParsedRecord>> parsing = parse(parsers, lines, columns, processed);
+            while (!lines.isEmpty()) {
+                List<ParsedRecord> records = await(parsing);
+                lines = readChunk(reader);
+                parsing = parse(parsers, lines, columns, processed + records.size());
+
+                List<Book> books = new ArrayList<>();
+                for (ParsedRecord record : records) {
+                    if (record.error != null) {
+                        invalid++;
+                        if (errors.size() < MAX_REPORTED_ERRORS) {
+                            errors.add("Line " + record.lineNumber + ": " + record.error);
+                        }
+                    } else if (record.book != null) {
+                        if (seenIsbns.add(record.book.getIsbn())) {
+                            resolveAuthors(record, authorsByName);
+                            books.add(record.book);
+                        } else {
+                            duplicates++;
+                        }
+                    }
+                }
+
+                int inserted = writeChunk(books);
+                imported += inserted;
+                // Books addBooks skipped were already in the catalog; any other failure aborts the
+                // import at the last committed chunk, so a rerun resumes from there
+                duplicates += books.size() - inserted;
+                processed += records.size();
+                writeCheckpoint(checkpoint, processed);
+                if (listener != null) {
+                    listener.onProgress(processed, imported, duplicates + invalid);
+                }
+            }
+        } finally {
+            parsers.shutdown();
+        }
+
+        Files.deleteIfExists(checkpoint);
+        return new ImportResult(processed, imported, duplicates, invalid, errors);
+    }
+
+    private int writeChunk(List<Book> books) {
+        if (books.isEmpty()) {
+            return 0;
+        }
+        try (Transaction tx = DatabaseConnection.beginTransaction()) {
+            int inserted = bookDAO.addBooks(books);
+            tx.commit();
+            return inserted;
+        }
+    }
+
+    private List<String> readChunk(BufferedReader reader) throws IOException {
+        List<String> lines = new ArrayList<>(chunkSize);
+        String line;
+        while (lines.size() < chunkSize && (line = reader.readLine()) != null) {
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    private Future<List<ParsedRecord>> parse(ForkJoinPool parsers, List<String> lines, Map<String, Integer> columns,
+                                             long firstRecord) {
+        if (lines.isEmpty()) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        // A parallel stream started from inside the pool runs on the pool's threads; order is kept.
+        // Line numbers are 1-based and count the header.
+        return parsers.submit(() -> IntStream.range(0, lines.size()).parallel()
+                .mapToObj(i -> parseRecord(lines.get(i), firstRecord + i + 2, columns))
+                .collect(Collectors.toList()));
+    }
+
+    private List<ParsedRecord> await(Future<List<ParsedRecord>> parsing) {
+        try {
+            return parsing.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to parse import file", e.getCause());
+        }
+    }
+
+    // Authors are matched by name against the catalog and earlier records; new ones get fresh IDs
+    private void resolveAuthors(ParsedRecord record, Map<String, Author> authorsByName) {
+        for (String[] name : record.authorNames) {
+            Author author = authorsByName.computeIfAbsent(authorKey(name[0], name[1]),
+                    key -> new Author(authorIdGenerator.nextId(), name[0], name[1]));
+            record.book.addAuthor(author);
+        }
+    }
+
+    private static String authorKey(String firstName, String lastName) {
+        return (firstName.trim() + " " + lastName.trim()).toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<String, Integer> parseHeader(String header) {
+        List<String> names = splitCsvLine(header.replace("\uFEFF", ""));
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("isbn") || !columns.containsKey("title")) {
+            throw new IllegalArgumentException("Import file must have isbn and title columns");
+        }
+        return columns;
+    }
+
+    // Runs on the parser threads, so it touches nothing but its arguments
+    private static ParsedRecord parseRecord(String line, long lineNumber, Map<String, Integer> columns) {
+        if (line.trim().isEmpty()) {
+            return new ParsedRecord(lineNumber, null, null);
+        }
+
+        List<String> fields = splitCsvLine(line);
+        String isbn = field(fields, columns, "isbn");
+        if (!InputValidator.isValidIsbn(isbn)) {
+            return new ParsedRecord(lineNumber, null, "Invalid ISBN: " + isbn);
+        }
+        String title = field(fields, columns, "title");
+        if (InputValidator.isNullOrEmpty(title)) {
+            return new ParsedRecord(lineNumber, null, "Missing title");
+        }
+
+        Book book = new Book(normalizeIsbn(isbn), title.trim());
+        try {
+            int quantity = parseInt(field(fields, columns, "quantity"), 1);
+            if (!InputValidator.isPositiveNumber(quantity)) {
+                return new ParsedRecord(lineNumber, null, "Quantity must be positive");
+            }
+            book.setQuantity(quantity);
+            book.setAvailableQuantity(quantity);
+            book.setPublicationDate(DateUtils.parseDate(field(fields, columns, "publication_date")));
+            book.setEdition(parseInt(field(fields, columns, "edition"), 0));
+            book.setPageCount(parseInt(field(fields, columns, "page_count"), 0));
+        } catch (IllegalArgumentException e) {
+            return new ParsedRecord(lineNumber, null, e.getMessage());
+        }
+        book.setPublisher(field(fields, columns, "publisher"));
+        book.setDescription(field(fields, columns, "description"));
+        String language = field(fields, columns, "language");
+        book.setLanguage(language != null ? language : "English");
+
+        ParsedRecord record = new ParsedRecord(lineNumber, book, null);
+        String authors = field(fields, columns, "authors");
+        if (authors != null) {
+            for (String author : authors.split(";")) {
+                String[] name = splitAuthorName(author.trim());
+                if (name != null) {
+                    record.authorNames.add(name);
+                }
+            }
+        }
+        return record;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    // "ISBN-13: 978-0-13-468599-1" and "9780134685991" are the same book
+    static String normalizeIsbn(String isbn) {
+        return isbn.replaceFirst("^ISBN(?:-1[03])?:? ", "").replaceAll("[- ]", "");
+    }
+
+    // Accepts "First Last" and "Last, First"; returns {first, last}
+    static String[] splitAuthorName(String name) {
+        if (name.isEmpty()) {
+            return null;
+        }
+        int comma = name.indexOf(',');
+        if (comma >= 0) {
+            return new String[]{name.substring(comma + 1).trim(), name.substring(0, comma).trim()};
+        }
+        int space = name.lastIndexOf(' ');
+        return space < 0 ? new String[]{"", name} : new String[]{name.substring(0, space).trim(), name.substring(space + 1)};
+    }
+
+    // RFC 4180 fields on a single line: quoted fields may contain commas and doubled quotes
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static long readCheckpoint(Path checkpoint) throws IOException {
+        if (!Files.exists(checkpoint)) {
+            return 0;
+        }
+        return Long.parseLong(new String(Files.readAllBytes(checkpoint), StandardCharsets.UTF_8).trim());
+    }
+
+    // Written after the chunk commits; a crash in between only replays rows addBooks then skips
+    private static void writeCheckpoint(Path checkpoint, long recordsCommitted) throws IOException {
+        Path temp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        Files.write(temp, String.valueOf(recordsCommitted).getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static final class ParsedRecord {
+        final long lineNumber;
+        final Book book;
+        final String error;
+        final List<String[]> authorNames = new ArrayList<>();
+
+        ParsedRecord(long lineNumber, Book book, String error) {
+            this.lineNumber = lineNumber;
+            this.book = book;
+            this.error = error;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.library.services.impl;
+
+import com.library.dao.LoanDAO;
+import com.library.dao.impl.DAOFactory;
+import com.library.entities.Loan;
+import com.library.entities.User;
+import com.library.services.FineCalculationService;
+import com.library.utils.DatabaseConnection;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Overdue fines in whole cents: days past due times a daily rate that depends on the borrower's
+// user type. Rates are read once from fines.dailyRateCents.<type> and kept in an array indexed by
+// the type's ordinal, so a return costs one lookup.
+public class FineCalculationServiceImpl implements FineCalculationService {
+    private final LoanDAO loanDAO;
+    private final long[] dailyRateCents;
+    private final Map<User.UserType, Long> rateTable;
+
+    public FineCalculationServiceImpl() {
+        this(DAOFactory.getLoanDAO());
+    }
+
+    public FineCalculationServiceImpl(LoanDAO loanDAO) {
+        this.loanDAO = loanDAO;
+        User.UserType[] types = User.UserType.values();
+        this.dailyRateCents = new long[types.length];
+        Map<User.UserType, Long> rates = new EnumMap<>(User.UserType.class);
+        for (User.UserType type : types) {
+            long rate = Long.parseLong(DatabaseConnection.getProperty(
+                    "fines.dailyRateCents." + type.name().toLowerCase(), defaultRateCents(type)));
+            if (rate < 0) {
+                throw new IllegalArgumentException("Daily fine rate cannot be negative for " + type);
+            }
+            dailyRateCents[type.ordinal()] = rate;
+            rates.put(type, rate);
+        }
+        this.rateTable = Collections.unmodifiableMap(rates);
+    }
+
+    @Override
+    public long getDailyRateCents(User.UserType userType) {
+        return dailyRateCents[userType.ordinal()];
+    }
+
+    // Nothing is owed on or before the due date
+    @Override
+    public long calculateFineCents(Loan loan, LocalDate asOf) {
+        long daysOverdue = asOf.toEpochDay() - loan.getDueDate().toEpochDay();
+        if (daysOverdue <= 0) {
+            return 0;
+        }
+        return Math.multiplyExact(daysOverdue, getDailyRateCents(loan.getUser().getUserType()));
+    }
+
+    @Override
+    public int accrueOverdueFines(LocalDate asOf) {
+        return loanDAO.accrueOverdueFines(asOf, rateTable);
+    }
+
+    private static String defaultRateCents(User.UserType type) {
+        switch (type) {
+            case FACULTY:
+                return "10";
+            case STAFF:
+                return "15";
+            case VISITOR:
+                return "50";
+            default:
+                return "25";
+        }
+    }
+}
\ No newline at end of file
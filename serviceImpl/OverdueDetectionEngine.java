@@ -0,0 +1,235 @@
+package com.library.services.impl;
+
+import com.library.dao.LoanDAO;
+import com.library.dao.impl.DAOFactory;
+import com.library.entities.Loan;
+import com.library.services.FineCalculationService;
+import com.library.utils.DatabaseConnection;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Keeps loan status and fines current in the background. Active loans sit in a queue ordered by
+// due date, so each scan only touches loans that became overdue since the last one; those are
+// flipped to OVERDUE in batched updates and fines are re-accrued once a day. Checkouts, returns
+// and renewals are reported by the service, and a periodic resync corrects anything changed
+// outside it.
+public class OverdueDetectionEngine {
+    private static OverdueDetectionEngine instance;
+
+    public interface Listener {
+        void onScan(int newlyOverdue, int totalOverdue, int activeTracked);
+    }
+
+    private static final class DueEntry {
+        final String loanId;
+        final LocalDate dueDate;
+
+        DueEntry(String loanId, LocalDate dueDate) {
+            this.loanId = loanId;
+            this.dueDate = dueDate;
+        }
+    }
+
+    private final LoanDAO loanDAO;
+    private final FineCalculationService fines;
+    private final Clock clock;
+    private final long scanIntervalSeconds;
+    private final long resyncMinutes;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    // Guarded by this. Entries are never removed from the queue directly: a loan that is returned
+    // or renewed just loses or changes its dueDates entry, and stale entries are dropped on poll.
+    private final PriorityQueue<DueEntry> queue = new PriorityQueue<>((a, b) -> a.dueDate.compareTo(b.dueDate));
+    private final Map<String, LocalDate> dueDates = new HashMap<>();
+    // Guarded by this. Non-null while a resync reads from the database: track and untrack calls
+    // made meanwhile are recorded here, a null date meaning untracked, and replayed over the
+    // snapshot, which may predate them.
+    private Map<String, LocalDate> changesDuringResync;
+    private final Object resyncLock = new Object();
+    private ScheduledExecutorService scheduler;
+    private LocalDate lastAccrual;
+
+    private volatile int overdueCount;
+    private volatile int lastNewlyOverdue;
+
+    public OverdueDetectionEngine(LoanDAO loanDAO, FineCalculationService fines, Clock clock) {
+        this.loanDAO = loanDAO;
+        this.fines = fines;
+        this.clock = clock;
+        this.scanIntervalSeconds = Long.parseLong(DatabaseConnection.getProperty("overdue.scanIntervalSeconds", "60"));
+        this.resyncMinutes = Long.parseLong(DatabaseConnection.getProperty("overdue.resyncMinutes", "60"));
+    }
+
+    public static synchronized OverdueDetectionEngine getInstance() {
+        if (instance == null) {
+            LoanDAO loanDAO = DAOFactory.getLoanDAO();
+            instance = new OverdueDetectionEngine(loanDAO, new FineCalculationServiceImpl(loanDAO),
+                    Clock.systemDefaultZone());
+            // Uncollected holds are released on the same schedule
+            ReservationServiceImpl reservations = new ReservationServiceImpl();
+            instance.addListener((newlyOverdue, totalOverdue, activeTracked) -> reservations.expireHolds());
+        }
+        return instance;
+    }
+
+    public synchronized void start() {
+        if (scheduler != null || !Boolean.parseBoolean(DatabaseConnection.getProperty("overdue.engine.enabled", "true"))) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "overdue-detection");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> runSafely(this::resync), 0, resyncMinutes, TimeUnit.MINUTES);
+        scheduler.scheduleWithFixedDelay(() -> runSafely(this::scan), scanIntervalSeconds, scanIntervalSeconds,
+                TimeUnit.SECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        queue.clear();
+        dueDates.clear();
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    // Called once a checkout or renewal commits; ignored while the engine is not running
+    public synchronized void track(String loanId, LocalDate dueDate) {
+        if (scheduler == null) {
+            return;
+        }
+        dueDates.put(loanId, dueDate);
+        queue.add(new DueEntry(loanId, dueDate));
+        if (changesDuringResync != null) {
+            changesDuringResync.put(loanId, dueDate);
+        }
+    }
+
+    public synchronized void untrack(String loanId) {
+        dueDates.remove(loanId);
+        if (changesDuringResync != null) {
+            changesDuringResync.put(loanId, null);
+        }
+    }
+
+    public int getOverdueCount() {
+        return overdueCount;
+    }
+
+    public int getLastNewlyOverdue() {
+        return lastNewlyOverdue;
+    }
+
+    public synchronized int getTrackedCount() {
+        return dueDates.size();
+    }
+
+    // Reloads every active loan's due date, then scans. The query runs outside the lock, so
+    // checkouts, returns and renewals reported while it runs are replayed over its result.
+    public void resync() {
+        synchronized (resyncLock) {
+            synchronized (this) {
+                changesDuringResync = new HashMap<>();
+            }
+            try {
+                Map<String, LocalDate> active = loanDAO.getDueDatesByStatus(Loan.LoanStatus.ACTIVE);
+                synchronized (this) {
+                    dueDates.clear();
+                    dueDates.putAll(active);
+                    for (Map.Entry<String, LocalDate> change : changesDuringResync.entrySet()) {
+                        if (change.getValue() != null) {
+                            dueDates.put(change.getKey(), change.getValue());
+                        } else {
+                            dueDates.remove(change.getKey());
+                        }
+                    }
+                    queue.clear();
+                    for (Map.Entry<String, LocalDate> loan : dueDates.entrySet()) {
+                        queue.add(new DueEntry(loan.getKey(), loan.getValue()));
+                    }
+                }
+            } finally {
+                synchronized (this) {
+                    changesDuringResync = null;
+                }
+            }
+        }
+        overdueCount = loanDAO.countLoans(Loan.LoanStatus.OVERDUE);
+        scan();
+    }
+
+    // Only the head of the queue is examined until it is no longer past due, so a scan with
+    // nothing to do costs a single peek. Due loans stay tracked until they are marked overdue, and
+    // go back on the queue if that fails.
+    public void scan() {
+        LocalDate today = LocalDate.now(clock);
+        List<DueEntry> dueEntries = new ArrayList<>();
+        List<String> due = new ArrayList<>();
+        boolean accrue;
+        synchronized (this) {
+            while (!queue.isEmpty() && queue.peek().dueDate.isBefore(today)) {
+                DueEntry entry = queue.poll();
+                if (entry.dueDate.equals(dueDates.get(entry.loanId))) {
+                    dueEntries.add(entry);
+                    due.add(entry.loanId);
+                }
+            }
+            accrue = !today.equals(lastAccrual);
+        }
+
+        int newlyOverdue;
+        try {
+            newlyOverdue = due.isEmpty() ? 0 : loanDAO.markLoansOverdue(due, today);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                queue.addAll(dueEntries);
+            }
+            throw e;
+        }
+        // A loan returned or renewed meanwhile has already lost or changed its entry
+        synchronized (this) {
+            for (DueEntry entry : dueEntries) {
+                dueDates.remove(entry.loanId, entry.dueDate);
+            }
+        }
+        if (newlyOverdue > 0) {
+            overdueCount = loanDAO.countLoans(Loan.LoanStatus.OVERDUE);
+        }
+        if (accrue || newlyOverdue > 0) {
+            fines.accrueOverdueFines(today);
+            synchronized (this) {
+                lastAccrual = today;
+            }
+        }
+        lastNewlyOverdue = newlyOverdue;
+
+        int tracked = getTrackedCount();
+        for (Listener listener : listeners) {
+            listener.onScan(newlyOverdue, overdueCount, tracked);
+        }
+    }
+
+    private void runSafely(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            System.err.println("Overdue detection failed: " + e.getMessage());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,148 @@
+package com.library.services.impl;
+
+import com.library.dao.BookDAO;
+import com.library.dao.ReservationDAO;
+import com.library.dao.UserDAO;
+import com.library.dao.impl.DAOFactory;
+import com.library.entities.Reservation;
+import com.library.entities.Reservation.ReservationStatus;
+import com.library.entities.User;
+import com.library.exceptions.BookNotFoundException;
+import com.library.exceptions.LoanException;
+import com.library.exceptions.UserNotFoundException;
+import com.library.services.ReservationService;
+import com.library.utils.DatabaseConnection;
+import com.library.utils.IdGenerator;
+import com.library.utils.SnowflakeIdGenerator;
+import com.library.utils.Transaction;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+// Hold queues for books with no copy on the shelf. A returned copy goes to the first waiting
+// reservation instead of back into stock and is held for holdDays; an uncollected hold passes to
+// the next in line.
+public class ReservationServiceImpl implements ReservationService {
+    private final ReservationDAO reservationDAO;
+    private final BookDAO bookDAO;
+    private final UserDAO userDAO;
+    private final IdGenerator reservationIdGenerator;
+    private final int holdDays;
+
+    public ReservationServiceImpl() {
+        this.reservationDAO = DAOFactory.getReservationDAO();
+        this.bookDAO = DAOFactory.getBookDAO();
+        this.userDAO = DAOFactory.getUserDAO();
+        this.reservationIdGenerator = new SnowflakeIdGenerator("RS",
+                Integer.parseInt(DatabaseConnection.getProperty("app.node.id", "0")));
+        this.holdDays = Integer.parseInt(DatabaseConnection.getProperty("reservations.holdDays", "3"));
+    }
+
+    @Override
+    public Reservation placeHold(String isbn, String userId) throws BookNotFoundException, UserNotFoundException, LoanException {
+        if (!bookDAO.getBookByIsbn(isbn).isPresent()) {
+            throw new BookNotFoundException("Book not found with ISBN: " + isbn);
+        }
+        User user = userDAO.getUserById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
+        if (!user.isActive()) {
+            throw new LoanException("Inactive users cannot place holds");
+        }
+        if (bookDAO.isBookAvailable(isbn)) {
+            throw new LoanException("Book is available - check it out instead");
+        }
+        boolean alreadyQueued = reservationDAO.getReservationsByUser(userId).stream()
+                .anyMatch(r -> r.getIsbn().equals(isbn) && r.isOpen());
+        if (alreadyQueued) {
+            throw new LoanException("User already has a hold on this book");
+        }
+
+        Reservation reservation = new Reservation(reservationIdGenerator.nextId(), isbn, userId);
+        reservationDAO.addReservation(reservation);
+        return reservation;
+    }
+
+    @Override
+    public void cancelHold(String reservationId) throws LoanException {
+        try (Transaction tx = DatabaseConnection.beginTransaction()) {
+            Reservation reservation = reservationDAO.getReservationById(reservationId)
+                    .orElseThrow(() -> new LoanException("Reservation not found with ID: " + reservationId));
+            if (!reservation.isOpen()
+                    || !reservationDAO.updateReservationStatus(reservationId, reservation.getStatus(),
+                            ReservationStatus.CANCELLED, null)) {
+                throw new LoanException("Only waiting or ready holds can be cancelled");
+            }
+            // A copy already set aside moves on to the next reader
+            if (reservation.getStatus() == ReservationStatus.READY) {
+                releaseHeldCopy(reservation.getIsbn());
+            }
+            tx.commit();
+        }
+    }
+
+    @Override
+    public List<Reservation> getUserReservations(String userId) {
+        return reservationDAO.getReservationsByUser(userId);
+    }
+
+    @Override
+    public boolean isBookRequested(String isbn) {
+        return reservationDAO.countWaiting(isbn) > 0;
+    }
+
+    @Override
+    public int getQueueLength(String isbn) {
+        return reservationDAO.countWaiting(isbn);
+    }
+
+    // Called with a copy in hand, e.g. on return. Returns the reservation now holding it, or empty
+    // if nobody is waiting and the copy should go back into stock.
+    @Override
+    public Optional<Reservation> allocateReturnedCopy(String isbn) {
+        LocalDate holdExpiresAt = LocalDate.now().plusDays(holdDays);
+        Optional<Reservation> next;
+        while ((next = reservationDAO.getNextWaiting(isbn)).isPresent()) {
+            Reservation reservation = next.get();
+            // A hold cancelled concurrently fails the guard and the next in line is tried
+            if (reservationDAO.updateReservationStatus(reservation.getReservationId(), ReservationStatus.WAITING,
+                    ReservationStatus.READY, holdExpiresAt)) {
+                reservation.setStatus(ReservationStatus.READY);
+                reservation.setHoldExpiresAt(holdExpiresAt);
+                return Optional.of(reservation);
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Consumes a ready hold at checkout; the held copy was never returned to stock
+    @Override
+    public boolean claimHold(String isbn, String userId) {
+        return reservationDAO.getReservationsByUser(userId).stream()
+                .filter(r -> r.getIsbn().equals(isbn) && r.getStatus() == ReservationStatus.READY)
+                .anyMatch(r -> reservationDAO.updateReservationStatus(r.getReservationId(), ReservationStatus.READY,
+                        ReservationStatus.FULFILLED, r.getHoldExpiresAt()));
+    }
+
+    @Override
+    public int expireHolds() {
+        int expired = 0;
+        for (Reservation hold : reservationDAO.getExpiredHolds(LocalDate.now())) {
+            try (Transaction tx = DatabaseConnection.beginTransaction()) {
+                if (reservationDAO.updateReservationStatus(hold.getReservationId(), ReservationStatus.READY,
+                        ReservationStatus.EXPIRED, hold.getHoldExpiresAt())) {
+                    releaseHeldCopy(hold.getIsbn());
+                    expired++;
+                }
+                tx.commit();
+            }
+        }
+        return expired;
+    }
+
+    private void releaseHeldCopy(String isbn) {
+        if (!allocateReturnedCopy(isbn).isPresent()) {
+            bookDAO.incrementAvailableQuantity(isbn);
+        }
+    }
+}
\ No newline at end of file
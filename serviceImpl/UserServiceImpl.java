@@ -1,88 +1,118 @@
-package com.library.services.impl;
-
-import com.library.dao.UserDAO;
-import com.library.entities.User;
-import com.library.exceptions.UserNotFoundException;
-import com.library.services.UserService;
-
-import java.util.List;
-import java.util.Optional;
-
-public class UserServiceImpl implements UserService {
-    private final UserDAO userDAO;
-    
-    public UserServiceImpl() {
-        this.userDAO = new UserDAOImpl();
-    }
-
-    @Override
-    public void registerUser(User user) {
-        if (userDAO.userExists(user.getUserId())) {
-            throw new IllegalArgumentException("User ID already exists");
-        }
-        userDAO.addUser(user);
-    }
-
-    @Override
-    public User authenticateUser(String userId, String password) {
-        if (!userDAO.authenticateUser(userId, password)) {
-            throw new SecurityException("Authentication failed");
-        }
-        return userDAO.getUserById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found after authentication"));
-    }
-
-    @Override
-    public User getUserProfile(String userId) {
-        return userDAO.getUserById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found"));
-    }
-
-    @Override
-    public void updateUserProfile(User user) {
-        if (!userDAO.userExists(user.getUserId())) {
-            throw new UserNotFoundException("Cannot update - user not found");
-        }
-        userDAO.updateUser(user);
-    }
-
-    @Override
-    public void changeUserStatus(String userId, boolean active) {
-        User user = getUserProfile(userId);
-        user.setActive(active);
-        userDAO.updateUser(user);
-    }
-
-    @Override
-    public List<User> searchUsers(String query) {
-        return userDAO.getUsersByName(query);
-    }
-
-    @Override
-    public List<User> getAllUsers() {
-        return userDAO.getAllUsers();
-    }
-
-    @Override
-    public double getUserFines(String userId) {
-        User user = getUserProfile(userId);
-        return user.getFines();
-    }
-
-    @Override
-    public void payUserFines(String userId, double amount) {
-        if (amount <= 0) {
-            throw new IllegalArgumentException("Payment amount must be positive");
-        }
-        
-        User user = getUserProfile(userId);
-        double currentFines = user.getFines();
-        
-        if (amount > currentFines) {
-            throw new IllegalArgumentException("Payment amount exceeds outstanding fines");
-        }
-        
-        user.payFine(amount);
-        userDAO.updateUser(user);
-    }
+package com.library.services.impl;
+
+import com.library.dao.UserDAO;
+import com.library.dao.impl.DAOFactory;
+import com.library.entities.User;
+import com.library.exceptions.UserNotFoundException;
+import com.library.services.UserService;
+import com.library.utils.DatabaseConnection;
+import com.library.utils.InputValidator;
+import com.library.utils.Transaction;
+
+import java.util.List;
+import java.util.Optional;
+
+public class UserServiceImpl implements UserService {
+    private final UserDAO userDAO;
+    
+    public UserServiceImpl() {
+        this.userDAO = DAOFactory.getUserDAO();
+    }
+
+    @Override
+    public void registerUser(User user) {
+        if (userDAO.userExists(user.getUserId())) {
+            throw new IllegalArgumentException("User ID already exists");
+        }
+        userDAO.addUser(user);
+    }
+
+    @Override
+    public void registerUser(User user, String password) {
+        if (!InputValidator.isValidPassword(password)) {
+            throw new IllegalArgumentException("Password must be between 8 and 128 characters");
+        }
+        try (Transaction tx = DatabaseConnection.beginTransaction()) {
+            registerUser(user);
+            userDAO.updatePassword(user.getUserId(), password);
+            tx.commit();
+        }
+    }
+
+    @Override
+    public User authenticateUser(String userId, String password) {
+        return userDAO.authenticateUser(userId, password)
+                .orElseThrow(() -> new SecurityException("Authentication failed"));
+    }
+
+    @Override
+    public void changePassword(String userId, String newPassword) throws UserNotFoundException {
+        if (!InputValidator.isValidPassword(newPassword)) {
+            throw new IllegalArgumentException("Password must be between 8 and 128 characters");
+        }
+        if (!userDAO.userExists(userId)) {
+            throw new UserNotFoundException("Cannot change password - user not found");
+        }
+        userDAO.updatePassword(userId, newPassword);
+    }
+
+    @Override
+    public User getUserProfile(String userId) {
+        return userDAO.getUserById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+    }
+
+    @Override
+    public void updateUserProfile(User user) {
+        if (!userDAO.userExists(user.getUserId())) {
+            throw new UserNotFoundException("Cannot update - user not found");
+        }
+        userDAO.updateUser(user);
+    }
+
+    @Override
+    public void changeUserStatus(String userId, boolean active) {
+        User user = getUserProfile(userId);
+        user.setActive(active);
+        userDAO.updateUser(user);
+    }
+
+    @Override
+    public List<User> searchUsers(String query) {
+        return userDAO.getUsersByName(query);
+    }
+
+    @Override
+    public List<User> getAllUsers() {
+        return userDAO.getAllUsers();
+    }
+
+    @Override
+    public List<User> getUsersPage(String afterUserId, int limit) {
+        return userDAO.getUsersPage(afterUserId, limit);
+    }
+
+    @Override
+    public int countUsers() {
+        return userDAO.countUsers();
+    }
+
+    @Override
+    public long getUserFineCents(String userId) {
+        User user = getUserProfile(userId);
+        return user.getFineCents();
+    }
+
+    @Override
+    public void payUserFines(String userId, long amountCents) {
+        if (amountCents <= 0) {
+            throw new IllegalArgumentException("Payment amount must be positive");
+        }
+        
+        // Taken off in place, so a fine added by a concurrent return is never overwritten
+        if (!userDAO.payFines(userId, amountCents)) {
+            getUserProfile(userId);
+            throw new IllegalArgumentException("Payment amount exceeds outstanding fines");
+        }
+    }
 }
\ No newline at end of file
@@ -1,80 +1,103 @@
-package com.library.ui.gui;
-
-import com.library.services.UserService;
-import com.library.services.impl.UserServiceImpl;
-
-import javax.swing.*;
-import java.awt.*;
-
-public class LoginFrame extends JFrame {
-    private final UserService userService;
-    
-    public LoginFrame() {
-        this.userService = new UserServiceImpl();
-        initializeUI();
-    }
-    
-    private void initializeUI() {
-        setTitle("Library Management System - Login");
-        setSize(400, 300);
-        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        setLocationRelativeTo(null);
-        
-        JPanel panel = new JPanel(new GridBagLayout());
-        GridBagConstraints gbc = new GridBagConstraints();
-        gbc.insets = new Insets(10, 10, 10, 10);
-        
-        JLabel titleLabel = new JLabel("Library Management System");
-        titleLabel.setFont(new Font("Arial", Font.BOLD, 18));
-        gbc.gridx = 0;
-        gbc.gridy = 0;
-        gbc.gridwidth = 2;
-        panel.add(titleLabel, gbc);
-        
-        JLabel userLabel = new JLabel("User ID:");
-        gbc.gridx = 0;
-        gbc.gridy = 1;
-        gbc.gridwidth = 1;
-        panel.add(userLabel, gbc);
-        
-        JTextField userField = new JTextField(15);
-        gbc.gridx = 1;
-        gbc.gridy = 1;
-        panel.add(userField, gbc);
-        
-        JLabel passLabel = new JLabel("Password:");
-        gbc.gridx = 0;
-        gbc.gridy = 2;
-        panel.add(passLabel, gbc);
-        
-        JPasswordField passField = new JPasswordField(15);
-        gbc.gridx = 1;
-        gbc.gridy = 2;
-        panel.add(passField, gbc);
-        
-        JButton loginButton = new JButton("Login");
-        gbc.gridx = 0;
-        gbc.gridy = 3;
-        gbc.gridwidth = 2;
-        loginButton.addActionListener(e -> {
-            String userId = userField.getText();
-            String password = new String(passField.getPassword());
-            
-            try {
-                userService.authenticateUser(userId, password);
-                new MainDashboard(userId).setVisible(true);
-                dispose();
-            } catch (Exception ex) {
-                JOptionPane.showMessageDialog(this, "Login failed: " + ex.getMessage(), 
-                    "Error", JOptionPane.ERROR_MESSAGE);
-            }
-        });
-        panel.add(loginButton, gbc);
-        
-        add(panel);
-    }
-    
-    public static void main(String[] args) {
-        SwingUtilities.invokeLater(() -> new LoginFrame().setVisible(true));
-    }
+package com.library.ui.gui;
+
+import com.library.services.UserService;
+import com.library.services.impl.OverdueDetectionEngine;
+import com.library.services.impl.UserServiceImpl;
+import com.library.utils.AuditLog;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.ExecutionException;
+
+public class LoginFrame extends JFrame {
+    private final UserService userService;
+    
+    public LoginFrame() {
+        this.userService = new UserServiceImpl();
+        initializeUI();
+    }
+    
+    private void initializeUI() {
+        setTitle("Library Management System - Login");
+        setSize(400, 300);
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setLocationRelativeTo(null);
+        
+        JPanel panel = new JPanel(new GridBagLayout());
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(10, 10, 10, 10);
+        
+        JLabel titleLabel = new JLabel("Library Management System");
+        titleLabel.setFont(new Font("Arial", Font.BOLD, 18));
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        panel.add(titleLabel, gbc);
+        
+        JLabel userLabel = new JLabel("User ID:");
+        gbc.gridx = 0;
+        gbc.gridy = 1;
+        gbc.gridwidth = 1;
+        panel.add(userLabel, gbc);
+        
+        JTextField userField = new JTextField(15);
+        gbc.gridx = 1;
+        gbc.gridy = 1;
+        panel.add(userField, gbc);
+        
+        JLabel passLabel = new JLabel("Password:");
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        panel.add(passLabel, gbc);
+        
+        JPasswordField passField = new JPasswordField(15);
+        gbc.gridx = 1;
+        gbc.gridy = 2;
+        panel.add(passField, gbc);
+        
+        JButton loginButton = new JButton("Login");
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        gbc.gridwidth = 2;
+        loginButton.addActionListener(e -> {
+            String userId = userField.getText();
+            String password = new String(passField.getPassword());
+            
+            // Password hashing is deliberately slow, so it runs off the EDT. Not through the
+            // AsyncExecutor: a login spends most of its time hashing and would hold a database
+            // permit that table loads are waiting for.
+            loginButton.setEnabled(false);
+            new SwingWorker<Void, Void>() {
+                @Override
+                protected Void doInBackground() {
+                    userService.authenticateUser(userId, password);
+                    return null;
+                }
+
+                @Override
+                protected void done() {
+                    try {
+                        get();
+                        AuditLog.setActor(userId);
+                        new MainDashboard(userId).setVisible(true);
+                        dispose();
+                    } catch (InterruptedException | ExecutionException ex) {
+                        Throwable cause = ex instanceof ExecutionException && ex.getCause() != null
+                            ? ex.getCause() : ex;
+                        loginButton.setEnabled(true);
+                        JOptionPane.showMessageDialog(LoginFrame.this, "Login failed: " + cause.getMessage(), 
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                }
+            }.execute();
+        });
+        panel.add(loginButton, gbc);
+        
+        add(panel);
+    }
+    
+    public static void main(String[] args) {
+        OverdueDetectionEngine.getInstance().start();
+        SwingUtilities.invokeLater(() -> new LoginFrame().setVisible(true));
+    }
 }
\ No newline at end of file
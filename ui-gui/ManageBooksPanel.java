@@ -1,97 +1,145 @@
-package com.library.ui.gui;
-
-import com.library.services.BookService;
-import com.library.services.impl.BookServiceImpl;
-
-import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
-import java.awt.*;
-import java.util.List;
-
-public class ManageBooksPanel extends JPanel {
-    private final BookService bookService;
-    private JTable booksTable;
-    
-    public ManageBooksPanel() {
-        this.bookService = new BookServiceImpl();
-        initializeUI();
-        loadBooks();
-    }
-    
-    private void initializeUI() {
-        setLayout(new BorderLayout());
-        
-        // Toolbar
-        JToolBar toolBar = new JToolBar();
-        JButton addButton = new JButton("Add");
-        addButton.addActionListener(e -> showAddBookDialog());
-        JButton editButton = new JButton("Edit");
-        editButton.addActionListener(e -> showEditBookDialog());
-        JButton deleteButton = new JButton("Delete");
-        deleteButton.addActionListener(e -> deleteSelectedBook());
-        JButton refreshButton = new JButton("Refresh");
-        refreshButton.addActionListener(e -> loadBooks());
-        
-        toolBar.add(addButton);
-        toolBar.add(editButton);
-        toolBar.add(deleteButton);
-        toolBar.addSeparator();
-        toolBar.add(refreshButton);
-        
-        add(toolBar, BorderLayout.NORTH);
-        
-        // Table
-        booksTable = new JTable(new DefaultTableModel(
-            new Object[]{"ISBN", "Title", "Authors", "Available"}, 0));
-        JScrollPane scrollPane = new JScrollPane(booksTable);
-        add(scrollPane, BorderLayout.CENTER);
-        
-        // Search panel
-        JPanel searchPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
-        JTextField searchField = new JTextField(20);
-        JButton searchButton = new JButton("Search");
-        searchButton.addActionListener(e -> searchBooks(searchField.getText()));
-        
-        searchPanel.add(new JLabel("Search:"));
-        searchPanel.add(searchField);
-        searchPanel.add(searchButton);
-        
-        add(searchPanel, BorderLayout.SOUTH);
-    }
-    
-    private void loadBooks() {
-        DefaultTableModel model = (DefaultTableModel) booksTable.getModel();
-        model.setRowCount(0);
-        
-        List<Book> books = bookService.getAllBooks();
-        for (Book book : books) {
-            model.addRow(new Object[]{
-                book.getIsbn(),
-                book.getTitle(),
-                getAuthorsString(book),
-                book.getAvailableQuantity() + "/" + book.getQuantity()
-            });
-        }
-    }
-    
-    private String getAuthorsString(Book book) {
-        // Implementation would return a string of authors' names
-        return "Various Authors";
-    }
-    
-    private void searchBooks(String query) {
-        // Implementation would search books based on the query
-    }
-    
-    private void showAddBookDialog() {
-        // Implementation would show a dialog to add a new book
-    }
-    
-    private void showEditBookDialog() {
-        // Implementation would show a dialog to edit the selected book
-    }
-    
-    private void deleteSelectedBook() {
-        // Implementation would delete the selected book
-    }
+package com.library.ui.gui;
+
+import com.library.entities.Book;
+import com.library.services.AsyncLibraryService;
+import com.library.services.BookService;
+import com.library.services.impl.AsyncLibraryServiceImpl;
+import com.library.services.impl.BookServiceImpl;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class ManageBooksPanel extends JPanel {
+    private final BookService bookService;
+    private final AsyncLibraryService asyncService;
+    private JTable booksTable;
+    private PagedTableModel<Book> booksModel;
+    // Touched only on the EDT
+    private CompletableFuture<List<Book>> pendingSearch;
+    
+    public ManageBooksPanel() {
+        this.bookService = new BookServiceImpl();
+        this.asyncService = new AsyncLibraryServiceImpl();
+        initializeUI();
+        loadBooks();
+    }
+    
+    private void initializeUI() {
+        setLayout(new BorderLayout());
+        
+        // Toolbar
+        JToolBar toolBar = new JToolBar();
+        JButton addButton = new JButton("Add");
+        addButton.addActionListener(e -> showAddBookDialog());
+        JButton editButton = new JButton("Edit");
+        editButton.addActionListener(e -> showEditBookDialog());
+        JButton deleteButton = new JButton("Delete");
+        deleteButton.addActionListener(e -> deleteSelectedBook());
+        JButton refreshButton = new JButton("Refresh");
+        refreshButton.addActionListener(e -> loadBooks());
+        
+        toolBar.add(addButton);
+        toolBar.add(editButton);
+        toolBar.add(deleteButton);
+        toolBar.addSeparator();
+        toolBar.add(refreshButton);
+        
+        add(toolBar, BorderLayout.NORTH);
+        
+        // Table
+        booksModel = new PagedTableModel<>(
+            new String[]{"ISBN", "Title", "Authors", "Available"},
+            book -> new Object[]{
+                book.getIsbn(),
+                book.getTitle(),
+                getAuthorsString(book),
+                book.getAvailableQuantity() + "/" + book.getQuantity()
+            },
+            this::catalogPage,
+            bookService::countBooks);
+        booksTable = new JTable(booksModel);
+        JScrollPane scrollPane = new JScrollPane(booksTable);
+        add(scrollPane, BorderLayout.CENTER);
+        
+        // Search panel
+        JPanel searchPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        JTextField searchField = new JTextField(20);
+        JButton searchButton = new JButton("Search");
+        searchButton.addActionListener(e -> searchBooks(searchField.getText()));
+        searchField.addActionListener(e -> searchBooks(searchField.getText()));
+        
+        searchPanel.add(new JLabel("Search:"));
+        searchPanel.add(searchField);
+        searchPanel.add(searchButton);
+        
+        add(searchPanel, BorderLayout.SOUTH);
+    }
+    
+    private void loadBooks() {
+        // Pages are fetched in the background as rows scroll into view
+        booksModel.setSource(this::catalogPage, bookService::countBooks);
+    }
+    
+    private List<Book> catalogPage(Book after, int limit) {
+        return bookService.getBooksPage(after != null ? after.getIsbn() : null, limit);
+    }
+    
+    private String getAuthorsString(Book book) {
+        // Implementation would return a string of authors' names
+        return "Various Authors";
+    }
+    
+    // Runs in the background; a newer search cancels one still waiting, so only the latest results show
+    private void searchBooks(String query) {
+        if (pendingSearch != null) {
+            pendingSearch.cancel(false);
+        }
+        if (query == null || query.trim().isEmpty()) {
+            pendingSearch = null;
+            loadBooks();
+            return;
+        }
+        
+        CompletableFuture<List<Book>> search = asyncService.searchBooks(query.trim());
+        pendingSearch = search;
+        search.whenComplete((results, error) -> SwingUtilities.invokeLater(() -> {
+            if (search != pendingSearch || search.isCancelled()) {
+                return;
+            }
+            pendingSearch = null;
+            if (error != null) {
+                JOptionPane.showMessageDialog(this, "Search failed: " + error.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            // The table shows the results until the next search or refresh
+            booksModel.setSource((after, limit) -> pageAfter(results, after, limit), results::size);
+        }));
+    }
+    
+    // Keyset paging over an in-memory result list, which is in relevance order rather than by ISBN
+    private static List<Book> pageAfter(List<Book> books, Book after, int limit) {
+        int from = 0;
+        if (after != null) {
+            while (from < books.size() && !books.get(from).getIsbn().equals(after.getIsbn())) {
+                from++;
+            }
+            from = Math.min(from + 1, books.size());
+        }
+        return books.subList(from, Math.min(from + limit, books.size()));
+    }
+    
+    private void showAddBookDialog() {
+        // Implementation would show a dialog to add a new book
+    }
+    
+    private void showEditBookDialog() {
+        // Implementation would show a dialog to edit the selected book
+    }
+    
+    private void deleteSelectedBook() {
+        // Implementation would delete the selected book
+    }
 }
\ No newline at end of file
@@ -1,92 +1,171 @@
-package com.library.ui.gui;
-
-import com.library.services.LibraryService;
-import com.library.services.impl.LibraryServiceImpl;
-
-import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
-import java.awt.*;
-import java.util.List;
-
-public class ManageLoansPanel extends JPanel {
-    private final LibraryService libraryService;
-    private JTable loansTable;
-    
-    public ManageLoansPanel() {
-        this.libraryService = new LibraryServiceImpl();
-        initializeUI();
-        loadLoans();
-    }
-    
-    private void initializeUI() {
-        setLayout(new BorderLayout());
-        
-        // Toolbar
-        JToolBar toolBar = new JToolBar();
-        JButton checkoutButton = new JButton("Checkout");
-        checkoutButton.addActionListener(e -> showCheckoutDialog());
-        JButton returnButton = new JButton("Return");
-        returnButton.addActionListener(e -> returnSelectedLoan());
-        JButton renewButton = new JButton("Renew");
-        renewButton.addActionListener(e -> renewSelectedLoan());
-        JButton refreshButton = new JButton("Refresh");
-        refreshButton.addActionListener(e -> loadLoans());
-        
-        toolBar.add(checkoutButton);
-        toolBar.add(returnButton);
-        toolBar.add(renewButton);
-        toolBar.addSeparator();
-        toolBar.add(refreshButton);
-        
-        add(toolBar, BorderLayout.NORTH);
-        
-        // Table
-        loansTable = new JTable(new DefaultTableModel(
-            new Object[]{"Loan ID", "Book", "User", "Loan Date", "Due Date", "Status"}, 0));
-        JScrollPane scrollPane = new JScrollPane(loansTable);
-        add(scrollPane, BorderLayout.CENTER);
-        
-        // Filter panel
-        JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
-        JComboBox<String> filterCombo = new JComboBox<>(new String[]{"All", "Active", "Overdue", "Returned"});
-        filterCombo.addActionListener(e -> filterLoans((String) filterCombo.getSelectedItem()));
-        
-        filterPanel.add(new JLabel("Filter:"));
-        filterPanel.add(filterCombo);
-        
-        add(filterPanel, BorderLayout.SOUTH);
-    }
-    
-    private void loadLoans() {
-        DefaultTableModel model = (DefaultTableModel) loansTable.getModel();
-        model.setRowCount(0);
-        
-        List<Loan> loans = libraryService.getAllLoans();
-        for (Loan loan : loans) {
-            model.addRow(new Object[]{
-                loan.getLoanId(),
-                loan.getBook().getTitle(),
-                loan.getUser().getFullName(),
-                loan.getLoanDate(),
-                loan.getDueDate(),
-                loan.getStatus()
-            });
-        }
-    }
-    
-    private void filterLoans(String filter) {
-        // Implementation would filter loans based on the selected filter
-    }
-    
-    private void showCheckoutDialog() {
-        // Implementation would show a dialog to checkout a book
-    }
-    
-    private void returnSelectedLoan() {
-        // Implementation would return the selected loan
-    }
-    
-    private void renewSelectedLoan() {
-        // Implementation would renew the selected loan
-    }
+package com.library.ui.gui;
+
+import com.library.entities.Loan;
+import com.library.services.AsyncLibraryService;
+import com.library.services.LibraryService;
+import com.library.services.impl.AsyncLibraryServiceImpl;
+import com.library.services.impl.LibraryServiceImpl;
+import com.library.utils.AsyncExecutor;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+public class ManageLoansPanel extends JPanel {
+    private final LibraryService libraryService;
+    private final AsyncLibraryService asyncService;
+    private JTable loansTable;
+    private PagedTableModel<Loan> loansModel;
+    private Loan.LoanStatus statusFilter;
+    private boolean sortByDueDate;
+    
+    public ManageLoansPanel() {
+        this.libraryService = new LibraryServiceImpl();
+        this.asyncService = new AsyncLibraryServiceImpl(libraryService, AsyncExecutor.getInstance());
+        initializeUI();
+        loadLoans();
+    }
+    
+    private void initializeUI() {
+        setLayout(new BorderLayout());
+        
+        // Toolbar
+        JToolBar toolBar = new JToolBar();
+        JButton checkoutButton = new JButton("Checkout");
+        checkoutButton.addActionListener(e -> showCheckoutDialog());
+        JButton returnButton = new JButton("Return");
+        returnButton.addActionListener(e -> returnSelectedLoan());
+        JButton renewButton = new JButton("Renew");
+        renewButton.addActionListener(e -> renewSelectedLoan());
+        JButton refreshButton = new JButton("Refresh");
+        refreshButton.addActionListener(e -> loadLoans());
+        
+        toolBar.add(checkoutButton);
+        toolBar.add(returnButton);
+        toolBar.add(renewButton);
+        toolBar.addSeparator();
+        toolBar.add(refreshButton);
+        
+        add(toolBar, BorderLayout.NORTH);
+        
+        // Table
+        loansModel = new PagedTableModel<>(
+            new String[]{"Loan ID", "Book", "User", "Loan Date", "Due Date", "Status"},
+            loan -> new Object[]{
+                loan.getLoanId(),
+                loan.getBook().getTitle(),
+                loan.getUser().getFullName(),
+                loan.getLoanDate(),
+                loan.getDueDate(),
+                loan.getStatus()
+            },
+            (after, limit) -> loansPage(null, false, after, limit),
+            () -> libraryService.countLoans(null));
+        loansTable = new JTable(loansModel);
+        JScrollPane scrollPane = new JScrollPane(loansTable);
+        add(scrollPane, BorderLayout.CENTER);
+        
+        // Filter panel
+        JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        JComboBox<String> filterCombo = new JComboBox<>(new String[]{"All", "Active", "Overdue", "Returned"});
+        filterCombo.addActionListener(e -> filterLoans((String) filterCombo.getSelectedItem()));
+        JComboBox<String> sortCombo = new JComboBox<>(new String[]{"Loan ID", "Due Date"});
+        sortCombo.addActionListener(e -> sortLoans((String) sortCombo.getSelectedItem()));
+        
+        filterPanel.add(new JLabel("Filter:"));
+        filterPanel.add(filterCombo);
+        filterPanel.add(new JLabel("Sort by:"));
+        filterPanel.add(sortCombo);
+        
+        add(filterPanel, BorderLayout.SOUTH);
+    }
+    
+    private void loadLoans() {
+        // Pages are fetched in the background as rows scroll into view
+        loansModel.refresh();
+    }
+    
+    // Filtering and sorting happen in the query, so paging stays cheap on any status and order
+    private void filterLoans(String filter) {
+        statusFilter = "All".equals(filter) ? null : Loan.LoanStatus.valueOf(filter.toUpperCase());
+        reloadLoans();
+    }
+    
+    private void sortLoans(String sort) {
+        sortByDueDate = "Due Date".equals(sort);
+        reloadLoans();
+    }
+    
+    private void reloadLoans() {
+        Loan.LoanStatus status = statusFilter;
+        boolean byDueDate = sortByDueDate;
+        loansModel.setSource((after, limit) -> loansPage(status, byDueDate, after, limit),
+            () -> libraryService.countLoans(status));
+    }
+    
+    private List<Loan> loansPage(Loan.LoanStatus status, boolean byDueDate, Loan after, int limit) {
+        if (byDueDate) {
+            return libraryService.getLoansPageByDueDate(status, after != null ? after.getDueDate() : null,
+                after != null ? after.getLoanId() : null, limit);
+        }
+        return libraryService.getLoansPage(status, after != null ? after.getLoanId() : null, limit);
+    }
+    
+    // Checkouts, returns and renewals run in the background; the table refreshes when each one ends
+    private void showCheckoutDialog() {
+        JTextField isbnField = new JTextField(15);
+        JTextField userField = new JTextField(15);
+        JPanel form = new JPanel(new GridLayout(2, 2, 5, 5));
+        form.add(new JLabel("ISBN:"));
+        form.add(isbnField);
+        form.add(new JLabel("User ID:"));
+        form.add(userField);
+        
+        int choice = JOptionPane.showConfirmDialog(this, form, "Checkout", JOptionPane.OK_CANCEL_OPTION);
+        if (choice == JOptionPane.OK_OPTION) {
+            whenDone(asyncService.checkoutBook(isbnField.getText().trim(), userField.getText().trim()),
+                "Book checked out");
+        }
+    }
+    
+    private void returnSelectedLoan() {
+        Loan loan = getSelectedLoan();
+        if (loan != null) {
+            whenDone(asyncService.returnBook(loan.getLoanId()), "Book returned");
+        }
+    }
+    
+    private void renewSelectedLoan() {
+        Loan loan = getSelectedLoan();
+        if (loan != null) {
+            whenDone(asyncService.renewLoan(loan.getLoanId()), "Loan renewed");
+        }
+    }
+    
+    private Loan getSelectedLoan() {
+        int row = loansTable.getSelectedRow();
+        Loan loan = row >= 0 ? loansModel.getRow(loansTable.convertRowIndexToModel(row)) : null;
+        if (loan == null) {
+            JOptionPane.showMessageDialog(this, "Select a loan first", "Loans", JOptionPane.WARNING_MESSAGE);
+        }
+        return loan;
+    }
+    
+    private void whenDone(CompletableFuture<?> future, String successMessage) {
+        future.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+                String message = cause instanceof TimeoutException
+                    ? "The request timed out; refresh to see whether it went through" : cause.getMessage();
+                JOptionPane.showMessageDialog(this, message, "Error", JOptionPane.ERROR_MESSAGE);
+            } else {
+                JOptionPane.showMessageDialog(this, successMessage);
+            }
+            loadLoans();
+        }));
+    }
 }
\ No newline at end of file
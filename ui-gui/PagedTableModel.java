@@ -0,0 +1,195 @@
+package com.library.ui.gui;
+
+import com.library.utils.AsyncExecutor;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+
+// Table model that loads rows a keyset page at a time as they scroll into view. Database work runs
+// through the shared AsyncExecutor, so pages for several tables load side by side; only a window
+// of recently viewed pages is kept in memory. Pages are keyed by the last row of the page before,
+// so the loader decides the order, e.g. sorting in SQL on any column it can seek on.
+public class PagedTableModel<T> extends AbstractTableModel {
+    private static final int PAGE_SIZE = 200;
+    private static final int MAX_CACHED_PAGES = 10;
+    private static final String LOADING = "Loading...";
+
+    // afterRow is null for the first page
+    public interface PageLoader<T> {
+        List<T> loadPage(T afterRow, int limit);
+    }
+
+    private final String[] columnNames;
+    private final Function<T, Object[]> rowMapper;
+    private PageLoader<T> pageLoader;
+    private IntSupplier rowCounter;
+
+    // Touched only on the EDT
+    private int rowCount;
+    private int generation;
+    private final Set<Integer> requestedPages = new HashSet<>();
+    private final Map<Integer, List<T>> pages = new LinkedHashMap<Integer, List<T>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+    // Last row of every page seen so far; page n starts after boundaryRows[n - 1].
+    // Kept for all pages, unlike the rows, so evicted pages can be reloaded directly.
+    private final List<T> boundaryRows = new ArrayList<>();
+
+    public PagedTableModel(String[] columnNames, Function<T, Object[]> rowMapper,
+                           PageLoader<T> pageLoader, IntSupplier rowCounter) {
+        this.columnNames = columnNames.clone();
+        this.rowMapper = rowMapper;
+        this.pageLoader = pageLoader;
+        this.rowCounter = rowCounter;
+    }
+
+    // Swaps the query, e.g. when a filter or sort order changes, and reloads from the first page
+    public void setSource(PageLoader<T> pageLoader, IntSupplier rowCounter) {
+        this.pageLoader = pageLoader;
+        this.rowCounter = rowCounter;
+        refresh();
+    }
+
+    public void refresh() {
+        int refreshGeneration = ++generation;
+        pages.clear();
+        requestedPages.clear();
+        boundaryRows.clear();
+
+        PageLoader<T> loader = pageLoader;
+        IntSupplier counter = rowCounter;
+        AsyncExecutor.getInstance().submit(() -> {
+            int count = counter.getAsInt();
+            List<T> firstPage = loader.loadPage(null, PAGE_SIZE);
+            SwingUtilities.invokeLater(() -> {
+                if (refreshGeneration != generation) {
+                    return;
+                }
+                rowCount = firstPage.size() < PAGE_SIZE ? firstPage.size() : count;
+                storePage(0, firstPage);
+                fireTableDataChanged();
+            });
+            return null;
+        }).whenComplete(logFailure("Failed to load table"));
+    }
+
+    public T getRow(int rowIndex) {
+        List<T> page = pages.get(rowIndex / PAGE_SIZE);
+        int offset = rowIndex % PAGE_SIZE;
+        return page != null && offset < page.size() ? page.get(offset) : null;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        T row = getRow(rowIndex);
+        if (row == null) {
+            requestPage(rowIndex / PAGE_SIZE);
+            return columnIndex == 0 ? LOADING : null;
+        }
+        return rowMapper.apply(row)[columnIndex];
+    }
+
+    private void requestPage(int pageIndex) {
+        if (!requestedPages.add(pageIndex)) {
+            return;
+        }
+
+        // Walk forward from the nearest known boundary; pages in between only contribute boundaries
+        int startPage = Math.min(pageIndex, boundaryRows.size());
+        T afterRow = startPage == 0 ? null : boundaryRows.get(startPage - 1);
+        int requestGeneration = generation;
+        PageLoader<T> loader = pageLoader;
+
+        AsyncExecutor.getInstance().submit(() -> {
+            T after = afterRow;
+            for (int page = startPage; page <= pageIndex; page++) {
+                List<T> rows = loader.loadPage(after, PAGE_SIZE);
+                int loadedPage = page;
+                boolean lastPage = rows.size() < PAGE_SIZE;
+                SwingUtilities.invokeLater(() -> {
+                    if (requestGeneration != generation) {
+                        return;
+                    }
+                    // A short page ends the table; rows counted past it were deleted since the count
+                    if (lastPage) {
+                        trimRowCount(loadedPage * PAGE_SIZE + rows.size());
+                    }
+                    if (loadedPage < pageIndex) {
+                        recordBoundary(loadedPage, rows);
+                        return;
+                    }
+                    storePage(loadedPage, rows);
+                    int firstRow = loadedPage * PAGE_SIZE;
+                    int lastRow = Math.min(rowCount, firstRow + PAGE_SIZE) - 1;
+                    if (lastRow >= firstRow) {
+                        fireTableRowsUpdated(firstRow, lastRow);
+                    }
+                });
+                if (lastPage) {
+                    break;
+                }
+                after = rows.get(rows.size() - 1);
+            }
+            return null;
+        }).whenComplete((ignored, error) -> SwingUtilities.invokeLater(() -> {
+            // Runs after the page updates above, and on failure too, so the page can be asked for again
+            if (requestGeneration == generation) {
+                requestedPages.remove(pageIndex);
+            }
+            logFailure("Failed to load table page").accept(ignored, error);
+        }));
+    }
+
+    private static BiConsumer<Object, Throwable> logFailure(String message) {
+        return (ignored, error) -> {
+            if (error != null) {
+                System.err.println(message + ": " + error.getMessage());
+            }
+        };
+    }
+
+    private void storePage(int pageIndex, List<T> rows) {
+        pages.put(pageIndex, rows);
+        recordBoundary(pageIndex, rows);
+    }
+
+    private void recordBoundary(int pageIndex, List<T> rows) {
+        if (rows.size() == PAGE_SIZE && boundaryRows.size() == pageIndex) {
+            boundaryRows.add(rows.get(rows.size() - 1));
+        }
+    }
+
+    private void trimRowCount(int knownRows) {
+        if (knownRows < rowCount) {
+            rowCount = knownRows;
+            fireTableDataChanged();
+        }
+    }
+}
\ No newline at end of file
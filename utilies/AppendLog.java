@@ -0,0 +1,188 @@
+package com.library.utils;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+// Memory-mapped, append-only record log. Each frame is [length][crc32][payload]; the file is
+// extended in zero-filled steps, so a zero length marks the end. Opening the log replays every
+// intact frame up to the first torn or corrupt one and zeroes that one, which is how a crash in
+// the middle of an append is recovered.
+public class AppendLog implements AutoCloseable {
+    private static final int MAGIC = 0x4C49424C; // "LIBL"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int FRAME_HEADER_SIZE = 8;
+    private static final long INITIAL_CAPACITY = 8L << 20;
+    private static final long MAX_CAPACITY = 1L << 30;
+
+    public enum FsyncPolicy {
+        // Forces every append to disk before it returns
+        ALWAYS,
+        // Forces outstanding appends from a background thread every interval
+        INTERVAL,
+        // Leaves write-back to the operating system; a power loss can lose recent appends
+        NEVER
+    }
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final FsyncPolicy fsyncPolicy;
+    private final ScheduledExecutorService flusher;
+    private MappedByteBuffer buffer;
+    private int position;
+    private int forcedUpTo;
+
+    public AppendLog(Path path, FsyncPolicy fsyncPolicy, long fsyncIntervalMs, Consumer<ByteBuffer> replay) {
+        this.fsyncPolicy = fsyncPolicy;
+        try {
+            this.file = new RandomAccessFile(path.toFile(), "rw");
+            this.channel = file.getChannel();
+            boolean created = file.length() < HEADER_SIZE;
+            map(Math.max(file.length(), INITIAL_CAPACITY));
+            if (created) {
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.force();
+            } else if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IllegalStateException("Not a library log file: " + path);
+            }
+            this.position = recover(replay);
+            this.forcedUpTo = position;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open log " + path, e);
+        }
+
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "append-log-fsync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::force, fsyncIntervalMs, fsyncIntervalMs, TimeUnit.MILLISECONDS);
+        } else {
+            flusher = null;
+        }
+    }
+
+    // Hands each intact payload to replay and returns the offset just past the last one
+    private int recover(Consumer<ByteBuffer> replay) {
+        int offset = HEADER_SIZE;
+        CRC32 crc = new CRC32();
+        while (offset + FRAME_HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || length > buffer.capacity() - offset - FRAME_HEADER_SIZE) {
+                break;
+            }
+            ByteBuffer payload = buffer.slice(offset + FRAME_HEADER_SIZE, length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+                break;
+            }
+            replay.accept(payload.asReadOnlyBuffer());
+            offset += FRAME_HEADER_SIZE + length;
+        }
+
+        // Zero a torn frame, so its remains are never read back once new frames are written over it
+        if (offset + FRAME_HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(offset);
+            int end = length > 0 && length <= buffer.capacity() - offset - FRAME_HEADER_SIZE
+                    ? offset + FRAME_HEADER_SIZE + length : offset + FRAME_HEADER_SIZE;
+            for (int i = offset; i < end; i++) {
+                buffer.put(i, (byte) 0);
+            }
+            buffer.force();
+        }
+        return offset;
+    }
+
+    public synchronized void append(byte[] payload) {
+        int needed = FRAME_HEADER_SIZE + payload.length;
+        if ((long) position + needed + FRAME_HEADER_SIZE > buffer.capacity()) {
+            grow((long) position + needed + FRAME_HEADER_SIZE);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        buffer.put(position + FRAME_HEADER_SIZE, payload);
+        buffer.putInt(position + 4, (int) crc.getValue());
+        // The length goes in last, so a frame is never visible before its payload is written
+        buffer.putInt(position, payload.length);
+        position += needed;
+
+        if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+            force();
+        }
+    }
+
+    public synchronized void force() {
+        if (forcedUpTo < position) {
+            buffer.force(forcedUpTo, position - forcedUpTo);
+            forcedUpTo = position;
+        }
+    }
+
+    // Drops every frame, once their contents are safely captured elsewhere (e.g. in a snapshot)
+    public synchronized void reset() {
+        // The first length goes first: once it is zero on disk no frame can be replayed
+        buffer.putInt(HEADER_SIZE, 0);
+        buffer.force(HEADER_SIZE, 4);
+        for (int i = HEADER_SIZE; i < position; i++) {
+            buffer.put(i, (byte) 0);
+        }
+        buffer.force();
+        position = HEADER_SIZE;
+        forcedUpTo = HEADER_SIZE;
+    }
+
+    // Bytes of frames written since the last reset
+    public synchronized long size() {
+        return position - HEADER_SIZE;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        force();
+        try {
+            channel.close();
+            file.close();
+        } catch (IOException e) {
+            System.err.println("Failed to close log: " + e.getMessage());
+        }
+    }
+
+    private void grow(long required) {
+        long capacity = buffer.capacity();
+        while (capacity < required) {
+            capacity *= 2;
+        }
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Log is full; take a snapshot to compact it");
+        }
+        force();
+        try {
+            map(capacity);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to extend log", e);
+        }
+    }
+
+    private void map(long capacity) throws IOException {
+        if (file.length() < capacity) {
+            file.setLength(capacity);
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.library.utils;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AppendLogTest {
+    @TempDir
+    Path directory;
+
+    private List<String> replay(Path path) {
+        List<String> records = new ArrayList<>();
+        new AppendLog(path, AppendLog.FsyncPolicy.NEVER, 0, payload -> records.add(decode(payload))).close();
+        return records;
+    }
+
+    private static String decode(ByteBuffer payload) {
+        byte[] bytes = new byte[payload.remaining()];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testAppendedFramesAreReplayedInOrder() {
+        Path path = directory.resolve("test.log");
+        try (AppendLog log = new AppendLog(path, AppendLog.FsyncPolicy.ALWAYS, 0, payload -> { })) {
+            log.append("first".getBytes(StandardCharsets.UTF_8));
+            log.append("second".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertEquals(List.of("first", "second"), replay(path));
+    }
+
+    @Test
+    void testTornFrameIsDroppedAndOverwritten() throws Exception {
+        Path path = directory.resolve("torn.log");
+        try (AppendLog log = new AppendLog(path, AppendLog.FsyncPolicy.NEVER, 0, payload -> { })) {
+            log.append("kept".getBytes(StandardCharsets.UTF_8));
+            log.append("torn".getBytes(StandardCharsets.UTF_8));
+        }
+        // Corrupt the second payload: header, first frame (8 + 4 bytes), second frame header
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(16 + 12 + 8);
+            file.write('X');
+        }
+
+        assertEquals(List.of("kept"), replay(path), "Replay should stop at the corrupt frame");
+
+        try (AppendLog log = new AppendLog(path, AppendLog.FsyncPolicy.NEVER, 0, payload -> { })) {
+            log.append("next".getBytes(StandardCharsets.UTF_8));
+        }
+        assertEquals(List.of("kept", "next"), replay(path));
+    }
+
+    @Test
+    void testResetDropsEveryFrame() {
+        Path path = directory.resolve("reset.log");
+        try (AppendLog log = new AppendLog(path, AppendLog.FsyncPolicy.INTERVAL, 10, payload -> { })) {
+            log.append("old".getBytes(StandardCharsets.UTF_8));
+            log.reset();
+            assertEquals(0, log.size());
+            log.append("new".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertEquals(List.of("new"), replay(path));
+    }
+
+    @Test
+    void testLogGrowsPastItsInitialMapping() {
+        Path path = directory.resolve("large.log");
+        byte[] payload = new byte[1 << 20];
+        try (AppendLog log = new AppendLog(path, AppendLog.FsyncPolicy.NEVER, 0, record -> { })) {
+            for (int i = 0; i < 20; i++) {
+                log.append(payload);
+            }
+        }
+
+        assertEquals(20, replay(path).size());
+    }
+}
\ No newline at end of file
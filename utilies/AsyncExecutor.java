@@ -0,0 +1,143 @@
+package com.library.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs blocking service calls off the caller's thread and hands back a CompletableFuture. Each call
+// gets its own virtual thread where the JVM has them (Java 21+) and a pooled platform thread
+// otherwise. A semaphore sized to the connection pool caps how many calls are in the database at
+// once, so a burst of lookups waits here, cheaply, rather than for a pool connection.
+//
+// Cancelling a future, or letting it time out, abandons a call that is still waiting for a permit.
+// A call already in the database runs to completion and its result is discarded, so a timed-out
+// checkout may still have been recorded; callers should refresh rather than assume it failed.
+public class AsyncExecutor {
+    private static AsyncExecutor instance;
+
+    private static final int WAITING = 0;
+    private static final int RUNNING = 1;
+    private static final int ABANDONED = 2;
+
+    @FunctionalInterface
+    public interface Call<T> {
+        T call() throws Exception;
+    }
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int maxConcurrentCalls;
+    private final long defaultTimeoutMs;
+    private final boolean virtualThreads;
+
+    public AsyncExecutor(int maxConcurrentCalls, long defaultTimeoutMs) {
+        this(maxConcurrentCalls, defaultTimeoutMs, true);
+    }
+
+    // allowVirtualThreads = false forces the platform-thread fallback used on Java 17
+    AsyncExecutor(int maxConcurrentCalls, long defaultTimeoutMs, boolean allowVirtualThreads) {
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+        this.defaultTimeoutMs = defaultTimeoutMs;
+        ExecutorService virtual = allowVirtualThreads ? newVirtualThreadExecutor() : null;
+        this.virtualThreads = virtual != null;
+        this.executor = virtual != null ? virtual : newPlatformThreadExecutor(maxConcurrentCalls);
+    }
+
+    public static synchronized AsyncExecutor getInstance() {
+        if (instance == null) {
+            String poolSize = DatabaseConnection.getProperty("db.pool.size", "10");
+            instance = new AsyncExecutor(
+                    Integer.parseInt(DatabaseConnection.getProperty("async.maxConcurrentCalls", poolSize)),
+                    Long.parseLong(DatabaseConnection.getProperty("async.timeoutMs", "30000")));
+        }
+        return instance;
+    }
+
+    // Looked up reflectively so the code still compiles and runs on Java 17
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    // Platform threads are too costly to park on the semaphore, so there are only as many as permits
+    // and further calls queue up in the executor instead
+    private static ExecutorService newPlatformThreadExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread thread = new Thread(r, "library-async-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    public <T> CompletableFuture<T> submit(Call<T> call) {
+        return submit(call, defaultTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    // A timeout of zero or less waits indefinitely
+    public <T> CompletableFuture<T> submit(Call<T> call, long timeout, TimeUnit unit) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger state = new AtomicInteger(WAITING);
+
+        Future<?> task = executor.submit(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                // Lost the race with a cancel; clear any interrupt meant for the permit wait
+                if (!state.compareAndSet(WAITING, RUNNING)) {
+                    Thread.interrupted();
+                    return;
+                }
+                result.complete(call.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            } finally {
+                permits.release();
+            }
+        });
+
+        // Only a call still waiting is interrupted; one inside JDBC is never interrupted mid-query
+        result.whenComplete((value, error) -> {
+            if (error != null && state.compareAndSet(WAITING, ABANDONED)) {
+                task.cancel(true);
+            }
+        });
+        if (timeout > 0) {
+            result.orTimeout(timeout, unit);
+        }
+        return result;
+    }
+
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    // Calls currently holding a permit
+    public int getActiveCalls() {
+        return maxConcurrentCalls - permits.availablePermits();
+    }
+
+    public int getWaitingCalls() {
+        return permits.getQueueLength();
+    }
+}
\ No newline at end of file
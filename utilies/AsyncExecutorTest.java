@@ -0,0 +1,185 @@
+package com.library.utils;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncExecutorTest {
+
+    // Holds the executor's only permit until released
+    private static CompletableFuture<String> blockPermit(AsyncExecutor executor, CountDownLatch started,
+                                                        CountDownLatch release) {
+        return executor.submit(() -> {
+            started.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS), "Test never released the permit");
+            return "first";
+        }, 0, TimeUnit.MILLISECONDS);
+    }
+
+    private static void awaitIdle(AsyncExecutor executor) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getActiveCalls() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, executor.getActiveCalls(), "Every permit should be handed back");
+    }
+
+    @Test
+    void testCancellingAWaitingCallNeverRunsIt() throws Exception {
+        for (boolean allowVirtualThreads : new boolean[]{true, false}) {
+            AsyncExecutor executor = new AsyncExecutor(1, 0, allowVirtualThreads);
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<String> first = blockPermit(executor, started, release);
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            AtomicBoolean ran = new AtomicBoolean();
+            CompletableFuture<String> waiting = executor.submit(() -> {
+                ran.set(true);
+                return "second";
+            });
+            assertTrue(waiting.cancel(true));
+
+            release.countDown();
+            assertEquals("first", first.get(5, TimeUnit.SECONDS));
+            // The semaphore is fair, so the cancelled call would have run before this one
+            assertEquals("third", executor.submit(() -> "third").get(5, TimeUnit.SECONDS));
+            assertFalse(ran.get(), "A call cancelled while waiting for a permit should never run");
+            awaitIdle(executor);
+        }
+    }
+
+    @Test
+    void testCancellingARunningCallLetsItFinish() throws Exception {
+        AsyncExecutor executor = new AsyncExecutor(1, 0);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        CompletableFuture<String> running = executor.submit(() -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+            finished.countDown();
+            return "done";
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertTrue(running.cancel(true));
+        release.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertFalse(interrupted.get(), "A call already holding a permit should never be interrupted");
+        awaitIdle(executor);
+    }
+
+    @Test
+    void testCancelsRacingWithPermitHandoffNeitherLeakNorInterrupt() throws Exception {
+        AsyncExecutor executor = new AsyncExecutor(4, 0);
+        AtomicInteger interruptedRuns = new AtomicInteger();
+        AtomicInteger completedRuns = new AtomicInteger();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+        // Each cancel lands somewhere between queueing, waiting for a permit and running
+        for (int i = 0; i < 2_000; i++) {
+            int n = i;
+            CompletableFuture<Integer> future = executor.submit(() -> {
+                if (Thread.currentThread().isInterrupted()) {
+                    interruptedRuns.incrementAndGet();
+                }
+                completedRuns.incrementAndGet();
+                return n;
+            });
+            future.cancel(true);
+            futures.add(future);
+        }
+
+        assertEquals(-1, executor.submit(() -> -1).get(5, TimeUnit.SECONDS).intValue());
+        awaitIdle(executor);
+        assertEquals(0, interruptedRuns.get(), "A call that won the permit should never see the cancel's interrupt");
+        // A call that finished before its cancel keeps its result; one that lost the race may still
+        // have run, but its result is discarded
+        int kept = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            if (!futures.get(i).isCancelled()) {
+                assertEquals(i, futures.get(i).get().intValue());
+                kept++;
+            }
+        }
+        assertTrue(completedRuns.get() >= kept && completedRuns.get() <= futures.size());
+    }
+
+    @Test
+    void testTimeoutAbandonsAWaitingCall() throws Exception {
+        AsyncExecutor executor = new AsyncExecutor(1, 50);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = blockPermit(executor, started, release);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        AtomicBoolean ran = new AtomicBoolean();
+        CompletableFuture<String> waiting = executor.submit(() -> {
+            ran.set(true);
+            return "second";
+        });
+        ExecutionException timedOut = assertThrows(ExecutionException.class, () -> waiting.get(5, TimeUnit.SECONDS));
+        assertTrue(timedOut.getCause() instanceof TimeoutException, "Should time out on the default timeout");
+
+        release.countDown();
+        assertEquals("first", first.get(5, TimeUnit.SECONDS), "A zero timeout should wait indefinitely");
+        assertEquals("third", executor.submit(() -> "third").get(5, TimeUnit.SECONDS));
+        assertFalse(ran.get(), "A call that timed out waiting for a permit should never run");
+        awaitIdle(executor);
+    }
+
+    @Test
+    void testPlatformThreadFallbackCapsConcurrentCalls() throws Exception {
+        AsyncExecutor executor = new AsyncExecutor(2, 0, false);
+        assertFalse(executor.usesVirtualThreads());
+
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger started = new AtomicInteger();
+        AtomicInteger current = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            int n = i;
+            futures.add(executor.submit(() -> {
+                started.incrementAndGet();
+                peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+                try {
+                    assertTrue(release.await(5, TimeUnit.SECONDS));
+                } finally {
+                    current.decrementAndGet();
+                }
+                return n;
+            }));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (started.get() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(2, started.get(), "Only as many calls as permits should start");
+        assertEquals(2, executor.getActiveCalls());
+
+        release.countDown();
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i, futures.get(i).get(5, TimeUnit.SECONDS).intValue());
+        }
+        assertEquals(2, peak.get());
+        awaitIdle(executor);
+    }
+}
\ No newline at end of file
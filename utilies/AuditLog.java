@@ -0,0 +1,327 @@
+package com.library.utils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Write-behind audit trail for the audit_log table. Callers only build a record and drop it into a
+// lock-free ring buffer once their transaction commits; a single background writer drains the
+// buffer and inserts whole batches in one multi-row statement. What happens when the buffer is
+// full, and whether callers wait for their record to reach the database, is set in config.
+public class AuditLog {
+    private static AuditLog instance;
+    private static volatile String actor;
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final String INSERT_PREFIX =
+            "INSERT INTO audit_log (table_name, record_id, action, changed_by, changed_at, old_value, new_value) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?)";
+
+    public enum Action {
+        INSERT,
+        UPDATE,
+        DELETE
+    }
+
+    // What a caller does when the buffer is full
+    public enum Backpressure {
+        BLOCK,       // wait for the writer to free a slot
+        DROP,        // discard the record and count it
+        CALLER_RUNS  // write the record on the calling thread
+    }
+
+    public enum Durability {
+        BUFFERED,    // return once queued; records still buffered are lost if the process dies
+        SYNC         // return once the batch holding the record is committed
+    }
+
+    public static final class Record {
+        private final String tableName;
+        private final String recordId;
+        private final Action action;
+        private final String changedBy;
+        private final Instant changedAt;
+        private final String oldValue;
+        private final String newValue;
+
+        public Record(String tableName, String recordId, Action action, String changedBy, Instant changedAt,
+                      String oldValue, String newValue) {
+            this.tableName = tableName;
+            this.recordId = recordId;
+            this.action = action;
+            this.changedBy = changedBy;
+            this.changedAt = changedAt;
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+        }
+
+        public String getTableName() { return tableName; }
+        public String getRecordId() { return recordId; }
+        public Action getAction() { return action; }
+        public String getChangedBy() { return changedBy; }
+        public Instant getChangedAt() { return changedAt; }
+        public String getOldValue() { return oldValue; }
+        public String getNewValue() { return newValue; }
+    }
+
+    private final RingBuffer<Record> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Backpressure backpressure;
+    private final Durability durability;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    // Every position below this has been written or given up on; guarded by this for waiters
+    private long completedPosition;
+    private volatile Thread writer;
+    private volatile boolean running;
+
+    public AuditLog(int bufferSize, int batchSize, long flushIntervalMs, Backpressure backpressure, Durability durability) {
+        this.buffer = new RingBuffer<>(bufferSize);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.backpressure = backpressure;
+        this.durability = durability;
+    }
+
+    public static synchronized AuditLog getInstance() {
+        if (instance == null) {
+            instance = new AuditLog(
+                    Integer.parseInt(DatabaseConnection.getProperty("audit.bufferSize", "8192")),
+                    Integer.parseInt(DatabaseConnection.getProperty("audit.batchSize", "500")),
+                    Long.parseLong(DatabaseConnection.getProperty("audit.flushIntervalMs", "200")),
+                    Backpressure.valueOf(DatabaseConnection.getProperty("audit.backpressure", "BLOCK")),
+                    Durability.valueOf(DatabaseConnection.getProperty("audit.durability", "BUFFERED")));
+            instance.start();
+            AuditLog log = instance;
+            Runtime.getRuntime().addShutdownHook(new Thread(log::stop, "audit-log-shutdown"));
+        }
+        return instance;
+    }
+
+    // The user recorded as changed_by on subsequent records, e.g. whoever logged in to the desktop app
+    public static void setActor(String userId) {
+        actor = userId;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::runWriter, "audit-log-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    // Writes out everything already queued, then stops the writer
+    public void stop() {
+        Thread thread;
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            thread = writer;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Queued once the surrounding transaction commits, so rolled back changes leave no trace
+    public void record(String tableName, String recordId, Action action, String oldValue, String newValue) {
+        Record record = new Record(tableName, recordId, action, actor, Instant.now(), oldValue, newValue);
+        Transaction.afterCommit(() -> enqueue(record));
+    }
+
+    public void enqueue(Record record) {
+        if (!running) {
+            dropped.incrementAndGet();
+            return;
+        }
+        long position = buffer.offer(record);
+        while (position < 0) {
+            if (backpressure == Backpressure.DROP || !running) {
+                dropped.incrementAndGet();
+                return;
+            }
+            if (backpressure == Backpressure.CALLER_RUNS) {
+                writeWithRetry(Collections.singletonList(record));
+                return;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+            position = buffer.offer(record);
+        }
+
+        if (durability == Durability.SYNC) {
+            LockSupport.unpark(writer);
+            awaitCompleted(position + 1);
+        } else if (buffer.size() >= batchSize) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    // Blocks until every record queued before the call has been written or given up on
+    public void flush() {
+        LockSupport.unpark(writer);
+        awaitCompleted(buffer.tailPosition());
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    public int getQueuedCount() {
+        return buffer.size();
+    }
+
+    private synchronized void awaitCompleted(long position) {
+        boolean interrupted = false;
+        while (completedPosition < position && running) {
+            try {
+                wait(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) + 1);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runWriter() {
+        List<Record> batch = new ArrayList<>(batchSize);
+        while (running || buffer.size() > 0) {
+            batch.clear();
+            buffer.drainTo(batch, batchSize);
+            if (batch.isEmpty()) {
+                if (running) {
+                    LockSupport.parkNanos(this, flushIntervalNanos);
+                }
+                continue;
+            }
+            writeWithRetry(batch);
+            synchronized (this) {
+                completedPosition = buffer.headPosition();
+                notifyAll();
+            }
+        }
+        synchronized (this) {
+            completedPosition = buffer.headPosition();
+            notifyAll();
+        }
+    }
+
+    private void writeWithRetry(List<Record> batch) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                insertBatch(batch);
+                written.addAndGet(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                System.err.println("Failed to write audit batch (attempt " + attempt + "): " + e.getMessage());
+                LockSupport.parkNanos(flushIntervalNanos * attempt);
+            }
+        }
+        failed.addAndGet(batch.size());
+    }
+
+    private void insertBatch(List<Record> batch) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + batch.size() * (ROW_PLACEHOLDERS.length() + 2))
+                .append(INSERT_PREFIX);
+        for (int i = 0; i < batch.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append(ROW_PLACEHOLDERS);
+        }
+
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql.toString())) {
+            int index = 1;
+            for (Record record : batch) {
+                stmt.setString(index++, record.getTableName());
+                stmt.setString(index++, record.getRecordId());
+                stmt.setString(index++, record.getAction().name());
+                stmt.setString(index++, record.getChangedBy());
+                stmt.setTimestamp(index++, Timestamp.from(record.getChangedAt()));
+                stmt.setString(index++, record.getOldValue());
+                stmt.setString(index++, record.getNewValue());
+            }
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to write audit log", e);
+        }
+    }
+
+    // Builds a flat JSON object from alternating names and values; numbers and booleans stay unquoted
+    public static String json(Object... fields) {
+        StringBuilder json = new StringBuilder(fields.length * 12).append('{');
+        for (int i = 0; i + 1 < fields.length; i += 2) {
+            if (i > 0) {
+                json.append(',');
+            }
+            appendString(json, String.valueOf(fields[i]));
+            json.append(':');
+            Object value = fields[i + 1];
+            if (value == null || value instanceof Number || value instanceof Boolean) {
+                json.append(value);
+            } else {
+                appendString(json, value.toString());
+            }
+        }
+        return json.append('}').toString();
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+}
\ No newline at end of file
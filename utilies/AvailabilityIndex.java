@@ -0,0 +1,101 @@
+package com.library.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Available-copy counts held in memory, one primitive int slot per ISBN. Slots live in fixed-size
+// AtomicIntegerArray chunks, so adding an ISBN never copies existing counts and every update is a
+// compare-and-set on that book's slot alone. load() swaps in a complete table built from a snapshot.
+public class AvailabilityIndex {
+    public static final int UNKNOWN = -1;
+
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    private static final class Table {
+        final Map<String, Integer> slots = new ConcurrentHashMap<>();
+        volatile AtomicIntegerArray[] chunks = new AtomicIntegerArray[16];
+        private int nextSlot;
+
+        // A new slot reads UNKNOWN until its first value is set
+        synchronized int allocate() {
+            int slot = nextSlot++;
+            int chunk = slot >>> CHUNK_BITS;
+            AtomicIntegerArray[] current = chunks;
+            if (chunk == current.length) {
+                AtomicIntegerArray[] grown = new AtomicIntegerArray[current.length * 2];
+                System.arraycopy(current, 0, grown, 0, current.length);
+                current = grown;
+            }
+            if (current[chunk] == null) {
+                current[chunk] = new AtomicIntegerArray(CHUNK_SIZE);
+            }
+            current[chunk].set(slot & (CHUNK_SIZE - 1), UNKNOWN);
+            chunks = current;
+            return slot;
+        }
+
+        int slotFor(String isbn) {
+            return slots.computeIfAbsent(isbn, key -> allocate());
+        }
+
+        AtomicIntegerArray chunk(int slot) {
+            return chunks[slot >>> CHUNK_BITS];
+        }
+    }
+
+    private volatile Table table = new Table();
+
+    // UNKNOWN when the ISBN has not been loaded
+    public int get(String isbn) {
+        Table current = table;
+        Integer slot = current.slots.get(isbn);
+        return slot != null ? current.chunk(slot).get(slot & (CHUNK_SIZE - 1)) : UNKNOWN;
+    }
+
+    public void put(String isbn, int available) {
+        Table current = table;
+        int slot = current.slotFor(isbn);
+        current.chunk(slot).set(slot & (CHUNK_SIZE - 1), Math.max(0, available));
+    }
+
+    // Applies a checkout or return to a loaded ISBN; never goes below zero
+    public void add(String isbn, int delta) {
+        Table current = table;
+        Integer slot = current.slots.get(isbn);
+        if (slot == null) {
+            return;
+        }
+        AtomicIntegerArray chunk = current.chunk(slot);
+        int index = slot & (CHUNK_SIZE - 1);
+        while (true) {
+            int available = chunk.get(index);
+            if (available == UNKNOWN || chunk.compareAndSet(index, available, Math.max(0, available + delta))) {
+                return;
+            }
+        }
+    }
+
+    // The slot itself is reclaimed by the next load()
+    public void remove(String isbn) {
+        Table current = table;
+        Integer slot = current.slots.remove(isbn);
+        if (slot != null) {
+            current.chunk(slot).set(slot & (CHUNK_SIZE - 1), UNKNOWN);
+        }
+    }
+
+    public void load(Map<String, Integer> availableByIsbn) {
+        Table loaded = new Table();
+        availableByIsbn.forEach((isbn, available) -> {
+            int slot = loaded.slotFor(isbn);
+            loaded.chunk(slot).set(slot & (CHUNK_SIZE - 1), Math.max(0, available));
+        });
+        table = loaded;
+    }
+
+    public int size() {
+        return table.slots.size();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.library.utils;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityIndexTest {
+    private AvailabilityIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new AvailabilityIndex();
+        index.load(Map.of("978-0-13-468599-1", 3, "978-0-13-235088-4", 0));
+    }
+
+    @Test
+    void testLoadedCountsAndUnknownIsbns() {
+        assertEquals(3, index.get("978-0-13-468599-1"));
+        assertEquals(0, index.get("978-0-13-235088-4"));
+        assertEquals(AvailabilityIndex.UNKNOWN, index.get("978-0-00-000000-0"));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void testAddNeverGoesBelowZero() {
+        index.add("978-0-13-468599-1", -1);
+        assertEquals(2, index.get("978-0-13-468599-1"));
+
+        index.add("978-0-13-235088-4", -1);
+        assertEquals(0, index.get("978-0-13-235088-4"));
+
+        index.add("978-0-00-000000-0", 1);
+        assertEquals(AvailabilityIndex.UNKNOWN, index.get("978-0-00-000000-0"), "Unknown ISBNs stay unknown");
+    }
+
+    @Test
+    void testPutRemoveAndReload() {
+        index.put("978-0-00-000000-0", 5);
+        assertEquals(5, index.get("978-0-00-000000-0"));
+
+        index.remove("978-0-13-468599-1");
+        assertEquals(AvailabilityIndex.UNKNOWN, index.get("978-0-13-468599-1"));
+
+        index.load(Map.of("978-0-13-468599-1", 1));
+        assertEquals(1, index.get("978-0-13-468599-1"));
+        assertEquals(AvailabilityIndex.UNKNOWN, index.get("978-0-00-000000-0"), "A reload replaces every count");
+    }
+
+    @Test
+    void testGrowsPastOneChunk() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 10000; i++) {
+            counts.put("ISBN-" + i, i % 7);
+        }
+        index.load(counts);
+        index.put("ISBN-new", 4);
+
+        assertEquals(10001, index.size());
+        assertEquals(9999 % 7, index.get("ISBN-9999"));
+        assertEquals(4, index.get("ISBN-new"));
+    }
+
+    @Test
+    void testConcurrentCheckoutsAndReturnsBalance() throws InterruptedException {
+        index.put("978-0-00-000000-0", 1000);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int delta = t % 2 == 0 ? -1 : 1;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    index.add("978-0-00-000000-0", delta);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1000, index.get("978-0-00-000000-0"));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,630 @@
+package com.library.utils;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+public class ConnectionPool implements DataSource, AutoCloseable {
+    // Connections returned this recently are handed out again without a validation round trip
+    private static final long VALIDATION_SKIP_MS = 500;
+    private static final long HOUSEKEEPING_INTERVAL_MS = 5_000;
+
+    private final String url;
+    private final Properties connectionProperties;
+    private final int maxPoolSize;
+    private final int minIdle;
+    private final long connectionTimeoutMs;
+    private final long idleTimeoutMs;
+    private final int validationTimeoutSeconds;
+    private final long leakDetectionThresholdMs;
+    private final int statementPoolSize;
+
+    private final Semaphore permits;
+    private final BlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicInteger waitingThreads = new AtomicInteger();
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder leakCount = new LongAdder();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder evictedCount = new LongAdder();
+    private final LongAdder statementHits = new LongAdder();
+    private final LongAdder statementMisses = new LongAdder();
+    private final ScheduledExecutorService housekeeper;
+
+    private volatile boolean closed;
+    private PrintWriter logWriter;
+    private int loginTimeout;
+
+    public ConnectionPool(Properties properties) {
+        this.url = properties.getProperty("db.url");
+        this.maxPoolSize = Math.max(1, intProperty(properties, "db.pool.size", 10));
+        this.minIdle = Math.min(maxPoolSize, intProperty(properties, "db.pool.minIdle", 2));
+        this.connectionTimeoutMs = longProperty(properties, "db.pool.connectionTimeoutMs", 30_000);
+        this.idleTimeoutMs = longProperty(properties, "db.pool.idleTimeoutMs", 600_000);
+        this.validationTimeoutSeconds = intProperty(properties, "db.pool.validationTimeoutSeconds", 5);
+        this.leakDetectionThresholdMs = longProperty(properties, "db.pool.leakDetectionThresholdMs", 0);
+        this.statementPoolSize = intProperty(properties, "db.pool.statementPoolSize", 100);
+
+        this.connectionProperties = new Properties();
+        connectionProperties.setProperty("user", properties.getProperty("db.username", ""));
+        connectionProperties.setProperty("password", properties.getProperty("db.password", ""));
+
+        // Server-side prepared statements cached by the driver, per physical connection
+        int statementCacheSize = intProperty(properties, "db.pool.statementCacheSize", 250);
+        if (statementCacheSize > 0) {
+            connectionProperties.setProperty("cachePrepStmts", "true");
+            connectionProperties.setProperty("useServerPrepStmts", "true");
+            connectionProperties.setProperty("prepStmtCacheSize", String.valueOf(statementCacheSize));
+            connectionProperties.setProperty("prepStmtCacheSqlLimit",
+                    properties.getProperty("db.pool.statementCacheSqlLimit", "2048"));
+        }
+
+        // Statements that set a fetch size read through a server-side cursor in batches,
+        // rather than buffering the whole result in memory
+        if (Boolean.parseBoolean(properties.getProperty("db.stream.cursorFetch", "true"))) {
+            connectionProperties.setProperty("useCursorFetch", "true");
+        }
+
+        this.permits = new Semaphore(maxPoolSize, true);
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep, 0, HOUSEKEEPING_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        waitingThreads.incrementAndGet();
+        try {
+            if (!permits.tryAcquire(connectionTimeoutMs, TimeUnit.MILLISECONDS)) {
+                timeoutCount.increment();
+                throw new SQLTimeoutException("Timed out after " + connectionTimeoutMs +
+                        "ms waiting for a connection (" + getStats() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        } finally {
+            waitingThreads.decrementAndGet();
+        }
+
+        try {
+            PooledConnection pooled = takeIdleOrCreate();
+            pooled.borrowedAt = System.currentTimeMillis();
+            pooled.borrowSite = leakDetectionThresholdMs > 0 ? new Exception("Connection borrowed here") : null;
+            pooled.leakReported = false;
+            borrowed.add(pooled);
+            borrowCount.increment();
+            return pooled.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PooledConnection takeIdleOrCreate() throws SQLException {
+        PooledConnection pooled;
+        // LIFO keeps the warmest connections busy and lets surplus ones age out at the tail
+        while ((pooled = idle.pollFirst()) != null) {
+            if (isUsable(pooled)) {
+                return pooled;
+            }
+            retire(pooled);
+        }
+        return createConnection();
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        try {
+            if (System.currentTimeMillis() - pooled.lastReturnedAt < VALIDATION_SKIP_MS) {
+                return !pooled.physical.isClosed();
+            }
+            return pooled.physical.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private PooledConnection createConnection() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, connectionProperties);
+        totalConnections.incrementAndGet();
+        createdCount.increment();
+        return new PooledConnection(physical);
+    }
+
+    private void release(PooledConnection pooled, List<Statement> openStatements) {
+        if (!borrowed.remove(pooled)) {
+            return;
+        }
+
+        // Whatever the borrower left open is closed here, so no cursor outlives its borrow
+        for (Statement statement : new ArrayList<>(openStatements)) {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                System.err.println("Failed to close statement: " + e.getMessage());
+            }
+        }
+
+        try {
+            if (closed || pooled.physical.isClosed()) {
+                retire(pooled);
+                return;
+            }
+            // Never hand out a connection with someone else's open transaction
+            if (!pooled.physical.getAutoCommit()) {
+                pooled.physical.rollback();
+                pooled.physical.setAutoCommit(true);
+            }
+            pooled.lastReturnedAt = System.currentTimeMillis();
+            idle.offerFirst(pooled);
+        } catch (SQLException e) {
+            retire(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void retire(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            System.err.println("Failed to close pooled connection: " + e.getMessage());
+        }
+    }
+
+    private void housekeep() {
+        try {
+            long now = System.currentTimeMillis();
+
+            for (PooledConnection pooled : idle) {
+                if (idle.size() <= minIdle) {
+                    break;
+                }
+                if (now - pooled.lastReturnedAt > idleTimeoutMs && idle.remove(pooled)) {
+                    retire(pooled);
+                    evictedCount.increment();
+                }
+            }
+
+            while (!closed && idle.size() < minIdle && permits.tryAcquire()) {
+                try {
+                    PooledConnection pooled = createConnection();
+                    pooled.lastReturnedAt = now;
+                    idle.offerLast(pooled);
+                } finally {
+                    permits.release();
+                }
+            }
+
+            if (leakDetectionThresholdMs > 0) {
+                for (PooledConnection pooled : borrowed) {
+                    if (!pooled.leakReported && now - pooled.borrowedAt > leakDetectionThresholdMs) {
+                        pooled.leakReported = true;
+                        leakCount.increment();
+                        System.err.println("Possible connection leak: connection held for " +
+                                (now - pooled.borrowedAt) + "ms");
+                        if (pooled.borrowSite != null) {
+                            pooled.borrowSite.printStackTrace();
+                        }
+                    }
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            System.err.println("Connection pool housekeeping failed: " + e.getMessage());
+        }
+    }
+
+    public PoolStats getStats() {
+        int active = borrowed.size();
+        int idleCount = idle.size();
+        return new PoolStats(totalConnections.get(), active, idleCount, waitingThreads.get(), maxPoolSize,
+                borrowCount.sum(), timeoutCount.sum(), leakCount.sum(), createdCount.sum(), evictedCount.sum(),
+                statementHits.sum(), statementMisses.sum());
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            retire(pooled);
+        }
+        // Borrowed connections are retired as their holders close them
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Pooled connections use the configured credentials");
+    }
+
+    @Override
+    public PrintWriter getLogWriter() { return logWriter; }
+
+    @Override
+    public void setLogWriter(PrintWriter out) { this.logWriter = out; }
+
+    @Override
+    public void setLoginTimeout(int seconds) { this.loginTimeout = seconds; }
+
+    @Override
+    public int getLoginTimeout() { return loginTimeout; }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    private static int intProperty(Properties properties, String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null || value.trim().isEmpty() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    private static long longProperty(Properties properties, String key, long defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null || value.trim().isEmpty() ? defaultValue : Long.parseLong(value.trim());
+    }
+
+    private final class PooledConnection {
+        final Connection physical;
+        volatile long lastReturnedAt;
+        volatile long borrowedAt;
+        volatile Throwable borrowSite;
+        volatile boolean leakReported;
+
+        // Prepared statements kept open across borrows, least recently used first. Only the
+        // current borrower touches them, so no locking is needed.
+        final Map<String, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        Connection newHandle() {
+            ConnectionHandle handle = new ConnectionHandle(this);
+            Connection proxy = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, handle);
+            handle.proxy = proxy;
+            return proxy;
+        }
+
+        // Hands out the cached statement for this SQL, or prepares one. A statement already in use,
+        // e.g. by an enclosing query with the same text, is not shared: the caller gets a fresh one.
+        PreparedStatement prepareCached(String sql, ConnectionHandle handle) throws SQLException {
+            CachedStatement cached = statements.get(sql);
+            if (cached != null && !cached.inUse) {
+                statementHits.increment();
+            } else {
+                statementMisses.increment();
+                PreparedStatement physicalStatement = physical.prepareStatement(sql);
+                if (cached != null) {
+                    return handle.track(new StatementHandle(physicalStatement, null, handle));
+                }
+                cached = new CachedStatement(sql, physicalStatement, statements);
+                statements.put(sql, cached);
+                evictEldest();
+            }
+            cached.inUse = true;
+            return handle.track(new StatementHandle(cached.statement, cached, handle));
+        }
+
+        private void evictEldest() {
+            Iterator<CachedStatement> eldest = statements.values().iterator();
+            while (statements.size() > statementPoolSize && eldest.hasNext()) {
+                CachedStatement cached = eldest.next();
+                eldest.remove();
+                cached.evicted = true;
+                if (!cached.inUse) {
+                    cached.closeQuietly();
+                }
+            }
+        }
+    }
+
+    private static final class CachedStatement {
+        final String sql;
+        final PreparedStatement statement;
+        final Map<String, CachedStatement> owner;
+        boolean inUse;
+        boolean evicted;
+
+        CachedStatement(String sql, PreparedStatement statement, Map<String, CachedStatement> owner) {
+            this.sql = sql;
+            this.statement = statement;
+            this.owner = owner;
+        }
+
+        void discard() {
+            evicted = true;
+            owner.remove(sql, this);
+        }
+
+        void closeQuietly() {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                System.err.println("Failed to close cached statement: " + e.getMessage());
+            }
+        }
+    }
+
+    // Each borrow gets its own handle, so a stale reference cannot close a re-borrowed connection
+    private final class ConnectionHandle implements InvocationHandler {
+        private final PooledConnection pooled;
+        private final List<Statement> openStatements = new ArrayList<>();
+        private Connection proxy;
+        private volatile boolean returned;
+
+        ConnectionHandle(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(pooled, openStatements);
+                    }
+                    return null;
+                case "isClosed":
+                    if (returned) {
+                        return true;
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+                default:
+                    if (returned) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+            }
+
+            if (method.getName().equals("prepareStatement") && args.length == 1 && statementPoolSize > 0) {
+                return pooled.prepareCached((String) args[0], this);
+            }
+
+            Object result;
+            try {
+                result = method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof Statement) {
+                openStatements.add((Statement) result);
+            }
+            return result;
+        }
+
+        PreparedStatement track(StatementHandle handle) {
+            PreparedStatement statement = (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, handle);
+            openStatements.add(statement);
+            return statement;
+        }
+    }
+
+    // What a DAO holds in place of a pooled prepared statement. Closing it closes its result sets
+    // and clears its parameters, then returns the statement to the connection's cache.
+    private final class StatementHandle implements InvocationHandler {
+        private final PreparedStatement physical;
+        private final CachedStatement cached;
+        private final ConnectionHandle owner;
+        private final List<ResultSet> openResults = new ArrayList<>(1);
+        private boolean closed;
+        // Set once the caller changes statement-level settings such as the fetch size; a
+        // statement in that state is closed rather than handed to the next borrower
+        private boolean reconfigured;
+
+        StatementHandle(PreparedStatement physical, CachedStatement cached, ConnectionHandle owner) {
+            this.physical = physical;
+            this.cached = cached;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        owner.openStatements.remove(proxy);
+                        close();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "getConnection":
+                    return owner.proxy;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledStatement[" + physical + "]";
+                case "setFetchSize":
+                case "setFetchDirection":
+                case "setMaxRows":
+                case "setLargeMaxRows":
+                case "setMaxFieldSize":
+                case "setQueryTimeout":
+                case "setEscapeProcessing":
+                case "setCursorName":
+                case "setPoolable":
+                case "closeOnCompletion":
+                    reconfigured = true;
+                    break;
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Statement is closed");
+            }
+
+            Object result;
+            try {
+                result = method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof ResultSet) {
+                openResults.add((ResultSet) result);
+            }
+            return result;
+        }
+
+        private void close() throws SQLException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                for (ResultSet rs : openResults) {
+                    rs.close();
+                }
+                openResults.clear();
+                if (cached == null || cached.evicted || reconfigured || physical.isClosed()) {
+                    if (cached != null) {
+                        cached.discard();
+                    }
+                    physical.close();
+                    return;
+                }
+                physical.clearParameters();
+                physical.clearBatch();
+            } catch (SQLException e) {
+                if (cached != null) {
+                    cached.discard();
+                }
+                physical.close();
+                throw e;
+            } finally {
+                if (cached != null) {
+                    cached.inUse = false;
+                }
+            }
+        }
+    }
+
+    public static class PoolStats {
+        private final int totalConnections;
+        private final int activeConnections;
+        private final int idleConnections;
+        private final int waitingThreads;
+        private final int maxPoolSize;
+        private final long borrowCount;
+        private final long timeoutCount;
+        private final long leakCount;
+        private final long createdCount;
+        private final long evictedCount;
+        private final long statementCacheHits;
+        private final long statementCacheMisses;
+
+        PoolStats(int totalConnections, int activeConnections, int idleConnections, int waitingThreads,
+                  int maxPoolSize, long borrowCount, long timeoutCount, long leakCount,
+                  long createdCount, long evictedCount, long statementCacheHits, long statementCacheMisses) {
+            this.totalConnections = totalConnections;
+            this.activeConnections = activeConnections;
+            this.idleConnections = idleConnections;
+            this.waitingThreads = waitingThreads;
+            this.maxPoolSize = maxPoolSize;
+            this.borrowCount = borrowCount;
+            this.timeoutCount = timeoutCount;
+            this.leakCount = leakCount;
+            this.createdCount = createdCount;
+            this.evictedCount = evictedCount;
+            this.statementCacheHits = statementCacheHits;
+            this.statementCacheMisses = statementCacheMisses;
+        }
+
+        public int getTotalConnections() { return totalConnections; }
+        public int getActiveConnections() { return activeConnections; }
+        public int getIdleConnections() { return idleConnections; }
+        public int getWaitingThreads() { return waitingThreads; }
+        public int getMaxPoolSize() { return maxPoolSize; }
+        public long getBorrowCount() { return borrowCount; }
+        public long getTimeoutCount() { return timeoutCount; }
+        public long getLeakCount() { return leakCount; }
+        public long getCreatedCount() { return createdCount; }
+        public long getEvictedCount() { return evictedCount; }
+        public long getStatementCacheHits() { return statementCacheHits; }
+        public long getStatementCacheMisses() { return statementCacheMisses; }
+
+        @Override
+        public String toString() {
+            return "PoolStats{" +
+                    "total=" + totalConnections +
+                    ", active=" + activeConnections +
+                    ", idle=" + idleConnections +
+                    ", waiting=" + waitingThreads +
+                    ", max=" + maxPoolSize +
+                    ", borrows=" + borrowCount +
+                    ", timeouts=" + timeoutCount +
+                    ", leaks=" + leakCount +
+                    ", created=" + createdCount +
+                    ", evicted=" + evictedCount +
+                    ", statementHits=" + statementCacheHits +
+                    ", statementMisses=" + statementCacheMisses +
+                    '}';
+        }
+    }
+}
\ No newline at end of file
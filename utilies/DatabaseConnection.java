@@ -1,48 +1,99 @@
-package com.library.utils;
-
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.SQLException;
-import java.util.Properties;
-
-public class DatabaseConnection {
-    private static Connection connection;
-    private static final Properties properties = new Properties();
-
-    static {
-        try {
-            // Load configuration from properties file
-            properties.load(DatabaseConnection.class.getClassLoader().getResourceAsStream("config.properties"));
-            
-            Class.forName(properties.getProperty("db.driver"));
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to load database driver", e);
-        }
-    }
-
-    public static Connection getConnection() {
-        if (connection == null) {
-            try {
-                connection = DriverManager.getConnection(
-                    properties.getProperty("db.url"),
-                    properties.getProperty("db.username"),
-                    properties.getProperty("db.password")
-                );
-            } catch (SQLException e) {
-                throw new RuntimeException("Failed to establish database connection", e);
-            }
-        }
-        return connection;
-    }
-
-    public static void closeConnection() {
-        if (connection != null) {
-            try {
-                connection.close();
-                connection = null;
-            } catch (SQLException e) {
-                System.err.println("Failed to close database connection: " + e.getMessage());
-            }
-        }
-    }
-}
+package com.library.utils;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Properties;
+
+public class DatabaseConnection {
+    private static ConnectionPool pool;
+    private static final Properties properties = new Properties();
+
+    // Settings come from config.properties. A -D system property of the same name overrides one,
+    // which lets benchmarks and tools point the app at another database without editing the file;
+    // overrides are looked up per setting, so other JVM properties never mix into the configuration.
+    static {
+        try (InputStream config = DatabaseConnection.class.getClassLoader().getResourceAsStream("config.properties")) {
+            if (config != null) {
+                properties.load(config);
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to load database configuration", e);
+        }
+    }
+
+    // Borrows a pooled connection for one operation; closing it returns it to the pool.
+    // Inside a transaction every caller on the thread shares the transaction's connection.
+    public static Connection getConnection() {
+        Connection transactional = Transaction.currentConnection();
+        if (transactional != null) {
+            return transactional;
+        }
+
+        try {
+            return getDataSource().getConnection();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to establish database connection", e);
+        }
+    }
+
+    // The embedded store has no JDBC connection; its transactions only coordinate DAO callbacks
+    public static Transaction beginTransaction() {
+        if (usesEmbeddedStore()) {
+            return Transaction.beginWithoutConnection();
+        }
+        return Transaction.begin(getDataSource());
+    }
+
+    public static boolean usesEmbeddedStore() {
+        return "embedded".equalsIgnoreCase(getProperty("storage.backend", "jdbc"));
+    }
+
+    public static synchronized ConnectionPool getDataSource() {
+        if (pool == null || pool.isClosed()) {
+            Properties settings = settings("db.");
+            String driver = settings.getProperty("db.driver");
+            if (driver != null) {
+                try {
+                    Class.forName(driver);
+                } catch (ClassNotFoundException e) {
+                    throw new RuntimeException("Failed to load database driver", e);
+                }
+            }
+            pool = new ConnectionPool(settings);
+        }
+        return pool;
+    }
+
+    public static ConnectionPool.PoolStats getPoolStats() {
+        return getDataSource().getStats();
+    }
+
+    public static String getProperty(String key, String defaultValue) {
+        String override = System.getProperty(key);
+        return override != null ? override : properties.getProperty(key, defaultValue);
+    }
+
+    // The settings under a prefix with their overrides applied, for components that take Properties
+    private static Properties settings(String prefix) {
+        Properties settings = new Properties();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(prefix)) {
+                settings.setProperty(key, properties.getProperty(key));
+            }
+        }
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith(prefix)) {
+                settings.setProperty(key, System.getProperty(key));
+            }
+        }
+        return settings;
+    }
+
+    public static synchronized void closeConnection() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+    }
+}
@@ -1,45 +1,45 @@
-package com.library.utils;
-
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-
-public class DateUtils {
-    private static final DateTimeFormatter[] DATE_FORMATS = {
-        DateTimeFormatter.ISO_LOCAL_DATE,
-        DateTimeFormatter.ofPattern("MM/dd/yyyy"),
-        DateTimeFormatter.ofPattern("dd-MM-yyyy"),
-        DateTimeFormatter.ofPattern("yyyy.MM.dd")
-    };
-
-    public static LocalDate parseDate(String dateString) {
-        if (dateString == null || dateString.trim().isEmpty()) {
-            return null;
-        }
-
-        for (DateTimeFormatter formatter : DATE_FORMATS) {
-            try {
-                return LocalDate.parse(dateString, formatter);
-            } catch (DateTimeParseException e) {
-                // Try next format
-            }
-        }
-        throw new IllegalArgumentException("Could not parse date: " + dateString);
-    }
-
-    public static String formatDate(LocalDate date) {
-        if (date == null) {
-            return "";
-        }
-        return date.format(DateTimeFormatter.ISO_LOCAL_DATE);
-    }
-
-    public static boolean isDateInRange(LocalDate date, LocalDate start, LocalDate end) {
-        if (date == null) return false;
-        return !date.isBefore(start) && !date.isAfter(end);
-    }
-
-    public static long daysBetween(LocalDate start, LocalDate end) {
-        return Math.abs(start.toEpochDay() - end.toEpochDay());
-    }
+package com.library.utils;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+public class DateUtils {
+    private static final DateTimeFormatter[] DATE_FORMATS = {
+        DateTimeFormatter.ISO_LOCAL_DATE,
+        DateTimeFormatter.ofPattern("MM/dd/yyyy"),
+        DateTimeFormatter.ofPattern("dd-MM-yyyy"),
+        DateTimeFormatter.ofPattern("yyyy.MM.dd")
+    };
+
+    public static LocalDate parseDate(String dateString) {
+        if (dateString == null || dateString.trim().isEmpty()) {
+            return null;
+        }
+
+        for (DateTimeFormatter formatter : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(dateString, formatter);
+            } catch (DateTimeParseException e) {
+                // Try next format
+            }
+        }
+        throw new IllegalArgumentException("Could not parse date: " + dateString);
+    }
+
+    public static String formatDate(LocalDate date) {
+        if (date == null) {
+            return "";
+        }
+        return date.format(DateTimeFormatter.ISO_LOCAL_DATE);
+    }
+
+    public static boolean isDateInRange(LocalDate date, LocalDate start, LocalDate end) {
+        if (date == null) return false;
+        return !date.isBefore(start) && !date.isAfter(end);
+    }
+
+    public static long daysBetween(LocalDate start, LocalDate end) {
+        return Math.abs(start.toEpochDay() - end.toEpochDay());
+    }
 } 
\ No newline at end of file
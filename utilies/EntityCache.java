@@ -0,0 +1,161 @@
+package com.library.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bounded, TTL-expiring cache split into independently locked LRU segments, so concurrent
+// readers of different keys rarely contend and eviction stays O(1).
+public class EntityCache<K, V> {
+    private static final int SEGMENT_COUNT = 16;
+
+    private final Segment[] segments;
+    private final long ttlNanos;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public EntityCache(int maxSize, long ttl, TimeUnit unit) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        int perSegment = Math.max(1, (maxSize + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        this.segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(perSegment, evictions);
+        }
+        this.ttlNanos = unit.toNanos(ttl);
+    }
+
+    // Segments are shared by every key type, but only put() adds entries, always as CacheEntry<V>
+    @SuppressWarnings("unchecked")
+    public V getIfPresent(K key) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            CacheEntry<V> entry = (CacheEntry<V>) segment.entries.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (System.nanoTime() - entry.loadedAt > ttlNanos) {
+                segment.entries.remove(key);
+                expirations.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        }
+    }
+
+    public void put(K key, V value) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.entries.put(key, new CacheEntry<>(value, System.nanoTime()));
+        }
+    }
+
+    public void invalidate(K key) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.entries.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.entries.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.entries.size();
+            }
+        }
+        return size;
+    }
+
+    public CacheStats getStats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum(), size());
+    }
+
+    private Segment segmentFor(K key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return segments[hash & (SEGMENT_COUNT - 1)];
+    }
+
+    private static final class CacheEntry<V> {
+        final V value;
+        final long loadedAt;
+
+        CacheEntry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    // Access-ordered map: every hit moves the entry to the tail, so the head is least recently used
+    private static final class Segment {
+        final LinkedHashMap<Object, CacheEntry<?>> entries;
+
+        Segment(int capacity, LongAdder evictions) {
+            entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, CacheEntry<?>> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+
+    public static class CacheStats {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long expirations;
+        private final int size;
+
+        CacheStats(long hits, long misses, long evictions, long expirations, int size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.expirations = expirations;
+            this.size = size;
+        }
+
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getEvictions() { return evictions; }
+        public long getExpirations() { return expirations; }
+        public int getSize() { return size; }
+
+        public double getHitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+
+        @Override
+        public String toString() {
+            return "CacheStats{" +
+                    "hits=" + hits +
+                    ", misses=" + misses +
+                    ", hitRate=" + String.format("%.2f", getHitRate()) +
+                    ", evictions=" + evictions +
+                    ", expirations=" + expirations +
+                    ", size=" + size +
+                    '}';
+        }
+    }
+}
\ No newline at end of file
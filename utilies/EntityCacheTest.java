@@ -0,0 +1,61 @@
+package com.library.utils;
+
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityCacheTest {
+
+    @Test
+    void testReadThroughHitsAndMisses() {
+        EntityCache<String, String> cache = new EntityCache<>(100, 1, TimeUnit.MINUTES);
+
+        assertNull(cache.getIfPresent("978-1"));
+        cache.put("978-1", "Book");
+        assertEquals("Book", cache.getIfPresent("978-1"));
+
+        EntityCache.CacheStats stats = cache.getStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0.5, stats.getHitRate(), 0.0001);
+    }
+
+    @Test
+    void testSizeStaysBoundedUnderLoad() {
+        EntityCache<String, String> cache = new EntityCache<>(160, 1, TimeUnit.MINUTES);
+
+        for (int i = 0; i < 10_000; i++) {
+            cache.put("key" + i, "value" + i);
+        }
+
+        assertTrue(cache.size() <= 160, "Cache should never grow past its bound");
+        assertTrue(cache.getStats().getEvictions() > 0, "Least recently used entries should be evicted");
+    }
+
+    @Test
+    void testEntriesExpireAfterTtl() throws InterruptedException {
+        EntityCache<String, String> cache = new EntityCache<>(100, 50, TimeUnit.MILLISECONDS);
+        cache.put("U1", "User");
+
+        Thread.sleep(100);
+
+        assertNull(cache.getIfPresent("U1"), "Expired entries should be reloaded");
+        assertEquals(1, cache.getStats().getExpirations());
+    }
+
+    @Test
+    void testInvalidateRemovesEntry() {
+        EntityCache<String, String> cache = new EntityCache<>(100, 1, TimeUnit.MINUTES);
+        cache.put("978-1", "Book");
+        cache.put("978-2", "Other");
+
+        cache.invalidate("978-1");
+        assertNull(cache.getIfPresent("978-1"));
+        assertEquals("Other", cache.getIfPresent("978-2"));
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,5 @@
+package com.library.utils;
+
+public interface IdGenerator {
+    String nextId();
+}
\ No newline at end of file
@@ -1,40 +1,44 @@
-package com.library.utils;
-
-import java.util.regex.Pattern;
-
-public class InputValidator {
-    private static final Pattern EMAIL_PATTERN = Pattern.compile(
-        "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$");
-    private static final Pattern PHONE_PATTERN = Pattern.compile(
-        "^\\+?[0-9\\s-]{10,}$");
-    private static final Pattern ISBN_PATTERN = Pattern.compile(
-        "^(?:ISBN(?:-1[03])?:? )?(?=[0-9X]{10}$|(?=(?:[0-9]+[- ]){3})[- 0-9X]{13}$|97[89][0-9]{10}$|(?=(?:[0-9]+[- ]){4})[- 0-9]{17}$)(?:97[89][- ]?)?[0-9]{1,5}[- ]?[0-9]+[- ]?[0-9]+[- ]?[0-9X]$");
-
-    public static boolean isValidEmail(String email) {
-        return email != null && EMAIL_PATTERN.matcher(email).matches();
-    }
-
-    public static boolean isValidPhoneNumber(String phone) {
-        return phone != null && PHONE_PATTERN.matcher(phone).matches();
-    }
-
-    public static boolean isValidIsbn(String isbn) {
-        return isbn != null && ISBN_PATTERN.matcher(isbn).matches();
-    }
-
-    public static boolean isNullOrEmpty(String input) {
-        return input == null || input.trim().isEmpty();
-    }
-
-    public static boolean isPositiveNumber(int number) {
-        return number > 0;
-    }
-
-    public static boolean isPositiveNumber(double number) {
-        return number > 0;
-    }
-
-    public static boolean isValidName(String name) {
-        return !isNullOrEmpty(name) && name.length() <= 100;
-    }
+package com.library.utils;
+
+import java.util.regex.Pattern;
+
+public class InputValidator {
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(
+        "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$");
+    private static final Pattern PHONE_PATTERN = Pattern.compile(
+        "^\\+?[0-9\\s-]{10,}$");
+    private static final Pattern ISBN_PATTERN = Pattern.compile(
+        "^(?:ISBN(?:-1[03])?:? )?(?=[0-9X]{10}$|(?=(?:[0-9]+[- ]){3})[- 0-9X]{13}$|97[89][0-9]{10}$|(?=(?:[0-9]+[- ]){4})[- 0-9]{17}$)(?:97[89][- ]?)?[0-9]{1,5}[- ]?[0-9]+[- ]?[0-9]+[- ]?[0-9X]$");
+
+    public static boolean isValidEmail(String email) {
+        return email != null && EMAIL_PATTERN.matcher(email).matches();
+    }
+
+    public static boolean isValidPhoneNumber(String phone) {
+        return phone != null && PHONE_PATTERN.matcher(phone).matches();
+    }
+
+    public static boolean isValidIsbn(String isbn) {
+        return isbn != null && ISBN_PATTERN.matcher(isbn).matches();
+    }
+
+    public static boolean isValidPassword(String password) {
+        return password != null && password.length() >= 8 && password.length() <= 128;
+    }
+
+    public static boolean isNullOrEmpty(String input) {
+        return input == null || input.trim().isEmpty();
+    }
+
+    public static boolean isPositiveNumber(int number) {
+        return number > 0;
+    }
+
+    public static boolean isPositiveNumber(double number) {
+        return number > 0;
+    }
+
+    public static boolean isValidName(String name) {
+        return !isNullOrEmpty(name) && name.length() <= 100;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.library.utils;
+
+import com.library.utils.JdbcStreams.RowMapper;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// One-shot queries and updates with typed parameter binding. Connection, statement and result set
+// are always closed before returning, and statements go through the pool's per-connection cache.
+public final class JdbcQueries {
+
+    @FunctionalInterface
+    public interface ParameterBinder<T> {
+        void bind(PreparedStatement stmt, int index, T value) throws SQLException;
+    }
+
+    private static final Map<Class<?>, ParameterBinder<Object>> BINDERS = new HashMap<>();
+
+    static {
+        register(String.class, PreparedStatement::setString);
+        register(Integer.class, PreparedStatement::setInt);
+        register(Long.class, PreparedStatement::setLong);
+        register(Double.class, PreparedStatement::setDouble);
+        register(Boolean.class, PreparedStatement::setBoolean);
+        register(BigDecimal.class, PreparedStatement::setBigDecimal);
+        register(LocalDate.class, (stmt, index, value) -> stmt.setDate(index, Date.valueOf(value)));
+        register(LocalDateTime.class, (stmt, index, value) -> stmt.setTimestamp(index, Timestamp.valueOf(value)));
+        register(Instant.class, (stmt, index, value) -> stmt.setTimestamp(index, Timestamp.from(value)));
+    }
+
+    private JdbcQueries() {
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void register(Class<T> type, ParameterBinder<T> binder) {
+        BINDERS.put(type, (ParameterBinder<Object>) binder);
+    }
+
+    // Binds parameters by their runtime type; enums are stored by name and nulls as SQL NULL
+    public static void bind(PreparedStatement stmt, Object... params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            Object value = params[i];
+            int index = i + 1;
+            if (value == null) {
+                stmt.setNull(index, Types.NULL);
+            } else if (value instanceof Enum) {
+                stmt.setString(index, ((Enum<?>) value).name());
+            } else {
+                ParameterBinder<Object> binder = BINDERS.get(value.getClass());
+                if (binder == null) {
+                    throw new IllegalArgumentException("No SQL binding for " + value.getClass().getName());
+                }
+                binder.bind(stmt, index, value);
+            }
+        }
+    }
+
+    public static <T> List<T> queryList(String sql, RowMapper<T> mapper, String errorMessage, Object... params) {
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            bind(stmt, params);
+            try (ResultSet rs = stmt.executeQuery()) {
+                List<T> rows = new ArrayList<>();
+                while (rs.next()) {
+                    rows.add(mapper.map(rs));
+                }
+                return rows;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(errorMessage, e);
+        }
+    }
+
+    public static <T> Optional<T> queryOne(String sql, RowMapper<T> mapper, String errorMessage, Object... params) {
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            bind(stmt, params);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? Optional.of(mapper.map(rs)) : Optional.empty();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(errorMessage, e);
+        }
+    }
+
+    // First column of the first row, e.g. a COUNT(*); 0 when there are no rows
+    public static int queryInt(String sql, String errorMessage, Object... params) {
+        return queryOne(sql, rs -> rs.getInt(1), errorMessage, params).orElse(0);
+    }
+
+    public static int update(String sql, String errorMessage, Object... params) {
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            bind(stmt, params);
+            return stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException(errorMessage, e);
+        }
+    }
+
+    // Runs the statement once per parameter row as one JDBC batch; returns the total rows changed
+    public static int updateBatch(String sql, String errorMessage, List<Object[]> paramRows) {
+        if (paramRows.isEmpty()) {
+            return 0;
+        }
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (Object[] params : paramRows) {
+                bind(stmt, params);
+                stmt.addBatch();
+            }
+            int updated = 0;
+            for (int count : stmt.executeBatch()) {
+                // Drivers may report SUCCESS_NO_INFO instead of a count
+                updated += Math.max(count, 0);
+            }
+            return updated;
+        } catch (SQLException e) {
+            throw new RuntimeException(errorMessage, e);
+        }
+    }
+}
\ No newline at end of file
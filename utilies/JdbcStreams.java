@@ -0,0 +1,152 @@
+package com.library.utils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiPredicate;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Lazily streams query results so arbitrarily large tables are processed in constant memory.
+// The connection stays borrowed until the stream is closed, so callers must use try-with-resources.
+public final class JdbcStreams {
+    private static final int DEFAULT_FETCH_SIZE = 1000;
+
+    @FunctionalInterface
+    public interface StatementBinder {
+        void bind(PreparedStatement stmt) throws SQLException;
+    }
+
+    @FunctionalInterface
+    public interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    private JdbcStreams() {
+    }
+
+    public static <T> Stream<T> query(String sql, StatementBinder binder, RowMapper<T> mapper, String errorMessage) {
+        Connection connection = DatabaseConnection.getConnection();
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        try {
+            stmt = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(fetchSize());
+            binder.bind(stmt);
+            rs = stmt.executeQuery();
+        } catch (SQLException e) {
+            closeQuietly(rs, stmt, connection);
+            throw new RuntimeException(errorMessage, e);
+        }
+
+        ResultSet rows = rs;
+        PreparedStatement statement = stmt;
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!rows.next()) {
+                        return false;
+                    }
+                    action.accept(mapper.map(rows));
+                    return true;
+                } catch (SQLException e) {
+                    throw new RuntimeException(errorMessage, e);
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false)
+                .onClose(() -> closeQuietly(rows, statement, connection));
+    }
+
+    // Groups a stream into lists of up to batchSize elements without reading ahead further
+    public static <T> Stream<List<T>> batches(Stream<T> source, int batchSize) {
+        Iterator<T> iterator = source.iterator();
+        Iterator<List<T>> batchIterator = new Iterator<List<T>>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public List<T> next() {
+                if (!iterator.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<T> batch = new ArrayList<>(batchSize);
+                while (batch.size() < batchSize && iterator.hasNext()) {
+                    batch.add(iterator.next());
+                }
+                return batch;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batchIterator, Spliterator.ORDERED), false)
+                .onClose(source::close);
+    }
+
+    // Folds runs of adjacent elements that belong together, e.g. one joined row per child
+    public static <T> Stream<T> mergeAdjacent(Stream<T> source, BiPredicate<T, T> sameGroup, BinaryOperator<T> merge) {
+        Iterator<T> iterator = source.iterator();
+        Iterator<T> merged = new Iterator<T>() {
+            private T pending;
+
+            @Override
+            public boolean hasNext() {
+                return pending != null || iterator.hasNext();
+            }
+
+            @Override
+            public T next() {
+                T current = pending != null ? pending : iterator.next();
+                pending = null;
+                while (iterator.hasNext()) {
+                    T candidate = iterator.next();
+                    if (!sameGroup.test(current, candidate)) {
+                        pending = candidate;
+                        break;
+                    }
+                    current = merge.apply(current, candidate);
+                }
+                return current;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED), false)
+                .onClose(source::close);
+    }
+
+    private static int fetchSize() {
+        return Integer.parseInt(DatabaseConnection.getProperty("db.stream.fetchSize", String.valueOf(DEFAULT_FETCH_SIZE)));
+    }
+
+    private static void closeQuietly(ResultSet rs, PreparedStatement stmt, Connection connection) {
+        try {
+            if (rs != null) {
+                rs.close();
+            }
+        } catch (SQLException e) {
+            System.err.println("Failed to close result set: " + e.getMessage());
+        }
+        try {
+            if (stmt != null) {
+                stmt.close();
+            }
+        } catch (SQLException e) {
+            System.err.println("Failed to close statement: " + e.getMessage());
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            System.err.println("Failed to release connection: " + e.getMessage());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.library.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Amounts of money are whole cents in a long throughout the application. These helpers convert at
+// the edges only: DECIMAL(10,2) columns, user input and display.
+public final class Money {
+    private Money() {
+    }
+
+    // Sub-cent digits, which a DECIMAL(10,2) column never holds, are rounded half up
+    public static long toCents(BigDecimal amount) {
+        if (amount == null) {
+            return 0;
+        }
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toDecimal(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    // "12.5", "12.50" and "$12.50" all parse to 1250; anything else is a NumberFormatException
+    public static long parse(String amount) {
+        String trimmed = amount.trim();
+        if (trimmed.startsWith("$")) {
+            trimmed = trimmed.substring(1);
+        }
+        return toCents(new BigDecimal(trimmed));
+    }
+
+    public static String format(long cents) {
+        String sign = cents < 0 ? "-" : "";
+        long abs = Math.abs(cents);
+        return String.format("%s$%d.%02d", sign, abs / 100, abs % 100);
+    }
+}
\ No newline at end of file
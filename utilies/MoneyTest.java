@@ -0,0 +1,28 @@
+package com.library.utils;
+
+import org.junit.jupiter.api.*;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+    @Test
+    void testDecimalRoundTrip() {
+        assertEquals(150, Money.toCents(new BigDecimal("1.50")));
+        assertEquals(new BigDecimal("1.50"), Money.toDecimal(150));
+        assertEquals(0, Money.toCents(null));
+        assertEquals(1, Money.toCents(new BigDecimal("0.005")), "Sub-cent amounts round half up");
+    }
+
+    @Test
+    void testParseAndFormat() {
+        assertEquals(1250, Money.parse("12.5"));
+        assertEquals(1250, Money.parse(" $12.50 "));
+        assertThrows(NumberFormatException.class, () -> Money.parse("twelve"));
+
+        assertEquals("$12.50", Money.format(1250));
+        assertEquals("$0.05", Money.format(5));
+        assertEquals("-$3.00", Money.format(-300));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,130 @@
+package com.library.utils;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+// Salted PBKDF2-HMAC-SHA256 password hashes stored as "pbkdf2_sha256$<iterations>$<salt>$<hash>".
+// The iteration count is the cost factor: raising security.password.iterations makes new hashes
+// slower to brute-force, and older hashes are flagged by needsRehash. Verification runs on a small
+// bounded pool so a burst of logins queues up instead of saturating every core.
+public final class PasswordHasher {
+    public static final String UNUSABLE = "!";
+    private static final String ALGORITHM = "pbkdf2_sha256";
+    private static final int SALT_BYTES = 16;
+    private static final int KEY_BITS = 256;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final class Verifier {
+        static final ThreadPoolExecutor POOL = createPool();
+    }
+
+    private PasswordHasher() {
+    }
+
+    public static String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        int iterations = iterations();
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return ALGORITHM + "$" + iterations + "$" + encoder.encodeToString(salt) + "$"
+                + encoder.encodeToString(derive(password, salt, iterations));
+    }
+
+    // Blocks until a verifier thread is free; rejects with SecurityException when too many logins are queued.
+    // A null hash (unknown user) costs as much as a real check, so timing does not reveal valid IDs.
+    public static boolean verify(String password, String storedHash) {
+        Future<Boolean> result;
+        try {
+            result = Verifier.POOL.submit(() -> matches(password, storedHash != null ? storedHash : UNUSABLE));
+        } catch (RejectedExecutionException e) {
+            throw new SecurityException("Too many sign-in attempts in progress, please try again", e);
+        }
+
+        long timeoutMs = Long.parseLong(DatabaseConnection.getProperty("security.password.verifyTimeoutMs", "10000"));
+        try {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            throw new SecurityException("Sign-in interrupted", e);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            throw new SecurityException("Sign-in timed out, please try again", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to verify password", e.getCause());
+        }
+    }
+
+    // Hashes on the verifier pool and hands the result to onHashed there, for work nobody waits on
+    // such as upgrading a hash after login. Dropped when the pool is saturated; logins come first.
+    public static void hashInBackground(String password, Consumer<String> onHashed) {
+        try {
+            Verifier.POOL.execute(() -> {
+                try {
+                    onHashed.accept(hash(password));
+                } catch (RuntimeException e) {
+                    System.err.println("Background password hash failed: " + e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Tried again on a later call
+        }
+    }
+
+    public static boolean needsRehash(String storedHash) {
+        String[] parts = storedHash.split("\\$");
+        return parts.length != 4 || !parts[0].equals(ALGORITHM) || Integer.parseInt(parts[1]) != iterations();
+    }
+
+    static boolean matches(String password, String storedHash) {
+        String[] parts = storedHash.split("\\$");
+        if (password == null || parts.length != 4 || !parts[0].equals(ALGORITHM)) {
+            // Unusable or legacy hashes never match, but still cost the same as a real check
+            derive(password != null ? password : "", new byte[SALT_BYTES], iterations());
+            return false;
+        }
+        Base64.Decoder decoder = Base64.getDecoder();
+        byte[] expected = decoder.decode(parts[3]);
+        byte[] actual = derive(password, decoder.decode(parts[2]), Integer.parseInt(parts[1]));
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, KEY_BITS);
+        try {
+            return SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PBKDF2WithHmacSHA256 is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    private static int iterations() {
+        return Integer.parseInt(DatabaseConnection.getProperty("security.password.iterations", "310000"));
+    }
+
+    private static ThreadPoolExecutor createPool() {
+        int threads = Integer.parseInt(DatabaseConnection.getProperty("security.password.verifyThreads",
+                String.valueOf(Math.max(1, Runtime.getRuntime().availableProcessors() / 2))));
+        int queueSize = Integer.parseInt(DatabaseConnection.getProperty("security.password.verifyQueue", "32"));
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize),
+                r -> {
+                    Thread thread = new Thread(r, "password-verifier");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+}
\ No newline at end of file
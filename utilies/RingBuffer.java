@@ -0,0 +1,86 @@
+package com.library.utils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Bounded queue for many producers and a single consumer. Producers claim a slot with one CAS on
+// the tail and never take a lock; each slot carries a sequence number so the consumer only reads
+// slots whose element has been fully published.
+public class RingBuffer<T> {
+    private final int mask;
+    private final AtomicReferenceArray<T> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // Only the consumer advances the head; it is atomic so producers can read it for size()
+    private final AtomicLong head = new AtomicLong();
+
+    public RingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    // Returns the position the element was stored at, or -1 if the buffer is full
+    public long offer(T element) {
+        while (true) {
+            long position = tail.get();
+            int slot = (int) position & mask;
+            long sequence = sequences.get(slot);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.set(slot, element);
+                    sequences.set(slot, position + 1);
+                    return position;
+                }
+            } else if (sequence < position) {
+                return -1;
+            }
+            // Another producer claimed this slot first; retry with the new tail
+        }
+    }
+
+    // Moves up to maxElements published elements into the target, in offer order. Consumer only.
+    public int drainTo(List<? super T> target, int maxElements) {
+        int drained = 0;
+        long position = head.get();
+        while (drained < maxElements) {
+            int slot = (int) position & mask;
+            if (sequences.get(slot) != position + 1) {
+                break;
+            }
+            target.add(elements.get(slot));
+            elements.set(slot, null);
+            sequences.set(slot, position + mask + 1);
+            position++;
+            drained++;
+        }
+        head.set(position);
+        return drained;
+    }
+
+    // Position of the next element the consumer will take
+    public long headPosition() {
+        return head.get();
+    }
+
+    // Position the next offered element will get
+    public long tailPosition() {
+        return tail.get();
+    }
+
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
\ No newline at end of file
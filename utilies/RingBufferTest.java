@@ -0,0 +1,89 @@
+package com.library.utils;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferTest {
+
+    @Test
+    void testDrainsInOfferOrder() {
+        RingBuffer<String> buffer = new RingBuffer<>(8);
+        assertEquals(0, buffer.offer("a"));
+        assertEquals(1, buffer.offer("b"));
+        assertEquals(2, buffer.offer("c"));
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(2, buffer.drainTo(drained, 2));
+        assertEquals(List.of("a", "b"), drained);
+        assertEquals(1, buffer.size());
+        assertEquals(2, buffer.headPosition());
+    }
+
+    @Test
+    void testRejectsWhenFullAndReusesSlots() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i) >= 0);
+        }
+        assertEquals(-1, buffer.offer(99), "A full buffer should refuse new elements");
+
+        List<Integer> drained = new ArrayList<>();
+        buffer.drainTo(drained, 1);
+        assertEquals(4, buffer.offer(4), "A drained slot should be reused");
+        buffer.drainTo(drained, 10);
+        assertEquals(List.of(0, 1, 2, 3, 4), drained);
+    }
+
+    @Test
+    void testRejectsCapacityThatIsNotAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(100));
+    }
+
+    @Test
+    void testConcurrentProducersLoseNothing() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 50_000;
+        RingBuffer<Integer> buffer = new RingBuffer<>(1024);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    while (buffer.offer(base + i) < 0) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        Set<Integer> seen = new HashSet<>();
+        List<Integer> batch = new ArrayList<>();
+        while (seen.size() < producers * perProducer) {
+            batch.clear();
+            buffer.drainTo(batch, 256);
+            for (Integer value : batch) {
+                assertTrue(seen.add(value), "Every element should be drained exactly once: " + value);
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, buffer.size());
+    }
+}
\ No newline at end of file
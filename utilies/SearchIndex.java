@@ -0,0 +1,217 @@
+package com.library.utils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// In-memory inverted index over case- and accent-folded tokens. Each query token may match
+// exactly, as a prefix of an indexed term, or within a small edit distance; documents are
+// ranked by field-weighted, IDF-scaled scores.
+public class SearchIndex {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final double PREFIX_FACTOR = 0.6;
+    private static final double FUZZY_FACTOR = 0.4;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int LONG_TERM_LENGTH = 8;
+
+    private final double[] fieldWeights;
+    // Sorted so every term sharing a prefix sits in one contiguous range
+    private final NavigableMap<String, Map<String, Double>> postings = new TreeMap<>();
+    private final Map<String, Map<String, Double>> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public SearchIndex(double... fieldWeights) {
+        this.fieldWeights = fieldWeights.clone();
+    }
+
+    // Field values line up with the weights given to the constructor; nulls are skipped
+    public void put(String id, String... fieldValues) {
+        Map<String, Double> terms = new HashMap<>();
+        for (int field = 0; field < fieldValues.length && field < fieldWeights.length; field++) {
+            for (String token : tokenize(fieldValues[field])) {
+                terms.merge(token, fieldWeights[field], Double::sum);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+            for (Map.Entry<String, Double> term : terms.entrySet()) {
+                postings.computeIfAbsent(term.getKey(), k -> new HashMap<>()).put(id, term.getValue());
+            }
+            documents.put(id, terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Every query token must match; ids come back best match first
+    public List<String> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<String, Double> scores = null;
+            for (String token : tokens) {
+                Map<String, Double> tokenScores = scoreToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((id, score) -> score + tokenScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return new ArrayList<>();
+                }
+            }
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<String, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        for (String token : TOKEN_SEPARATOR.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private Map<String, Double> scoreToken(String token) {
+        Map<String, Double> scores = new HashMap<>();
+        addMatches(scores, postings.get(token), 1.0);
+
+        if (token.length() >= MIN_PREFIX_LENGTH) {
+            for (Map<String, Double> docs : postings.subMap(token, false, token + Character.MAX_VALUE, false).values()) {
+                addMatches(scores, docs, PREFIX_FACTOR);
+            }
+        }
+
+        // Typo tolerance only kicks in when nothing matched exactly or by prefix. Candidates share
+        // the first letter, which keeps the scan to a small slice of the vocabulary.
+        if (scores.isEmpty() && token.length() >= MIN_FUZZY_LENGTH) {
+            int maxEdits = token.length() >= LONG_TERM_LENGTH ? 2 : 1;
+            String first = token.substring(0, 1);
+            for (Map.Entry<String, Map<String, Double>> term
+                    : postings.subMap(first, true, first + Character.MAX_VALUE, false).entrySet()) {
+                if (withinEditDistance(token, term.getKey(), maxEdits)) {
+                    addMatches(scores, term.getValue(), FUZZY_FACTOR);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private void addMatches(Map<String, Double> scores, Map<String, Double> docs, double factor) {
+        if (docs == null) {
+            return;
+        }
+        double idf = Math.log(1.0 + (double) documents.size() / docs.size());
+        for (Map.Entry<String, Double> doc : docs.entrySet()) {
+            scores.merge(doc.getKey(), doc.getValue() * idf * factor, Math::max);
+        }
+    }
+
+    private void removeDocument(String id) {
+        Map<String, Double> terms = documents.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            Map<String, Double> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(id);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    // Levenshtein distance with an early exit once every cell in a row exceeds the bound
+    static boolean withinEditDistance(String a, String b, int maxEdits) {
+        if (Math.abs(a.length() - b.length()) > maxEdits) {
+            return false;
+        }
+
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()] <= maxEdits;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.library.utils;
+
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchIndexTest {
+    private SearchIndex index;
+
+    @BeforeEach
+    void setup() {
+        // Title, author and description fields, weighted like the book index
+        index = new SearchIndex(3.0, 2.0, 1.0);
+        index.put("B1", "The Pragmatic Programmer", "Andrew Hunt David Thomas", "Software craftsmanship");
+        index.put("B2", "Clean Code", "Robert Martin", "A handbook of agile software craftsmanship");
+        index.put("B3", "Les Mis\u00e9rables", "Victor Hugo", "A novel of Paris");
+    }
+
+    @Test
+    void testMatchesAreCaseAndAccentInsensitive() {
+        assertEquals(List.of("B2"), index.search("CLEAN code", 10));
+        assertEquals(List.of("B3"), index.search("miserables", 10));
+    }
+
+    @Test
+    void testPrefixAndFuzzyMatching() {
+        assertEquals(List.of("B1"), index.search("pragm", 10), "Prefixes should match while typing");
+        assertEquals(List.of("B1"), index.search("progammer", 10), "A single typo should still match");
+        assertTrue(index.search("zzzz", 10).isEmpty());
+    }
+
+    @Test
+    void testRankingPrefersWeightedFields() {
+        index.put("B4", "Software Craftsmanship", "Sandro Mancuso", "Professionalism and pragmatism");
+
+        List<String> results = index.search("craftsmanship", 10);
+        assertEquals("B4", results.get(0), "A title match should outrank description matches");
+        assertEquals(3, results.size());
+    }
+
+    @Test
+    void testEveryTokenMustMatch() {
+        assertEquals(List.of("B2"), index.search("software martin", 10));
+    }
+
+    @Test
+    void testIncrementalUpdateAndRemove() {
+        index.put("B2", "Clean Architecture", "Robert Martin", "Software structure and design");
+        assertTrue(index.search("handbook", 10).isEmpty(), "Replaced text should leave the index");
+        assertEquals(List.of("B2"), index.search("architecture", 10));
+
+        index.remove("B2");
+        assertTrue(index.search("martin", 10).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void testEditDistanceBound() {
+        assertTrue(SearchIndex.withinEditDistance("kitten", "sitten", 1));
+        assertFalse(SearchIndex.withinEditDistance("kitten", "sitting", 1));
+        assertTrue(SearchIndex.withinEditDistance("kitten", "sitting", 3));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.library.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// 64-bit IDs laid out as 41 bits of milliseconds since EPOCH, 10 bits of node and 12 bits of
+// sequence, rendered as a prefix plus 13 fixed-width base-36 digits so string order matches
+// generation order and the result fits the VARCHAR(20) key columns.
+public class SnowflakeIdGenerator implements IdGenerator {
+    private static final long EPOCH = 1704067200000L; // 2024-01-01T00:00:00Z
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    // How far borrowed milliseconds may run ahead of the wall clock. A restarted generator starts
+    // from the clock, so it could reissue IDs from any millisecond borrowed beyond this.
+    static final long MAX_DRIFT_MILLIS = 2;
+    private static final long DRIFT_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final int ENCODED_LENGTH = 13;
+    private static final char[] DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+
+    private final String prefix;
+    private final long nodeBits;
+    // Packed (millis since EPOCH << SEQUENCE_BITS) | sequence of the last ID handed out
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakeIdGenerator(String prefix, int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID);
+        }
+        if (prefix.length() + ENCODED_LENGTH > 20) {
+            throw new IllegalArgumentException("Prefix too long for a 20 character ID: " + prefix);
+        }
+        this.prefix = prefix;
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+    }
+
+    @Override
+    public String nextId() {
+        return format(nextValue());
+    }
+
+    public long nextValue() {
+        while (true) {
+            long last = state.get();
+            long now = System.currentTimeMillis() - EPOCH;
+            // A new millisecond restarts the sequence. Otherwise take the next sequence number;
+            // overflow carries into the timestamp, borrowing the next millisecond, and a clock that
+            // steps backwards can never produce a duplicate. Once the borrowed time is more than
+            // MAX_DRIFT_MILLIS ahead of the clock, callers wait for the clock to catch up.
+            long next = now > (last >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : last + 1;
+            if ((next >>> SEQUENCE_BITS) - now > MAX_DRIFT_MILLIS) {
+                LockSupport.parkNanos(DRIFT_PARK_NANOS);
+                continue;
+            }
+            if (state.compareAndSet(last, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | sequence;
+            }
+        }
+    }
+
+    // Wall-clock milliseconds encoded in an ID from nextValue
+    public static long timestampMillis(long value) {
+        return (value >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+
+    public String format(long value) {
+        char[] chars = new char[prefix.length() + ENCODED_LENGTH];
+        prefix.getChars(0, prefix.length(), chars, 0);
+        for (int i = chars.length - 1; i >= prefix.length(); i--) {
+            chars[i] = DIGITS[(int) (value % 36)];
+            value /= 36;
+        }
+        return new String(chars);
+    }
+}
\ No newline at end of file
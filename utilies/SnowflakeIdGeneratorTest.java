@@ -0,0 +1,97 @@
+package com.library.utils;
+
+import org.junit.jupiter.api.*;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeIdGeneratorTest {
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 500_000;
+
+    @Test
+    void testIdsAreSortableAndFitKeyColumn() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator("LN", 7);
+
+        String previous = generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            String next = generator.nextId();
+            assertTrue(next.length() <= 20, "ID should fit VARCHAR(20): " + next);
+            assertTrue(next.startsWith("LN"), "ID should keep its prefix");
+            assertTrue(next.compareTo(previous) > 0, "IDs should sort in generation order");
+            previous = next;
+        }
+    }
+
+    @Test
+    void testNodesNeverCollide() {
+        SnowflakeIdGenerator first = new SnowflakeIdGenerator("LN", 1);
+        SnowflakeIdGenerator second = new SnowflakeIdGenerator("LN", 2);
+
+        for (int i = 0; i < 10_000; i++) {
+            assertNotEquals(first.nextValue(), second.nextValue(), "Different nodes should never share an ID");
+        }
+    }
+
+    @Test
+    void testIdsNeverRunFarAheadOfTheClock() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator("LN", 3);
+
+        // Far more IDs than one millisecond's sequence holds, as fast as one thread can take them
+        for (int i = 0; i < 200_000; i++) {
+            long ahead = SnowflakeIdGenerator.timestampMillis(generator.nextValue()) - System.currentTimeMillis();
+            assertTrue(ahead <= SnowflakeIdGenerator.MAX_DRIFT_MILLIS,
+                "IDs should not borrow more than the allowed drift, was " + ahead + " ms ahead");
+        }
+    }
+
+    @Test
+    void testRejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator("LN", 1024));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator("TOOLONGPREFIX", 0));
+    }
+
+    @Test
+    void testConcurrentUniqueness() throws Exception {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator("LN", 0);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        Future<long[]>[] results = new Future[THREADS];
+
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                results[t] = executor.submit(() -> {
+                    long[] values = new long[IDS_PER_THREAD];
+                    start.await();
+                    for (int i = 0; i < IDS_PER_THREAD; i++) {
+                        values[i] = generator.nextValue();
+                    }
+                    return values;
+                });
+            }
+
+            start.countDown();
+            long[] all = new long[THREADS * IDS_PER_THREAD];
+            for (int t = 0; t < THREADS; t++) {
+                long[] values = results[t].get(60, TimeUnit.SECONDS);
+                for (int i = 1; i < values.length; i++) {
+                    assertTrue(values[i] > values[i - 1], "IDs should increase within a thread");
+                }
+                System.arraycopy(values, 0, all, t * IDS_PER_THREAD, IDS_PER_THREAD);
+            }
+
+            Arrays.sort(all);
+            for (int i = 1; i < all.length; i++) {
+                assertNotEquals(all[i - 1], all[i], "Duplicate ID generated across threads");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
\ No newline at end of file
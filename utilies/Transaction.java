@@ -0,0 +1,195 @@
+package com.library.utils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class Transaction implements AutoCloseable {
+    private static final ThreadLocal<Transaction> CURRENT = new ThreadLocal<>();
+
+    private final Connection connection;
+    private final Connection sharedView;
+    private final Transaction outer;
+    private final List<Runnable> beforeCommitCallbacks = new ArrayList<>();
+    private final List<Runnable> completionCallbacks = new ArrayList<>();
+    private final List<Runnable> rollbackCallbacks = new ArrayList<>();
+    private final List<Runnable> commitCallbacks = new ArrayList<>();
+    private boolean committed;
+    private boolean rolledBack;
+    private boolean rollbackOnly;
+
+    // A null connection gives a transaction that only runs callbacks, for storage outside JDBC
+    private Transaction(Connection connection) {
+        this.connection = connection;
+        this.outer = null;
+        this.sharedView = connection == null ? null : (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    // DAOs close what they borrow; inside a transaction that must not end it
+                    if (method.getName().equals("close")) {
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private Transaction(Transaction outer) {
+        this.connection = outer.connection;
+        this.sharedView = outer.sharedView;
+        this.outer = outer;
+    }
+
+    // Starts a transaction bound to the calling thread, or joins the one already running
+    static Transaction begin(ConnectionPool pool) {
+        Transaction existing = CURRENT.get();
+        if (existing != null) {
+            return new Transaction(existing);
+        }
+
+        try {
+            Connection connection = pool.getConnection();
+            try {
+                connection.setAutoCommit(false);
+            } catch (SQLException e) {
+                connection.close();
+                throw e;
+            }
+            Transaction transaction = new Transaction(connection);
+            CURRENT.set(transaction);
+            return transaction;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to begin transaction", e);
+        }
+    }
+
+    // Starts a transaction without a database connection, or joins the one already running
+    static Transaction beginWithoutConnection() {
+        Transaction existing = CURRENT.get();
+        if (existing != null) {
+            return new Transaction(existing);
+        }
+        Transaction transaction = new Transaction((Connection) null);
+        CURRENT.set(transaction);
+        return transaction;
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    static Connection currentConnection() {
+        Transaction transaction = CURRENT.get();
+        return transaction != null ? transaction.sharedView : null;
+    }
+
+    // Runs as part of commit, before the connection commits; a failure rolls the transaction back.
+    // Outside a transaction it runs immediately.
+    public static void beforeCommit(Runnable callback) {
+        Transaction transaction = CURRENT.get();
+        if (transaction == null) {
+            callback.run();
+        } else {
+            transaction.beforeCommitCallbacks.add(callback);
+        }
+    }
+
+    // Runs once the current transaction commits or rolls back, or immediately outside one
+    public static void afterCompletion(Runnable callback) {
+        Transaction transaction = CURRENT.get();
+        if (transaction == null) {
+            callback.run();
+        } else {
+            transaction.completionCallbacks.add(callback);
+        }
+    }
+
+    // Runs only if the current transaction ends in a rollback; outside a transaction it never runs
+    public static void afterRollback(Runnable callback) {
+        Transaction transaction = CURRENT.get();
+        if (transaction != null) {
+            transaction.rollbackCallbacks.add(callback);
+        }
+    }
+
+    // Runs only if the current transaction commits, or immediately outside one
+    public static void afterCommit(Runnable callback) {
+        Transaction transaction = CURRENT.get();
+        if (transaction == null) {
+            callback.run();
+        } else {
+            transaction.commitCallbacks.add(callback);
+        }
+    }
+
+    public void commit() {
+        committed = true;
+        if (outer != null) {
+            return;
+        }
+
+        // Anything that fails here is rolled back by close(), which then runs the rollback callbacks
+        try {
+            if (rollbackOnly) {
+                throw new IllegalStateException("Transaction rolled back: a nested unit of work did not commit");
+            }
+            for (Runnable callback : beforeCommitCallbacks) {
+                callback.run();
+            }
+            if (connection != null) {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            // The outcome is unknown, so rollback callbacks must still resynchronise
+            rolledBack = true;
+            throw new RuntimeException("Failed to commit transaction", e);
+        } catch (RuntimeException e) {
+            rolledBack = true;
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (outer != null) {
+            if (!committed) {
+                outer.rollbackOnly = true;
+            }
+            return;
+        }
+
+        CURRENT.remove();
+        try {
+            if (!committed || rolledBack) {
+                rolledBack = true;
+                if (connection != null) {
+                    connection.rollback();
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Failed to roll back transaction: " + e.getMessage());
+        } finally {
+            try {
+                if (connection != null) {
+                    connection.close();
+                }
+            } catch (SQLException e) {
+                System.err.println("Failed to release transaction connection: " + e.getMessage());
+            }
+            List<Runnable> callbacks = new ArrayList<>(completionCallbacks);
+            callbacks.addAll(rolledBack ? rollbackCallbacks : commitCallbacks);
+            for (Runnable callback : callbacks) {
+                try {
+                    callback.run();
+                } catch (RuntimeException e) {
+                    System.err.println("Transaction completion callback failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+}
\ No newline at end of file